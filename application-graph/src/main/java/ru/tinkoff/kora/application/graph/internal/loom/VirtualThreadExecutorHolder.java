@@ -74,6 +74,18 @@ public final class VirtualThreadExecutorHolder {
         return executorService;
     }
 
+    /**
+     * @param name prefix of thread names, thread number is appended to it
+     * @return factory of virtual threads or null if virtual threads are disabled or unavailable
+     */
+    @Nullable
+    public static ThreadFactory threadFactory(String name) {
+        if (status != VirtualThreadStatus.ENABLED) {
+            return null;
+        }
+        return createLoomThreadFactory(name);
+    }
+
     @Nullable
     private static ThreadFactory createLoomThreadFactory(String name) {
         try {
@@ -42,6 +42,8 @@ public class CacheAnnotationProcessor extends AbstractKoraProcessor {
     private static final ClassName REDIS_CACHE_CLIENT = ClassName.get("ru.tinkoff.kora.cache.redis", "RedisCacheClient");
     private static final ClassName REDIS_CACHE_MAPPER_KEY = ClassName.get("ru.tinkoff.kora.cache.redis", "RedisCacheKeyMapper");
     private static final ClassName REDIS_CACHE_MAPPER_VALUE = ClassName.get("ru.tinkoff.kora.cache.redis", "RedisCacheValueMapper");
+    private static final ClassName REDIS_NEAR_CACHE = ClassName.get("ru.tinkoff.kora.cache.redis", "RedisNearCache");
+    private static final ClassName REDIS_NEAR_CACHE_CONFIG = ClassName.get("ru.tinkoff.kora.cache.redis", "RedisNearCacheConfig");
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -93,6 +95,11 @@ public class CacheAnnotationProcessor extends AbstractKoraProcessor {
                 var implFile = JavaFile.builder(cacheContractClassName.packageName(), implSpec).build();
                 implFile.writeTo(processingEnv.getFiler());
 
+                if (cacheContractType.rawType.equals(REDIS_CACHE)) {
+                    var nearImplFile = JavaFile.builder(cacheContractClassName.packageName(), getCacheNearImplSpec(cacheContract, cacheContractType)).build();
+                    nearImplFile.writeTo(processingEnv.getFiler());
+                }
+
                 var moduleSpecBuilder = TypeSpec.interfaceBuilder(ClassName.get(packageName, "$%sModule".formatted(cacheContractClassName.simpleName())))
                     .addModifiers(Modifier.PUBLIC)
                     .addAnnotation(AnnotationSpec.builder(CommonClassNames.koraGenerated)
@@ -264,6 +271,28 @@ public class CacheAnnotationProcessor extends AbstractKoraProcessor {
         return ClassName.get(cacheImplName.packageName(), "$%sImpl".formatted(cacheImplName.simpleName()));
     }
 
+    private static ClassName getCacheNearImpl(TypeElement cacheContract) {
+        final ClassName cacheImplName = ClassName.get(cacheContract);
+        return ClassName.get(cacheImplName.packageName(), "$%sNearImpl".formatted(cacheImplName.simpleName()));
+    }
+
+    private TypeSpec getCacheNearImplSpec(TypeElement cacheContract, ParameterizedTypeName cacheType) {
+        var keyType = cacheType.typeArguments.get(0);
+        var valueType = cacheType.typeArguments.get(1);
+        return TypeSpec.classBuilder(getCacheNearImpl(cacheContract))
+            .addModifiers(Modifier.FINAL)
+            .addAnnotation(AnnotationSpec.builder(CommonClassNames.koraGenerated)
+                .addMember("value", CodeBlock.of("$S", CacheAnnotationProcessor.class.getCanonicalName())).build())
+            .addMethod(MethodSpec.constructorBuilder()
+                .addParameter(REDIS_NEAR_CACHE_CONFIG, "config")
+                .addParameter(ParameterizedTypeName.get(REDIS_CACHE_IMPL, keyType, valueType), "remote")
+                .addStatement("super(config, remote)")
+                .build())
+            .superclass(ParameterizedTypeName.get(REDIS_NEAR_CACHE, keyType, valueType))
+            .addSuperinterface(cacheContract.asType())
+            .build();
+    }
+
     private MethodSpec getCacheMethodImpl(TypeElement cacheContract, ParameterizedTypeName cacheType) {
         var cacheImplName = getCacheImpl(cacheContract);
         var methodName = "%s_Impl".formatted(cacheImplName.simpleName());
@@ -316,7 +345,9 @@ public class CacheAnnotationProcessor extends AbstractKoraProcessor {
                 .addParameter(REDIS_TELEMETRY, "telemetry")
                 .addParameter(keyParamBuilder.build())
                 .addParameter(valueParamBuilder.build())
-                .addStatement("return new $T(config, redisClient, telemetry, keyMapper, valueMapper)", cacheImplName)
+                .addStatement("var cache = new $T(config, redisClient, telemetry, keyMapper, valueMapper)", cacheImplName)
+                .addStatement("var nearCache = config.nearCache()")
+                .addStatement("return nearCache == null ? cache : new $T(nearCache, cache)", getCacheNearImpl(cacheContract))
                 .returns(TypeName.get(cacheContract.asType()))
                 .build();
         }
@@ -519,6 +519,25 @@ public class CacheableAopKoraAspect extends AbstractAopCacheAspect {
                                          CacheOperation operation,
                                          String superCall) {
         final String superMethod = getSuperMethod(method, superCall);
+        var completionType = ((DeclaredType) method.getReturnType()).getTypeArguments().get(0);
+        var isOptional = CommonUtils.isOptional(completionType);
+
+        if (operation.executions().size() == 1 && operation.executions().get(0).contract() == CacheExecution.Contract.ASYNC) {
+            // computed by cache itself, so concurrent computations are coalesced and stale value is refreshed in background
+            var cache = operation.executions().get(0);
+            var keyBlock = CodeBlock.builder().addStatement("var _key = $L", cache.cacheKey().code());
+            if (isOptional) {
+                return keyBlock
+                    .addStatement("return $L.computeIfAbsentAsync(_key, _k -> $L.thenApply(_v -> _v.orElse(null))).thenApply($T::ofNullable).toCompletableFuture()",
+                        cache.field(), superMethod, Optional.class)
+                    .build();
+            } else {
+                return keyBlock
+                    .addStatement("return $L.computeIfAbsentAsync(_key, _k -> $L).toCompletableFuture()", cache.field(), superMethod)
+                    .build();
+            }
+        }
+
         final CodeBlock.Builder builder = CodeBlock.builder();
 
         String keyField = "_key1";
@@ -556,8 +575,6 @@ public class CacheableAopKoraAspect extends AbstractAopCacheAspect {
             builder.add(putCacheBlock(method, putExecutions, valueField, false));
         }
 
-        var completionType = ((DeclaredType) method.getReturnType()).getTypeArguments().get(0);
-        var isOptional = CommonUtils.isOptional(completionType);
         builder.beginControlFlow("return $L.thenCompose(_r ->", superMethod);
         builder.add(putCacheBlock(method, operation.executions(), "_r", isOptional));
         builder.addStatement("return $T.completedFuture(_r)", CompletableFuture.class);
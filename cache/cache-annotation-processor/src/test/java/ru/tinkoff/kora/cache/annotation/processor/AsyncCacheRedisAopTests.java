@@ -0,0 +1,132 @@
+package ru.tinkoff.kora.cache.annotation.processor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import ru.tinkoff.kora.annotation.processor.common.TestUtils;
+import ru.tinkoff.kora.aop.annotation.processor.AopAnnotationProcessor;
+import ru.tinkoff.kora.cache.annotation.processor.testcache.DummyCache22;
+import ru.tinkoff.kora.cache.annotation.processor.testdata.async.CacheableAsyncRedis;
+import ru.tinkoff.kora.cache.redis.RedisCacheKeyMapper;
+import ru.tinkoff.kora.cache.redis.RedisCacheModule;
+
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AsyncCacheRedisAopTests implements RedisCacheModule {
+
+    private static final String CACHED_IMPL = "ru.tinkoff.kora.cache.annotation.processor.testcache.$DummyCache22Impl";
+    private static final String CACHED_SERVICE = "ru.tinkoff.kora.cache.annotation.processor.testdata.async.$CacheableAsyncRedis__AopProxy";
+
+    private DummyCache22 cache = null;
+    private CacheableAsyncRedis service = null;
+
+    private CacheableAsyncRedis getService() {
+        if (service != null) {
+            return service;
+        }
+
+        try {
+            var classLoader = TestUtils.annotationProcess(List.of(DummyCache22.class, CacheableAsyncRedis.class),
+                new AopAnnotationProcessor(), new CacheAnnotationProcessor());
+
+            var cacheClass = classLoader.loadClass(CACHED_IMPL);
+            if (cacheClass == null) {
+                throw new IllegalArgumentException("Expected class not found: " + CACHED_IMPL);
+            }
+
+            final Constructor<?> cacheConstructor = cacheClass.getDeclaredConstructors()[0];
+            cacheConstructor.setAccessible(true);
+            final Map<ByteBuffer, ByteBuffer> redis = new HashMap<>();
+            cache = (DummyCache22) cacheConstructor.newInstance(CacheRunner.getRedisConfig(),
+                CacheRunner.lettuceClient(redis), redisCacheTelemetry(null, null),
+                (RedisCacheKeyMapper<DummyCache22.Key>) key -> {
+                    var _key1 = key.k1().getBytes(StandardCharsets.UTF_8);
+                    var _key2 = key.k2().toString().getBytes(StandardCharsets.UTF_8);
+                    return ByteBuffer.allocate(_key1.length + RedisCacheKeyMapper.DELIMITER.length + _key2.length)
+                        .put(_key1)
+                        .put(RedisCacheKeyMapper.DELIMITER)
+                        .put(_key2)
+                        .array();
+                }, stringRedisValueMapper());
+
+            var serviceClass = classLoader.loadClass(CACHED_SERVICE);
+            if (serviceClass == null) {
+                throw new IllegalArgumentException("Expected class not found: " + CACHED_SERVICE);
+            }
+
+            final Constructor<?> serviceConstructor = serviceClass.getDeclaredConstructors()[0];
+            serviceConstructor.setAccessible(true);
+            service = (CacheableAsyncRedis) serviceConstructor.newInstance(cache);
+            return service;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @BeforeEach
+    void cleanup() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    @Test
+    void getFromCacheWhenWasCacheEmpty() {
+        // given
+        var service = getService();
+        service.value = "1";
+
+        // when
+        final String notCached = service.getValue("1", BigDecimal.ZERO).toCompletableFuture().join();
+        service.value = "2";
+
+        // then
+        final String fromCache = service.getValue("1", BigDecimal.ZERO).toCompletableFuture().join();
+        assertEquals("1", notCached);
+        assertEquals(notCached, fromCache);
+        assertEquals("1", cache.get(new DummyCache22.Key("1", BigDecimal.ZERO)));
+    }
+
+    @Test
+    void getOptionalFromCacheWhenWasCacheEmpty() {
+        // given
+        var service = getService();
+        service.value = "1";
+
+        // when
+        final Optional<String> notCached = service.getValueOptional("1", BigDecimal.ZERO).toCompletableFuture().join();
+        service.value = "2";
+
+        // then
+        final Optional<String> fromCache = service.getValueOptional("1", BigDecimal.ZERO).toCompletableFuture().join();
+        assertEquals(Optional.of("1"), notCached);
+        assertEquals(notCached, fromCache);
+        assertEquals("1", cache.get(new DummyCache22.Key("1", BigDecimal.ZERO)));
+    }
+
+    @Test
+    void emptyOptionalIsNotCached() {
+        // given
+        var service = getService();
+        service.value = null;
+
+        // when
+        final Optional<String> notCached = service.getValueOptional("1", BigDecimal.ZERO).toCompletableFuture().join();
+        service.value = "2";
+
+        // then
+        assertEquals(Optional.empty(), notCached);
+        assertNull(cache.get(new DummyCache22.Key("1", BigDecimal.ZERO)));
+        assertEquals(Optional.of("2"), service.getValueOptional("1", BigDecimal.ZERO).toCompletableFuture().join());
+    }
+}
@@ -13,11 +13,13 @@ import ru.tinkoff.kora.cache.annotation.processor.testdata.reactive.mono.Cacheab
 import ru.tinkoff.kora.cache.annotation.processor.testdata.reactive.publisher.CacheableWrongPublisherGet;
 import ru.tinkoff.kora.cache.annotation.processor.testdata.reactive.publisher.CacheableWrongPublisherPut;
 import ru.tinkoff.kora.cache.annotation.processor.testdata.sync.*;
+import ru.tinkoff.kora.cache.redis.RedisNearCache;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CacheAnnotationProcessorTests extends AbstractAnnotationProcessorTest {
 
@@ -96,6 +98,19 @@ class CacheAnnotationProcessorTests extends AbstractAnnotationProcessorTest {
         assertThrows(CompilationErrorException.class, () -> TestUtils.annotationProcess(CacheableWrongPublisherPut.class, new AopAnnotationProcessor()));
     }
 
+    @Test
+    public void redisCacheNearImplIsGenerated() {
+        compile(List.of(new CacheAnnotationProcessor()), """
+            @ru.tinkoff.kora.cache.annotation.Cache("test")
+            public interface MyCache extends ru.tinkoff.kora.cache.redis.RedisCache<String, String>{}
+            """);
+        compileResult.assertSuccess();
+
+        var nearImpl = compileResult.loadClass("$MyCacheNearImpl");
+        assertTrue(RedisNearCache.class.isAssignableFrom(nearImpl));
+        assertTrue(compileResult.loadClass("MyCache").isAssignableFrom(nearImpl));
+    }
+
     @Test
     public void testInnerClassCache() {
         compile(List.of(new CacheAnnotationProcessor()), """
@@ -0,0 +1,24 @@
+package ru.tinkoff.kora.cache.annotation.processor.testdata.async;
+
+import ru.tinkoff.kora.cache.annotation.Cacheable;
+import ru.tinkoff.kora.cache.annotation.processor.testcache.DummyCache22;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+public class CacheableAsyncRedis {
+
+    public String value = "1";
+
+    @Cacheable(DummyCache22.class)
+    public CompletionStage<String> getValue(String arg1, BigDecimal arg2) {
+        return CompletableFuture.completedFuture(value);
+    }
+
+    @Cacheable(DummyCache22.class)
+    public CompletionStage<Optional<String>> getValueOptional(String arg1, BigDecimal arg2) {
+        return CompletableFuture.completedFuture(Optional.ofNullable(value));
+    }
+}
@@ -1,13 +1,18 @@
 package ru.tinkoff.kora.cache.caffeine;
 
+import com.github.benmanes.caffeine.cache.Policy;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.cache.CacheRefreshExecutors;
+import ru.tinkoff.kora.cache.SingleFlight;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 public abstract class AbstractCaffeineCache<K, V> implements CaffeineCache<K, V> {
@@ -16,13 +21,51 @@ public abstract class AbstractCaffeineCache<K, V> implements CaffeineCache<K, V>
     private final com.github.benmanes.caffeine.cache.Cache<K, V> caffeine;
     private final CaffeineCacheTelemetry telemetry;
 
+    @Nullable
+    private final Policy.FixedExpiration<K, V> expireAfterWrite;
+    @Nullable
+    private final Long refreshAfterWriteNanos;
+    @Nullable
+    private final Executor refreshExecutor;
+    // one background refresh per key at a time
+    private final SingleFlight<K, V> refreshes = new SingleFlight<>();
+
     protected AbstractCaffeineCache(String name,
                                     CaffeineCacheConfig config,
                                     CaffeineCacheFactory factory,
                                     CaffeineCacheTelemetry telemetry) {
+        this(name, config, factory, telemetry, null);
+    }
+
+    /**
+     * @param refreshExecutor runs background refreshes of values older than {@link CaffeineCacheConfig#refreshAfterWrite()},
+     *                        cache own pool of {@link CaffeineCacheConfig#refreshThreads()} threads is used when null
+     */
+    protected AbstractCaffeineCache(String name,
+                                    CaffeineCacheConfig config,
+                                    CaffeineCacheFactory factory,
+                                    CaffeineCacheTelemetry telemetry,
+                                    @Nullable Executor refreshExecutor) {
         this.name = name;
         this.caffeine = factory.build(name, config);
         this.telemetry = telemetry;
+
+        if (config.refreshAfterWrite() == null) {
+            this.expireAfterWrite = null;
+            this.refreshAfterWriteNanos = null;
+            this.refreshExecutor = refreshExecutor;
+        } else {
+            if (config.expireAfterWrite() == null || config.refreshAfterWrite().compareTo(config.expireAfterWrite()) >= 0) {
+                throw new IllegalArgumentException("Caffeine cache '" + name + "' refreshAfterWrite requires greater expireAfterWrite, but received: "
+                                                   + config.refreshAfterWrite() + " and " + config.expireAfterWrite());
+            }
+            this.expireAfterWrite = caffeine.policy().expireAfterWrite().orElseThrow(() ->
+                new IllegalArgumentException("Caffeine cache '" + name + "' refreshAfterWrite requires cache built with expireAfterWrite"));
+            this.refreshAfterWriteNanos = config.refreshAfterWrite().toNanos();
+            this.refreshExecutor = (refreshExecutor == null)
+                ? CacheRefreshExecutors.newRefreshExecutor(name, config.refreshThreads())
+                : refreshExecutor;
+        }
     }
 
     @Override
@@ -67,10 +110,36 @@ public abstract class AbstractCaffeineCache<K, V> implements CaffeineCache<K, V>
 
         var telemetryContext = telemetry.create("COMPUTE_IF_ABSENT", name);
         var value = caffeine.get(key, mappingFunction);
+        if (value != null && refreshAfterWriteNanos != null) {
+            refreshIfStale(key, value, mappingFunction);
+        }
         telemetryContext.recordSuccess();
         return value;
     }
 
+    private void refreshIfStale(K key, V value, Function<K, V> mappingFunction) {
+        var age = expireAfterWrite.ageOf(key, TimeUnit.NANOSECONDS);
+        if (age.isEmpty() || age.getAsLong() < refreshAfterWriteNanos) {
+            return;
+        }
+
+        refreshes.loadAsync(key, k -> CompletableFuture.supplyAsync(() -> {
+            var telemetryContext = telemetry.create("REFRESH", name);
+            try {
+                var refreshed = mappingFunction.apply(k);
+                if (refreshed != null) {
+                    // value invalidated or put while refreshing is not overwritten
+                    caffeine.asMap().replace(k, value, refreshed);
+                }
+                telemetryContext.recordSuccess();
+                return refreshed;
+            } catch (Exception e) {
+                telemetryContext.recordFailure(e);
+                return null;
+            }
+        }, refreshExecutor), coalesced -> {});
+    }
+
     @SuppressWarnings("unchecked")
     @Nonnull
     @Override
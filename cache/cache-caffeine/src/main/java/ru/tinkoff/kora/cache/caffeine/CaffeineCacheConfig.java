@@ -21,4 +21,21 @@ public interface CaffeineCacheConfig {
 
     @Nullable
     Integer initialSize();
+
+    /**
+     * Value read by {@code computeIfAbsent} after this time since it was written is returned as is and reloaded in background
+     * with the same mapping function, so popular values are refreshed before they expire.
+     * Requires {@link #expireAfterWrite()} greater than this time
+     */
+    @Nullable
+    default Duration refreshAfterWrite() {
+        return null;
+    }
+
+    /**
+     * @return number of threads in cache own pool running background refreshes, pool is created only when {@link #refreshAfterWrite()} is set
+     */
+    default int refreshThreads() {
+        return 2;
+    }
 }
@@ -0,0 +1,97 @@
+package ru.tinkoff.kora.cache.caffeine;
+
+import jakarta.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.cache.caffeine.testdata.DummyCache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RefreshTests extends CacheRunner {
+
+    @Test
+    void staleValueReturnedAndRefreshed() throws InterruptedException {
+        // given
+        var cache = new DummyCache(getConfig(Duration.ofSeconds(10), Duration.ofMillis(50)), caffeineCacheFactory(null), caffeineCacheTelemetry(null, null), Runnable::run);
+        var loads = new AtomicInteger();
+
+        // when
+        assertEquals("1", cache.computeIfAbsent("key", k -> String.valueOf(loads.incrementAndGet())));
+        assertEquals("1", cache.computeIfAbsent("key", k -> String.valueOf(loads.incrementAndGet())));
+        Thread.sleep(100);
+
+        // then
+        assertEquals("1", cache.computeIfAbsent("key", k -> String.valueOf(loads.incrementAndGet())));
+        assertEquals(2, loads.get());
+        assertEquals("2", cache.get("key"));
+    }
+
+    @Test
+    void failedRefreshKeepsStaleValue() throws InterruptedException {
+        // given
+        var cache = new DummyCache(getConfig(Duration.ofSeconds(10), Duration.ofMillis(50)), caffeineCacheFactory(null), caffeineCacheTelemetry(null, null), Runnable::run);
+        cache.put("key", "1");
+        Thread.sleep(100);
+
+        // when
+        assertEquals("1", cache.computeIfAbsent("key", k -> {
+            throw new IllegalStateException("test");
+        }));
+
+        // then
+        assertEquals("1", cache.get("key"));
+    }
+
+    @Test
+    void refreshRunsOnCacheOwnThreads() throws Exception {
+        // given
+        var cache = new DummyCache(getConfig(Duration.ofSeconds(10), Duration.ofMillis(50)), caffeineCacheFactory(null), caffeineCacheTelemetry(null, null));
+        var refreshThread = new CompletableFuture<String>();
+        cache.put("key", "1");
+        Thread.sleep(100);
+
+        // when
+        assertEquals("1", cache.computeIfAbsent("key", k -> {
+            refreshThread.complete(Thread.currentThread().getName());
+            return "2";
+        }));
+
+        // then
+        assertTrue(refreshThread.get(5, TimeUnit.SECONDS).startsWith("cache-refresh-"));
+    }
+
+    @Test
+    void refreshRequiresGreaterExpireAfterWrite() {
+        assertThrows(IllegalArgumentException.class, () -> new DummyCache(getConfig(null, Duration.ofMillis(50)), caffeineCacheFactory(null), caffeineCacheTelemetry(null, null)));
+        assertThrows(IllegalArgumentException.class, () -> new DummyCache(getConfig(Duration.ofMillis(50), Duration.ofMillis(50)), caffeineCacheFactory(null), caffeineCacheTelemetry(null, null)));
+    }
+
+    private static CaffeineCacheConfig getConfig(@Nullable Duration expireAfterWrite, Duration refreshAfterWrite) {
+        return new CaffeineCacheConfig() {
+            @Nullable
+            @Override
+            public Duration expireAfterWrite() {
+                return expireAfterWrite;
+            }
+
+            @Nullable
+            @Override
+            public Duration expireAfterAccess() {
+                return null;
+            }
+
+            @Nullable
+            @Override
+            public Integer initialSize() {
+                return null;
+            }
+
+            @Override
+            public Duration refreshAfterWrite() {
+                return refreshAfterWrite;
+            }
+        };
+    }
+}
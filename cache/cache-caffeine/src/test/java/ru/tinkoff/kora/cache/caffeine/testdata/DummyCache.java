@@ -5,9 +5,15 @@ import ru.tinkoff.kora.cache.caffeine.CaffeineCacheConfig;
 import ru.tinkoff.kora.cache.caffeine.CaffeineCacheFactory;
 import ru.tinkoff.kora.cache.caffeine.CaffeineCacheTelemetry;
 
+import java.util.concurrent.Executor;
+
 public final class DummyCache extends AbstractCaffeineCache<String, String> {
 
     public DummyCache(CaffeineCacheConfig config, CaffeineCacheFactory factory, CaffeineCacheTelemetry telemetry) {
         super("dummy", config, factory, telemetry);
     }
+
+    public DummyCache(CaffeineCacheConfig config, CaffeineCacheFactory factory, CaffeineCacheTelemetry telemetry, Executor refreshExecutor) {
+        super("dummy", config, factory, telemetry, refreshExecutor);
+    }
 }
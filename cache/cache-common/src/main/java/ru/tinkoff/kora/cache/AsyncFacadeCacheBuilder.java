@@ -49,23 +49,56 @@ final class AsyncFacadeCacheBuilder<K, V> implements AsyncCache.Builder<K, V> {
         @Nonnull
         @Override
         public CompletionStage<V> getAsync(@Nonnull K key) {
-            CompletionStage<V> result = null;
-            for (var facade : facades) {
-                result = (result == null)
-                    ? facade.getAsync(key)
-                    : result
-                    .thenCompose(r -> (r != null)
-                        ? CompletableFuture.completedFuture(r)
-                        : facade.getAsync(key));
+            return getAsync(key, 0);
+        }
+
+        private CompletionStage<V> getAsync(K key, int facadeIndex) {
+            if (facadeIndex == facades.size()) {
+                return CompletableFuture.completedFuture(null);
             }
 
-            return result;
+            return facades.get(facadeIndex).getAsync(key).thenCompose(received -> {
+                if (received == null) {
+                    return getAsync(key, facadeIndex + 1);
+                }
+
+                // value found in outer cache is put to inner caches, so next get is served by the first one
+                final CompletableFuture<?>[] operations = new CompletableFuture[facadeIndex];
+                for (int j = 0; j < facadeIndex; j++) {
+                    operations[j] = facades.get(j).putAsync(key, received).toCompletableFuture();
+                }
+                return CompletableFuture.allOf(operations).thenApply(r -> received);
+            });
         }
 
         @Nonnull
         @Override
         public CompletionStage<Map<K, V>> getAsync(@Nonnull Collection<K> keys) {
-            throw new UnsupportedOperationException();
+            if (keys.isEmpty()) {
+                return CompletableFuture.completedFuture(Collections.emptyMap());
+            }
+
+            return getAsync(new HashSet<>(keys), new HashMap<>(), 0);
+        }
+
+        private CompletionStage<Map<K, V>> getAsync(Set<K> keysLeft, Map<K, V> resultValues, int facadeIndex) {
+            if (facadeIndex == facades.size() || keysLeft.isEmpty()) {
+                return CompletableFuture.completedFuture(resultValues);
+            }
+
+            return facades.get(facadeIndex).getAsync(keysLeft).thenCompose(received -> {
+                if (received.isEmpty()) {
+                    return getAsync(keysLeft, resultValues, facadeIndex + 1);
+                }
+
+                resultValues.putAll(received);
+                keysLeft.removeAll(received.keySet());
+                final CompletableFuture<?>[] operations = new CompletableFuture[facadeIndex];
+                for (int j = 0; j < facadeIndex; j++) {
+                    operations[j] = facades.get(j).putAsync(received).toCompletableFuture();
+                }
+                return CompletableFuture.allOf(operations).thenCompose(r -> getAsync(keysLeft, resultValues, facadeIndex + 1));
+            });
         }
 
         @Nonnull
@@ -118,8 +151,8 @@ final class AsyncFacadeCacheBuilder<K, V> implements AsyncCache.Builder<K, V> {
                     return CompletableFuture.completedFuture(r);
                 }
 
-                return mappingFunction.apply(key)
-                    .thenCompose(received -> putAsync(key, received));
+                return singleFlight.loadAsync(key, k -> mappingFunction.apply(k)
+                    .thenCompose(received -> putAsync(k, received)), coalesced -> {});
             });
         }
 
@@ -165,14 +198,16 @@ final class AsyncFacadeCacheBuilder<K, V> implements AsyncCache.Builder<K, V> {
                     }
                 }
 
-                return mappingFunction.apply(keysLeft).thenCompose(received -> {
-                    var resultValue = new HashMap<>(received);
-                    resultValue.putAll(r);
-
-                    return (received.isEmpty())
-                        ? CompletableFuture.completedFuture(resultValue)
-                        : putAsync(received).thenApply(r2 -> resultValue);
-                });
+                return singleFlight.loadAllAsync(keysLeft, ks -> mappingFunction.apply(ks).thenCompose(received -> {
+                        return (received.isEmpty())
+                            ? CompletableFuture.completedFuture(received)
+                            : putAsync(received).thenApply(r2 -> received);
+                    }), coalesced -> {})
+                    .thenApply(received -> {
+                        var resultValue = new HashMap<>(received);
+                        resultValue.putAll(r);
+                        return resultValue;
+                    });
             });
         }
 
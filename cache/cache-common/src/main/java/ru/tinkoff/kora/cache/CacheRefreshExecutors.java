@@ -0,0 +1,41 @@
+package ru.tinkoff.kora.cache;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors running background refreshes of cache values, so slow mapping functions of one cache don't occupy shared pools.
+ */
+public final class CacheRefreshExecutors {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private CacheRefreshExecutors() {}
+
+    /**
+     * Pool of daemon threads which are stopped after idling for a minute, so it requires no shutdown
+     *
+     * @param cacheName name of the cache, used in thread names
+     * @param threads   maximum number of refreshes running concurrently, others are queued
+     */
+    @Nonnull
+    public static Executor newRefreshExecutor(@Nonnull String cacheName, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Cache '" + cacheName + "' refreshThreads must be positive, but received: " + threads);
+        }
+
+        var counter = new AtomicInteger();
+        var executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            var thread = new Thread(r, "cache-refresh-" + cacheName + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -38,6 +38,8 @@ final class FacadeCacheBuilder<K, V> implements Cache.Builder<K, V> {
     static class FacadeCache<K, V> implements Cache<K, V> {
 
         private final List<Cache<K, V>> facades;
+        // values missing in all facades are computed once per key, concurrent computeIfAbsent calls await it
+        final SingleFlight<K, V> singleFlight = new SingleFlight<>();
 
         public FacadeCache(List<Cache<K, V>> facades) {
             this.facades = facades;
@@ -46,9 +48,14 @@ final class FacadeCacheBuilder<K, V> implements Cache.Builder<K, V> {
         @Nullable
         @Override
         public V get(@Nonnull K key) {
-            for (var facade : facades) {
-                final V v = facade.get(key);
+            for (int i = 0; i < facades.size(); i++) {
+                final V v = facades.get(i).get(key);
                 if (v != null) {
+                    // value found in outer cache is put to inner caches, so next get is served by the first one
+                    for (int j = 0; j < i; j++) {
+                        facades.get(j).put(key, v);
+                    }
+
                     return v;
                 }
             }
@@ -59,7 +66,26 @@ final class FacadeCacheBuilder<K, V> implements Cache.Builder<K, V> {
         @Nonnull
         @Override
         public Map<K, V> get(@Nonnull Collection<K> keys) {
-            throw new UnsupportedOperationException();
+            if (keys.isEmpty()) {
+                return Collections.emptyMap();
+            }
+
+            final Map<K, V> resultValues = new HashMap<>();
+            final Set<K> keysLeft = new HashSet<>(keys);
+            for (int i = 0; i < facades.size() && !keysLeft.isEmpty(); i++) {
+                var values = facades.get(i).get(keysLeft);
+                if (values.isEmpty()) {
+                    continue;
+                }
+
+                resultValues.putAll(values);
+                keysLeft.removeAll(values.keySet());
+                for (int j = 0; j < i; j++) {
+                    facades.get(j).put(values);
+                }
+            }
+
+            return resultValues;
         }
 
         @Nonnull
@@ -97,12 +123,14 @@ final class FacadeCacheBuilder<K, V> implements Cache.Builder<K, V> {
                 }
             }
 
-            final V computed = mappingFunction.apply(key);
-            for (var facade : facades) {
-                facade.put(key, computed);
-            }
+            return singleFlight.load(key, k -> {
+                final V computed = mappingFunction.apply(k);
+                for (var facade : facades) {
+                    facade.put(k, computed);
+                }
 
-            return computed;
+                return computed;
+            }, coalesced -> {});
         }
 
         @Nonnull
@@ -125,7 +153,7 @@ final class FacadeCacheBuilder<K, V> implements Cache.Builder<K, V> {
             }
 
             final Map<K, V> computed = (!keysLeft.isEmpty())
-                ? mappingFunction.apply(keysLeft)
+                ? singleFlight.loadAll(keysLeft, mappingFunction, coalesced -> {})
                 : Collections.emptyMap();
 
             resultValues.putAll(computed);
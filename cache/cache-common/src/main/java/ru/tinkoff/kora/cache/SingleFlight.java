@@ -0,0 +1,190 @@
+package ru.tinkoff.kora.cache;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key, so only one load per key is in flight in this process and other callers await its result.
+ * Loader should put loaded value to cache before completion, otherwise callers arriving right after completion load it again.
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param onCoalesced invoked with number of keys awaited from load started by another caller
+     */
+    public V load(@Nonnull K key, @Nonnull Function<K, V> loader, @Nonnull IntConsumer onCoalesced) {
+        var future = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            onCoalesced.accept(1);
+            return join(existing);
+        }
+
+        try {
+            var value = loader.apply(key);
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * @param onCoalesced invoked with number of keys awaited from load started by another caller
+     */
+    @Nonnull
+    public CompletionStage<V> loadAsync(@Nonnull K key, @Nonnull Function<K, CompletionStage<V>> loader, @Nonnull IntConsumer onCoalesced) {
+        var future = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            onCoalesced.accept(1);
+            return existing.copy();
+        }
+
+        complete(future, () -> loader.apply(key), () -> inFlight.remove(key, future));
+        return future.copy();
+    }
+
+    /**
+     * Loads keys not already in flight with single loader call and awaits the rest
+     *
+     * @param onCoalesced invoked with number of keys awaited from loads started by other callers
+     */
+    @Nonnull
+    public Map<K, V> loadAll(@Nonnull Set<K> keys, @Nonnull Function<Set<K>, Map<K, V>> loader, @Nonnull IntConsumer onCoalesced) {
+        var owned = new HashMap<K, CompletableFuture<V>>();
+        var awaited = new HashMap<K, CompletableFuture<V>>();
+        acquire(keys, owned, awaited);
+        if (!awaited.isEmpty()) {
+            onCoalesced.accept(awaited.size());
+        }
+
+        final Map<K, V> result = new HashMap<>();
+        if (!owned.isEmpty()) {
+            try {
+                var values = loader.apply(owned.keySet());
+                result.putAll(values);
+                for (var entry : owned.entrySet()) {
+                    entry.getValue().complete(values.get(entry.getKey()));
+                }
+            } catch (Throwable e) {
+                for (var future : owned.values()) {
+                    future.completeExceptionally(e);
+                }
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        for (var entry : awaited.entrySet()) {
+            var value = join(entry.getValue());
+            if (value != null) {
+                result.put(entry.getKey(), value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads keys not already in flight with single loader call and awaits the rest
+     *
+     * @param onCoalesced invoked with number of keys awaited from loads started by other callers
+     */
+    @Nonnull
+    public CompletionStage<Map<K, V>> loadAllAsync(@Nonnull Set<K> keys,
+                                                   @Nonnull Function<Set<K>, CompletionStage<Map<K, V>>> loader,
+                                                   @Nonnull IntConsumer onCoalesced) {
+        var owned = new HashMap<K, CompletableFuture<V>>();
+        var awaited = new HashMap<K, CompletableFuture<V>>();
+        acquire(keys, owned, awaited);
+        if (!awaited.isEmpty()) {
+            onCoalesced.accept(awaited.size());
+        }
+
+        final CompletableFuture<Map<K, V>> loaded = new CompletableFuture<>();
+        if (owned.isEmpty()) {
+            loaded.complete(Collections.emptyMap());
+        } else {
+            loaded.whenComplete((values, e) -> {
+                for (var entry : owned.entrySet()) {
+                    if (e != null) {
+                        entry.getValue().completeExceptionally(e);
+                    } else {
+                        entry.getValue().complete(values.get(entry.getKey()));
+                    }
+                }
+            });
+            complete(loaded, () -> loader.apply(owned.keySet()), () -> owned.forEach(inFlight::remove));
+        }
+
+        var awaitedAll = CompletableFuture.allOf(awaited.values().toArray(CompletableFuture[]::new));
+        return loaded.thenCombine(awaitedAll, (values, r) -> {
+            final Map<K, V> result = new HashMap<>(values);
+            for (var entry : awaited.entrySet()) {
+                var value = entry.getValue().join();
+                if (value != null) {
+                    result.put(entry.getKey(), value);
+                }
+            }
+            return result;
+        });
+    }
+
+    private void acquire(Set<K> keys, Map<K, CompletableFuture<V>> owned, Map<K, CompletableFuture<V>> awaited) {
+        for (var key : keys) {
+            var future = new CompletableFuture<V>();
+            var existing = inFlight.putIfAbsent(key, future);
+            if (existing == null) {
+                owned.put(key, future);
+            } else {
+                awaited.put(key, existing);
+            }
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Supplier<CompletionStage<T>> loader, Runnable onLoaded) {
+        CompletionStage<T> loading;
+        try {
+            loading = loader.get();
+        } catch (Throwable e) {
+            loading = CompletableFuture.failedFuture(e);
+        }
+
+        loading.whenComplete((value, e) -> {
+            // removed before completion, so callers continuing on completion don't await finished load
+            onLoaded.run();
+            if (e != null) {
+                future.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            } else {
+                future.complete(value);
+            }
+        });
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            } else if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+}
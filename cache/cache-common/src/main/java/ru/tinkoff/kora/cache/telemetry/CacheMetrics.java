@@ -8,4 +8,12 @@ public interface CacheMetrics {
     void recordSuccess(@Nonnull CacheTelemetryOperation operation, long durationInNanos, @Nullable Object valueFromCache);
 
     void recordFailure(@Nonnull CacheTelemetryOperation operation, long durationInNanos, @Nullable Throwable throwable);
+
+    /**
+     * Records keys that were not computed by operation because their computation was already in flight and its result was awaited instead
+     *
+     * @param keys        number of awaited keys
+     * @param distributed {@code true} if value was computed by another application instance holding the lock, {@code false} if in this process
+     */
+    default void recordCoalesced(@Nonnull CacheTelemetryOperation operation, int keys, boolean distributed) {}
 }
@@ -0,0 +1,188 @@
+package ru.tinkoff.kora.cache.redis;
+
+import jakarta.annotation.Nonnull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares matching bulk results to keys by position with previous nested loop over {@code Map<byte[], byte[]>},
+ * Redis is replaced with in-memory client, so only client side cost is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkGetBenchmark implements RedisCacheMapperModule {
+    @Param({"10", "100", "1000"})
+    public int keys;
+
+    private InMemoryRedisCacheClient redisClient;
+    private BenchmarkCache cache;
+    private List<String> cacheKeys;
+
+    @Setup
+    public void setup() {
+        this.redisClient = new InMemoryRedisCacheClient();
+        this.cache = new BenchmarkCache(new RedisCacheConfig() {
+            @Override
+            public String keyPrefix() {
+                return "benchmark";
+            }
+
+            @Override
+            public Duration expireAfterWrite() {
+                return null;
+            }
+
+            @Override
+            public Duration expireAfterAccess() {
+                return null;
+            }
+        }, this.redisClient, redisCacheTelemetry(null, null), stringRedisKeyMapper(), stringRedisValueMapper());
+
+        this.cacheKeys = new ArrayList<>(this.keys);
+        var values = new HashMap<String, String>();
+        for (int i = 0; i < this.keys; i++) {
+            var key = "key-" + i;
+            this.cacheKeys.add(key);
+            // every other key is missing
+            if (i % 2 == 0) {
+                values.put(key, "value-" + i);
+            }
+        }
+        this.cache.put(values);
+    }
+
+    @Benchmark
+    public void positional(Blackhole blackhole) {
+        blackhole.consume(this.cache.get(this.cacheKeys));
+    }
+
+    @Benchmark
+    public void nestedLoop(Blackhole blackhole) {
+        var keysByKeyBytes = new HashMap<String, byte[]>();
+        for (var key : this.cacheKeys) {
+            keysByKeyBytes.put(key, this.cache.mapKey(key));
+        }
+
+        var valueByKeys = this.redisClient.mget(keysByKeyBytes.values().toArray(byte[][]::new)).toCompletableFuture().join();
+        var valueMapper = stringRedisValueMapper();
+        var keyToValue = new HashMap<String, String>();
+        for (var entry : keysByKeyBytes.entrySet()) {
+            valueByKeys.forEach((k, v) -> {
+                if (Arrays.equals(entry.getValue(), k)) {
+                    keyToValue.put(entry.getKey(), valueMapper.read(v));
+                }
+            });
+        }
+        blackhole.consume(keyToValue);
+    }
+
+    private static final class BenchmarkCache extends AbstractRedisCache<String, String> {
+        private BenchmarkCache(RedisCacheConfig config,
+                               RedisCacheClient redisClient,
+                               RedisCacheTelemetry telemetry,
+                               RedisCacheKeyMapper<String> keyMapper,
+                               RedisCacheValueMapper<String> valueMapper) {
+            super("benchmark", config, redisClient, telemetry, keyMapper, valueMapper);
+        }
+    }
+
+    private static final class InMemoryRedisCacheClient implements RedisCacheClient {
+        private final Map<ByteBuffer, byte[]> values = new ConcurrentHashMap<>();
+
+        @Nonnull
+        @Override
+        public CompletionStage<byte[]> get(byte[] key) {
+            return CompletableFuture.completedFuture(this.values.get(ByteBuffer.wrap(key)));
+        }
+
+        @Nonnull
+        @Override
+        public CompletionStage<Map<byte[], byte[]>> mget(byte[][] keys) {
+            var result = new HashMap<byte[], byte[]>();
+            for (var key : keys) {
+                var value = this.values.get(ByteBuffer.wrap(key));
+                if (value != null) {
+                    result.put(key, value);
+                }
+            }
+            return CompletableFuture.completedFuture(result);
+        }
+
+        @Nonnull
+        @Override
+        public CompletionStage<byte[][]> mgetValues(byte[][] keys) {
+            var result = new byte[keys.length][];
+            for (int i = 0; i < keys.length; i++) {
+                result[i] = this.values.get(ByteBuffer.wrap(keys[i]));
+            }
+            return CompletableFuture.completedFuture(result);
+        }
+
+        @Nonnull
+        @Override
+        public CompletionStage<byte[]> getex(byte[] key, long expireAfterMillis) {
+            return get(key);
+        }
+
+        @Nonnull
+        @Override
+        public CompletionStage<Boolean> set(byte[] key, byte[] value) {
+            this.values.put(ByteBuffer.wrap(key), value);
+            return CompletableFuture.completedFuture(true);
+        }
+
+        @Nonnull
+        @Override
+        public CompletionStage<Boolean> mset(Map<byte[], byte[]> keyAndValue) {
+            keyAndValue.forEach(this::set);
+            return CompletableFuture.completedFuture(true);
+        }
+
+        @Nonnull
+        @Override
+        public CompletionStage<Boolean> psetex(byte[] key, byte[] value, long expireAfterMillis) {
+            return set(key, value);
+        }
+
+        @Nonnull
+        @Override
+        public CompletionStage<Long> del(byte[] key) {
+            return CompletableFuture.completedFuture(this.values.remove(ByteBuffer.wrap(key)) == null ? 0L : 1L);
+        }
+
+        @Nonnull
+        @Override
+        public CompletionStage<Long> del(byte[][] keys) {
+            long deleted = 0;
+            for (var key : keys) {
+                deleted += del(key).toCompletableFuture().join();
+            }
+            return CompletableFuture.completedFuture(deleted);
+        }
+
+        @Nonnull
+        @Override
+        public CompletionStage<Boolean> flushAll() {
+            this.values.clear();
+            return CompletableFuture.completedFuture(true);
+        }
+
+        @Override
+        public void init() {}
+
+        @Override
+        public void release() {}
+    }
+}
@@ -1,18 +1,26 @@
 package ru.tinkoff.kora.cache.redis;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.cache.AsyncCache;
+import ru.tinkoff.kora.cache.CacheRefreshExecutors;
+import ru.tinkoff.kora.cache.SingleFlight;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
 
+    private static final byte[] LOCK_SUFFIX = ":lock".getBytes(StandardCharsets.UTF_8);
+
     private final String name;
     private final RedisCacheClient redisClient;
     private final RedisCacheTelemetry telemetry;
@@ -24,23 +32,67 @@ public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
     private final Long expireAfterAccessMillis;
     private final Long expireAfterWriteMillis;
 
+    // computations of missing values in flight, so concurrent computeIfAbsent calls for one key await single computation
+    private final SingleFlight<K, V> singleFlight = new SingleFlight<>();
+    @Nullable
+    private final RedisCacheConfig.ComputeLockConfig computeLock;
+
+    @Nullable
+    private final Long refreshAfterWriteMillis;
+    @Nullable
+    private final Executor refreshExecutor;
+    // background refreshes of stale values in flight, so value is refreshed once per key at a time
+    private final SingleFlight<K, V> refreshes = new SingleFlight<>();
+
     protected AbstractRedisCache(String name,
                                  RedisCacheConfig config,
                                  RedisCacheClient redisClient,
                                  RedisCacheTelemetry telemetry,
                                  RedisCacheKeyMapper<K> keyMapper,
                                  RedisCacheValueMapper<V> valueMapper) {
+        this(name, config, redisClient, telemetry, keyMapper, valueMapper, null);
+    }
+
+    /**
+     * @param refreshExecutor runs background recomputation of values older than {@link RedisCacheConfig#refreshAfterWrite()},
+     *                        cache own pool of {@link RedisCacheConfig#refreshThreads()} threads is used when null
+     */
+    protected AbstractRedisCache(String name,
+                                 RedisCacheConfig config,
+                                 RedisCacheClient redisClient,
+                                 RedisCacheTelemetry telemetry,
+                                 RedisCacheKeyMapper<K> keyMapper,
+                                 RedisCacheValueMapper<V> valueMapper,
+                                 @Nullable Executor refreshExecutor) {
         this.name = name;
         this.redisClient = redisClient;
         this.telemetry = telemetry;
         this.keyMapper = keyMapper;
-        this.valueMapper = valueMapper;
+        this.valueMapper = (config.compression() == null)
+            ? valueMapper
+            : new CompressingRedisCacheValueMapper<>(valueMapper, config.compression());
         this.expireAfterAccessMillis = (config.expireAfterAccess() == null)
             ? null
             : config.expireAfterAccess().toMillis();
         this.expireAfterWriteMillis = (config.expireAfterWrite() == null)
             ? null
             : config.expireAfterWrite().toMillis();
+        this.computeLock = config.computeLock();
+
+        if (config.refreshAfterWrite() == null) {
+            this.refreshAfterWriteMillis = null;
+            this.refreshExecutor = refreshExecutor;
+        } else if (config.expireAfterWrite() == null || config.refreshAfterWrite().compareTo(config.expireAfterWrite()) >= 0) {
+            throw new IllegalArgumentException("Redis cache '" + name + "' refreshAfterWrite requires greater expireAfterWrite, but received: "
+                                               + config.refreshAfterWrite() + " and " + config.expireAfterWrite());
+        } else if (config.expireAfterAccess() != null) {
+            throw new IllegalArgumentException("Redis cache '" + name + "' refreshAfterWrite can't be used with expireAfterAccess");
+        } else {
+            this.refreshAfterWriteMillis = config.refreshAfterWrite().toMillis();
+            this.refreshExecutor = (refreshExecutor == null)
+                ? CacheRefreshExecutors.newRefreshExecutor(name, config.refreshThreads())
+                : refreshExecutor;
+        }
 
         if(config.keyPrefix().isEmpty()) {
             this.keyPrefix = null;
@@ -86,23 +138,9 @@ public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
 
         var telemetryContext = telemetry.create("GET_MANY", name);
         try {
-            final Map<K, byte[]> keysByKeyBytes = keys.stream()
-                .collect(Collectors.toMap(k -> k, this::mapKey, (v1, v2) -> v2));
-
-            final byte[][] keysByBytes = keysByKeyBytes.values().toArray(byte[][]::new);
-            final Map<byte[], byte[]> valueByKeys = (expireAfterAccessMillis == null)
-                ? redisClient.mget(keysByBytes).toCompletableFuture().join()
-                : redisClient.getex(keysByBytes, expireAfterAccessMillis).toCompletableFuture().join();
-
-            final Map<K, V> keyToValue = new HashMap<>();
-            for (var entry : keysByKeyBytes.entrySet()) {
-                valueByKeys.forEach((k, v) -> {
-                    if (Arrays.equals(entry.getValue(), k)) {
-                        var value = valueMapper.read(v);
-                        keyToValue.put(entry.getKey(), value);
-                    }
-                });
-            }
+            final List<K> keysDistinct = distinct(keys);
+            final byte[][] values = getValues(mapKeys(keysDistinct)).toCompletableFuture().join();
+            final Map<K, V> keyToValue = readValues(keysDistinct, values);
 
             telemetryContext.recordSuccess(keyToValue);
             return keyToValue;
@@ -153,19 +191,7 @@ public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
         var telemetryContext = telemetry.create("PUT_MANY", name);
 
         try {
-            var keyAndValuesAsBytes = new HashMap<byte[], byte[]>();
-            keyAndValues.forEach((k, v) -> {
-                final byte[] keyAsBytes = mapKey(k);
-                final byte[] valueAsBytes = valueMapper.write(v);
-                keyAndValuesAsBytes.put(keyAsBytes, valueAsBytes);
-            });
-
-            if (expireAfterWriteMillis == null) {
-                redisClient.mset(keyAndValuesAsBytes).toCompletableFuture().join();
-            } else {
-                redisClient.psetex(keyAndValuesAsBytes, expireAfterWriteMillis).toCompletableFuture().join();
-            }
-
+            putValues(keyAndValues).toCompletableFuture().join();
             telemetryContext.recordSuccess();
             return keyAndValues;
         } catch (CompletionException e) {
@@ -185,9 +211,9 @@ public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
 
         var telemetryContext = telemetry.create("COMPUTE_IF_ABSENT", name);
 
+        final byte[] keyAsBytes = mapKey(key);
         V fromCache = null;
         try {
-            final byte[] keyAsBytes = mapKey(key);
             final byte[] jsonAsBytes = (expireAfterAccessMillis == null)
                 ? redisClient.get(keyAsBytes).toCompletableFuture().join()
                 : redisClient.getex(keyAsBytes, expireAfterAccessMillis).toCompletableFuture().join();
@@ -196,32 +222,26 @@ public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
         } catch (Exception ignored) {}
 
         if (fromCache != null) {
+            if (refreshAfterWriteMillis != null) {
+                refreshIfStale(key, keyAsBytes, k -> CompletableFuture.supplyAsync(() -> mappingFunction.apply(k), refreshExecutor));
+            }
             telemetryContext.recordSuccess();
             return fromCache;
         }
 
         try {
-            var value = mappingFunction.apply(key);
-            if (value != null) {
-                try {
-                    final byte[] keyAsBytes = mapKey(key);
-                    final byte[] valueAsBytes = valueMapper.write(value);
-                    if (expireAfterWriteMillis == null) {
-                        redisClient.set(keyAsBytes, valueAsBytes).toCompletableFuture().join();
-                    } else {
-                        redisClient.psetex(keyAsBytes, valueAsBytes, expireAfterWriteMillis).toCompletableFuture().join();
-                    }
-                } catch (Exception ignored) {}
-            }
+            var value = singleFlight.load(key,
+                k -> (computeLock == null)
+                    ? computeAndPut(k, keyAsBytes, mappingFunction)
+                    : computeUnderLock(k, keyAsBytes, mappingFunction, telemetryContext),
+                coalesced -> telemetryContext.recordCoalesced(coalesced, false));
 
             telemetryContext.recordSuccess();
             return value;
-        } catch (CompletionException e) {
-            telemetryContext.recordFailure(e.getCause());
-            return null;
         } catch (Exception e) {
+            // Redis failures are ignored while computing, so it is mapping function failure and caller should receive it
             telemetryContext.recordFailure(e);
-            return null;
+            throw e;
         }
     }
 
@@ -234,53 +254,32 @@ public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
 
         var telemetryContext = telemetry.create("COMPUTE_IF_ABSENT_MANY", name);
 
+        final List<K> keysDistinct = distinct(keys);
         final Map<K, V> fromCache = new HashMap<>();
         try {
-            final Map<K, byte[]> keysByKeyBytes = keys.stream()
-                .collect(Collectors.toMap(k -> k, this::mapKey, (v1, v2) -> v2));
-
-            final byte[][] keysByBytes = keysByKeyBytes.values().toArray(byte[][]::new);
-            final Map<byte[], byte[]> valueByKeys = (expireAfterAccessMillis == null)
-                ? redisClient.mget(keysByBytes).toCompletableFuture().join()
-                : redisClient.getex(keysByBytes, expireAfterAccessMillis).toCompletableFuture().join();
-
-            for (var entry : keysByKeyBytes.entrySet()) {
-                valueByKeys.forEach((k, v) -> {
-                    if (Arrays.equals(entry.getValue(), k)) {
-                        var value = valueMapper.read(v);
-                        fromCache.put(entry.getKey(), value);
-                    }
-                });
-            }
+            final byte[][] values = getValues(mapKeys(keysDistinct)).toCompletableFuture().join();
+            fromCache.putAll(readValues(keysDistinct, values));
         } catch (Exception ignored) {}
 
-        if (fromCache.size() == keys.size()) {
+        if (fromCache.size() == keysDistinct.size()) {
             telemetryContext.recordSuccess();
             return fromCache;
         }
 
-        var missingKeys = keys.stream()
+        var missingKeys = keysDistinct.stream()
             .filter(k -> !fromCache.containsKey(k))
             .collect(Collectors.toSet());
 
         try {
-            var values = mappingFunction.apply(missingKeys);
-            if (!values.isEmpty()) {
-                try {
-                    var keyAndValuesAsBytes = new HashMap<byte[], byte[]>();
-                    values.forEach((k, v) -> {
-                        final byte[] keyAsBytes = mapKey(k);
-                        final byte[] valueAsBytes = valueMapper.write(v);
-                        keyAndValuesAsBytes.put(keyAsBytes, valueAsBytes);
-                    });
-
-                    if (expireAfterWriteMillis == null) {
-                        redisClient.mset(keyAndValuesAsBytes).toCompletableFuture().join();
-                    } else {
-                        redisClient.psetex(keyAndValuesAsBytes, expireAfterWriteMillis).toCompletableFuture().join();
-                    }
-                } catch (Exception ignored) {}
-            }
+            var values = singleFlight.loadAll(missingKeys, ks -> {
+                var computed = mappingFunction.apply(ks);
+                if (!computed.isEmpty()) {
+                    try {
+                        putValues(computed).toCompletableFuture().join();
+                    } catch (Exception ignored) {}
+                }
+                return computed;
+            }, coalesced -> telemetryContext.recordCoalesced(coalesced, false));
 
             telemetryContext.recordSuccess();
             fromCache.putAll(values);
@@ -379,25 +378,11 @@ public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
         }
 
         var telemetryContext = telemetry.create("GET_MANY", name);
-        var keysByKeyByte = keys.stream()
-            .collect(Collectors.toMap(k -> k, this::mapKey, (v1, v2) -> v2));
+        var keysDistinct = distinct(keys);
 
-        var keysAsBytes = keysByKeyByte.values().toArray(byte[][]::new);
-        var responseCompletionStage = (expireAfterAccessMillis == null)
-            ? redisClient.mget(keysAsBytes)
-            : redisClient.getex(keysAsBytes, expireAfterAccessMillis);
-
-        return responseCompletionStage
-            .thenApply(valuesByKeys -> {
-                final Map<K, V> keyToValue = new HashMap<>();
-                for (var entry : keysByKeyByte.entrySet()) {
-                    valuesByKeys.forEach((k, v) -> {
-                        if (Arrays.equals(entry.getValue(), k)) {
-                            var value = valueMapper.read(v);
-                            keyToValue.put(entry.getKey(), value);
-                        }
-                    });
-                }
+        return getValues(mapKeys(keysDistinct))
+            .thenApply(values -> {
+                final Map<K, V> keyToValue = readValues(keysDistinct, values);
                 telemetryContext.recordSuccess(keyToValue);
                 return keyToValue;
             })
@@ -440,18 +425,7 @@ public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
         }
 
         var telemetryContext = telemetry.create("PUT_MANY", name);
-        var keyAndValuesAsBytes = new HashMap<byte[], byte[]>();
-        keyAndValues.forEach((k, v) -> {
-            final byte[] keyAsBytes = mapKey(k);
-            final byte[] valueAsBytes = valueMapper.write(v);
-            keyAndValuesAsBytes.put(keyAsBytes, valueAsBytes);
-        });
-
-        var responseCompletionStage = (expireAfterWriteMillis == null)
-            ? redisClient.mset(keyAndValuesAsBytes)
-            : redisClient.psetex(keyAndValuesAsBytes, expireAfterAccessMillis);
-
-        return responseCompletionStage
+        return putValues(keyAndValues)
             .thenApply(r -> {
                 telemetryContext.recordSuccess();
                 return keyAndValues;
@@ -479,29 +453,25 @@ public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
             .exceptionally(e -> null)
             .thenCompose(fromCache -> {
                 if (fromCache != null) {
+                    if (refreshAfterWriteMillis != null) {
+                        refreshIfStale(key, keyAsBytes, k -> CompletableFuture.supplyAsync(() -> k, refreshExecutor).thenCompose(mappingFunction));
+                    }
+                    telemetryContext.recordSuccess();
                     return CompletableFuture.completedFuture(fromCache);
                 }
 
-                return mappingFunction.apply(key)
-                    .thenCompose(value -> {
-                        if (value == null) {
-                            return CompletableFuture.completedFuture(null);
+                return singleFlight.loadAsync(key,
+                        k -> (computeLock == null)
+                            ? computeAndPutAsync(k, keyAsBytes, mappingFunction)
+                            : computeUnderLockAsync(k, keyAsBytes, mappingFunction, telemetryContext),
+                        coalesced -> telemetryContext.recordCoalesced(coalesced, false))
+                    .whenComplete((value, e) -> {
+                        // mapping function failure is passed to caller, Redis failures are ignored while computing
+                        if (e != null) {
+                            telemetryContext.recordFailure(e);
+                        } else {
+                            telemetryContext.recordSuccess();
                         }
-
-                        final byte[] valueAsBytes = valueMapper.write(value);
-                        var putFutureResponse = (expireAfterWriteMillis == null)
-                            ? redisClient.set(keyAsBytes, valueAsBytes)
-                            : redisClient.psetex(keyAsBytes, valueAsBytes, expireAfterWriteMillis);
-
-                        return putFutureResponse
-                            .thenApply(v -> {
-                                telemetryContext.recordSuccess();
-                                return value;
-                            });
-                    })
-                    .exceptionally(e -> {
-                        telemetryContext.recordFailure(e);
-                        return null;
                     });
             });
     }
@@ -514,61 +484,32 @@ public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
         }
 
         var telemetryContext = telemetry.create("COMPUTE_IF_ABSENT_MANY", name);
-        final Map<K, byte[]> keysByKeyBytes = keys.stream()
-            .collect(Collectors.toMap(k -> k, this::mapKey, (v1, v2) -> v2));
-
-        final byte[][] keysByBytes = keysByKeyBytes.values().toArray(byte[][]::new);
-        var responseCompletionStage = (expireAfterAccessMillis == null)
-            ? redisClient.mget(keysByBytes)
-            : redisClient.getex(keysByBytes, expireAfterAccessMillis);
+        final List<K> keysDistinct = distinct(keys);
 
-        return responseCompletionStage
-            .thenApply(valueByKeys -> {
-                final Map<K, V> fromCache = new HashMap<>();
-                for (var entry : keysByKeyBytes.entrySet()) {
-                    valueByKeys.forEach((k, v) -> {
-                        if (Arrays.equals(entry.getValue(), k)) {
-                            var value = valueMapper.read(v);
-                            fromCache.put(entry.getKey(), value);
-                        }
-                    });
-                }
-
-                return fromCache;
-            })
-            .exceptionally(e -> null)
+        return getValues(mapKeys(keysDistinct))
+            .thenApply(values -> readValues(keysDistinct, values))
+            .exceptionally(e -> new HashMap<>())
             .thenCompose(fromCache -> {
-                if (fromCache.size() == keys.size()) {
+                if (fromCache.size() == keysDistinct.size()) {
                     return CompletableFuture.completedFuture(fromCache);
                 }
 
-                var missingKeys = keys.stream()
+                var missingKeys = keysDistinct.stream()
                     .filter(k -> !fromCache.containsKey(k))
                     .collect(Collectors.toSet());
 
-                return mappingFunction.apply(missingKeys)
-                    .thenCompose(values -> {
-                        if (values.isEmpty()) {
-                            return CompletableFuture.completedFuture(fromCache);
-                        }
-
-                        var keyAndValuesAsBytes = new HashMap<byte[], byte[]>();
-                        values.forEach((k, v) -> {
-                            final byte[] keyAsBytes = mapKey(k);
-                            final byte[] valueAsBytes = valueMapper.write(v);
-                            keyAndValuesAsBytes.put(keyAsBytes, valueAsBytes);
-                        });
-
-                        var putCompletionStage = (expireAfterAccessMillis == null)
-                            ? redisClient.mset(keyAndValuesAsBytes)
-                            : redisClient.psetex(keyAndValuesAsBytes, expireAfterAccessMillis);
-
-                        return putCompletionStage
-                            .thenApply(v -> {
-                                telemetryContext.recordSuccess();
-                                fromCache.putAll(values);
-                                return fromCache;
-                            });
+                return singleFlight.loadAllAsync(missingKeys, ks -> mappingFunction.apply(ks)
+                        .thenCompose(values -> {
+                            if (values.isEmpty()) {
+                                return CompletableFuture.completedFuture(values);
+                            }
+
+                            return putValues(values).thenApply(v -> values);
+                        }), coalesced -> telemetryContext.recordCoalesced(coalesced, false))
+                    .thenApply(values -> {
+                        telemetryContext.recordSuccess();
+                        fromCache.putAll(values);
+                        return fromCache;
                     })
                     .exceptionally(e -> {
                         telemetryContext.recordFailure(e);
@@ -635,7 +576,263 @@ public abstract class AbstractRedisCache<K, V> implements AsyncCache<K, V> {
             });
     }
 
-    private byte[] mapKey(K key) {
+    private V computeAndPut(K key, byte[] keyAsBytes, Function<K, V> mappingFunction) {
+        var value = mappingFunction.apply(key);
+        if (value != null) {
+            try {
+                final byte[] valueAsBytes = valueMapper.write(value);
+                if (expireAfterWriteMillis == null) {
+                    redisClient.set(keyAsBytes, valueAsBytes).toCompletableFuture().join();
+                } else {
+                    redisClient.psetex(keyAsBytes, valueAsBytes, expireAfterWriteMillis).toCompletableFuture().join();
+                }
+            } catch (Exception ignored) {}
+        }
+        return value;
+    }
+
+    private V computeUnderLock(K key, byte[] keyAsBytes, Function<K, V> mappingFunction, RedisCacheTelemetry.TelemetryContext telemetryContext) {
+        final byte[] lockKey = lockKey(keyAsBytes);
+        final byte[] lockToken = lockToken();
+        final boolean locked;
+        try {
+            locked = redisClient.psetnx(lockKey, lockToken, computeLock.lease().toMillis()).toCompletableFuture().join();
+        } catch (Exception e) {
+            // lock only prevents concurrent computation, value is still computed when it can't be taken
+            return computeAndPut(key, keyAsBytes, mappingFunction);
+        }
+
+        if (locked) {
+            try {
+                return computeAndPut(key, keyAsBytes, mappingFunction);
+            } finally {
+                try {
+                    redisClient.delIfEquals(lockKey, lockToken).toCompletableFuture().join();
+                } catch (Exception ignored) {}
+            }
+        }
+
+        final long deadline = System.nanoTime() + computeLock.waitTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(computeLock.pollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            V computed = null;
+            try {
+                computed = valueMapper.read(redisClient.get(keyAsBytes).toCompletableFuture().join());
+            } catch (Exception ignored) {}
+
+            if (computed != null) {
+                telemetryContext.recordCoalesced(1, true);
+                return computed;
+            }
+        }
+
+        // lock owner failed or is too slow, so value is computed without waiting for it any longer
+        return computeAndPut(key, keyAsBytes, mappingFunction);
+    }
+
+    private CompletionStage<V> computeAndPutAsync(K key, byte[] keyAsBytes, Function<K, CompletionStage<V>> mappingFunction) {
+        return mappingFunction.apply(key)
+            .thenCompose(value -> {
+                if (value == null) {
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                try {
+                    final byte[] valueAsBytes = valueMapper.write(value);
+                    var putFutureResponse = (expireAfterWriteMillis == null)
+                        ? redisClient.set(keyAsBytes, valueAsBytes)
+                        : redisClient.psetex(keyAsBytes, valueAsBytes, expireAfterWriteMillis);
+
+                    // computed value is returned even if it failed to be cached, like in computeAndPut
+                    return putFutureResponse.handle((v, e) -> value);
+                } catch (Exception e) {
+                    return CompletableFuture.completedFuture(value);
+                }
+            });
+    }
+
+    private CompletionStage<V> computeUnderLockAsync(K key,
+                                                     byte[] keyAsBytes,
+                                                     Function<K, CompletionStage<V>> mappingFunction,
+                                                     RedisCacheTelemetry.TelemetryContext telemetryContext) {
+        final byte[] lockKey = lockKey(keyAsBytes);
+        final byte[] lockToken = lockToken();
+        return redisClient.psetnx(lockKey, lockToken, computeLock.lease().toMillis())
+            .exceptionally(e -> null)
+            .thenCompose(locked -> {
+                if (locked == null) {
+                    // lock only prevents concurrent computation, value is still computed when it can't be taken
+                    return computeAndPutAsync(key, keyAsBytes, mappingFunction);
+                } else if (locked) {
+                    CompletionStage<V> computed;
+                    try {
+                        computed = computeAndPutAsync(key, keyAsBytes, mappingFunction);
+                    } catch (Exception e) {
+                        computed = CompletableFuture.failedFuture(e);
+                    }
+
+                    final CompletionStage<V> result = computed;
+                    return computed.handle((value, e) -> null)
+                        .thenCompose(r -> redisClient.delIfEquals(lockKey, lockToken).handle((released, e) -> null))
+                        .thenCompose(r -> result);
+                } else {
+                    final long deadline = System.nanoTime() + computeLock.waitTimeout().toNanos();
+                    return awaitComputedAsync(key, keyAsBytes, mappingFunction, telemetryContext, deadline);
+                }
+            });
+    }
+
+    private CompletionStage<V> awaitComputedAsync(K key,
+                                                  byte[] keyAsBytes,
+                                                  Function<K, CompletionStage<V>> mappingFunction,
+                                                  RedisCacheTelemetry.TelemetryContext telemetryContext,
+                                                  long deadline) {
+        if (System.nanoTime() >= deadline) {
+            // lock owner failed or is too slow, so value is computed without waiting for it any longer
+            return computeAndPutAsync(key, keyAsBytes, mappingFunction);
+        }
+
+        var delayedExecutor = CompletableFuture.delayedExecutor(computeLock.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        return CompletableFuture.supplyAsync(() -> keyAsBytes, delayedExecutor)
+            .thenCompose(redisClient::get)
+            .thenApply(valueMapper::read)
+            .exceptionally(e -> null)
+            .thenCompose(computed -> {
+                if (computed != null) {
+                    telemetryContext.recordCoalesced(1, true);
+                    return CompletableFuture.completedFuture(computed);
+                }
+
+                return awaitComputedAsync(key, keyAsBytes, mappingFunction, telemetryContext, deadline);
+            });
+    }
+
+    /**
+     * Keys are matched with bulk results by position, so each key is requested once
+     */
+    private static <K> List<K> distinct(Collection<K> keys) {
+        return (keys instanceof Set<K>)
+            ? new ArrayList<>(keys)
+            : new ArrayList<>(new LinkedHashSet<>(keys));
+    }
+
+    private byte[][] mapKeys(List<K> keys) {
+        final byte[][] keysAsBytes = new byte[keys.size()][];
+        for (int i = 0; i < keysAsBytes.length; i++) {
+            keysAsBytes[i] = mapKey(keys.get(i));
+        }
+        return keysAsBytes;
+    }
+
+    private CompletionStage<byte[][]> getValues(byte[][] keysAsBytes) {
+        return (expireAfterAccessMillis == null)
+            ? redisClient.mgetValues(keysAsBytes)
+            : redisClient.getexValues(keysAsBytes, expireAfterAccessMillis);
+    }
+
+    private Map<K, V> readValues(List<K> keys, byte[][] values) {
+        final Map<K, V> keyToValue = new HashMap<>(keys.size() * 4 / 3 + 1);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                final V value = valueMapper.read(values[i]);
+                if (value != null) {
+                    keyToValue.put(keys.get(i), value);
+                }
+            }
+        }
+        return keyToValue;
+    }
+
+    private CompletionStage<Boolean> putValues(Map<K, V> keyAndValues) {
+        var keyAndValuesAsBytes = new HashMap<byte[], byte[]>(keyAndValues.size() * 4 / 3 + 1);
+        keyAndValues.forEach((k, v) -> {
+            final byte[] keyAsBytes = mapKey(k);
+            final byte[] valueAsBytes = valueMapper.write(v);
+            keyAndValuesAsBytes.put(keyAsBytes, valueAsBytes);
+        });
+
+        return (expireAfterWriteMillis == null)
+            ? redisClient.mset(keyAndValuesAsBytes)
+            : redisClient.psetex(keyAndValuesAsBytes, expireAfterWriteMillis);
+    }
+
+    /**
+     * Value age is derived from its remaining time to live, as value is written with {@link #expireAfterWriteMillis} and never prolonged on read
+     */
+    private void refreshIfStale(K key, byte[] keyAsBytes, Function<K, CompletionStage<V>> mappingFunction) {
+        redisClient.pttl(keyAsBytes).thenAccept(ttl -> {
+            if (ttl != null && ttl >= 0 && expireAfterWriteMillis - ttl >= refreshAfterWriteMillis) {
+                refreshes.loadAsync(key, k -> refresh(k, keyAsBytes, mappingFunction), coalesced -> {});
+            }
+        });
+    }
+
+    private CompletionStage<V> refresh(K key, byte[] keyAsBytes, Function<K, CompletionStage<V>> mappingFunction) {
+        if (computeLock == null) {
+            return refreshAndPut(key, keyAsBytes, mappingFunction);
+        }
+
+        // lock is not awaited, instance which failed to take it keeps serving stale value refreshed by lock owner
+        final byte[] lockKey = lockKey(keyAsBytes);
+        final byte[] lockToken = lockToken();
+        return redisClient.psetnx(lockKey, lockToken, computeLock.lease().toMillis())
+            .exceptionally(e -> true)
+            .thenCompose(locked -> {
+                if (!locked) {
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                return refreshAndPut(key, keyAsBytes, mappingFunction)
+                    .thenCompose(value -> redisClient.delIfEquals(lockKey, lockToken).handle((released, e) -> value));
+            });
+    }
+
+    private CompletionStage<V> refreshAndPut(K key, byte[] keyAsBytes, Function<K, CompletionStage<V>> mappingFunction) {
+        var telemetryContext = telemetry.create("REFRESH", name);
+        CompletionStage<V> refreshed;
+        try {
+            refreshed = computeAndPutAsync(key, keyAsBytes, mappingFunction);
+        } catch (Exception e) {
+            refreshed = CompletableFuture.failedFuture(e);
+        }
+
+        // stale value is kept until it expires when refresh fails
+        return refreshed
+            .thenApply(value -> {
+                telemetryContext.recordSuccess();
+                return value;
+            })
+            .exceptionally(e -> {
+                telemetryContext.recordFailure(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                return null;
+            });
+    }
+
+    private static byte[] lockKey(byte[] keyAsBytes) {
+        var lockKey = Arrays.copyOf(keyAsBytes, keyAsBytes.length + LOCK_SUFFIX.length);
+        System.arraycopy(LOCK_SUFFIX, 0, lockKey, keyAsBytes.length, LOCK_SUFFIX.length);
+        return lockKey;
+    }
+
+    private static byte[] lockToken() {
+        var uuid = UUID.randomUUID();
+        return ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+
+    RedisCacheClient redisClient() {
+        return redisClient;
+    }
+
+    byte[] mapKey(K key) {
         final byte[] suffixAsBytes = keyMapper.apply(key);
         if(this.keyPrefix == null) {
             return suffixAsBytes;
@@ -0,0 +1,17 @@
+package ru.tinkoff.kora.cache.redis;
+
+/**
+ * Stores {@code byte[]} values as is, values can start with any byte so they can't be combined with {@link RedisCacheConfig#compression()}
+ */
+public final class BytesRedisCacheValueMapper implements RedisCacheValueMapper<byte[]> {
+
+    @Override
+    public byte[] write(byte[] value) {
+        return value;
+    }
+
+    @Override
+    public byte[] read(byte[] serializedValue) {
+        return serializedValue;
+    }
+}
@@ -0,0 +1,219 @@
+package ru.tinkoff.kora.cache.redis;
+
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Writes values of delegate mapper with format header byte and compresses them when serialized to more bytes than threshold.
+ * <p>
+ * Header byte is {@code 0xA0} for plain value and {@code 0xA1}, {@code 0xA2} for value compressed with Deflate or LZ4,
+ * followed by original value length as 4 bytes. Values starting with other bytes are passed to delegate mapper as is,
+ * so values written before compression was configured by mappers producing UTF-8 text (JSON, strings, numbers) or Smile are still read,
+ * as their first byte is never in {@code 0x80-0xBF}. Values of other binary mappers written before compression was configured
+ * may start with such byte and be misread, so cache should be flushed when compression is enabled for them.
+ * Raw {@code byte[]} values of {@link BytesRedisCacheValueMapper} are rejected for that reason.
+ */
+public final class CompressingRedisCacheValueMapper<V> implements RedisCacheValueMapper<V> {
+
+    private static final int FORMAT_MASK = 0xC0;
+    private static final int FORMAT = 0x80;
+    private static final int VERSION_MASK = 0xF0;
+    private static final int VERSION_1 = 0xA0;
+
+    private static final byte PLAIN = (byte) VERSION_1;
+    private static final byte DEFLATE = (byte) (VERSION_1 | 1);
+    private static final byte LZ4 = (byte) (VERSION_1 | 2);
+
+    private static final int COMPRESSED_HEADER_LENGTH = 1 + Integer.BYTES;
+    // highest ratios formats can reach, original length in header above them means value is corrupted
+    private static final int DEFLATE_MAX_RATIO = 1032;
+    private static final int LZ4_MAX_RATIO = 255;
+
+    // zlib state is native and costly to allocate per value, each thread reuses its own
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final RedisCacheValueMapper<V> delegate;
+    private final RedisCacheConfig.CompressionConfig.Algorithm algorithm;
+    private final int threshold;
+
+    public CompressingRedisCacheValueMapper(RedisCacheValueMapper<V> delegate, RedisCacheConfig.CompressionConfig config) {
+        if (delegate instanceof BytesRedisCacheValueMapper) {
+            throw new IllegalArgumentException("Compression can't be used with raw byte[] cache values, values written without compression could be misread as compressed");
+        }
+        if (config.threshold() < 0) {
+            throw new IllegalArgumentException("Compression threshold can't be negative, but received: " + config.threshold());
+        }
+        this.delegate = delegate;
+        this.algorithm = config.algorithm();
+        this.threshold = config.threshold();
+        if (this.algorithm == RedisCacheConfig.CompressionConfig.Algorithm.LZ4) {
+            try {
+                Lz4.load();
+            } catch (LinkageError e) {
+                throw lz4Missing(e);
+            }
+        }
+    }
+
+    @Override
+    public byte[] write(V value) {
+        final byte[] serialized = delegate.write(value);
+        if (serialized == null) {
+            return null;
+        }
+
+        if (serialized.length >= threshold) {
+            final byte[] compressed = switch (algorithm) {
+                case DEFLATE -> deflate(serialized);
+                case LZ4 -> lz4Compress(serialized);
+            };
+
+            // incompressible value is stored plain
+            if (compressed != null && compressed.length <= serialized.length) {
+                compressed[0] = (algorithm == RedisCacheConfig.CompressionConfig.Algorithm.DEFLATE) ? DEFLATE : LZ4;
+                ByteBuffer.wrap(compressed, 1, Integer.BYTES).putInt(serialized.length);
+                return compressed;
+            }
+        }
+
+        final byte[] plain = new byte[serialized.length + 1];
+        plain[0] = PLAIN;
+        System.arraycopy(serialized, 0, plain, 1, serialized.length);
+        return plain;
+    }
+
+    @Override
+    public V read(byte[] serializedValue) {
+        if (serializedValue == null || serializedValue.length == 0 || (serializedValue[0] & FORMAT_MASK) != FORMAT) {
+            return delegate.read(serializedValue);
+        }
+        if ((serializedValue[0] & VERSION_MASK) != VERSION_1) {
+            throw new IllegalStateException("Unsupported cache value format: " + Integer.toHexString(serializedValue[0] & 0xFF));
+        }
+
+        final byte header = serializedValue[0];
+        if (header == PLAIN) {
+            return delegate.read(Arrays.copyOfRange(serializedValue, 1, serializedValue.length));
+        }
+        if (serializedValue.length < COMPRESSED_HEADER_LENGTH) {
+            throw new IllegalStateException("Compressed cache value is truncated");
+        }
+
+        final int length = ByteBuffer.wrap(serializedValue, 1, Integer.BYTES).getInt();
+        if (header == DEFLATE) {
+            return delegate.read(inflate(serializedValue, checkLength(serializedValue, length, DEFLATE_MAX_RATIO)));
+        } else if (header == LZ4) {
+            return delegate.read(lz4Decompress(serializedValue, checkLength(serializedValue, length, LZ4_MAX_RATIO)));
+        } else {
+            throw new IllegalStateException("Unsupported cache value compression: " + Integer.toHexString(header & 0xFF));
+        }
+    }
+
+    private static int checkLength(byte[] compressed, int length, int maxRatio) {
+        final long maxLength = (long) (compressed.length - COMPRESSED_HEADER_LENGTH) * maxRatio;
+        if (length < 0 || length > maxLength) {
+            throw new IllegalStateException("Compressed cache value is corrupted, original length in header is " + length);
+        }
+        return length;
+    }
+
+    /**
+     * @return value compressed after header space, or {@code null} if compressed value isn't smaller
+     */
+    private static byte[] deflate(byte[] value) {
+        final Deflater deflater = DEFLATER.get();
+        try {
+            deflater.setInput(value);
+            deflater.finish();
+            final byte[] compressed = new byte[COMPRESSED_HEADER_LENGTH + value.length];
+            int length = COMPRESSED_HEADER_LENGTH;
+            while (!deflater.finished() && length < compressed.length) {
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+
+            return deflater.finished()
+                ? Arrays.copyOf(compressed, length)
+                : null;
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int length) {
+        final Inflater inflater = INFLATER.get();
+        try {
+            inflater.setInput(compressed, COMPRESSED_HEADER_LENGTH, compressed.length - COMPRESSED_HEADER_LENGTH);
+            final byte[] value = new byte[length];
+            int inflated = 0;
+            while (inflated < length) {
+                final int read = inflater.inflate(value, inflated, length - inflated);
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Compressed cache value is truncated");
+                }
+                inflated += read;
+            }
+            return value;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed cache value is corrupted", e);
+        } finally {
+            inflater.reset();
+        }
+    }
+
+    private static byte[] lz4Compress(byte[] value) {
+        try {
+            return Lz4.compress(value);
+        } catch (LinkageError e) {
+            throw lz4Missing(e);
+        }
+    }
+
+    private static byte[] lz4Decompress(byte[] compressed, int length) {
+        try {
+            return Lz4.decompress(compressed, length);
+        } catch (LinkageError e) {
+            throw lz4Missing(e);
+        }
+    }
+
+    private static IllegalStateException lz4Missing(LinkageError e) {
+        return new IllegalStateException("LZ4 cache value compression requires org.lz4:lz4-java dependency", e);
+    }
+
+    // loaded only when LZ4 is used, as lz4-java is optional dependency
+    private static final class Lz4 {
+
+        private static final LZ4Factory FACTORY = LZ4Factory.fastestInstance();
+
+        static void load() {}
+
+        static byte[] compress(byte[] value) {
+            final var compressor = FACTORY.fastCompressor();
+            final int maxLength = compressor.maxCompressedLength(value.length);
+            final byte[] compressed = new byte[COMPRESSED_HEADER_LENGTH + maxLength];
+            final int length = compressor.compress(value, 0, value.length, compressed, COMPRESSED_HEADER_LENGTH, maxLength);
+            return Arrays.copyOf(compressed, COMPRESSED_HEADER_LENGTH + length);
+        }
+
+        static byte[] decompress(byte[] compressed, int length) {
+            final byte[] value = new byte[length];
+            final int decompressed;
+            try {
+                decompressed = FACTORY.safeDecompressor().decompress(compressed, COMPRESSED_HEADER_LENGTH, compressed.length - COMPRESSED_HEADER_LENGTH, value, 0, length);
+            } catch (LZ4Exception e) {
+                throw new IllegalStateException("Compressed cache value is corrupted", e);
+            }
+            if (decompressed != length) {
+                throw new IllegalStateException("Compressed cache value is truncated");
+            }
+            return value;
+        }
+    }
+}
@@ -4,33 +4,62 @@ import jakarta.annotation.Nonnull;
 import ru.tinkoff.kora.application.graph.Lifecycle;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public interface RedisCacheClient extends Lifecycle {
 
     @Nonnull
     CompletionStage<byte[]> get(byte[] key);
 
+    /**
+     * @return values of existing keys, missing keys are absent
+     */
     @Nonnull
     CompletionStage<Map<byte[], byte[]>> mget(byte[][] keys);
 
+    /**
+     * @return values aligned with keys, {@code null} for missing keys
+     */
+    @Nonnull
+    default CompletionStage<byte[][]> mgetValues(byte[][] keys) {
+        return mget(keys).thenApply(values -> alignValues(keys, values));
+    }
+
     @Nonnull
     CompletionStage<byte[]> getex(byte[] key, long expireAfterMillis);
 
+    /**
+     * @return values of existing keys, missing keys are absent
+     */
     @Nonnull
     default CompletionStage<Map<byte[], byte[]>> getex(byte[][] keys, long expireAfterMillis) {
-        final CompletableFuture[] values = Arrays.stream(keys)
-            .map(k -> getex(k, expireAfterMillis)
-                .thenApply(v -> Map.entry(k, v)).toCompletableFuture())
-            .toArray(CompletableFuture[]::new);
+        final CompletableFuture<?>[] values = new CompletableFuture<?>[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = getex(keys[i], expireAfterMillis).toCompletableFuture();
+        }
+
+        return CompletableFuture.allOf(values).thenApply(v -> {
+            final Map<byte[], byte[]> result = new HashMap<>(keys.length * 4 / 3 + 1);
+            for (int i = 0; i < values.length; i++) {
+                final byte[] value = (byte[]) values[i].join();
+                if (value != null) {
+                    result.put(keys[i], value);
+                }
+            }
+            return result;
+        });
+    }
 
-        return CompletableFuture.allOf(values)
-            .thenApply(v -> Arrays.stream(values)
-                .map(f -> ((Map.Entry<byte[], byte[]>) f.join()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+    /**
+     * @return values aligned with keys, {@code null} for missing keys
+     */
+    @Nonnull
+    default CompletionStage<byte[][]> getexValues(byte[][] keys, long expireAfterMillis) {
+        return getex(keys, expireAfterMillis).thenApply(values -> alignValues(keys, values));
     }
 
     @Nonnull
@@ -51,12 +80,83 @@ public interface RedisCacheClient extends Lifecycle {
         return CompletableFuture.allOf(values).thenApply(v -> true);
     }
 
+    /**
+     * Sets value only if key doesn't exist, like {@code SET key value NX PX expireAfterMillis}
+     *
+     * @return {@code true} if value was set
+     */
+    @Nonnull
+    default CompletionStage<Boolean> psetnx(byte[] key, byte[] value, long expireAfterMillis) {
+        return CompletableFuture.failedFuture(new UnsupportedOperationException("Set if absent is not supported by " + getClass()));
+    }
+
+    /**
+     * Remaining time to live of key, like {@code PTTL key}
+     *
+     * @return milliseconds left, {@code -1} if key has no expiry and {@code -2} if key doesn't exist
+     */
+    @Nonnull
+    default CompletionStage<Long> pttl(byte[] key) {
+        return CompletableFuture.failedFuture(new UnsupportedOperationException("Time to live is not supported by " + getClass()));
+    }
+
     @Nonnull
     CompletionStage<Long> del(byte[] key);
 
+    /**
+     * Deletes key atomically only if it holds given value
+     *
+     * @return {@code true} if key was deleted
+     */
+    @Nonnull
+    default CompletionStage<Boolean> delIfEquals(byte[] key, byte[] value) {
+        return CompletableFuture.failedFuture(new UnsupportedOperationException("Delete if equals is not supported by " + getClass()));
+    }
+
     @Nonnull
     CompletionStage<Long> del(byte[][] keys);
 
     @Nonnull
     CompletionStage<Boolean> flushAll();
+
+    /**
+     * @return number of clients that received the message
+     */
+    @Nonnull
+    default CompletionStage<Long> publish(byte[] channel, byte[] message) {
+        return CompletableFuture.failedFuture(new UnsupportedOperationException("Publish is not supported by " + getClass()));
+    }
+
+    /**
+     * @param listener invoked with every message published to channel after subscription completes
+     */
+    @Nonnull
+    default CompletionStage<Void> subscribe(byte[] channel, Consumer<byte[]> listener) {
+        return CompletableFuture.failedFuture(new UnsupportedOperationException("Subscribe is not supported by " + getClass()));
+    }
+
+    /**
+     * @param listener same instance that was passed to {@link #subscribe(byte[], Consumer)}, channel is unsubscribed when it has no listeners left
+     */
+    @Nonnull
+    default CompletionStage<Void> unsubscribe(byte[] channel, Consumer<byte[]> listener) {
+        return CompletableFuture.failedFuture(new UnsupportedOperationException("Unsubscribe is not supported by " + getClass()));
+    }
+
+    private static byte[][] alignValues(byte[][] keys, Map<byte[], byte[]> values) {
+        final byte[][] result = new byte[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            // byte[] keys are hashed by identity, so only keys returned as other arrays are searched by content
+            result[i] = values.get(keys[i]);
+            if (result[i] == null && !values.containsKey(keys[i])) {
+                for (var entry : values.entrySet()) {
+                    if (Arrays.equals(keys[i], entry.getKey())) {
+                        result[i] = entry.getValue();
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
 }
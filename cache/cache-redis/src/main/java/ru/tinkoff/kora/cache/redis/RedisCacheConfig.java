@@ -21,4 +21,97 @@ public interface RedisCacheConfig {
 
     @Nullable
     Duration expireAfterAccess();
+
+    /**
+     * Soft time to live, value read by {@code computeIfAbsent} after this time since it was written is returned as is
+     * and recomputed in background with the same mapping function, until it expires after {@link #expireAfterWrite()}.
+     * Requires {@link #expireAfterWrite()} greater than this time and no {@link #expireAfterAccess()}, as value age is derived from its remaining time to live
+     */
+    @Nullable
+    default Duration refreshAfterWrite() {
+        return null;
+    }
+
+    /**
+     * @return number of threads in cache own pool running background refreshes, pool is created only when {@link #refreshAfterWrite()} is set
+     */
+    default int refreshThreads() {
+        return 2;
+    }
+
+    /**
+     * Missing value is computed by {@code computeIfAbsent} under Redis lock taken with {@code SET NX PX} when configured,
+     * so only one application instance computes it and others wait for it to appear in cache.
+     * Otherwise concurrent computations are coalesced only within one application instance
+     */
+    @Nullable
+    default ComputeLockConfig computeLock() {
+        return null;
+    }
+
+    /**
+     * Values are written with format header byte and compressed when serialized to more bytes than threshold, when configured.
+     * Values written without header before compression was configured are still read for JSON, Smile and other UTF-8 text mappers only,
+     * compression is not supported for raw {@code byte[]} values
+     */
+    @Nullable
+    default CompressionConfig compression() {
+        return null;
+    }
+
+    /**
+     * Generated cache serves hot keys from local in-memory cache invalidated through Redis pub/sub when configured, see {@link RedisNearCache}
+     */
+    @Nullable
+    default RedisNearCacheConfig nearCache() {
+        return null;
+    }
+
+    @ConfigValueExtractor
+    interface ComputeLockConfig {
+
+        /**
+         * @return time lock is held for if its owner fails to release it, should exceed value computation time
+         */
+        default Duration lease() {
+            return Duration.ofSeconds(10);
+        }
+
+        /**
+         * @return interval instances not holding lock check cache for computed value with
+         */
+        default Duration pollInterval() {
+            return Duration.ofMillis(50);
+        }
+
+        /**
+         * @return time instance not holding lock waits for computed value before computing it itself
+         */
+        default Duration waitTimeout() {
+            return Duration.ofSeconds(5);
+        }
+    }
+
+    @ConfigValueExtractor
+    interface CompressionConfig {
+
+        /**
+         * @return algorithm values are compressed with, {@link Algorithm#LZ4} requires {@code org.lz4:lz4-java} dependency
+         */
+        default Algorithm algorithm() {
+            return Algorithm.DEFLATE;
+        }
+
+        /**
+         * @return serialized value size in bytes starting from which value is compressed
+         */
+        default int threshold() {
+            return 1024;
+        }
+
+        enum Algorithm {
+            DEFLATE,
+            LZ4
+        }
+    }
 }
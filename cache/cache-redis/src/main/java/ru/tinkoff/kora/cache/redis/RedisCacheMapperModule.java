@@ -47,6 +47,12 @@ public interface RedisCacheMapperModule extends JsonCommonModule {
         };
     }
 
+    @Smile
+    @DefaultComponent
+    default <V> RedisCacheValueMapper<V> smileRedisValueMapper(JsonWriter<V> jsonWriter, JsonReader<V> jsonReader) {
+        return new SmileRedisCacheValueMapper<>(jsonWriter, jsonReader);
+    }
+
     @DefaultComponent
     default RedisCacheValueMapper<String> stringRedisValueMapper() {
         return new RedisCacheValueMapper<>() {
@@ -64,17 +70,7 @@ public interface RedisCacheMapperModule extends JsonCommonModule {
 
     @DefaultComponent
     default RedisCacheValueMapper<byte[]> bytesRedisValueMapper() {
-        return new RedisCacheValueMapper<>() {
-            @Override
-            public byte[] write(byte[] value) {
-                return value;
-            }
-
-            @Override
-            public byte[] read(byte[] serializedValue) {
-                return serializedValue;
-            }
-        };
+        return new BytesRedisCacheValueMapper();
     }
 
     @DefaultComponent
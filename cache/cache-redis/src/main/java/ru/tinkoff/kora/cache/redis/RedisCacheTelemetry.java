@@ -27,6 +27,8 @@ public final class RedisCacheTelemetry {
         void recordSuccess(@Nullable Object valueFromCache);
 
         void recordFailure(@Nullable Throwable throwable);
+
+        void recordCoalesced(int keys, boolean distributed);
     }
 
     private static final Logger logger = LoggerFactory.getLogger(RedisCacheTelemetry.class);
@@ -55,6 +57,9 @@ public final class RedisCacheTelemetry {
 
         @Override
         public void recordFailure(@Nullable Throwable throwable) {}
+
+        @Override
+        public void recordCoalesced(int keys, boolean distributed) {}
     }
 
     class DefaultCacheTelemetryContext implements TelemetryContext {
@@ -116,6 +121,16 @@ public final class RedisCacheTelemetry {
                     operation.name(), operation.cacheName());
             }
         }
+
+        @Override
+        public void recordCoalesced(int keys, boolean distributed) {
+            if (metrics != null) {
+                metrics.recordCoalesced(operation, keys, distributed);
+            }
+
+            logger.trace("Operation '{}' for cache '{}' awaited {} keys computed {}",
+                operation.name(), operation.cacheName(), keys, distributed ? "by another instance" : "concurrently");
+        }
     }
 
     @Nonnull
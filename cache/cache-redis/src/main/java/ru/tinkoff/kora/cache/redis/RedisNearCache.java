@@ -0,0 +1,441 @@
+package ru.tinkoff.kora.cache.redis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.application.graph.Lifecycle;
+import ru.tinkoff.kora.cache.AsyncCache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Two-tier cache reading values from in-memory Caffeine cache first and from Redis cache on local miss,
+ * values found in Redis are put to local cache, so hot keys are served without Redis round trip.
+ * <p>
+ * Every put and invalidation made through near cache is broadcast by Redis key via {@link RedisNearCacheConfig#invalidationChannel()},
+ * so near caches of other application instances drop their stale local values.
+ * Value put locally concurrently with its invalidation can outlive it until {@link RedisNearCacheConfig#expireAfterWrite()}.
+ * <p>
+ * Generated Redis cache is wrapped in near cache when {@link RedisCacheConfig#nearCache()} is configured.
+ */
+public class RedisNearCache<K, V> implements AsyncCache<K, V>, Lifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisNearCache.class);
+
+    private static final int INVALIDATE_ALL = -1;
+
+    private final Cache<K, V> local;
+    private final AbstractRedisCache<K, V> remote;
+    private final byte[] channel;
+    private final byte[] instanceId;
+    private final Consumer<byte[]> invalidationListener = this::onInvalidation;
+
+    // local key by its Redis key, so invalidation received by Redis key is applied to local key, entries are removed with local values
+    private final Map<ByteBuffer, K> localKeysByRedisKey = new ConcurrentHashMap<>();
+
+    public RedisNearCache(RedisNearCacheConfig config, AbstractRedisCache<K, V> remote) {
+        if (config.maximumLocalKeys() < 1) {
+            throw new IllegalArgumentException("Near cache maximum local keys must be positive, but received: " + config.maximumLocalKeys());
+        }
+        this.remote = remote;
+        this.channel = config.invalidationChannel().getBytes(StandardCharsets.UTF_8);
+        this.local = Caffeine.newBuilder()
+            .maximumSize(config.maximumLocalKeys())
+            .expireAfterWrite(config.expireAfterWrite())
+            // keeps Redis key index in step with evictions without extra tasks on common pool
+            .executor(Runnable::run)
+            .<K, V>removalListener((key, value, cause) -> {
+                if (key != null && cause != RemovalCause.REPLACED) {
+                    untrackLocalKey(key);
+                }
+            })
+            .build();
+
+        var uuid = UUID.randomUUID();
+        this.instanceId = ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+
+    @Override
+    public void init() {
+        remote.redisClient().subscribe(channel, invalidationListener).toCompletableFuture().join();
+    }
+
+    @Override
+    public void release() {
+        try {
+            remote.redisClient().unsubscribe(channel, invalidationListener).toCompletableFuture().join();
+        } catch (Exception e) {
+            logger.warn("Near cache failed to unsubscribe from channel '{}'", new String(channel, StandardCharsets.UTF_8), e);
+        }
+        invalidateLocalAll();
+    }
+
+    @Override
+    public V get(@Nonnull K key) {
+        var value = getLocal(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = remote.get(key);
+        if (value != null) {
+            putLocal(key, value);
+        }
+        return value;
+    }
+
+    @Nonnull
+    @Override
+    public Map<K, V> get(@Nonnull Collection<K> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        var values = getLocal(keys);
+        if (values.size() == keys.size()) {
+            return values;
+        }
+
+        var result = new HashMap<>(values);
+        var received = remote.get(missingKeys(keys, values));
+        putLocal(received);
+        result.putAll(received);
+        return result;
+    }
+
+    @Nonnull
+    @Override
+    public V put(@Nonnull K key, @Nonnull V value) {
+        remote.put(key, value);
+        putLocal(key, value);
+        publish(List.of(key));
+        return value;
+    }
+
+    @Nonnull
+    @Override
+    public Map<K, V> put(@Nonnull Map<K, V> keyAndValues) {
+        remote.put(keyAndValues);
+        putLocal(keyAndValues);
+        publish(keyAndValues.keySet());
+        return keyAndValues;
+    }
+
+    @Override
+    public V computeIfAbsent(@Nonnull K key, @Nonnull Function<K, V> mappingFunction) {
+        var value = getLocal(key);
+        if (value != null) {
+            return value;
+        }
+
+        // value only appears in cache, there is nothing stale to invalidate on other instances
+        value = remote.computeIfAbsent(key, mappingFunction);
+        if (value != null) {
+            putLocal(key, value);
+        }
+        return value;
+    }
+
+    @Nonnull
+    @Override
+    public Map<K, V> computeIfAbsent(@Nonnull Collection<K> keys, @Nonnull Function<Set<K>, Map<K, V>> mappingFunction) {
+        if (keys.isEmpty()) {
+            return mappingFunction.apply(Collections.emptySet());
+        }
+
+        var values = getLocal(keys);
+        if (values.size() == keys.size()) {
+            return values;
+        }
+
+        var result = new HashMap<>(values);
+        var received = remote.computeIfAbsent(missingKeys(keys, values), mappingFunction);
+        putLocal(received);
+        result.putAll(received);
+        return result;
+    }
+
+    @Override
+    public void invalidate(@Nonnull K key) {
+        remote.invalidate(key);
+        invalidateLocal(List.of(key));
+        publish(List.of(key));
+    }
+
+    @Override
+    public void invalidate(@Nonnull Collection<K> keys) {
+        remote.invalidate(keys);
+        invalidateLocal(keys);
+        publish(keys);
+    }
+
+    @Override
+    public void invalidateAll() {
+        remote.invalidateAll();
+        invalidateLocalAll();
+        publish(null);
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<V> getAsync(@Nonnull K key) {
+        var value = getLocal(key);
+        if (value != null) {
+            return CompletableFuture.completedFuture(value);
+        }
+
+        return remote.getAsync(key).thenApply(received -> {
+            if (received != null) {
+                putLocal(key, received);
+            }
+            return received;
+        });
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Map<K, V>> getAsync(@Nonnull Collection<K> keys) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        var values = getLocal(keys);
+        if (values.size() == keys.size()) {
+            return CompletableFuture.completedFuture(values);
+        }
+
+        return remote.getAsync(missingKeys(keys, values)).thenApply(received -> {
+            putLocal(received);
+            var result = new HashMap<>(values);
+            result.putAll(received);
+            return result;
+        });
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<V> putAsync(@Nonnull K key, @Nonnull V value) {
+        return remote.putAsync(key, value)
+            .thenCompose(r -> {
+                putLocal(key, value);
+                return publish(List.of(key));
+            })
+            .thenApply(r -> value);
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Map<K, V>> putAsync(@Nonnull Map<K, V> keyAndValues) {
+        return remote.putAsync(keyAndValues)
+            .thenCompose(r -> {
+                putLocal(keyAndValues);
+                return publish(keyAndValues.keySet());
+            })
+            .thenApply(r -> keyAndValues);
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<V> computeIfAbsentAsync(@Nonnull K key, @Nonnull Function<K, CompletionStage<V>> mappingFunction) {
+        var value = getLocal(key);
+        if (value != null) {
+            return CompletableFuture.completedFuture(value);
+        }
+
+        return remote.computeIfAbsentAsync(key, mappingFunction).thenApply(received -> {
+            if (received != null) {
+                putLocal(key, received);
+            }
+            return received;
+        });
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Map<K, V>> computeIfAbsentAsync(@Nonnull Collection<K> keys, @Nonnull Function<Set<K>, CompletionStage<Map<K, V>>> mappingFunction) {
+        if (keys.isEmpty()) {
+            return mappingFunction.apply(Collections.emptySet());
+        }
+
+        var values = getLocal(keys);
+        if (values.size() == keys.size()) {
+            return CompletableFuture.completedFuture(values);
+        }
+
+        return remote.computeIfAbsentAsync(missingKeys(keys, values), mappingFunction).thenApply(received -> {
+            putLocal(received);
+            var result = new HashMap<>(values);
+            result.putAll(received);
+            return result;
+        });
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Boolean> invalidateAsync(@Nonnull K key) {
+        return remote.invalidateAsync(key).thenCompose(r -> {
+            invalidateLocal(List.of(key));
+            return publish(List.of(key)).thenApply(p -> r);
+        });
+    }
+
+    @Override
+    public CompletionStage<Boolean> invalidateAsync(@Nonnull Collection<K> keys) {
+        return remote.invalidateAsync(keys).thenCompose(r -> {
+            invalidateLocal(keys);
+            return publish(keys).thenApply(p -> r);
+        });
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Boolean> invalidateAllAsync() {
+        return remote.invalidateAllAsync().thenCompose(r -> {
+            invalidateLocalAll();
+            return publish(null).thenApply(p -> r);
+        });
+    }
+
+    private Set<K> missingKeys(Collection<K> keys, Map<K, V> found) {
+        var missing = new HashSet<K>(keys.size() - found.size());
+        for (var key : keys) {
+            if (!found.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        return missing;
+    }
+
+    @Nullable
+    private V getLocal(K key) {
+        return local.getIfPresent(key);
+    }
+
+    private Map<K, V> getLocal(Collection<K> keys) {
+        return local.getAllPresent(keys);
+    }
+
+    private void putLocal(K key, V value) {
+        local.put(key, value);
+        localKeysByRedisKey.put(ByteBuffer.wrap(remote.mapKey(key)), key);
+    }
+
+    private void untrackLocalKey(K key) {
+        var redisKey = ByteBuffer.wrap(remote.mapKey(key));
+        if (localKeysByRedisKey.remove(redisKey, key) && local.asMap().containsKey(key)) {
+            // key was put again while its previous value was being removed
+            localKeysByRedisKey.put(redisKey, key);
+        }
+    }
+
+    private void putLocal(Map<K, V> keyAndValues) {
+        for (var entry : keyAndValues.entrySet()) {
+            if (entry.getValue() != null) {
+                putLocal(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void invalidateLocal(Collection<K> keys) {
+        local.invalidateAll(keys);
+    }
+
+    void invalidateLocalAll() {
+        local.invalidateAll();
+    }
+
+    @Nullable
+    V getLocalIfPresent(K key) {
+        return local.getIfPresent(key);
+    }
+
+    long localSize() {
+        local.cleanUp();
+        return local.estimatedSize();
+    }
+
+    int trackedLocalKeys() {
+        return localKeysByRedisKey.size();
+    }
+
+    /**
+     * Message is instance id, number of keys or {@link #INVALIDATE_ALL} followed by length prefixed Redis keys
+     */
+    private CompletionStage<Void> publish(@Nullable Collection<K> keys) {
+        final byte[] message;
+        if (keys == null) {
+            message = ByteBuffer.allocate(instanceId.length + Integer.BYTES)
+                .put(instanceId)
+                .putInt(INVALIDATE_ALL)
+                .array();
+        } else {
+            var redisKeys = new ArrayList<byte[]>(keys.size());
+            int size = instanceId.length + Integer.BYTES;
+            for (var key : keys) {
+                var redisKey = remote.mapKey(key);
+                redisKeys.add(redisKey);
+                size += Integer.BYTES + redisKey.length;
+            }
+            var buffer = ByteBuffer.allocate(size)
+                .put(instanceId)
+                .putInt(redisKeys.size());
+            for (var redisKey : redisKeys) {
+                buffer.putInt(redisKey.length).put(redisKey);
+            }
+            message = buffer.array();
+        }
+
+        return remote.redisClient().publish(channel, message)
+            .<Void>thenApply(r -> null)
+            .exceptionally(e -> {
+                // other instances keep stale local values until they expire
+                logger.warn("Near cache failed to publish invalidation to channel '{}'", new String(channel, StandardCharsets.UTF_8), e);
+                return null;
+            });
+    }
+
+    private void onInvalidation(byte[] message) {
+        var buffer = ByteBuffer.wrap(message);
+        if (buffer.remaining() < instanceId.length + Integer.BYTES) {
+            return;
+        }
+        if (Arrays.equals(message, 0, instanceId.length, instanceId, 0, instanceId.length)) {
+            // own invalidation is already applied locally
+            return;
+        }
+        buffer.position(instanceId.length);
+
+        var count = buffer.getInt();
+        if (count == INVALIDATE_ALL) {
+            invalidateLocalAll();
+            return;
+        }
+
+        var keys = new ArrayList<K>(count);
+        for (int i = 0; i < count; i++) {
+            var redisKey = new byte[buffer.getInt()];
+            buffer.get(redisKey);
+            var key = localKeysByRedisKey.get(ByteBuffer.wrap(redisKey));
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        if (!keys.isEmpty()) {
+            local.invalidateAll(keys);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.tinkoff.kora.cache.redis;
+
+import ru.tinkoff.kora.config.common.annotation.ConfigValueExtractor;
+
+import java.time.Duration;
+
+@ConfigValueExtractor
+public interface RedisNearCacheConfig {
+
+    /**
+     * @return Redis pub/sub channel near caches of all application instances broadcast invalidated keys through
+     */
+    default String invalidationChannel() {
+        return "kora:cache:invalidation";
+    }
+
+    /**
+     * @return maximum number of keys held by local cache, Caffeine evicts rarely used ones once it is exceeded
+     */
+    default int maximumLocalKeys() {
+        return 100_000;
+    }
+
+    /**
+     * @return time local value is kept after it was written, bounds staleness of value which missed its invalidation
+     */
+    default Duration expireAfterWrite() {
+        return Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.tinkoff.kora.cache.redis;
+
+import ru.tinkoff.kora.common.Tag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cache value type annotated is stored in Redis in binary Smile format, written and read with JSON writer and reader generated for the type,
+ * e.g. {@code RedisCache<String, @Smile MyRecord>}
+ */
+@Tag(Smile.class)
+@Target({ElementType.TYPE, ElementType.PARAMETER, ElementType.METHOD, ElementType.TYPE_USE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Smile { }
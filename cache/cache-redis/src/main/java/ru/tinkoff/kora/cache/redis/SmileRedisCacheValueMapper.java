@@ -0,0 +1,53 @@
+package ru.tinkoff.kora.cache.redis;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import ru.tinkoff.kora.json.common.JsonReader;
+import ru.tinkoff.kora.json.common.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Binary value mapper reusing JSON writer and reader generated at compile time with Smile generator and parser,
+ * field names are written once per value and numbers in binary, so values are smaller and faster to read than JSON
+ */
+public final class SmileRedisCacheValueMapper<V> implements RedisCacheValueMapper<V> {
+
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+
+    private final JsonWriter<V> writer;
+    private final JsonReader<V> reader;
+
+    public SmileRedisCacheValueMapper(JsonWriter<V> writer, JsonReader<V> reader) {
+        this.writer = writer;
+        this.reader = reader;
+    }
+
+    @Override
+    public byte[] write(V value) {
+        var bb = new ByteArrayBuilder(SMILE_FACTORY._getBufferRecycler());
+        try (var gen = SMILE_FACTORY.createGenerator(bb)) {
+            this.writer.write(gen, value);
+            gen.flush();
+            return bb.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            bb.release();
+        }
+    }
+
+    @Override
+    public V read(byte[] serializedValue) {
+        if (serializedValue == null) {
+            return null;
+        }
+
+        try (var parser = SMILE_FACTORY.createParser(serializedValue)) {
+            parser.nextToken();
+            return this.reader.read(parser);
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+}
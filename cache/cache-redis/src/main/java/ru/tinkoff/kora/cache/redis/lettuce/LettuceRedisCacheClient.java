@@ -2,33 +2,63 @@ package ru.tinkoff.kora.cache.redis.lettuce;
 
 import io.lettuce.core.*;
 import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.async.BaseRedisAsyncCommands;
 import io.lettuce.core.api.async.RedisKeyAsyncCommands;
+import io.lettuce.core.api.async.RedisScriptingAsyncCommands;
 import io.lettuce.core.api.async.RedisServerAsyncCommands;
 import io.lettuce.core.api.async.RedisStringAsyncCommands;
 import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.SlotHash;
 import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 import jakarta.annotation.Nonnull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.tinkoff.kora.cache.redis.RedisCacheClient;
 import ru.tinkoff.kora.common.util.TimeUtils;
 
-import java.time.Duration;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 final class LettuceRedisCacheClient implements RedisCacheClient {
 
     private static final Logger logger = LoggerFactory.getLogger(LettuceRedisCacheClient.class);
 
+    private static final String DEL_IF_EQUALS_SCRIPT = "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+    private static final String GETEX_SCRIPT = "local values = {} "
+                                               + "for i, key in ipairs(KEYS) do values[i] = redis.call('getex', key, 'px', ARGV[1]) end "
+                                               + "return values";
+    private static final String PSETEX_SCRIPT = "for i, key in ipairs(KEYS) do redis.call('set', key, ARGV[i + 1], 'px', ARGV[1]) end "
+                                                + "return #KEYS";
+
+    // keys per bulk command, so very large key sets don't block Redis with single command
+    static final int BATCH_SIZE = 500;
+
     private final AbstractRedisClient redisClient;
 
     private StatefulConnection<byte[], byte[]> connection;
+    private boolean cluster;
 
     private RedisStringAsyncCommands<byte[], byte[]> stringCommands;
     private RedisServerAsyncCommands<byte[], byte[]> serverCommands;
     private RedisKeyAsyncCommands<byte[], byte[]> keyCommands;
+    private BaseRedisAsyncCommands<byte[], byte[]> baseCommands;
+    private RedisScriptingAsyncCommands<byte[], byte[]> scriptingCommands;
+
+    // pub/sub connection can't run other commands, so it is opened separately on first subscription
+    private volatile StatefulRedisPubSubConnection<byte[], byte[]> pubSubConnection;
+    private final Map<ByteBuffer, List<Consumer<byte[]>>> channelListeners = new ConcurrentHashMap<>();
 
     LettuceRedisCacheClient(AbstractRedisClient redisClient) {
         this.redisClient = redisClient;
@@ -43,13 +73,63 @@ final class LettuceRedisCacheClient implements RedisCacheClient {
     @Nonnull
     @Override
     public CompletionStage<Map<byte[], byte[]>> mget(byte[][] keys) {
-        return stringCommands.mget(keys).thenApply(r -> r.stream().collect(Collectors.toMap(KeyValue::getKey, Value::getValue)));
+        return mgetValues(keys).thenApply(values -> toMap(keys, values));
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<byte[][]> mgetValues(byte[][] keys) {
+        final byte[][] result = new byte[keys.length][];
+        final CompletableFuture<?>[] responses = new CompletableFuture<?>[(keys.length + BATCH_SIZE - 1) / BATCH_SIZE];
+        for (int i = 0; i < responses.length; i++) {
+            final int from = i * BATCH_SIZE;
+            final byte[][] batch = Arrays.copyOfRange(keys, from, Math.min(keys.length, from + BATCH_SIZE));
+            // values are returned in keys order, cluster connection reassembles them after splitting by slots
+            responses[i] = stringCommands.mget(batch).thenAccept(values -> {
+                for (int j = 0; j < values.size(); j++) {
+                    result[from + j] = values.get(j).getValueOrElse(null);
+                }
+            }).toCompletableFuture();
+        }
+
+        return CompletableFuture.allOf(responses).thenApply(r -> result);
     }
 
     @Nonnull
     @Override
     public CompletionStage<byte[]> getex(byte[] key, long expireAfterMillis) {
-        return stringCommands.getex(key, GetExArgs.Builder.ex(Duration.ofMillis(expireAfterMillis)));
+        return stringCommands.getex(key, GetExArgs.Builder.px(expireAfterMillis));
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Map<byte[], byte[]>> getex(byte[][] keys, long expireAfterMillis) {
+        return getexValues(keys, expireAfterMillis).thenApply(values -> toMap(keys, values));
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<byte[][]> getexValues(byte[][] keys, long expireAfterMillis) {
+        final byte[][] result = new byte[keys.length][];
+        final byte[] expireAfter = Long.toString(expireAfterMillis).getBytes(StandardCharsets.US_ASCII);
+        final List<int[]> batches = batches(keys);
+        final CompletableFuture<?>[] responses = new CompletableFuture<?>[batches.size()];
+        for (int i = 0; i < responses.length; i++) {
+            final int[] batch = batches.get(i);
+            final byte[][] batchKeys = new byte[batch.length][];
+            for (int j = 0; j < batch.length; j++) {
+                batchKeys[j] = keys[batch[j]];
+            }
+
+            responses[i] = scriptingCommands.<List<byte[]>>eval(GETEX_SCRIPT, ScriptOutputType.MULTI, batchKeys, expireAfter)
+                .thenAccept(values -> {
+                    for (int j = 0; j < values.size(); j++) {
+                        result[batch[j]] = values.get(j);
+                    }
+                }).toCompletableFuture();
+        }
+
+        return CompletableFuture.allOf(responses).thenApply(r -> result);
     }
 
     @Nonnull
@@ -69,12 +149,105 @@ final class LettuceRedisCacheClient implements RedisCacheClient {
         return stringCommands.psetex(key, expireAfterMillis, value).thenApply(r -> true);
     }
 
+    @Nonnull
+    @Override
+    public CompletionStage<Boolean> psetex(Map<byte[], byte[]> keyAndValue, long expireAfterMillis) {
+        final byte[][] keys = new byte[keyAndValue.size()][];
+        final byte[][] values = new byte[keyAndValue.size()][];
+        int index = 0;
+        for (var entry : keyAndValue.entrySet()) {
+            keys[index] = entry.getKey();
+            values[index] = entry.getValue();
+            index++;
+        }
+
+        final byte[] expireAfter = Long.toString(expireAfterMillis).getBytes(StandardCharsets.US_ASCII);
+        final List<int[]> batches = batches(keys);
+        final CompletableFuture<?>[] responses = new CompletableFuture<?>[batches.size()];
+        for (int i = 0; i < responses.length; i++) {
+            final int[] batch = batches.get(i);
+            final byte[][] batchKeys = new byte[batch.length][];
+            final byte[][] batchArgs = new byte[batch.length + 1][];
+            batchArgs[0] = expireAfter;
+            for (int j = 0; j < batch.length; j++) {
+                batchKeys[j] = keys[batch[j]];
+                batchArgs[j + 1] = values[batch[j]];
+            }
+
+            responses[i] = scriptingCommands.<Long>eval(PSETEX_SCRIPT, ScriptOutputType.INTEGER, batchKeys, batchArgs).toCompletableFuture();
+        }
+
+        return CompletableFuture.allOf(responses).thenApply(r -> true);
+    }
+
+    /**
+     * Splits keys to batches of at most {@link #BATCH_SIZE} key indexes, each run by single script,
+     * in cluster keys of one batch share hash slot as script can only access keys of node it runs on
+     */
+    private List<int[]> batches(byte[][] keys) {
+        final List<int[]> batches = new ArrayList<>((keys.length + BATCH_SIZE - 1) / BATCH_SIZE);
+        if (!cluster) {
+            for (int from = 0; from < keys.length; from += BATCH_SIZE) {
+                final int[] batch = new int[Math.min(BATCH_SIZE, keys.length - from)];
+                for (int j = 0; j < batch.length; j++) {
+                    batch[j] = from + j;
+                }
+                batches.add(batch);
+            }
+            return batches;
+        }
+
+        final Map<Integer, List<Integer>> indexesBySlot = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            indexesBySlot.computeIfAbsent(SlotHash.getSlot(keys[i]), k -> new ArrayList<>()).add(i);
+        }
+        for (var indexes : indexesBySlot.values()) {
+            for (int from = 0; from < indexes.size(); from += BATCH_SIZE) {
+                final int[] batch = new int[Math.min(BATCH_SIZE, indexes.size() - from)];
+                for (int j = 0; j < batch.length; j++) {
+                    batch[j] = indexes.get(from + j);
+                }
+                batches.add(batch);
+            }
+        }
+        return batches;
+    }
+
+    private static Map<byte[], byte[]> toMap(byte[][] keys, byte[][] values) {
+        final Map<byte[], byte[]> result = new HashMap<>(keys.length * 4 / 3 + 1);
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                result.put(keys[i], values[i]);
+            }
+        }
+        return result;
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Boolean> psetnx(byte[] key, byte[] value, long expireAfterMillis) {
+        return stringCommands.set(key, value, SetArgs.Builder.nx().px(expireAfterMillis)).thenApply("OK"::equals);
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Long> pttl(byte[] key) {
+        return keyCommands.pttl(key);
+    }
+
     @Nonnull
     @Override
     public CompletionStage<Long> del(byte[] key) {
         return keyCommands.del(key);
     }
 
+    @Nonnull
+    @Override
+    public CompletionStage<Boolean> delIfEquals(byte[] key, byte[] value) {
+        return scriptingCommands.<Long>eval(DEL_IF_EQUALS_SCRIPT, ScriptOutputType.INTEGER, new byte[][]{key}, value)
+            .thenApply(r -> r != null && r > 0);
+    }
+
     @Nonnull
     @Override
     public CompletionStage<Long> del(byte[][] keys) {
@@ -87,6 +260,78 @@ final class LettuceRedisCacheClient implements RedisCacheClient {
         return serverCommands.flushall(FlushMode.SYNC).thenApply(r -> true);
     }
 
+    @Nonnull
+    @Override
+    public CompletionStage<Long> publish(byte[] channel, byte[] message) {
+        return baseCommands.publish(channel, message);
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Void> subscribe(byte[] channel, Consumer<byte[]> listener) {
+        var connection = pubSubConnection();
+        channelListeners.compute(ByteBuffer.wrap(channel), (k, listeners) -> {
+            if (listeners == null) {
+                listeners = new CopyOnWriteArrayList<>();
+            }
+            listeners.add(listener);
+            return listeners;
+        });
+        return connection.async().subscribe(channel);
+    }
+
+    @Nonnull
+    @Override
+    public CompletionStage<Void> unsubscribe(byte[] channel, Consumer<byte[]> listener) {
+        var remaining = channelListeners.computeIfPresent(ByteBuffer.wrap(channel), (k, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+        var connection = this.pubSubConnection;
+        if (remaining != null || connection == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return connection.async().unsubscribe(channel);
+    }
+
+    private StatefulRedisPubSubConnection<byte[], byte[]> pubSubConnection() {
+        var connection = this.pubSubConnection;
+        if (connection != null) {
+            return connection;
+        }
+        synchronized (this) {
+            if (this.pubSubConnection != null) {
+                return this.pubSubConnection;
+            }
+
+            if (redisClient instanceof io.lettuce.core.RedisClient rc) {
+                connection = rc.connectPubSub(new ByteArrayCodec());
+            } else if (redisClient instanceof RedisClusterClient rcc) {
+                connection = rcc.connectPubSub(new ByteArrayCodec());
+            } else {
+                throw new UnsupportedOperationException("Unknown Redis Client: " + redisClient.getClass());
+            }
+            connection.addListener(new RedisPubSubAdapter<>() {
+                @Override
+                public void message(byte[] channel, byte[] message) {
+                    var listeners = channelListeners.get(ByteBuffer.wrap(channel));
+                    if (listeners == null) {
+                        return;
+                    }
+                    for (var listener : listeners) {
+                        try {
+                            listener.accept(message);
+                        } catch (Exception e) {
+                            logger.warn("Redis Client (Lettuce) channel listener failed", e);
+                        }
+                    }
+                }
+            });
+            this.pubSubConnection = connection;
+            return connection;
+        }
+    }
+
     @Override
     public void init() {
         logger.debug("Redis Client (Lettuce) starting...");
@@ -95,19 +340,25 @@ final class LettuceRedisCacheClient implements RedisCacheClient {
         if (redisClient instanceof io.lettuce.core.RedisClient rc) {
             var redisConnection = rc.connect(new ByteArrayCodec());
             this.connection = redisConnection;
+            this.cluster = false;
 
             var asyncCommands = redisConnection.async();
             this.keyCommands = asyncCommands;
             this.serverCommands = asyncCommands;
             this.stringCommands = asyncCommands;
+            this.baseCommands = asyncCommands;
+            this.scriptingCommands = asyncCommands;
         } else if (redisClient instanceof RedisClusterClient rcc) {
             var clusterConnection = rcc.connect(new ByteArrayCodec());
             this.connection = clusterConnection;
+            this.cluster = true;
 
             var asyncCommands = clusterConnection.async();
             this.keyCommands = asyncCommands;
             this.serverCommands = asyncCommands;
             this.stringCommands = asyncCommands;
+            this.baseCommands = asyncCommands;
+            this.scriptingCommands = asyncCommands;
         } else {
             throw new UnsupportedOperationException("Unknown Redis Client: " + redisClient.getClass());
         }
@@ -120,6 +371,12 @@ final class LettuceRedisCacheClient implements RedisCacheClient {
         logger.debug("Redis Client (Lettuce) stopping...");
         final long started = TimeUtils.started();
         connection.close();
+        var pubSubConnection = this.pubSubConnection;
+        if (pubSubConnection != null) {
+            this.pubSubConnection = null;
+            this.channelListeners.clear();
+            pubSubConnection.close();
+        }
         logger.info("Redis Client (Lettuce) stopped in {}", TimeUtils.tookForLogging(started));
     }
 }
@@ -0,0 +1,143 @@
+package ru.tinkoff.kora.cache.redis;
+
+import io.lettuce.core.FlushMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import ru.tinkoff.kora.cache.redis.testdata.DummyCache;
+import ru.tinkoff.kora.test.redis.RedisParams;
+import ru.tinkoff.kora.test.redis.RedisTestContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RedisTestContainer
+class BulkTests extends CacheRunner {
+
+    // more keys than single batch of bulk command
+    private static final int KEYS = 1200;
+
+    private DummyCache cache = null;
+    private DummyCache expiringCache = null;
+
+    @BeforeEach
+    void setup(RedisParams redisParams) throws Exception {
+        redisParams.execute(cmd -> cmd.flushall(FlushMode.SYNC));
+        if (cache == null) {
+            cache = createCache(redisParams);
+            expiringCache = createCache(redisParams, getExpiringConfig(), redisCacheTelemetry(null, null));
+        }
+    }
+
+    @Test
+    void getManyMatchesValuesToKeys() {
+        // given
+        var values = everyOtherValue();
+        cache.put(values);
+
+        // when
+        var keys = new ArrayList<String>();
+        for (int i = 0; i < KEYS; i++) {
+            keys.add("key-" + i);
+        }
+        keys.add("key-0");
+        var fromCache = cache.get(keys);
+
+        // then
+        assertEquals(values, fromCache);
+    }
+
+    @Test
+    void getManyAsyncWithExpireAfterAccessMatchesValuesToKeys(RedisParams redisParams) {
+        // given
+        var values = everyOtherValue();
+        expiringCache.putAsync(values).toCompletableFuture().join();
+
+        // when
+        var keys = new ArrayList<String>();
+        for (int i = 0; i < KEYS; i++) {
+            keys.add("key-" + i);
+        }
+        var fromCache = expiringCache.getAsync(keys).toCompletableFuture().join();
+
+        // then
+        assertEquals(values, fromCache);
+        var ttl = redisParams.execute(cmd -> cmd.pttl("pref:key-0"));
+        assertTrue(ttl > TimeUnit.MINUTES.toMillis(30), "Expected expireAfterAccess time to live, but was: " + ttl);
+    }
+
+    @Test
+    void putManyWithExpireAfterWrite(RedisParams redisParams) {
+        // when
+        expiringCache.put(everyOtherValue());
+
+        // then
+        var ttl = redisParams.execute(cmd -> cmd.pttl("pref:key-" + (KEYS - 2)));
+        assertTrue(ttl > 0 && ttl <= TimeUnit.MINUTES.toMillis(10), "Expected expireAfterWrite time to live, but was: " + ttl);
+        assertEquals("value-" + (KEYS - 2), expiringCache.get("key-" + (KEYS - 2)));
+    }
+
+    @Test
+    void computeIfAbsentManyComputesOnlyMissingKeys() {
+        // given
+        var values = everyOtherValue();
+        cache.put(values);
+
+        // when
+        var keys = new ArrayList<String>();
+        for (int i = 0; i < KEYS; i++) {
+            keys.add("key-" + i);
+        }
+        var computed = new ArrayList<String>();
+        var result = cache.computeIfAbsent(keys, missing -> {
+            computed.addAll(missing);
+            var missingValues = new HashMap<String, String>();
+            for (var key : missing) {
+                missingValues.put(key, "computed");
+            }
+            return missingValues;
+        });
+
+        // then
+        assertEquals(KEYS, result.size());
+        assertEquals(KEYS / 2, computed.size());
+        for (var key : computed) {
+            assertFalse(values.containsKey(key));
+            assertEquals("computed", result.get(key));
+        }
+        assertEquals(Map.of("key-1", "computed"), cache.get(Set.of("key-1")));
+    }
+
+    private static Map<String, String> everyOtherValue() {
+        var values = new HashMap<String, String>();
+        for (int i = 0; i < KEYS; i += 2) {
+            values.put("key-" + i, "value-" + i);
+        }
+        return values;
+    }
+
+    private static RedisCacheConfig getExpiringConfig() {
+        var config = getConfig();
+        return new RedisCacheConfig() {
+            @Override
+            public String keyPrefix() {
+                return config.keyPrefix();
+            }
+
+            @Override
+            public Duration expireAfterWrite() {
+                return Duration.ofMinutes(10);
+            }
+
+            @Override
+            public Duration expireAfterAccess() {
+                return Duration.ofHours(1);
+            }
+        };
+    }
+}
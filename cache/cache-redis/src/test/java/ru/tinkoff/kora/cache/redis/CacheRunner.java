@@ -33,12 +33,16 @@ abstract class CacheRunner extends Assertions implements RedisCacheModule {
     }
 
     protected DummyCache createCache(RedisParams redisParams) throws Exception {
+        return createCache(redisParams, getConfig(), redisCacheTelemetry(null, null));
+    }
+
+    protected DummyCache createCache(RedisParams redisParams, RedisCacheConfig config, RedisCacheTelemetry telemetry) throws Exception {
         var lettuceClientFactory = lettuceClientFactory();
         var lettuceClientConfig = new LettuceClientConfig(redisParams.uri().toString(), null, null, null, null, null, null);
         var lettuceClient = lettuceRedisClient(lettuceClientFactory, lettuceClientConfig);
         lettuceClient.init();
 
-        return new DummyCache(getConfig(), lettuceClient, redisCacheTelemetry(null, null),
+        return new DummyCache(config, lettuceClient, telemetry,
             stringRedisKeyMapper(), stringRedisValueMapper());
     }
 }
@@ -0,0 +1,238 @@
+package ru.tinkoff.kora.cache.redis;
+
+import io.lettuce.core.FlushMode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import ru.tinkoff.kora.cache.redis.testdata.DummyCache;
+import ru.tinkoff.kora.cache.telemetry.CacheMetrics;
+import ru.tinkoff.kora.cache.telemetry.CacheTelemetryOperation;
+import ru.tinkoff.kora.test.redis.RedisParams;
+import ru.tinkoff.kora.test.redis.RedisTestContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RedisTestContainer
+class ComputeIfAbsentTests extends CacheRunner {
+
+    private final CoalescedMetrics metrics = new CoalescedMetrics();
+    private DummyCache cache = null;
+    private DummyCache lockedCache;
+    private DummyCache otherLockedCache;
+
+    @BeforeEach
+    void setup(RedisParams redisParams) throws Exception {
+        redisParams.execute(cmd -> cmd.flushall(FlushMode.SYNC));
+        if (cache == null) {
+            cache = createCache(redisParams, getConfig(), redisCacheTelemetry(metrics, null));
+
+            // two application instances coalescing computations with Redis lock
+            var lockConfig = getLockConfig();
+            lockedCache = createCache(redisParams, lockConfig, redisCacheTelemetry(metrics, null));
+            otherLockedCache = createCache(redisParams, lockConfig, redisCacheTelemetry(metrics, null));
+        }
+        metrics.local.set(0);
+        metrics.distributed.set(0);
+    }
+
+    @Test
+    void concurrentComputeIfAbsentComputesValueOnce() throws Exception {
+        // given
+        var computations = new AtomicInteger();
+        var computing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = CompletableFuture.supplyAsync(() -> cache.computeIfAbsent("1", k -> {
+            computations.incrementAndGet();
+            computing.countDown();
+            await(release);
+            return "1";
+        }));
+        await(computing);
+
+        // when
+        var second = CompletableFuture.supplyAsync(() -> cache.computeIfAbsent("1", k -> {
+            computations.incrementAndGet();
+            return "2";
+        }));
+        awaitCoalesced(metrics.local, 1);
+        release.countDown();
+
+        // then
+        assertEquals("1", first.get(10, TimeUnit.SECONDS));
+        assertEquals("1", second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+        assertEquals("1", cache.get("1"));
+    }
+
+    @Test
+    void concurrentComputeIfAbsentAsyncComputesValueOnce() throws Exception {
+        // given
+        var computations = new AtomicInteger();
+        var computed = new CompletableFuture<String>();
+        var first = cache.computeIfAbsentAsync("1", k -> {
+            computations.incrementAndGet();
+            return computed;
+        });
+        awaitUntil(() -> computations.get() == 1);
+
+        // when
+        var second = cache.computeIfAbsentAsync("1", k -> {
+            computations.incrementAndGet();
+            return CompletableFuture.completedFuture("2");
+        });
+        awaitCoalesced(metrics.local, 1);
+        computed.complete("1");
+
+        // then
+        assertEquals("1", first.toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertEquals("1", second.toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void concurrentComputeIfAbsentManyComputesMissingKeysOnce() throws Exception {
+        // given
+        var computedKeys = new AtomicInteger();
+        var computing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = CompletableFuture.supplyAsync(() -> cache.computeIfAbsent(List.of("1", "2"), keys -> {
+            computedKeys.addAndGet(keys.size());
+            computing.countDown();
+            await(release);
+            return Map.of("1", "1", "2", "2");
+        }));
+        await(computing);
+
+        // when
+        var second = CompletableFuture.supplyAsync(() -> cache.computeIfAbsent(List.of("2", "3"), keys -> {
+            computedKeys.addAndGet(keys.size());
+            return Map.of("3", "3");
+        }));
+        awaitCoalesced(metrics.local, 1);
+        release.countDown();
+
+        // then
+        assertEquals(Map.of("1", "1", "2", "2"), first.get(10, TimeUnit.SECONDS));
+        assertEquals(Map.of("2", "2", "3", "3"), second.get(10, TimeUnit.SECONDS));
+        assertEquals(3, computedKeys.get());
+    }
+
+    @Test
+    void computeIfAbsentWithLockIsComputedByOneInstance() throws Exception {
+        // given
+        var computations = new AtomicInteger();
+        var computing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = CompletableFuture.supplyAsync(() -> lockedCache.computeIfAbsent("1", k -> {
+            computations.incrementAndGet();
+            computing.countDown();
+            await(release);
+            return "1";
+        }));
+        await(computing);
+
+        // when
+        var second = otherLockedCache.computeIfAbsentAsync("1", k -> {
+            computations.incrementAndGet();
+            return CompletableFuture.completedFuture("2");
+        });
+        // let other instance find lock taken before value is computed
+        Thread.sleep(200);
+        release.countDown();
+
+        // then
+        assertEquals("1", first.get(10, TimeUnit.SECONDS));
+        assertEquals("1", second.toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+        assertEquals(1, metrics.distributed.get());
+    }
+
+    @Test
+    void computeIfAbsentWithLockIsComputedAfterLockReleased() {
+        // when
+        assertEquals("1", lockedCache.computeIfAbsent("1", k -> "1"));
+        lockedCache.invalidate("1");
+
+        // then
+        assertEquals("2", otherLockedCache.computeIfAbsent("1", k -> "2"));
+        assertEquals(0, metrics.distributed.get());
+    }
+
+    private static RedisCacheConfig getLockConfig() {
+        var config = getConfig();
+        return new RedisCacheConfig() {
+            @Override
+            public String keyPrefix() {
+                return config.keyPrefix();
+            }
+
+            @Nullable
+            @Override
+            public Duration expireAfterWrite() {
+                return null;
+            }
+
+            @Nullable
+            @Override
+            public Duration expireAfterAccess() {
+                return null;
+            }
+
+            @Override
+            public ComputeLockConfig computeLock() {
+                return new ComputeLockConfig() {
+                    @Override
+                    public Duration pollInterval() {
+                        return Duration.ofMillis(10);
+                    }
+                };
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitCoalesced(AtomicInteger coalesced, int expected) throws InterruptedException {
+        awaitUntil(() -> coalesced.get() == expected);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class CoalescedMetrics implements CacheMetrics {
+        private final AtomicInteger local = new AtomicInteger();
+        private final AtomicInteger distributed = new AtomicInteger();
+
+        @Override
+        public void recordSuccess(@Nonnull CacheTelemetryOperation operation, long durationInNanos, @Nullable Object valueFromCache) {}
+
+        @Override
+        public void recordFailure(@Nonnull CacheTelemetryOperation operation, long durationInNanos, @Nullable Throwable throwable) {}
+
+        @Override
+        public void recordCoalesced(@Nonnull CacheTelemetryOperation operation, int keys, boolean distributed) {
+            (distributed ? this.distributed : this.local).addAndGet(keys);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ru.tinkoff.kora.cache.redis;
+
+import io.lettuce.core.FlushMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import ru.tinkoff.kora.cache.redis.testdata.DummyCache;
+import ru.tinkoff.kora.test.redis.RedisParams;
+import ru.tinkoff.kora.test.redis.RedisTestContainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RedisTestContainer
+class NearCacheTests extends CacheRunner {
+
+    private DummyCache remote = null;
+    private RedisNearCache<String, String> cache;
+    private RedisNearCache<String, String> otherCache;
+
+    @BeforeEach
+    void setup(RedisParams redisParams) throws Exception {
+        redisParams.execute(cmd -> cmd.flushall(FlushMode.SYNC));
+        if (remote == null) {
+            remote = createCache(redisParams);
+            cache = new RedisNearCache<>(new RedisNearCacheConfig() {}, remote);
+            cache.init();
+
+            // other application instance with its own connection and local cache
+            otherCache = new RedisNearCache<>(new RedisNearCacheConfig() {}, createCache(redisParams));
+            otherCache.init();
+        }
+        cache.invalidateLocalAll();
+        otherCache.invalidateLocalAll();
+    }
+
+    @Test
+    void getFromRedisIsPutToLocalCache() {
+        // given
+        remote.put("1", "1");
+
+        // when
+        assertEquals("1", cache.get("1"));
+
+        // then
+        assertEquals("1", cache.getLocalIfPresent("1"));
+    }
+
+    @Test
+    void getManyFromLocalAndRedis() {
+        // given
+        cache.put("1", "1");
+        remote.invalidate("1");
+        remote.put("2", "2");
+
+        // when
+        var values = cache.get(List.of("1", "2", "3"));
+
+        // then
+        assertEquals(Map.of("1", "1", "2", "2"), values);
+        assertEquals("2", cache.getLocalIfPresent("2"));
+    }
+
+    @Test
+    void putInvalidatesLocalCacheOfOtherInstance() throws InterruptedException {
+        // given
+        cache.put("1", "1");
+        assertEquals("1", otherCache.get("1"));
+
+        // when
+        cache.put("1", "2");
+
+        // then
+        awaitUntil(() -> otherCache.getLocalIfPresent("1") == null);
+        assertEquals("2", otherCache.get("1"));
+        assertEquals("2", cache.getLocalIfPresent("1"));
+    }
+
+    @Test
+    void invalidateAllInvalidatesLocalCacheOfOtherInstance() throws InterruptedException {
+        // given
+        cache.put("1", "1");
+        assertEquals("1", otherCache.getAsync("1").toCompletableFuture().join());
+
+        // when
+        cache.invalidateAllAsync().toCompletableFuture().join();
+
+        // then
+        awaitUntil(() -> otherCache.getLocalIfPresent("1") == null);
+        assertNull(otherCache.get("1"));
+    }
+
+    @Test
+    void evictedKeysAreUntracked(RedisParams redisParams) throws Exception {
+        // given
+        var limited = new RedisNearCache<>(new RedisNearCacheConfig() {
+            @Override
+            public int maximumLocalKeys() {
+                return 2;
+            }
+        }, createCache(redisParams));
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            limited.put(String.valueOf(i), String.valueOf(i));
+        }
+
+        // then
+        assertTrue(limited.localSize() <= 2);
+        assertEquals(limited.localSize(), limited.trackedLocalKeys());
+    }
+
+    @Test
+    void invalidatedKeysAreUntracked() {
+        // given
+        cache.put("1", "1");
+        cache.put("2", "2");
+
+        // when
+        cache.invalidate("1");
+
+        // then
+        assertNull(cache.getLocalIfPresent("1"));
+        assertEquals(1, cache.trackedLocalKeys());
+    }
+
+    @Test
+    void releasedCacheStopsReceivingInvalidations(RedisParams redisParams) throws Exception {
+        // given
+        var released = new RedisNearCache<>(new RedisNearCacheConfig() {}, createCache(redisParams));
+        released.init();
+        cache.put("1", "1");
+        assertEquals("1", otherCache.get("1"));
+        released.release();
+        assertEquals("1", released.get("1"));
+
+        // when
+        cache.put("1", "2");
+
+        // then
+        awaitUntil(() -> otherCache.getLocalIfPresent("1") == null);
+        assertEquals("1", released.getLocalIfPresent("1"));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ru.tinkoff.kora.cache.redis;
+
+import io.lettuce.core.FlushMode;
+import jakarta.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import ru.tinkoff.kora.cache.redis.testdata.DummyCache;
+import ru.tinkoff.kora.test.redis.RedisParams;
+import ru.tinkoff.kora.test.redis.RedisTestContainer;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RedisTestContainer
+class RefreshTests extends CacheRunner {
+
+    private DummyCache cache = null;
+
+    @BeforeEach
+    void setup(RedisParams redisParams) throws Exception {
+        redisParams.execute(cmd -> cmd.flushall(FlushMode.SYNC));
+        if (cache == null) {
+            cache = createCache(redisParams, getRefreshConfig(), redisCacheTelemetry(null, null));
+        }
+    }
+
+    @Test
+    void staleValueReturnedAndRefreshed() throws Exception {
+        // given
+        var computations = new AtomicInteger();
+        assertEquals("1", cache.computeIfAbsent("1", k -> String.valueOf(computations.incrementAndGet())));
+        assertEquals("1", cache.computeIfAbsent("1", k -> String.valueOf(computations.incrementAndGet())));
+        Thread.sleep(200);
+
+        // when
+        assertEquals("1", cache.computeIfAbsent("1", k -> String.valueOf(computations.incrementAndGet())));
+
+        // then
+        awaitUntil(() -> "2".equals(cache.get("1")));
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    void staleValueReturnedAndRefreshedAsync() throws Exception {
+        // given
+        cache.put("1", "1");
+        Thread.sleep(200);
+
+        // when
+        var value = cache.computeIfAbsentAsync("1", k -> CompletableFuture.completedFuture("2")).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        // then
+        assertEquals("1", value);
+        awaitUntil(() -> "2".equals(cache.get("1")));
+    }
+
+    @Test
+    void failedRefreshKeepsStaleValue() throws Exception {
+        // given
+        cache.put("1", "1");
+        Thread.sleep(200);
+
+        // when
+        assertEquals("1", cache.computeIfAbsent("1", k -> {
+            throw new IllegalStateException("test");
+        }));
+        Thread.sleep(200);
+
+        // then
+        assertEquals("1", cache.get("1"));
+    }
+
+    @Test
+    void mappingFunctionFailureIsPropagated() {
+        assertThrows(IllegalStateException.class, () -> cache.computeIfAbsent("1", k -> {
+            throw new IllegalStateException("test");
+        }));
+        var future = cache.computeIfAbsentAsync("1", k -> CompletableFuture.failedFuture(new IllegalStateException("test"))).toCompletableFuture();
+        var e = assertThrows(Exception.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertNull(cache.get("1"));
+    }
+
+    @Test
+    void refreshRequiresGreaterExpireAfterWrite() {
+        var config = getConfig();
+        assertThrows(IllegalArgumentException.class, () -> new DummyCache(new RedisCacheConfig() {
+            @Override
+            public String keyPrefix() {
+                return config.keyPrefix();
+            }
+
+            @Override
+            public Duration expireAfterWrite() {
+                return Duration.ofMillis(100);
+            }
+
+            @Nullable
+            @Override
+            public Duration expireAfterAccess() {
+                return null;
+            }
+
+            @Override
+            public Duration refreshAfterWrite() {
+                return Duration.ofMillis(100);
+            }
+        }, null, redisCacheTelemetry(null, null), stringRedisKeyMapper(), stringRedisValueMapper()));
+    }
+
+    private static RedisCacheConfig getRefreshConfig() {
+        var config = getConfig();
+        return new RedisCacheConfig() {
+            @Override
+            public String keyPrefix() {
+                return config.keyPrefix();
+            }
+
+            @Override
+            public Duration expireAfterWrite() {
+                return Duration.ofSeconds(10);
+            }
+
+            @Nullable
+            @Override
+            public Duration expireAfterAccess() {
+                return null;
+            }
+
+            @Override
+            public Duration refreshAfterWrite() {
+                return Duration.ofMillis(100);
+            }
+        };
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
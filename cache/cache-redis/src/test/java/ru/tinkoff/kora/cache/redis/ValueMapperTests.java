@@ -0,0 +1,170 @@
+package ru.tinkoff.kora.cache.redis;
+
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.json.common.JsonReader;
+import ru.tinkoff.kora.json.common.JsonWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueMapperTests {
+
+    private static final RedisCacheValueMapper<String> STRING_MAPPER = new RedisCacheValueMapper<>() {
+        @Override
+        public byte[] write(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String read(byte[] serializedValue) {
+            return new String(serializedValue, StandardCharsets.UTF_8);
+        }
+    };
+
+    @Test
+    void deflateCompressesValueAboveThreshold() {
+        // given
+        var mapper = new CompressingRedisCacheValueMapper<>(STRING_MAPPER, config(RedisCacheConfig.CompressionConfig.Algorithm.DEFLATE, 64));
+        var value = "value".repeat(100);
+
+        // when
+        var written = mapper.write(value);
+
+        // then
+        assertEquals((byte) 0xA1, written[0]);
+        assertTrue(written.length < value.length());
+        assertEquals(value, mapper.read(written));
+    }
+
+    @Test
+    void lz4CompressesValueAboveThreshold() {
+        // given
+        var mapper = new CompressingRedisCacheValueMapper<>(STRING_MAPPER, config(RedisCacheConfig.CompressionConfig.Algorithm.LZ4, 64));
+        var value = "value".repeat(100);
+
+        // when
+        var written = mapper.write(value);
+
+        // then
+        assertEquals((byte) 0xA2, written[0]);
+        assertTrue(written.length < value.length());
+        assertEquals(value, mapper.read(written));
+    }
+
+    @Test
+    void valueBelowThresholdIsStoredPlain() {
+        // given
+        var mapper = new CompressingRedisCacheValueMapper<>(STRING_MAPPER, config(RedisCacheConfig.CompressionConfig.Algorithm.DEFLATE, 64));
+
+        // when
+        var written = mapper.write("value");
+
+        // then
+        assertEquals((byte) 0xA0, written[0]);
+        assertEquals(6, written.length);
+        assertEquals("value", mapper.read(written));
+    }
+
+    @Test
+    void incompressibleValueIsStoredPlain() {
+        // given
+        var bytes = new byte[2048];
+        new Random(42).nextBytes(bytes);
+        var mapper = new CompressingRedisCacheValueMapper<>(new RedisCacheValueMapper<byte[]>() {
+            @Override
+            public byte[] write(byte[] value) {
+                return value;
+            }
+
+            @Override
+            public byte[] read(byte[] serializedValue) {
+                return serializedValue;
+            }
+        }, config(RedisCacheConfig.CompressionConfig.Algorithm.DEFLATE, 0));
+
+        // when
+        var written = mapper.write(bytes);
+
+        // then
+        assertEquals((byte) 0xA0, written[0]);
+        assertArrayEquals(bytes, mapper.read(written));
+    }
+
+    @Test
+    void valueWrittenWithoutCompressionIsRead() {
+        // given
+        var mapper = new CompressingRedisCacheValueMapper<>(STRING_MAPPER, config(RedisCacheConfig.CompressionConfig.Algorithm.DEFLATE, 0));
+
+        // then
+        assertEquals("{\"value\":1}", mapper.read("{\"value\":1}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void valueOfUnsupportedFormatVersionFails() {
+        // given
+        var mapper = new CompressingRedisCacheValueMapper<>(STRING_MAPPER, config(RedisCacheConfig.CompressionConfig.Algorithm.DEFLATE, 0));
+
+        // then
+        assertThrows(IllegalStateException.class, () -> mapper.read(new byte[]{(byte) 0xB0, 1, 2}));
+    }
+
+    @Test
+    void compressedValueWithCorruptedLengthFails() {
+        // given
+        var mapper = new CompressingRedisCacheValueMapper<>(STRING_MAPPER, config(RedisCacheConfig.CompressionConfig.Algorithm.DEFLATE, 64));
+        var written = mapper.write("value".repeat(100));
+
+        // when
+        written[1] = 0x7F;
+
+        // then
+        assertThrows(IllegalStateException.class, () -> mapper.read(written));
+    }
+
+    @Test
+    void valuesAreReadAfterCompressorsAreReused() {
+        // given
+        var mapper = new CompressingRedisCacheValueMapper<>(STRING_MAPPER, config(RedisCacheConfig.CompressionConfig.Algorithm.DEFLATE, 64));
+
+        // then
+        for (int i = 0; i < 10; i++) {
+            var value = String.valueOf(i).repeat(100 + i);
+            assertEquals(value, mapper.read(mapper.write(value)));
+        }
+    }
+
+    @Test
+    void rawBytesMapperCantBeCompressed() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressingRedisCacheValueMapper<>(new BytesRedisCacheValueMapper(), config(RedisCacheConfig.CompressionConfig.Algorithm.DEFLATE, 0)));
+    }
+
+    @Test
+    void smileMapperReadsWrittenValue() {
+        // given
+        JsonWriter<String> writer = (generator, value) -> generator.writeString(value);
+        JsonReader<String> reader = parser -> parser.getText();
+        var mapper = new SmileRedisCacheValueMapper<>(writer, reader);
+
+        // when
+        var written = mapper.write("value");
+
+        // then
+        assertEquals("value", mapper.read(written));
+    }
+
+    private static RedisCacheConfig.CompressionConfig config(RedisCacheConfig.CompressionConfig.Algorithm algorithm, int threshold) {
+        return new RedisCacheConfig.CompressionConfig() {
+            @Override
+            public Algorithm algorithm() {
+                return algorithm;
+            }
+
+            @Override
+            public int threshold() {
+                return threshold;
+            }
+        };
+    }
+}
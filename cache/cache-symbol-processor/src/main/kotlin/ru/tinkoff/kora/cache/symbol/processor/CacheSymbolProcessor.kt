@@ -48,6 +48,8 @@ class CacheSymbolProcessor(
         private val REDIS_CACHE_CLIENT = ClassName("ru.tinkoff.kora.cache.redis", "RedisCacheClient")
         private val REDIS_CACHE_MAPPER_KEY = ClassName("ru.tinkoff.kora.cache.redis", "RedisCacheKeyMapper")
         private val REDIS_CACHE_MAPPER_VALUE = ClassName("ru.tinkoff.kora.cache.redis", "RedisCacheValueMapper")
+        private val REDIS_NEAR_CACHE = ClassName("ru.tinkoff.kora.cache.redis", "RedisNearCache")
+        private val REDIS_NEAR_CACHE_CONFIG = ClassName("ru.tinkoff.kora.cache.redis", "RedisNearCacheConfig")
     }
 
     override fun processRound(resolver: Resolver): List<KSAnnotated> {
@@ -81,6 +83,14 @@ class CacheSymbolProcessor(
                 .build()
             fileImplSpec.writeTo(codeGenerator = environment.codeGenerator, aggregating = false)
 
+            if (cacheContractType.rawType == REDIS_CACHE) {
+                val nearImplSpec = getCacheNearImplSpec(cacheContract, cacheContractType)
+                FileSpec.builder(cacheContract.packageName.asString(), nearImplSpec.name.toString())
+                    .addType(nearImplSpec)
+                    .build()
+                    .writeTo(codeGenerator = environment.codeGenerator, aggregating = false)
+            }
+
             val moduleSpecBuilder =
                 TypeSpec.interfaceBuilder(ClassName(packageName, "$${cacheImplName.simpleName}Module"))
                     .generated(CacheSymbolProcessor::class)
@@ -177,6 +187,26 @@ class CacheSymbolProcessor(
         return ClassName(cacheImplName.packageName, "$${cacheImplName.simpleName}Impl")
     }
 
+    private fun getCacheNearImpl(cacheContract: KSClassDeclaration): ClassName {
+        val cacheImplName = cacheContract.toClassName()
+        return ClassName(cacheImplName.packageName, "$${cacheImplName.simpleName}NearImpl")
+    }
+
+    private fun getCacheNearImplSpec(cacheContract: KSClassDeclaration, cacheType: ParameterizedTypeName): TypeSpec {
+        return TypeSpec.classBuilder(getCacheNearImpl(cacheContract))
+            .generated(CacheSymbolProcessor::class)
+            .primaryConstructor(
+                FunSpec.constructorBuilder()
+                    .addParameter("config", REDIS_NEAR_CACHE_CONFIG)
+                    .addParameter("remote", REDIS_CACHE_IMPL.parameterizedBy(cacheType.typeArguments))
+                    .build()
+            )
+            .addSuperclassConstructorParameter("config, remote")
+            .superclass(REDIS_NEAR_CACHE.parameterizedBy(cacheType.typeArguments))
+            .addSuperinterface(cacheContract.toTypeName())
+            .build()
+    }
+
     private fun getCacheMethodImpl(cacheClass: KSClassDeclaration, cacheContract: ParameterizedTypeName): FunSpec {
         val cacheImplName = getCacheImpl(cacheClass)
         val cacheTypeName = cacheClass.toTypeName()
@@ -238,7 +268,9 @@ class CacheSymbolProcessor(
                     .addParameter("telemetry", REDIS_TELEMETRY)
                     .addParameter(keyMapperBuilder.build())
                     .addParameter(valueMapperBuilder.build())
-                    .addStatement("return %L(config, redisClient, telemetry, keyMapper, valueMapper)", cacheImplName)
+                    .addStatement("val cache = %T(config, redisClient, telemetry, keyMapper, valueMapper)", cacheImplName)
+                    .addStatement("val nearCache = config.nearCache()")
+                    .addStatement("return if (nearCache == null) cache else %T(nearCache, cache)", getCacheNearImpl(cacheClass))
                     .returns(cacheTypeName)
                     .build()
             }
@@ -0,0 +1,246 @@
+package ru.tinkoff.kora.http.common.body;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.common.Context;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <b>Русский</b>: Тело ответа из региона файла, сервер может отправить его без копирования в память (sendfile)
+ * <hr>
+ * <b>English</b>: Response body backed by a file region, server may send it without copying it to user space (sendfile)
+ * <br>
+ * <br>
+ * Servers that can't transfer file directly read it by subscribing as to any other body,
+ * subscriber reads file on thread requesting chunks unless executor is passed with {@link #subscribe(Flow.Subscriber, Executor)}
+ */
+public final class FileHttpBodyOutput extends AtomicBoolean implements HttpBodyOutput {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Nullable
+    private final String contentType;
+    private final Path path;
+    private final long position;
+    private final long count;
+
+    public FileHttpBodyOutput(@Nullable String contentType, Path path, long position, long count) {
+        if (position < 0 || count < 0) {
+            throw new IllegalArgumentException("Illegal file region: position=" + position + ", count=" + count);
+        }
+        this.contentType = contentType;
+        this.path = path;
+        this.position = position;
+        this.count = count;
+    }
+
+    public Path path() {
+        return this.path;
+    }
+
+    public long position() {
+        return this.position;
+    }
+
+    @Override
+    public long contentLength() {
+        return this.count;
+    }
+
+    @Nullable
+    @Override
+    public String contentType() {
+        return this.contentType;
+    }
+
+    /**
+     * @return channel to transfer body from, caller is responsible for closing it
+     */
+    public FileChannel open() throws IOException {
+        if (!this.compareAndSet(false, true)) {
+            throw new IllegalStateException("Body was already subscribed");
+        }
+        return FileChannel.open(this.path, StandardOpenOption.READ);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        this.subscribe(subscriber, null);
+    }
+
+    /**
+     * @param executor runs blocking file reads, e.g. when chunks are requested from event loop
+     */
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber, @Nullable Executor executor) {
+        FileChannel channel;
+        try {
+            channel = this.open();
+        } catch (IOException e) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onSubscribe(new FileSubscription(subscriber, Context.current(), executor, channel, this.position, this.count));
+    }
+
+    @Override
+    public void write(OutputStream os) throws IOException {
+        try (var channel = this.open()) {
+            var target = Channels.newChannel(os);
+            var position = this.position;
+            var end = position + this.count;
+            while (position < end) {
+                var transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    throw new IOException("Unexpected end of file " + this.path);
+                }
+                position += transferred;
+            }
+            os.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.set(true);
+    }
+
+    private static final class FileSubscription extends AtomicLong implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final Context context;
+        @Nullable
+        private final Executor executor;
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+        private volatile boolean done;
+
+        private FileSubscription(Flow.Subscriber<? super ByteBuffer> subscriber, Context context, @Nullable Executor executor, FileChannel channel, long position, long count) {
+            this.subscriber = subscriber;
+            this.context = context;
+            this.executor = executor;
+            this.channel = channel;
+            this.position = position;
+            this.end = position + count;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.cancel();
+                this.subscriber.onError(new IllegalArgumentException("Requested non positive amount of chunks: " + n));
+                return;
+            }
+            long current, next;
+            do {
+                current = this.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!this.compareAndSet(current, next));
+            if (current != 0) {
+                return;
+            }
+            if (this.executor == null) {
+                this.drainInContext(next);
+                return;
+            }
+            var demand = next;
+            try {
+                this.executor.execute(() -> this.drainInContext(demand));
+            } catch (RejectedExecutionException e) {
+                this.complete(e);
+            }
+        }
+
+        private void drainInContext(long demand) {
+            var oldCtx = Context.current();
+            this.context.inject();
+            try {
+                this.drain(demand);
+            } finally {
+                oldCtx.inject();
+            }
+        }
+
+        private void drain(long demand) {
+            while (true) {
+                long emitted = 0;
+                while (emitted < demand) {
+                    if (this.done) {
+                        return;
+                    }
+                    if (this.position >= this.end) {
+                        this.complete(null);
+                        return;
+                    }
+                    var buffer = ByteBuffer.allocate((int) Math.min(CHUNK_SIZE, this.end - this.position));
+                    try {
+                        while (buffer.hasRemaining()) {
+                            var read = this.channel.read(buffer, this.position + buffer.position());
+                            if (read < 0) {
+                                throw new IOException("Unexpected end of file");
+                            }
+                        }
+                    } catch (IOException e) {
+                        this.complete(e);
+                        return;
+                    }
+                    this.position += buffer.limit();
+                    emitted++;
+                    this.subscriber.onNext(buffer.flip());
+                }
+                if (this.position >= this.end) {
+                    this.complete(null);
+                    return;
+                }
+                demand = this.addAndGet(-emitted);
+                if (demand == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void complete(@Nullable Throwable error) {
+            if (this.done) {
+                return;
+            }
+            this.done = true;
+            this.closeChannel();
+            if (error != null) {
+                this.subscriber.onError(error);
+            } else {
+                this.subscriber.onComplete();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!this.done) {
+                this.done = true;
+                this.closeChannel();
+            }
+        }
+
+        private void closeChannel() {
+            try {
+                this.channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.http.HttpRequest;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Flow;
@@ -55,6 +56,10 @@ public interface HttpBodyOutput extends HttpBody, Flow.Publisher<ByteBuffer> {
         return new StreamingHttpBodyOutput("application/octet-stream", length, content);
     }
 
+    static FileHttpBodyOutput file(@Nullable String contentType, Path path, long position, long count) {
+        return new FileHttpBodyOutput(contentType, path, position, count);
+    }
+
     long contentLength();
 
     @Nullable
@@ -0,0 +1,58 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterBenchmark {
+    @Param({"10", "100", "1000"})
+    public int routes;
+
+    private PathTemplateMatcher<Integer> matcher;
+    private PathTrie<Integer> trie;
+    private String[] paths;
+
+    @Setup
+    public void setup() {
+        this.matcher = new PathTemplateMatcher<>();
+        this.trie = new PathTrie<>();
+        this.paths = new String[this.routes];
+        for (int i = 0; i < this.routes; i++) {
+            var template = switch (i % 4) {
+                case 0 -> "/api/v1/resource" + i;
+                case 1 -> "/api/v1/resource" + i + "/{id}";
+                case 2 -> "/api/v1/resource" + i + "/{id}/items/{itemId}";
+                default -> "/api/v2/{tenant}/resource" + i + "/status";
+            };
+            this.matcher.add(template, i);
+            this.trie.add(template, i);
+            this.paths[i] = template
+                .replace("{id}", "6c8b2a1e")
+                .replace("{itemId}", "42")
+                .replace("{tenant}", "tenant");
+        }
+    }
+
+    @Benchmark
+    public void pathTemplateMatcher(Blackhole blackhole) {
+        for (var path : this.paths) {
+            blackhole.consume(this.matcher.match(path));
+        }
+    }
+
+    @Benchmark
+    public void pathTrie(Blackhole blackhole) {
+        for (var path : this.paths) {
+            var parameters = new PathParameters(this.trie.maxParameters());
+            blackhole.consume(this.trie.match(path, parameters));
+            blackhole.consume(parameters);
+        }
+    }
+}
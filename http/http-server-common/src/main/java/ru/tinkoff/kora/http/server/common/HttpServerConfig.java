@@ -25,5 +25,36 @@ public interface HttpServerConfig {
 
     default Duration shutdownWait() {return Duration.ofMillis(100);}
 
+    /**
+     * Max time to wait for active requests to finish after server socket is closed, remaining requests are dropped after that
+     */
+    default Duration shutdownRequestsWait() {return Duration.ofSeconds(30);}
+
+    /**
+     * Enables cleartext HTTP/2 (h2c) on public and private servers: both with prior knowledge and with HTTP/1.1 Upgrade
+     */
+    default boolean http2Enabled() {return false;}
+
+    default int http2MaxConcurrentStreams() {return 100;}
+
+    default int http2InitialWindowSize() {return 65535;}
+
+    default int http2HeaderTableSize() {return 4096;}
+
+    /**
+     * Runs blocking handlers on virtual threads instead of a pool of {@link #blockingThreads()} platform threads, requires JDK 21+
+     */
+    default boolean blockingVirtualThreads() {return false;}
+
+    /**
+     * Max number of blocking handlers running on virtual threads concurrently, zero means unlimited
+     */
+    default int blockingVirtualThreadsMaxConcurrency() {return 0;}
+
+    /**
+     * Virtual threads pinned to carrier thread for longer than this are reported, zero disables detection
+     */
+    default Duration blockingVirtualThreadsPinnedThreshold() {return Duration.ofMillis(20);}
+
     HttpServerTelemetryConfig telemetry();
 }
@@ -44,8 +44,11 @@ public interface HttpServerInterceptor {
         CompletionStage<HttpServerResponse> process(Context ctx, HttpServerRequest request) throws Exception;
     }
 
+    /**
+     * @return interceptor passing request to chain as is, {@link ru.tinkoff.kora.http.server.common.router.PublicApiHandler} leaves it out of chain
+     */
     static HttpServerInterceptor noop() {
-        return (context, request, chain) -> chain.process(context, request);
+        return NoopHttpServerInterceptor.INSTANCE;
     }
 
     static HttpServerInterceptor wrapped(HttpServerInterceptor interceptor) {
@@ -10,7 +10,12 @@ import ru.tinkoff.kora.common.liveness.LivenessProbe;
 import ru.tinkoff.kora.common.readiness.ReadinessProbe;
 import ru.tinkoff.kora.config.common.Config;
 import ru.tinkoff.kora.config.common.extractor.ConfigValueExtractor;
+import ru.tinkoff.kora.http.server.common.compression.HttpServerCompressionConfig;
+import ru.tinkoff.kora.http.server.common.compression.HttpServerCompressionInterceptor;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.limiter.AdaptiveHttpServerLimiter;
+import ru.tinkoff.kora.http.server.common.limiter.HttpServerLimiter;
+import ru.tinkoff.kora.http.server.common.limiter.HttpServerLimiterConfig;
 import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
 import ru.tinkoff.kora.http.server.common.telemetry.*;
 
@@ -32,8 +37,35 @@ public interface HttpServerModule extends StringParameterReadersModule, HttpServ
     default PublicApiHandler publicApiHandler(All<HttpServerRequestHandler> handlers,
                                               @Tag(HttpServerModule.class) All<HttpServerInterceptor> interceptors,
                                               HttpServerTelemetryFactory telemetry,
-                                              HttpServerConfig config) {
-        return new PublicApiHandler(handlers, interceptors, telemetry, config);
+                                              HttpServerConfig config,
+                                              HttpServerLimiter limiter) {
+        return new PublicApiHandler(handlers, interceptors, telemetry, config, limiter);
+    }
+
+    default HttpServerLimiterConfig httpServerLimiterConfig(Config config, ConfigValueExtractor<HttpServerLimiterConfig> extractor) {
+        return extractor.extract(config.get("httpServer.limiter"));
+    }
+
+    @DefaultComponent
+    default HttpServerLimiter httpServerLimiter(HttpServerLimiterConfig limiterConfig, HttpServerConfig config, @Nullable HttpServerMetricsFactory metricsFactory) {
+        if (!limiterConfig.enabled()) {
+            return HttpServerLimiter.UNLIMITED;
+        }
+        var metrics = metricsFactory == null ? null : metricsFactory.get(config.telemetry().metrics());
+        return new AdaptiveHttpServerLimiter(limiterConfig, metrics);
+    }
+
+    default HttpServerCompressionConfig httpServerCompressionConfig(Config config, ConfigValueExtractor<HttpServerCompressionConfig> extractor) {
+        return extractor.extract(config.get("httpServer.compression"));
+    }
+
+    @Tag(HttpServerModule.class)
+    default HttpServerInterceptor httpServerCompressionInterceptor(HttpServerCompressionConfig compressionConfig, HttpServerConfig config, @Nullable HttpServerMetricsFactory metricsFactory) {
+        if (!compressionConfig.enabled()) {
+            return HttpServerInterceptor.noop();
+        }
+        var metrics = metricsFactory == null ? null : metricsFactory.get(config.telemetry().metrics());
+        return new HttpServerCompressionInterceptor(compressionConfig, metrics);
     }
 
     @DefaultComponent
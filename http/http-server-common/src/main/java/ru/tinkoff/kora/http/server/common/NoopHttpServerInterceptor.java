@@ -0,0 +1,16 @@
+package ru.tinkoff.kora.http.server.common;
+
+import ru.tinkoff.kora.common.Context;
+
+import java.util.concurrent.CompletionStage;
+
+final class NoopHttpServerInterceptor implements HttpServerInterceptor {
+    static final NoopHttpServerInterceptor INSTANCE = new NoopHttpServerInterceptor();
+
+    private NoopHttpServerInterceptor() {}
+
+    @Override
+    public CompletionStage<HttpServerResponse> intercept(Context context, HttpServerRequest request, InterceptChain chain) throws Exception {
+        return chain.process(context, request);
+    }
+}
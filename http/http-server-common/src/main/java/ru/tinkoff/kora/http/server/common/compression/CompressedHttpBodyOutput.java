@@ -0,0 +1,145 @@
+package ru.tinkoff.kora.http.server.common.compression;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.common.body.HttpBodyOutput;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Compresses streaming body chunk by chunk: every source chunk is emitted as one compressed chunk,
+ * stream trailer is emitted after source completes
+ */
+final class CompressedHttpBodyOutput implements HttpBodyOutput {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final HttpBodyOutput source;
+    private final ContentEncoder encoder;
+    private final Consumer<ContentEncoder> onFinish;
+
+    CompressedHttpBodyOutput(HttpBodyOutput source, ContentEncoder encoder, Consumer<ContentEncoder> onFinish) {
+        this.source = source;
+        this.encoder = encoder;
+        this.onFinish = onFinish;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Nullable
+    @Override
+    public String contentType() {
+        return this.source.contentType();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        this.source.subscribe(new CompressingSubscriber(subscriber));
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.encoder.release();
+        this.source.close();
+    }
+
+    private final class CompressingSubscriber implements Flow.Subscriber<ByteBuffer>, Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> downstream;
+        private Flow.Subscription upstream;
+        private long demand = 0;
+        @Nullable
+        private ByteBuffer pendingTrailer;
+        private boolean done = false;
+
+        private CompressingSubscriber(Flow.Subscriber<? super ByteBuffer> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.upstream = subscription;
+            this.downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            final ByteBuffer compressed;
+            try {
+                compressed = encoder.encode(item, false);
+            } catch (Exception e) {
+                this.upstream.cancel();
+                this.onError(e);
+                return;
+            }
+            synchronized (this) {
+                this.demand--;
+            }
+            this.downstream.onNext(compressed);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            synchronized (this) {
+                if (this.done) {
+                    return;
+                }
+                this.done = true;
+            }
+            encoder.release();
+            this.downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            final ByteBuffer trailer;
+            try {
+                trailer = encoder.encode(EMPTY, true);
+            } catch (Exception e) {
+                this.onError(e);
+                return;
+            } finally {
+                encoder.release();
+            }
+            onFinish.accept(encoder);
+            synchronized (this) {
+                if (this.demand <= 0) {
+                    this.pendingTrailer = trailer;
+                    return;
+                }
+                this.done = true;
+            }
+            this.downstream.onNext(trailer);
+            this.downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            final ByteBuffer trailer;
+            synchronized (this) {
+                var demand = this.demand + n;
+                this.demand = demand < 0 ? Long.MAX_VALUE : demand;
+                trailer = this.pendingTrailer;
+                if (trailer != null) {
+                    this.pendingTrailer = null;
+                    this.done = true;
+                }
+            }
+            if (trailer != null) {
+                this.downstream.onNext(trailer);
+                this.downstream.onComplete();
+            } else {
+                this.upstream.request(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            this.upstream.cancel();
+            encoder.release();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.tinkoff.kora.http.server.common.compression;
+
+import jakarta.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Encoder of a single response body, chunks are flushed with {@link Deflater#SYNC_FLUSH} so streaming bodies are not delayed
+ */
+final class ContentEncoder {
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final ContentEncoding encoding;
+    private final DeflaterPool pool;
+    @Nullable
+    private Deflater deflater;
+    @Nullable
+    private final CRC32 crc;
+    private boolean headerWritten = false;
+    private long inputBytes = 0;
+    private long outputBytes = 0;
+
+    ContentEncoder(ContentEncoding encoding, DeflaterPool pool) {
+        this.encoding = encoding;
+        this.pool = pool;
+        this.deflater = pool.acquire();
+        this.crc = encoding.nowrap ? new CRC32() : null;
+    }
+
+    ContentEncoding encoding() {
+        return this.encoding;
+    }
+
+    long inputBytes() {
+        return this.inputBytes;
+    }
+
+    long outputBytes() {
+        return this.outputBytes;
+    }
+
+    synchronized ByteBuffer encode(ByteBuffer input, boolean last) {
+        var deflater = this.deflater;
+        if (deflater == null) {
+            throw new IllegalStateException("Encoder is already released");
+        }
+        var length = input.remaining();
+        var buf = new byte[Math.max(64, length / 2 + 32)];
+        var pos = 0;
+        if (this.crc != null && !this.headerWritten) {
+            System.arraycopy(GZIP_HEADER, 0, buf, 0, GZIP_HEADER.length);
+            pos = GZIP_HEADER.length;
+        }
+        this.headerWritten = true;
+        if (this.crc != null) {
+            this.crc.update(input.duplicate());
+        }
+        this.inputBytes += length;
+        deflater.setInput(input);
+        if (last) {
+            deflater.finish();
+        }
+        while (true) {
+            if (pos == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+            var available = buf.length - pos;
+            var written = last
+                ? deflater.deflate(buf, pos, available)
+                : deflater.deflate(buf, pos, available, Deflater.SYNC_FLUSH);
+            pos += written;
+            if (last ? deflater.finished() : written < available) {
+                break;
+            }
+        }
+        if (last && this.crc != null) {
+            if (buf.length - pos < 8) {
+                buf = Arrays.copyOf(buf, pos + 8);
+            }
+            writeIntLe(buf, pos, (int) this.crc.getValue());
+            writeIntLe(buf, pos + 4, (int) this.inputBytes);
+            pos += 8;
+        }
+        // input buffer is consumed completely
+        input.position(input.limit());
+        this.outputBytes += pos;
+        return ByteBuffer.wrap(buf, 0, pos);
+    }
+
+    synchronized void release() {
+        var deflater = this.deflater;
+        if (deflater != null) {
+            this.deflater = null;
+            this.pool.release(deflater);
+        }
+    }
+
+    private static void writeIntLe(byte[] buf, int offset, int value) {
+        buf[offset] = (byte) value;
+        buf[offset + 1] = (byte) (value >>> 8);
+        buf[offset + 2] = (byte) (value >>> 16);
+        buf[offset + 3] = (byte) (value >>> 24);
+    }
+}
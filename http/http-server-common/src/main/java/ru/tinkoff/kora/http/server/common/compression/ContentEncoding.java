@@ -0,0 +1,79 @@
+package ru.tinkoff.kora.http.server.common.compression;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+public enum ContentEncoding {
+    GZIP("gzip", true),
+    DEFLATE("deflate", false);
+
+    final String value;
+    /**
+     * gzip is raw deflate stream with own header and trailer, deflate is zlib stream
+     */
+    final boolean nowrap;
+
+    ContentEncoding(String value, boolean nowrap) {
+        this.value = value;
+        this.nowrap = nowrap;
+    }
+
+    /**
+     * Picks encoding with the highest quality from <code>Accept-Encoding</code> values, gzip is preferred on equal quality
+     */
+    @Nullable
+    public static ContentEncoding negotiate(@Nullable List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        var gzip = -1.0;
+        var deflate = -1.0;
+        var any = -1.0;
+        for (var header : acceptEncoding) {
+            int start = 0;
+            while (start < header.length()) {
+                var end = header.indexOf(',', start);
+                if (end < 0) {
+                    end = header.length();
+                }
+                var semicolon = header.indexOf(';', start);
+                var tokenEnd = semicolon >= 0 && semicolon < end ? semicolon : end;
+                var token = header.substring(start, tokenEnd).trim();
+                var quality = semicolon >= 0 && semicolon < end ? quality(header.substring(semicolon + 1, end)) : 1.0;
+                if (token.equalsIgnoreCase("gzip") || token.equalsIgnoreCase("x-gzip")) {
+                    gzip = Math.max(gzip, quality);
+                } else if (token.equalsIgnoreCase("deflate")) {
+                    deflate = Math.max(deflate, quality);
+                } else if (token.equals("*")) {
+                    any = Math.max(any, quality);
+                }
+                start = end + 1;
+            }
+        }
+        if (gzip < 0) {
+            gzip = any;
+        }
+        if (deflate < 0) {
+            deflate = any;
+        }
+        if (gzip <= 0 && deflate <= 0) {
+            return null;
+        }
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    private static double quality(String params) {
+        for (var param : params.split(";")) {
+            var p = param.trim();
+            if (p.length() > 2 && (p.charAt(0) == 'q' || p.charAt(0) == 'Q') && p.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(p.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1.0;
+    }
+}
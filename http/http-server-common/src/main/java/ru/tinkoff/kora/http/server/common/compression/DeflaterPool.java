@@ -0,0 +1,39 @@
+package ru.tinkoff.kora.http.server.common.compression;
+
+import java.util.ArrayDeque;
+import java.util.zip.Deflater;
+
+/**
+ * Keeps native zlib state between responses: each thread reuses its own deflaters.
+ * Streaming body may return deflater on another thread, pool of every thread is bounded so deflaters do not pile up.
+ */
+final class DeflaterPool {
+    private static final int MAX_POOLED_PER_THREAD = 4;
+
+    private final int level;
+    private final boolean nowrap;
+    private final ThreadLocal<ArrayDeque<Deflater>> pool = ThreadLocal.withInitial(ArrayDeque::new);
+
+    DeflaterPool(int level, boolean nowrap) {
+        this.level = level;
+        this.nowrap = nowrap;
+    }
+
+    Deflater acquire() {
+        var deflater = this.pool.get().pollLast();
+        if (deflater != null) {
+            return deflater;
+        }
+        return new Deflater(this.level, this.nowrap);
+    }
+
+    void release(Deflater deflater) {
+        var pool = this.pool.get();
+        if (pool.size() < MAX_POOLED_PER_THREAD) {
+            deflater.reset();
+            pool.addLast(deflater);
+        } else {
+            deflater.end();
+        }
+    }
+}
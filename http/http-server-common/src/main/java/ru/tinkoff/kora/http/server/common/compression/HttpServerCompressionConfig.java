@@ -0,0 +1,35 @@
+package ru.tinkoff.kora.http.server.common.compression;
+
+import ru.tinkoff.kora.config.common.annotation.ConfigValueExtractor;
+
+import java.util.List;
+
+@ConfigValueExtractor
+public interface HttpServerCompressionConfig {
+
+    default boolean enabled() {return false;}
+
+    /**
+     * Responses with known content length smaller than this are sent as is
+     */
+    default int minSize() {return 1024;}
+
+    /**
+     * Deflate level from 1 (fastest) to 9 (smallest)
+     */
+    default int level() {return 6;}
+
+    /**
+     * Compressed media types, <code>type/*</code> matches all subtypes
+     */
+    default List<String> contentTypes() {
+        return List.of(
+            "text/*",
+            "application/json",
+            "application/x-ndjson",
+            "application/javascript",
+            "application/xml",
+            "image/svg+xml"
+        );
+    }
+}
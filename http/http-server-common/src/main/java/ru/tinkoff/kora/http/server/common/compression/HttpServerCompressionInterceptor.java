@@ -0,0 +1,110 @@
+package ru.tinkoff.kora.http.server.common.compression;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.http.common.body.HttpBody;
+import ru.tinkoff.kora.http.server.common.HttpServerInterceptor;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+import ru.tinkoff.kora.http.server.common.SimpleHttpServerResponse;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetrics;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Compresses response body with gzip or deflate when client accepts it, body is large enough and its content type is compressible.
+ * Works both for full and streaming bodies, streaming body is compressed chunk by chunk.
+ */
+public final class HttpServerCompressionInterceptor implements HttpServerInterceptor {
+    private final HttpServerCompressionConfig config;
+    @Nullable
+    private final HttpServerMetrics metrics;
+    private final DeflaterPool gzipPool;
+    private final DeflaterPool deflatePool;
+    private final List<String> contentTypes;
+
+    public HttpServerCompressionInterceptor(HttpServerCompressionConfig config, @Nullable HttpServerMetrics metrics) {
+        if (config.level() < 1 || config.level() > 9) {
+            throw new IllegalArgumentException("Compression level must be in [1, 9] range, but was " + config.level());
+        }
+        this.config = config;
+        this.metrics = metrics;
+        this.gzipPool = new DeflaterPool(config.level(), ContentEncoding.GZIP.nowrap);
+        this.deflatePool = new DeflaterPool(config.level(), ContentEncoding.DEFLATE.nowrap);
+        this.contentTypes = config.contentTypes().stream().map(s -> s.toLowerCase(Locale.ROOT)).toList();
+    }
+
+    @Override
+    public CompletionStage<HttpServerResponse> intercept(Context context, HttpServerRequest request, InterceptChain chain) throws Exception {
+        if (!this.config.enabled() || request.method().equals("HEAD")) {
+            return chain.process(context, request);
+        }
+        var encoding = ContentEncoding.negotiate(request.headers().getAll("accept-encoding"));
+        if (encoding == null) {
+            return chain.process(context, request);
+        }
+        return chain.process(context, request).thenApply(response -> this.compress(context, encoding, response));
+    }
+
+    private HttpServerResponse compress(Context context, ContentEncoding encoding, HttpServerResponse response) {
+        var body = response.body();
+        if (body == null || response.code() == 204 || response.code() == 206 || response.code() == 304 || response.headers().has("content-encoding")) {
+            return response;
+        }
+        var contentLength = body.contentLength();
+        if (contentLength >= 0 && contentLength < this.config.minSize()) {
+            return response;
+        }
+        if (!this.isCompressible(body.contentType())) {
+            return response;
+        }
+        var pool = encoding == ContentEncoding.GZIP ? this.gzipPool : this.deflatePool;
+        var headers = response.headers().toMutable()
+            .remove("content-length")
+            .set("content-encoding", encoding.value)
+            .add("vary", "accept-encoding");
+
+        var full = body.getFullContentIfAvailable();
+        if (full != null) {
+            if (full.remaining() < this.config.minSize()) {
+                return response;
+            }
+            var encoder = new ContentEncoder(encoding, pool);
+            try {
+                var compressed = encoder.encode(full, true);
+                this.reportCompressed(encoder);
+                return new SimpleHttpServerResponse(response.code(), headers, HttpBody.of(context, body.contentType(), compressed));
+            } finally {
+                encoder.release();
+            }
+        }
+        var encoder = new ContentEncoder(encoding, pool);
+        return new SimpleHttpServerResponse(response.code(), headers, new CompressedHttpBodyOutput(body, encoder, this::reportCompressed));
+    }
+
+    private boolean isCompressible(@Nullable String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        var semicolon = contentType.indexOf(';');
+        var mediaType = (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+        for (var allowed : this.contentTypes) {
+            if (allowed.endsWith("/*")) {
+                if (mediaType.regionMatches(0, allowed, 0, allowed.length() - 1)) {
+                    return true;
+                }
+            } else if (allowed.equals(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reportCompressed(ContentEncoder encoder) {
+        if (this.metrics != null) {
+            this.metrics.responseCompressed(encoder.encoding().value, encoder.inputBytes(), encoder.outputBytes());
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package ru.tinkoff.kora.http.server.common.handler;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.http.common.body.HttpBody;
+import ru.tinkoff.kora.http.common.body.HttpBodyOutput;
+import ru.tinkoff.kora.http.common.header.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+import ru.tinkoff.kora.http.server.common.compression.ContentEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves static content from filesystem directory, classpath or memory with <code>ETag</code>, <code>Range</code> and <code>Cache-Control</code> support.
+ * <p>
+ * Files are sent as {@link ru.tinkoff.kora.http.common.body.FileHttpBodyOutput} so server can transfer them with sendfile,
+ * precompressed <code>name.gz</code> sibling is sent to clients accepting gzip when it is not older than the file.
+ * Classpath and memory resources are kept in memory together with their gzip variant computed once on load.
+ * Classpath resources are loaded lazily on their first request and cached up to {@link #DEFAULT_CLASSPATH_CACHE_BYTES} by default,
+ * resources that don't fit are read from classpath on every request.
+ * <p>
+ * Handler is meant to be registered for <code>GET</code> and <code>HEAD</code> with a trailing wildcard route, e.g. <code>/static/*</code>,
+ * request path without the prefix is used as resource name.
+ * <p>
+ * Directory handler reads file attributes and classpath handler reads resource on its first request, so they block calling thread.
+ * Unless handler is already invoked on blocking threads, they should be created with {@link BlockingRequestExecutor} running these reads.
+ */
+public final class StaticResourceHttpServerHandler implements HttpServerRequestHandler.HandlerFunction {
+    /**
+     * Default limit of classpath resources content and its gzip variant kept in memory
+     */
+    public static final long DEFAULT_CLASSPATH_CACHE_BYTES = 32 * 1024 * 1024;
+    private static final int GZIP_MIN_SIZE = 1024;
+    private static final long[] UNSATISFIABLE = new long[0];
+    private static final Map<String, String> CONTENT_TYPES = Map.ofEntries(
+        Map.entry("html", "text/html; charset=utf-8"),
+        Map.entry("htm", "text/html; charset=utf-8"),
+        Map.entry("css", "text/css; charset=utf-8"),
+        Map.entry("js", "text/javascript; charset=utf-8"),
+        Map.entry("mjs", "text/javascript; charset=utf-8"),
+        Map.entry("json", "application/json"),
+        Map.entry("map", "application/json"),
+        Map.entry("txt", "text/plain; charset=utf-8"),
+        Map.entry("xml", "application/xml"),
+        Map.entry("yaml", "text/x-yaml; charset=utf-8"),
+        Map.entry("yml", "text/x-yaml; charset=utf-8"),
+        Map.entry("svg", "image/svg+xml"),
+        Map.entry("png", "image/png"),
+        Map.entry("jpg", "image/jpeg"),
+        Map.entry("jpeg", "image/jpeg"),
+        Map.entry("gif", "image/gif"),
+        Map.entry("webp", "image/webp"),
+        Map.entry("ico", "image/x-icon"),
+        Map.entry("woff", "font/woff"),
+        Map.entry("woff2", "font/woff2"),
+        Map.entry("wasm", "application/wasm"),
+        Map.entry("pdf", "application/pdf")
+    );
+
+    private final String pathPrefix;
+    private final String cacheControl;
+    private final ResourceResolver resolver;
+    @Nullable
+    private final BlockingRequestExecutor blockingExecutor;
+
+    private StaticResourceHttpServerHandler(String pathPrefix, String cacheControl, ResourceResolver resolver, @Nullable BlockingRequestExecutor blockingExecutor) {
+        this.pathPrefix = pathPrefix;
+        this.cacheControl = cacheControl;
+        this.resolver = resolver;
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    /**
+     * Files are read on calling thread, see {@link #ofDirectory(String, Path, String, BlockingRequestExecutor)}
+     */
+    public static StaticResourceHttpServerHandler ofDirectory(String pathPrefix, Path directory, String cacheControl) {
+        return ofDirectory(pathPrefix, directory, cacheControl, null);
+    }
+
+    /**
+     * @param pathPrefix       request path prefix stripped to get file name relative to directory
+     * @param directory        root directory, files outside of it are never served
+     * @param cacheControl     <code>Cache-Control</code> header value
+     * @param blockingExecutor runs file attribute reads, calling thread is used when null
+     */
+    public static StaticResourceHttpServerHandler ofDirectory(String pathPrefix, Path directory, String cacheControl, @Nullable BlockingRequestExecutor blockingExecutor) {
+        var root = directory.toAbsolutePath().normalize();
+        return new StaticResourceHttpServerHandler(pathPrefix, cacheControl, name -> resolveFile(root, name), blockingExecutor);
+    }
+
+    /**
+     * Resources are loaded on calling thread, see {@link #ofClasspath(String, String, String, BlockingRequestExecutor)}
+     */
+    public static StaticResourceHttpServerHandler ofClasspath(String pathPrefix, String classpathDirectory, String cacheControl) {
+        return ofClasspath(pathPrefix, classpathDirectory, cacheControl, null);
+    }
+
+    /**
+     * Resources are cached up to {@link #DEFAULT_CLASSPATH_CACHE_BYTES}, see {@link #ofClasspath(String, String, String, BlockingRequestExecutor, long)}
+     */
+    public static StaticResourceHttpServerHandler ofClasspath(String pathPrefix, String classpathDirectory, String cacheControl, @Nullable BlockingRequestExecutor blockingExecutor) {
+        return ofClasspath(pathPrefix, classpathDirectory, cacheControl, blockingExecutor, DEFAULT_CLASSPATH_CACHE_BYTES);
+    }
+
+    /**
+     * @param pathPrefix         request path prefix stripped to get resource name relative to classpath directory
+     * @param classpathDirectory classpath directory, e.g. <code>static</code>
+     * @param cacheControl       <code>Cache-Control</code> header value
+     * @param blockingExecutor   runs requests for resources not loaded yet, calling thread is used when null
+     * @param maxCachedBytes     limit of content kept in memory, resources loaded after it is reached are read on every request
+     */
+    public static StaticResourceHttpServerHandler ofClasspath(String pathPrefix, String classpathDirectory, String cacheControl, @Nullable BlockingRequestExecutor blockingExecutor, long maxCachedBytes) {
+        var classLoader = StaticResourceHttpServerHandler.class.getClassLoader();
+        var directory = classpathDirectory.startsWith("/") ? classpathDirectory.substring(1) : classpathDirectory;
+        var base = directory.isEmpty() || directory.endsWith("/") ? directory : directory + "/";
+        var cache = new ConcurrentHashMap<String, MemoryResource>();
+        var cachedBytes = new AtomicLong();
+        return new StaticResourceHttpServerHandler(pathPrefix, cacheControl, new ResourceResolver() {
+            @Nullable
+            @Override
+            public Resource resolveLoaded(String name) {
+                return cache.get(name);
+            }
+
+            @Nullable
+            @Override
+            public Resource resolve(String name) throws IOException {
+                var cached = cache.get(name);
+                if (cached != null) {
+                    return cached;
+                }
+                if (name.endsWith("/") || List.of(name.split("/")).contains("..")) {
+                    return null;
+                }
+                var stream = classLoader.getResourceAsStream(base + name);
+                if (stream == null) {
+                    return null;
+                }
+                try (stream) {
+                    var resource = MemoryResource.of(contentType(name), stream.readAllBytes());
+                    var size = resource.size();
+                    if (cachedBytes.addAndGet(size) > maxCachedBytes) {
+                        cachedBytes.addAndGet(-size);
+                        return resource;
+                    }
+                    var previous = cache.putIfAbsent(name, resource);
+                    if (previous != null) {
+                        cachedBytes.addAndGet(-size);
+                        return previous;
+                    }
+                    return resource;
+                }
+            }
+        }, blockingExecutor);
+    }
+
+    /**
+     * Serves the same content for every request, content is compressed once on creation
+     */
+    public static StaticResourceHttpServerHandler ofContent(String contentType, byte[] content, String cacheControl) {
+        var resource = MemoryResource.of(contentType, content);
+        return new StaticResourceHttpServerHandler("", cacheControl, name -> resource, null);
+    }
+
+    @Override
+    public CompletionStage<HttpServerResponse> apply(Context context, HttpServerRequest request) throws Exception {
+        var method = request.method();
+        if (!method.equals("GET") && !method.equals("HEAD")) {
+            return CompletableFuture.completedFuture(HttpServerResponse.of(405, HttpHeaders.of("allow", "GET, HEAD")));
+        }
+        var path = request.path();
+        if (!path.startsWith(this.pathPrefix)) {
+            return CompletableFuture.completedFuture(HttpServerResponse.of(404));
+        }
+        var name = path.substring(this.pathPrefix.length());
+        while (name.startsWith("/")) {
+            name = name.substring(1);
+        }
+        var loaded = this.resolver.resolveLoaded(name);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(this.handle(context, request, loaded));
+        }
+        if (this.blockingExecutor == null) {
+            return CompletableFuture.completedFuture(this.handle(context, request, this.resolver.resolve(name)));
+        }
+        var resourceName = name;
+        return this.blockingExecutor.execute(context, () -> this.handle(context, request, this.resolver.resolve(resourceName)));
+    }
+
+    private HttpServerResponse handle(Context context, HttpServerRequest request, @Nullable Resource resource) {
+        if (resource == null) {
+            return HttpServerResponse.of(404);
+        }
+        var requestHeaders = request.headers();
+        var range = requestHeaders.getFirst("range");
+        var gzip = resource.hasGzip()
+            && range == null
+            && ContentEncoding.negotiate(requestHeaders.getAll("accept-encoding")) == ContentEncoding.GZIP;
+        var etag = gzip ? gzipEtag(resource.etag()) : resource.etag();
+        var headers = HttpHeaders.of(
+            "etag", etag,
+            "cache-control", this.cacheControl,
+            "accept-ranges", "bytes"
+        );
+        if (resource.hasGzip()) {
+            headers.add("vary", "accept-encoding");
+        }
+        if (matchesAny(requestHeaders.getAll("if-none-match"), etag)) {
+            return HttpServerResponse.of(304, headers);
+        }
+        if (gzip) {
+            headers.set("content-encoding", "gzip");
+            return HttpServerResponse.of(200, headers, resource.gzipBody(context));
+        }
+        var length = resource.length();
+        if (range != null && ifRangeMatches(requestHeaders.getFirst("if-range"), etag)) {
+            var bounds = parseRange(range, length);
+            if (bounds == UNSATISFIABLE) {
+                headers.set("content-range", "bytes */" + length);
+                return HttpServerResponse.of(416, headers);
+            }
+            if (bounds != null) {
+                headers.set("content-range", "bytes " + bounds[0] + "-" + bounds[1] + "/" + length);
+                return HttpServerResponse.of(206, headers, resource.body(context, bounds[0], bounds[1] - bounds[0] + 1));
+            }
+        }
+        return HttpServerResponse.of(200, headers, resource.body(context, 0, length));
+    }
+
+    /**
+     * Parses single range <code>bytes=first-last</code>, <code>bytes=first-</code> or <code>bytes=-suffix</code>.
+     *
+     * @return inclusive bounds, {@link #UNSATISFIABLE} or null when header should be ignored and whole content sent
+     */
+    @Nullable
+    static long[] parseRange(String range, long length) {
+        if (!range.regionMatches(true, 0, "bytes=", 0, 6) || range.indexOf(',') >= 0) {
+            return null;
+        }
+        var spec = range.substring(6).trim();
+        var dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                var suffix = Long.parseLong(spec.substring(1).trim());
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            var first = Long.parseLong(spec.substring(0, dash).trim());
+            var lastString = spec.substring(dash + 1).trim();
+            var last = lastString.isEmpty() ? Long.MAX_VALUE : Long.parseLong(lastString);
+            if (first < 0 || last < first) {
+                return null;
+            }
+            if (first >= length) {
+                return UNSATISFIABLE;
+            }
+            return new long[]{first, Math.min(last, length - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Weak comparison of <code>If-None-Match</code> values
+     */
+    private static boolean matchesAny(@Nullable List<String> ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        var opaque = stripWeak(etag);
+        for (var header : ifNoneMatch) {
+            for (var value : header.split(",")) {
+                var tag = value.trim();
+                if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <code>If-Range</code> requires strong comparison, dates are not supported and lead to full response
+     */
+    private static boolean ifRangeMatches(@Nullable String ifRange, String etag) {
+        return ifRange == null || (!etag.startsWith("W/") && ifRange.trim().equals(etag));
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    static String contentType(String name) {
+        var dot = name.lastIndexOf('.');
+        if (dot < 0 || dot < name.lastIndexOf('/')) {
+            return "application/octet-stream";
+        }
+        var extension = name.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/")
+            || contentType.startsWith("application/json")
+            || contentType.startsWith("application/xml")
+            || contentType.startsWith("image/svg+xml");
+    }
+
+    @Nullable
+    private static FileResource resolveFile(Path root, String name) throws IOException {
+        if (name.isEmpty() || name.endsWith("/")) {
+            name = name + "index.html";
+        }
+        var path = root.resolve(name).normalize();
+        if (!path.startsWith(root)) {
+            return null;
+        }
+        var attributes = readAttributes(path);
+        if (attributes == null) {
+            return null;
+        }
+        var etag = "\"" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+        var gzipPath = path.resolveSibling(path.getFileName() + ".gz");
+        var gzipAttributes = readAttributes(gzipPath);
+        if (gzipAttributes == null || gzipAttributes.lastModifiedTime().compareTo(attributes.lastModifiedTime()) < 0) {
+            return new FileResource(contentType(name), path, attributes.size(), etag, null, -1);
+        }
+        return new FileResource(contentType(name), path, attributes.size(), etag, gzipPath, gzipAttributes.size());
+    }
+
+    @Nullable
+    private static BasicFileAttributes readAttributes(Path path) throws IOException {
+        try {
+            var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return attributes.isRegularFile() ? attributes : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResourceResolver {
+        /**
+         * @return resource available without blocking or null when it should be resolved with {@link #resolve(String)}
+         */
+        @Nullable
+        default Resource resolveLoaded(String name) {
+            return null;
+        }
+
+        @Nullable
+        Resource resolve(String name) throws IOException;
+    }
+
+    private sealed interface Resource permits MemoryResource, FileResource {
+        String etag();
+
+        long length();
+
+        boolean hasGzip();
+
+        HttpBodyOutput body(Context context, long position, long count);
+
+        HttpBodyOutput gzipBody(Context context);
+    }
+
+    private record MemoryResource(String contentType, byte[] content, @Nullable byte[] gzipped, String etag) implements Resource {
+        static MemoryResource of(String contentType, byte[] content) {
+            var crc = new CRC32C();
+            crc.update(content);
+            var etag = "\"" + Integer.toHexString(content.length) + "-" + Long.toHexString(crc.getValue()) + "\"";
+            var gzipped = content.length >= GZIP_MIN_SIZE && isCompressible(contentType) ? gzip(content) : null;
+            return new MemoryResource(contentType, content, gzipped != null && gzipped.length < content.length ? gzipped : null, etag);
+        }
+
+        private static byte[] gzip(byte[] content) {
+            var bytes = new ByteArrayOutputStream(content.length / 4);
+            try (var gzip = new GZIPOutputStream(bytes) {{this.def.setLevel(Deflater.BEST_COMPRESSION);}}) {
+                gzip.write(content);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public long length() {
+            return this.content.length;
+        }
+
+        long size() {
+            return this.content.length + (this.gzipped == null ? 0L : this.gzipped.length);
+        }
+
+        @Override
+        public boolean hasGzip() {
+            return this.gzipped != null;
+        }
+
+        @Override
+        public HttpBodyOutput body(Context context, long position, long count) {
+            return HttpBody.of(context, this.contentType, ByteBuffer.wrap(this.content, (int) position, (int) count).slice());
+        }
+
+        @Override
+        public HttpBodyOutput gzipBody(Context context) {
+            return HttpBody.of(context, this.contentType, this.gzipped);
+        }
+    }
+
+    private record FileResource(String contentType, Path path, long length, String etag, @Nullable Path gzipped, long gzippedLength) implements Resource {
+        @Override
+        public boolean hasGzip() {
+            return this.gzipped != null;
+        }
+
+        @Override
+        public HttpBodyOutput body(Context context, long position, long count) {
+            return HttpBodyOutput.file(this.contentType, this.path, position, count);
+        }
+
+        @Override
+        public HttpBodyOutput gzipBody(Context context) {
+            return HttpBodyOutput.file(this.contentType, this.gzipped, 0, this.gzippedLength);
+        }
+    }
+}
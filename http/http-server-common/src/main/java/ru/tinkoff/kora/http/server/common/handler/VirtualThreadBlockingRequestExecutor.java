@@ -0,0 +1,163 @@
+package ru.tinkoff.kora.http.server.common.handler;
+
+import jakarta.annotation.Nullable;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.application.graph.Lifecycle;
+import ru.tinkoff.kora.application.graph.internal.loom.VirtualThreadExecutorHolder;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every blocking handler on a new virtual thread.
+ * <p>
+ * {@link Context} is injected into the handler thread, so Kora MDC that is stored in context is propagated too.
+ * Optional semaphore limits number of concurrently running handlers, so they do not overrun connection pools of downstream resources:
+ * waiting for permit unmounts virtual thread and does not block carrier thread.
+ * <p>
+ * Virtual threads pinned to carrier thread for longer than threshold (usually by <code>synchronized</code> blocks in JDBC drivers)
+ * are detected with JFR <code>jdk.VirtualThreadPinned</code> event, reported to metrics and logged once per pinning frame.
+ */
+public final class VirtualThreadBlockingRequestExecutor implements BlockingRequestExecutor, Lifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadBlockingRequestExecutor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 16;
+    private static final String THREAD_NAME_PREFIX = "kora-http-blocking-vt-";
+
+    private final ThreadFactory threadFactory;
+    private final String threadNamePrefix;
+    @Nullable
+    private final Semaphore semaphore;
+    private final Duration pinnedThreshold;
+    @Nullable
+    private final HttpServerMetrics metrics;
+    private final AtomicInteger active = new AtomicInteger(0);
+    private final AtomicInteger waiting = new AtomicInteger(0);
+    private final ConcurrentHashMap<String, Boolean> loggedPinnedFrames = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile RecordingStream pinnedEvents;
+
+    /**
+     * @param threadFactory    factory of virtual threads
+     * @param threadNamePrefix prefix of names of threads created by factory, used to filter pinning events of this executor
+     * @param maxConcurrency   max number of concurrently running handlers, zero or negative means unlimited
+     * @param pinnedThreshold  pinning shorter than this is ignored, zero disables detection
+     */
+    public VirtualThreadBlockingRequestExecutor(ThreadFactory threadFactory, String threadNamePrefix, int maxConcurrency, Duration pinnedThreshold, @Nullable HttpServerMetrics metrics) {
+        this.threadFactory = threadFactory;
+        this.threadNamePrefix = threadNamePrefix;
+        this.semaphore = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+        this.pinnedThreshold = pinnedThreshold;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @throws IllegalStateException if virtual threads are not available in current JVM
+     */
+    public static VirtualThreadBlockingRequestExecutor of(HttpServerConfig config, @Nullable HttpServerMetrics metrics) {
+        var threadFactory = VirtualThreadExecutorHolder.threadFactory(THREAD_NAME_PREFIX);
+        if (threadFactory == null) {
+            throw new IllegalStateException("Blocking handlers are configured to run on virtual threads, but virtual threads are " + VirtualThreadExecutorHolder.status());
+        }
+        return new VirtualThreadBlockingRequestExecutor(threadFactory, THREAD_NAME_PREFIX, config.blockingVirtualThreadsMaxConcurrency(), config.blockingVirtualThreadsPinnedThreshold(), metrics);
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(Context context, Callable<T> handler) {
+        return BlockingRequestExecutor.defaultExecute(context, this::start, () -> this.call(handler));
+    }
+
+    private void start(Runnable runnable) {
+        this.threadFactory.newThread(runnable).start();
+    }
+
+    private <T> T call(Callable<T> handler) throws Exception {
+        var semaphore = this.semaphore;
+        if (semaphore != null) {
+            this.waiting.incrementAndGet();
+            try {
+                semaphore.acquire();
+            } finally {
+                this.waiting.decrementAndGet();
+            }
+        }
+        this.active.incrementAndGet();
+        try {
+            return handler.call();
+        } finally {
+            this.active.decrementAndGet();
+            if (semaphore != null) {
+                semaphore.release();
+            }
+        }
+    }
+
+    @Override
+    public void init() {
+        if (this.metrics != null) {
+            this.metrics.virtualThreadsRegistered(this.active::get, this.waiting::get);
+        }
+        if (this.pinnedThreshold.isZero() || this.pinnedThreshold.isNegative()) {
+            return;
+        }
+        try {
+            var stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(this.pinnedThreshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.setReuse(true);
+            stream.startAsync();
+            this.pinnedEvents = stream;
+        } catch (Exception | LinkageError e) {
+            logger.warn("Virtual thread pinning detection is not available", e);
+        }
+    }
+
+    @Override
+    public void release() {
+        var stream = this.pinnedEvents;
+        if (stream != null) {
+            this.pinnedEvents = null;
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        var thread = event.getThread();
+        if (thread == null || thread.getJavaName() == null || !thread.getJavaName().startsWith(this.threadNamePrefix)) {
+            return;
+        }
+        var duration = event.getDuration();
+        if (this.metrics != null) {
+            this.metrics.virtualThreadPinned(duration.toNanos());
+        }
+        var stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return;
+        }
+        var frames = stackTrace.getFrames();
+        var top = frames.get(0);
+        var topFrame = top.getMethod().getType().getName() + "." + top.getMethod().getName();
+        if (this.loggedPinnedFrames.putIfAbsent(topFrame, Boolean.TRUE) != null || !logger.isWarnEnabled()) {
+            return;
+        }
+        var sb = new StringBuilder();
+        for (int i = 0; i < Math.min(frames.size(), LOGGED_FRAMES); i++) {
+            var frame = frames.get(i);
+            sb.append("\n\tat ").append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                .append(':').append(frame.getLineNumber());
+        }
+        logger.warn("Virtual thread {} was pinned to carrier thread for {}ms, next occurrences of this frame are reported to metrics only:{}",
+            thread.getJavaName(), duration.toMillis(), sb);
+    }
+}
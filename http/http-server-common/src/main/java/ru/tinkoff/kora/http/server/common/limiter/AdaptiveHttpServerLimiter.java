@@ -0,0 +1,232 @@
+package ru.tinkoff.kora.http.server.common.limiter;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.common.header.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
+import ru.tinkoff.kora.http.server.common.limiter.HttpServerLimiterConfig.Priority;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetrics;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive concurrency limiter partitioned by route template or route group.
+ * <p>
+ * Requests over the limit wait in a bounded queue: {@link Priority#HIGH} requests are admitted before {@link Priority#NORMAL},
+ * {@link Priority#LOW} requests are never queued and {@link Priority#CRITICAL} requests are never limited.
+ * Request is rejected with 503 and Retry-After header when queue is full or when queue deadline is reached.
+ */
+public final class AdaptiveHttpServerLimiter implements HttpServerLimiter {
+    static final String REJECTED_LIMIT = "limit";
+    static final String REJECTED_QUEUE_FULL = "queue_full";
+    static final String REJECTED_DEADLINE = "deadline";
+
+    private final HttpServerLimiterConfig config;
+    @Nullable
+    private final HttpServerMetrics metrics;
+    private final Map<String, String> routeGroups;
+    private final Map<String, Priority> priorities;
+    private final ConcurrentHashMap<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final long queueTimeoutNanos;
+    private final String retryAfter;
+
+    public AdaptiveHttpServerLimiter(HttpServerLimiterConfig config, @Nullable HttpServerMetrics metrics) {
+        this.config = config;
+        this.metrics = metrics;
+        this.routeGroups = new HashMap<>();
+        for (var group : config.groups().entrySet()) {
+            for (var routeTemplate : group.getValue()) {
+                var previous = this.routeGroups.put(routeTemplate, group.getKey());
+                if (previous != null && !previous.equals(group.getKey())) {
+                    throw new IllegalArgumentException("Route template %s is present in limiter groups %s and %s".formatted(routeTemplate, previous, group.getKey()));
+                }
+            }
+        }
+        this.priorities = Map.copyOf(config.priorities());
+        this.queueTimeoutNanos = config.queueTimeout().toNanos();
+        this.retryAfter = Long.toString(Math.max(1, config.retryAfter().toSeconds()));
+    }
+
+    @Override
+    public CompletionStage<Permit> acquire(HttpServerRequest request, @Nullable String routeTemplate) {
+        if (routeTemplate == null) {
+            return UNLIMITED.acquire(request, null);
+        }
+        var priority = this.priorities.getOrDefault(routeTemplate, Priority.NORMAL);
+        if (priority == Priority.CRITICAL) {
+            return UNLIMITED.acquire(request, routeTemplate);
+        }
+        var partitionName = this.routeGroups.getOrDefault(routeTemplate, routeTemplate);
+        var partition = this.partitions.get(partitionName);
+        if (partition == null) {
+            partition = this.partitions.computeIfAbsent(partitionName, this::newPartition);
+        }
+        var acquisition = new Acquisition(partition, priority);
+        partition.acquire(acquisition);
+        return acquisition;
+    }
+
+    private Partition newPartition(String name) {
+        var partition = new Partition(name, LimitAlgorithm.of(this.config), this.config.queueSize());
+        if (this.metrics != null) {
+            this.metrics.concurrencyLimiterRegistered(name, partition::limit, partition::inFlight, partition::queued);
+        }
+        return partition;
+    }
+
+    private HttpServerResponseException rejection() {
+        return HttpServerResponseException.of(503, "Service Unavailable", HttpHeaders.of("retry-after", this.retryAfter));
+    }
+
+    private static final class Acquisition extends CompletableFuture<Permit> implements Permit {
+        private final Partition partition;
+        private final Priority priority;
+        private long startedNanos;
+        private boolean released;
+
+        private Acquisition(Partition partition, Priority priority) {
+            this.partition = partition;
+            this.priority = priority;
+        }
+
+        @Override
+        public void release(boolean dropped) {
+            this.partition.release(this, dropped);
+        }
+    }
+
+    private final class Partition {
+        private final String name;
+        private final LimitAlgorithm algorithm;
+        private final int queueSize;
+        private final ArrayDeque<Acquisition> highQueue = new ArrayDeque<>();
+        private final ArrayDeque<Acquisition> normalQueue = new ArrayDeque<>();
+        private volatile int inFlight = 0;
+        private volatile int queued = 0;
+        private volatile int limit;
+
+        private Partition(String name, LimitAlgorithm algorithm, int queueSize) {
+            this.name = name;
+            this.algorithm = algorithm;
+            this.queueSize = queueSize;
+            this.limit = algorithm.limit();
+        }
+
+        int limit() {
+            return this.limit;
+        }
+
+        int inFlight() {
+            return this.inFlight;
+        }
+
+        int queued() {
+            return this.queued;
+        }
+
+        void acquire(Acquisition acquisition) {
+            final String rejected;
+            synchronized (this) {
+                if (this.queued == 0 && this.inFlight < this.limit) {
+                    this.inFlight++;
+                    acquisition.startedNanos = System.nanoTime();
+                    rejected = null;
+                } else if (acquisition.priority == Priority.LOW) {
+                    rejected = REJECTED_LIMIT;
+                } else if (this.queued >= this.queueSize) {
+                    rejected = REJECTED_QUEUE_FULL;
+                } else {
+                    acquisition.startedNanos = System.nanoTime();
+                    this.queue(acquisition.priority).add(acquisition);
+                    this.queued++;
+                    CompletableFuture.delayedExecutor(queueTimeoutNanos, TimeUnit.NANOSECONDS).execute(() -> this.expire(acquisition));
+                    return;
+                }
+            }
+            if (rejected == null) {
+                acquisition.complete(acquisition);
+            } else {
+                this.reject(acquisition, rejected);
+            }
+        }
+
+        void release(Acquisition acquisition, boolean dropped) {
+            synchronized (this) {
+                if (acquisition.released) {
+                    return;
+                }
+                acquisition.released = true;
+                this.algorithm.onSample(System.nanoTime() - acquisition.startedNanos, this.inFlight, dropped);
+                this.limit = this.algorithm.limit();
+                this.inFlight--;
+            }
+            this.drain();
+        }
+
+        private void drain() {
+            while (true) {
+                final Acquisition next;
+                final boolean expired;
+                synchronized (this) {
+                    if (this.inFlight >= this.limit) {
+                        return;
+                    }
+                    next = this.poll();
+                    if (next == null) {
+                        return;
+                    }
+                    var now = System.nanoTime();
+                    expired = now - next.startedNanos >= queueTimeoutNanos;
+                    if (!expired) {
+                        this.inFlight++;
+                        next.startedNanos = now;
+                    }
+                }
+                if (expired) {
+                    this.reject(next, REJECTED_DEADLINE);
+                } else {
+                    next.complete(next);
+                }
+            }
+        }
+
+        private void expire(Acquisition acquisition) {
+            synchronized (this) {
+                if (!this.queue(acquisition.priority).remove(acquisition)) {
+                    return;
+                }
+                this.queued--;
+            }
+            this.reject(acquisition, REJECTED_DEADLINE);
+        }
+
+        @Nullable
+        private Acquisition poll() {
+            var next = this.highQueue.poll();
+            if (next == null) {
+                next = this.normalQueue.poll();
+            }
+            if (next != null) {
+                this.queued--;
+            }
+            return next;
+        }
+
+        private ArrayDeque<Acquisition> queue(Priority priority) {
+            return priority == Priority.HIGH ? this.highQueue : this.normalQueue;
+        }
+
+        private void reject(Acquisition acquisition, String reason) {
+            if (metrics != null) {
+                metrics.concurrencyLimiterRejected(this.name, reason);
+            }
+            acquisition.completeExceptionally(rejection());
+        }
+    }
+}
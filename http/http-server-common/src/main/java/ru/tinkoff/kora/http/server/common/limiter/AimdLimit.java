@@ -0,0 +1,33 @@
+package ru.tinkoff.kora.http.server.common.limiter;
+
+final class AimdLimit implements LimitAlgorithm {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private int limit;
+
+    AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be in (0, 1) range, but was " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    @Override
+    public int limit() {
+        return this.limit;
+    }
+
+    @Override
+    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            this.limit = Math.max(this.minLimit, (int) (this.limit * this.backoffRatio));
+        } else if (inFlight * 2 >= this.limit) {
+            // grow only when limit is actually used
+            this.limit = Math.min(this.maxLimit, this.limit + 1);
+        }
+    }
+}
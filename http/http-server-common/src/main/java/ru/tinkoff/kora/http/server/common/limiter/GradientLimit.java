@@ -0,0 +1,62 @@
+package ru.tinkoff.kora.http.server.common.limiter;
+
+/**
+ * Gradient limit: compares latency of the last request with long term average.
+ * When the ratio grows over tolerance downstream is considered to be queueing requests and limit is decreased,
+ * otherwise limit grows by square root of itself, which leaves room for a small queue.
+ */
+final class GradientLimit implements LimitAlgorithm {
+    private static final int LONG_WINDOW = 600;
+    private static final int WARMUP_SAMPLES = 10;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private double estimatedLimit;
+    private double longRtt = 0;
+    private int samples = 0;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double rttTolerance) {
+        if (rttTolerance < 1) {
+            throw new IllegalArgumentException("Rtt tolerance must be >= 1, but was " + rttTolerance);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    @Override
+    public int limit() {
+        return (int) this.estimatedLimit;
+    }
+
+    @Override
+    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+        var shortRtt = (double) Math.max(rttNanos, 1);
+        if (this.samples < WARMUP_SAMPLES) {
+            this.longRtt = (this.longRtt * this.samples + shortRtt) / (this.samples + 1);
+            this.samples++;
+        } else {
+            this.longRtt += (shortRtt - this.longRtt) * (2.0 / (LONG_WINDOW + 1));
+        }
+        if (this.longRtt / shortRtt > 2) {
+            // latency went down a lot: let long term average catch up faster
+            this.longRtt *= 0.95;
+        }
+
+        final double gradient;
+        if (dropped) {
+            gradient = 0.5;
+        } else if (inFlight < this.estimatedLimit / 2) {
+            // application limited: no information about downstream capacity
+            return;
+        } else {
+            gradient = Math.max(0.5, Math.min(1.0, this.rttTolerance * this.longRtt / shortRtt));
+        }
+        var newLimit = this.estimatedLimit * gradient + Math.sqrt(this.estimatedLimit);
+        newLimit = this.estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        this.estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, newLimit));
+    }
+}
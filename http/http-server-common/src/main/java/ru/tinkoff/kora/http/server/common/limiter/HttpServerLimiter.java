@@ -0,0 +1,34 @@
+package ru.tinkoff.kora.http.server.common.limiter;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Admission control stage of {@link ru.tinkoff.kora.http.server.common.router.PublicApiHandler}:
+ * request handler is invoked only after permit is acquired and permit is released when response is completed.
+ * <p>
+ * Rejected requests are signaled with failed stage, usually with {@link ru.tinkoff.kora.http.server.common.HttpServerResponseException}.
+ */
+public interface HttpServerLimiter {
+
+    HttpServerLimiter UNLIMITED = new HttpServerLimiter() {
+        private static final CompletionStage<Permit> PERMIT = CompletableFuture.completedFuture(dropped -> {});
+
+        @Override
+        public CompletionStage<Permit> acquire(HttpServerRequest request, @Nullable String routeTemplate) {
+            return PERMIT;
+        }
+    };
+
+    CompletionStage<Permit> acquire(HttpServerRequest request, @Nullable String routeTemplate);
+
+    interface Permit {
+        /**
+         * @param dropped request was rejected or timed out by downstream, limit should be decreased
+         */
+        void release(boolean dropped);
+    }
+}
@@ -0,0 +1,80 @@
+package ru.tinkoff.kora.http.server.common.limiter;
+
+import ru.tinkoff.kora.config.common.annotation.ConfigValueExtractor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@ConfigValueExtractor
+public interface HttpServerLimiterConfig {
+
+    default boolean enabled() {return false;}
+
+    default Algorithm algorithm() {return Algorithm.GRADIENT;}
+
+    default int initialLimit() {return 20;}
+
+    default int minLimit() {return 4;}
+
+    default int maxLimit() {return 1000;}
+
+    /**
+     * Multiplicative decrease of {@link Algorithm#AIMD} limit when request is dropped
+     */
+    default double backoffRatio() {return 0.9;}
+
+    /**
+     * How much short term latency may exceed long term average before {@link Algorithm#GRADIENT} limit starts to decrease
+     */
+    default double rttTolerance() {return 1.5;}
+
+    /**
+     * Maximum number of requests waiting for permit in each partition
+     */
+    default int queueSize() {return 100;}
+
+    /**
+     * Deadline of waiting in queue, request is rejected with 503 after that
+     */
+    default Duration queueTimeout() {return Duration.ofMillis(200);}
+
+    default Duration retryAfter() {return Duration.ofSeconds(1);}
+
+    /**
+     * Route templates sharing one limit: group name to route templates, other routes are limited per route template
+     */
+    default Map<String, List<String>> groups() {return Map.of();}
+
+    /**
+     * Route template to priority, routes without priority are {@link Priority#NORMAL}
+     */
+    default Map<String, Priority> priorities() {return Map.of();}
+
+    enum Algorithm {
+        /**
+         * Additive increase while requests succeed, multiplicative decrease when requests are dropped
+         */
+        AIMD,
+        /**
+         * Limit follows ratio of long term to short term latency, so it decreases as soon as queueing in downstream starts
+         */
+        GRADIENT
+    }
+
+    enum Priority {
+        /**
+         * Never limited: health checks and other service traffic
+         */
+        CRITICAL,
+        /**
+         * Dequeued before {@link #NORMAL}
+         */
+        HIGH,
+        NORMAL,
+        /**
+         * Never queued: rejected right away when limit is reached
+         */
+        LOW
+    }
+}
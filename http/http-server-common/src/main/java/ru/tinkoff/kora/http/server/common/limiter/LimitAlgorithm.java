@@ -0,0 +1,18 @@
+package ru.tinkoff.kora.http.server.common.limiter;
+
+/**
+ * Not thread safe, calls are guarded by partition lock
+ */
+interface LimitAlgorithm {
+
+    int limit();
+
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+
+    static LimitAlgorithm of(HttpServerLimiterConfig config) {
+        return switch (config.algorithm()) {
+            case AIMD -> new AimdLimit(config.initialLimit(), config.minLimit(), config.maxLimit(), config.backoffRatio());
+            case GRADIENT -> new GradientLimit(config.initialLimit(), config.minLimit(), config.maxLimit(), config.rttTolerance());
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Router of public api requests, compiled once from all {@link HttpServerRequestHandler} into a {@link PathTrie} per http method.
+ */
+public final class HttpServerRouter {
+    public record AllowedMethods(String routeTemplate, String allow) {}
+
+    private final Map<String, PathTrie<HttpServerRequestHandler>> methodTries;
+    private final int maxParameters;
+
+    public HttpServerRouter(List<HttpServerRequestHandler> handlers, boolean ignoreTrailingSlash) {
+        this.methodTries = new LinkedHashMap<>();
+        for (var h : handlers) {
+            var route = h.routeTemplate();
+            var trie = this.methodTries.computeIfAbsent(h.method(), k -> new PathTrie<>());
+            add(trie, route, h);
+            if (ignoreTrailingSlash && !route.endsWith("*")) {
+                if (route.charAt(route.length() - 1) == '/') {
+                    route = route.substring(0, route.length() - 1);
+                } else {
+                    route = route + '/';
+                }
+                add(trie, route, h);
+            }
+        }
+        var maxParameters = 0;
+        for (var trie : this.methodTries.values()) {
+            maxParameters = Math.max(maxParameters, trie.maxParameters());
+        }
+        this.maxParameters = maxParameters;
+    }
+
+    private static void add(PathTrie<HttpServerRequestHandler> trie, String route, HttpServerRequestHandler handler) {
+        var oldValue = trie.add(route, handler);
+        if (oldValue != null) {
+            throw new IllegalStateException("Cannot add path template %s, matcher already contains an equivalent pattern %s".formatted(route, oldValue.template()));
+        }
+    }
+
+    /**
+     * @return holder big enough to store parameters of any route of this router
+     */
+    public PathParameters newParameters() {
+        return new PathParameters(this.maxParameters);
+    }
+
+    @Nullable
+    public PathTrie.Route<HttpServerRequestHandler> match(String method, String path, PathParameters parameters) {
+        var trie = this.methodTries.get(method);
+        if (trie == null) {
+            parameters.clear();
+            return null;
+        }
+        return trie.match(path, parameters);
+    }
+
+    /**
+     * Slow path for requests that were not matched by {@link #match(String, String, PathParameters)}
+     *
+     * @return methods that have a route matching the path, or null if there is no such route
+     */
+    @Nullable
+    public AllowedMethods allowedMethods(String path) {
+        var parameters = this.newParameters();
+        var methods = new ArrayList<String>(this.methodTries.size());
+        String routeTemplate = null;
+        for (var entry : this.methodTries.entrySet()) {
+            var route = entry.getValue().match(path, parameters);
+            if (route != null) {
+                methods.add(entry.getKey());
+                if (routeTemplate == null) {
+                    routeTemplate = route.template();
+                }
+            }
+        }
+        if (routeTemplate == null) {
+            return null;
+        }
+        return new AllowedMethods(routeTemplate, String.join(", ", methods));
+    }
+}
@@ -15,17 +15,18 @@ class LazyRequest implements HttpServerRequest {
     private final PublicApiRequest publicApiRequest;
     private final String method;
     private final String path;
-    private final Map<String, String> pathParams;
+    private final PathParameters pathParameters;
     private final String route;
+    private Map<String, String> pathParams;
     private HttpHeaders headers;
     private Map<String, ? extends Collection<String>> queryParams;
     private List<Cookie> cookies;
 
-    LazyRequest(PublicApiRequest publicApiRequest, Map<String, String> pathParams, String routeTemplate) {
+    LazyRequest(PublicApiRequest publicApiRequest, PathParameters pathParameters, String routeTemplate) {
         this.publicApiRequest = publicApiRequest;
         this.method = publicApiRequest.method();
         this.path = publicApiRequest.path();
-        this.pathParams = pathParams;
+        this.pathParameters = pathParameters;
         this.route = routeTemplate;
     }
 
@@ -77,7 +78,11 @@ class LazyRequest implements HttpServerRequest {
 
     @Override
     public Map<String, String> pathParams() {
-        return this.pathParams;
+        var pathParams = this.pathParams;
+        if (pathParams == null) {
+            this.pathParams = pathParams = this.pathParameters.toMap();
+        }
+        return pathParams;
     }
 
     @Override
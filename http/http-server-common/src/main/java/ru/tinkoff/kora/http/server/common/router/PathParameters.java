@@ -0,0 +1,77 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Array backed holder of path parameters matched by {@link PathTrie}.
+ * <p>
+ * Parameters are stored as start/end offsets into the request path and are addressed by index in the order they appear in the route template,
+ * so matching does not allocate substrings or maps. Values are materialized only when requested.
+ */
+public final class PathParameters {
+    private static final int[] EMPTY_BOUNDS = new int[0];
+    private static final String[] EMPTY_NAMES = new String[0];
+
+    private final int[] bounds;
+    private String path = "";
+    private String[] names = EMPTY_NAMES;
+    private int size = 0;
+
+    public PathParameters(int capacity) {
+        this.bounds = capacity == 0 ? EMPTY_BOUNDS : new int[capacity * 2];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public String name(int index) {
+        return this.names[index];
+    }
+
+    public int start(int index) {
+        return this.bounds[index * 2];
+    }
+
+    public int end(int index) {
+        return this.bounds[index * 2 + 1];
+    }
+
+    public String value(int index) {
+        return this.path.substring(this.bounds[index * 2], this.bounds[index * 2 + 1]);
+    }
+
+    public Map<String, String> toMap() {
+        if (this.size == 0) {
+            return Map.of();
+        }
+        var map = new LinkedHashMap<String, String>(this.size * 2);
+        for (int i = 0; i < this.size; i++) {
+            map.put(this.names[i], this.value(i));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    int capacity() {
+        return this.bounds.length / 2;
+    }
+
+    void set(int index, int start, int end) {
+        this.bounds[index * 2] = start;
+        this.bounds[index * 2 + 1] = end;
+    }
+
+    void complete(String path, String[] names) {
+        this.path = path;
+        this.names = names;
+        this.size = names.length;
+    }
+
+    void clear() {
+        this.path = "";
+        this.names = EMPTY_NAMES;
+        this.size = 0;
+    }
+}
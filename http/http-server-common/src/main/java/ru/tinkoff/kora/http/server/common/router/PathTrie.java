@@ -0,0 +1,255 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Segment trie of path templates.
+ * <p>
+ * Each node represents one path segment and has static children (looked up by the segment characters without creating substrings),
+ * at most one parameter child (<code>{name}</code>) and a list of trailing wildcards (<code>prefix*</code>).
+ * Static segments have priority over parameters and parameters have priority over wildcards, matching backtracks when a more specific branch fails.
+ * <p>
+ * The trie is meant to be filled once on startup and is not safe for concurrent modification, matching is thread safe and does not allocate.
+ */
+public final class PathTrie<T> {
+    private static final int LINEAR_SCAN_THRESHOLD = 8;
+
+    public record Route<T>(String template, String[] parameterNames, T value) {}
+
+    private final Node<T> root = new Node<>();
+    private int maxParameters = 0;
+
+    /**
+     * @return route that is equivalent to the given template and was added earlier, or null if there was none
+     */
+    @Nullable
+    public Route<T> add(String template, T value) {
+        if (!template.startsWith("/")) {
+            template = "/" + template;
+        }
+        var names = new ArrayList<String>();
+        var node = this.root;
+        var position = 1;
+        while (true) {
+            var end = template.indexOf('/', position);
+            if (end < 0) {
+                end = template.length();
+            }
+            var segment = template.substring(position, end);
+            var wildcardIndex = segment.indexOf('*');
+            if (wildcardIndex >= 0) {
+                names.add("*");
+                var route = this.route(template, names, value);
+                return node.addWildcard(segment.substring(0, wildcardIndex), route);
+            }
+            if (segment.startsWith("{")) {
+                if (segment.length() < 2 || !segment.endsWith("}")) {
+                    throw new IllegalArgumentException("Could not parse URI template %s, exception at char %s".formatted(template, end));
+                }
+                names.add(segment.substring(1, segment.length() - 1));
+                if (node.parameter == null) {
+                    node.parameter = new Node<>();
+                }
+                node = node.parameter;
+            } else {
+                node = node.addStatic(segment);
+            }
+            if (end == template.length()) {
+                if (node.route != null) {
+                    return node.route;
+                }
+                node.route = this.route(template, names, value);
+                return null;
+            }
+            position = end + 1;
+        }
+    }
+
+    /**
+     * Matches request path against the trie and fills given parameters with offsets of path parameters.
+     *
+     * @param path       request path
+     * @param parameters holder with capacity of at least {@link #maxParameters()}
+     * @return matched route or null if there is no route for the path
+     */
+    @Nullable
+    public Route<T> match(String path, PathParameters parameters) {
+        if (path.isEmpty()) {
+            path = "/";
+        } else if (path.charAt(0) != '/') {
+            parameters.clear();
+            return null;
+        }
+        var route = find(this.root, path, 1, 0, parameters);
+        if (route == null) {
+            parameters.clear();
+            return null;
+        }
+        parameters.complete(path, route.parameterNames);
+        return route;
+    }
+
+    public int maxParameters() {
+        return this.maxParameters;
+    }
+
+    private Route<T> route(String template, ArrayList<String> names, T value) {
+        this.maxParameters = Math.max(this.maxParameters, names.size());
+        return new Route<>(template, names.toArray(String[]::new), value);
+    }
+
+    @Nullable
+    private static <T> Route<T> find(Node<T> node, String path, int start, int parameterIndex, PathParameters parameters) {
+        var end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        var child = node.findStatic(path, start, end);
+        if (child != null) {
+            var route = next(child, path, end, parameterIndex, parameters);
+            if (route != null) {
+                return route;
+            }
+        }
+        var parameter = node.parameter;
+        if (parameter != null && end > start) {
+            parameters.set(parameterIndex, start, end);
+            var route = next(parameter, path, end, parameterIndex + 1, parameters);
+            if (route != null) {
+                return route;
+            }
+        }
+        for (var wildcard : node.wildcards) {
+            if (path.startsWith(wildcard.prefix, start)) {
+                parameters.set(parameterIndex, start + wildcard.prefix.length(), path.length());
+                return wildcard.route;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static <T> Route<T> next(Node<T> node, String path, int end, int parameterIndex, PathParameters parameters) {
+        if (end == path.length()) {
+            return node.route;
+        }
+        return find(node, path, end + 1, parameterIndex, parameters);
+    }
+
+    private record Wildcard<T>(String prefix, Route<T> route) {}
+
+    private static final class Node<T> {
+        private String[] staticKeys = new String[0];
+        private Node<T>[] staticNodes = newNodes(0);
+        private int[] staticTable = new int[0];
+        @Nullable
+        private Node<T> parameter;
+        private Wildcard<T>[] wildcards = newWildcards(0);
+        @Nullable
+        private Route<T> route;
+
+        private Node<T> addStatic(String segment) {
+            for (int i = 0; i < this.staticKeys.length; i++) {
+                if (this.staticKeys[i].equals(segment)) {
+                    return this.staticNodes[i];
+                }
+            }
+            var node = new Node<T>();
+            var size = this.staticKeys.length;
+            this.staticKeys = Arrays.copyOf(this.staticKeys, size + 1);
+            this.staticNodes = Arrays.copyOf(this.staticNodes, size + 1);
+            this.staticKeys[size] = segment;
+            this.staticNodes[size] = node;
+            if (this.staticKeys.length > LINEAR_SCAN_THRESHOLD) {
+                this.rebuildTable();
+            }
+            return node;
+        }
+
+        @Nullable
+        private Route<T> addWildcard(String prefix, Route<T> route) {
+            for (var wildcard : this.wildcards) {
+                if (wildcard.prefix.equals(prefix)) {
+                    return wildcard.route;
+                }
+            }
+            var wildcards = Arrays.copyOf(this.wildcards, this.wildcards.length + 1);
+            wildcards[wildcards.length - 1] = new Wildcard<>(prefix, route);
+            // longer prefix is more specific
+            Arrays.sort(wildcards, Comparator.comparingInt((Wildcard<T> w) -> w.prefix.length()).reversed());
+            this.wildcards = wildcards;
+            return null;
+        }
+
+        private void rebuildTable() {
+            var table = new int[Integer.highestOneBit(this.staticKeys.length * 2 - 1) << 1];
+            var mask = table.length - 1;
+            for (int i = 0; i < this.staticKeys.length; i++) {
+                var slot = spread(this.staticKeys[i].hashCode()) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = i + 1;
+            }
+            this.staticTable = table;
+        }
+
+        @Nullable
+        private Node<T> findStatic(String path, int start, int end) {
+            var keys = this.staticKeys;
+            var length = end - start;
+            if (keys.length <= LINEAR_SCAN_THRESHOLD) {
+                for (int i = 0; i < keys.length; i++) {
+                    var key = keys[i];
+                    if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                        return this.staticNodes[i];
+                    }
+                }
+                return null;
+            }
+            var table = this.staticTable;
+            var mask = table.length - 1;
+            var slot = spread(hash(path, start, end)) & mask;
+            while (true) {
+                var index = table[slot];
+                if (index == 0) {
+                    return null;
+                }
+                var key = keys[index - 1];
+                if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    return this.staticNodes[index - 1];
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /**
+         * Same as {@link String#hashCode()} of the substring, but without creating it
+         */
+        private static int hash(String path, int start, int end) {
+            var h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + path.charAt(i);
+            }
+            return h;
+        }
+
+        private static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] newNodes(int size) {
+            return (Node<T>[]) new Node<?>[size];
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Wildcard<T>[] newWildcards(int size) {
+            return (Wildcard<T>[]) new Wildcard<?>[size];
+        }
+    }
+}
@@ -9,6 +9,7 @@ import ru.tinkoff.kora.http.common.body.HttpBody;
 import ru.tinkoff.kora.http.common.header.HttpHeaders;
 import ru.tinkoff.kora.http.server.common.*;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.limiter.HttpServerLimiter;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTelemetry;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTelemetryFactory;
 
@@ -16,17 +17,9 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
-/**
- * Utility class that provides fast path matching of path templates. Templates are stored in a map based on the stem of the template,
- * and matches longest stem first.
- * <p>
- * TODO: we can probably do this faster using a trie type structure, but I think the current impl should perform ok most of the time
- *
- * @author Stuart Douglas
- */
-
 public class PublicApiHandler {
 
     private static final CompletionStage<HttpServerResponse> NOT_FOUND_RESPONSE = CompletableFuture.completedFuture(
@@ -34,78 +27,68 @@ public class PublicApiHandler {
     );
     private static final HttpServerRequestHandler.HandlerFunction NOT_FOUND_HANDLER = (ctx, request) -> NOT_FOUND_RESPONSE;
 
-    private final Map<String, PathTemplateMatcher<HttpServerRequestHandler>> pathTemplateMatcher;
-    private final PathTemplateMatcher<List<String>> allMethodMatchers;
+    private final HttpServerRouter router;
     private final AtomicReference<RequestHandler> requestHandler = new AtomicReference<>();
     private final HttpServerTelemetry telemetry;
+    private final IdentityHashMap<HttpServerRequestHandler, HttpServerTelemetry> routeTelemetry;
+    @Nullable
+    private final HttpServerLimiter limiter;
 
     public PublicApiHandler(List<HttpServerRequestHandler> handlers, List<HttpServerInterceptor> interceptors, HttpServerTelemetryFactory httpServerTelemetry, HttpServerConfig config) {
+        this(handlers, interceptors, httpServerTelemetry, config, HttpServerLimiter.UNLIMITED);
+    }
+
+    public PublicApiHandler(List<HttpServerRequestHandler> handlers, List<HttpServerInterceptor> interceptors, HttpServerTelemetryFactory httpServerTelemetry, HttpServerConfig config, HttpServerLimiter limiter) {
+        this.limiter = limiter == HttpServerLimiter.UNLIMITED ? null : limiter;
         this.telemetry = Objects.requireNonNullElse(httpServerTelemetry.get(config.telemetry()), HttpServerTelemetry.EMPTY);
-        this.pathTemplateMatcher = new HashMap<>();
-        this.allMethodMatchers = new PathTemplateMatcher<>();
-        for (var h : handlers) {
-            var route = h.routeTemplate();
-            var methodMatchers = this.pathTemplateMatcher.computeIfAbsent(h.method(), k -> new PathTemplateMatcher<>());
-            var oldValue = methodMatchers.add(route, h);
-            if (oldValue != null) {
-                throw new IllegalStateException("Cannot add path template %s, matcher already contains an equivalent pattern %s".formatted(route, oldValue.getKey().templateString()));
-            }
-            if (config.ignoreTrailingSlash()) {
-                if (!route.endsWith("*")) {
-                    if (route.charAt(route.length() - 1) == '/') {
-                        route = route.substring(0, route.length() - 1);
-                    } else {
-                        route = route + '/';
-                    }
-                    oldValue = methodMatchers.add(route, h);
-                    if (oldValue != null) {
-                        throw new IllegalStateException("Cannot add path template %s, matcher already contains an equivalent pattern %s".formatted(route, oldValue.getKey().templateString()));
-                    }
-                }
-            }
-            var otherMethods = new ArrayList<>(List.of(h.method()));
-            var oldAllMethodValue = this.allMethodMatchers.add(route, otherMethods);
-            if (oldAllMethodValue != null) {
-                otherMethods.addAll(oldAllMethodValue.getValue());
-            }
+        this.routeTelemetry = new IdentityHashMap<>(handlers.size());
+        for (var handler : handlers) {
+            var routeTelemetry = this.telemetry.route(handler.method(), handler.routeTemplate());
+            this.routeTelemetry.put(handler, Objects.requireNonNullElse(routeTelemetry, this.telemetry));
         }
-        if (interceptors.isEmpty()) {
+        this.router = new HttpServerRouter(handlers, config.ignoreTrailingSlash());
+        var chain = interceptors.stream()
+            .filter(interceptor -> interceptor != HttpServerInterceptor.noop())
+            .toList();
+        if (chain.isEmpty()) {
             this.requestHandler.set(new SimpleRequestHandler());
         } else {
-            this.requestHandler.set(new AggregatedRequestHandler(interceptors));
+            this.requestHandler.set(new AggregatedRequestHandler(chain));
         }
     }
 
     public PublicApiResponse process(Context context, PublicApiRequest publicApiRequest) {
         final HttpServerRequestHandler.HandlerFunction handlerFunction;
-        final Map<String, String> templateParameters;
         final @Nullable String routeTemplate;
-
-        var methodMatchers = this.pathTemplateMatcher.get(publicApiRequest.method());
-        var pathTemplateMatch = methodMatchers == null ? null : methodMatchers.match(publicApiRequest.path());
-        if (pathTemplateMatch == null) {
-            var allMethodMatch = this.allMethodMatchers.match(publicApiRequest.path());
-            if (allMethodMatch != null) {
-                var allowed = String.join(", ", allMethodMatch.value());
+        final HttpServerTelemetry telemetry;
+
+        var pathParameters = this.router.newParameters();
+        var route = this.router.match(publicApiRequest.method(), publicApiRequest.path(), pathParameters);
+        if (route == null) {
+            var allowedMethods = this.router.allowedMethods(publicApiRequest.path());
+            if (allowedMethods != null) {
+                var allowed = allowedMethods.allow();
                 handlerFunction = (ctx, request) -> CompletableFuture.failedFuture(HttpServerResponseException.of(405, "Method Not Allowed", HttpHeaders.of("allow", allowed)));
-                routeTemplate = allMethodMatch.matchedTemplate();
-                templateParameters = Map.of();
+                routeTemplate = allowedMethods.routeTemplate();
             } else {
                 handlerFunction = NOT_FOUND_HANDLER;
                 routeTemplate = null;
-                templateParameters = Map.of();
             }
+            telemetry = this.telemetry;
         } else {
-            templateParameters = pathTemplateMatch.parameters();
-            routeTemplate = pathTemplateMatch.matchedTemplate();
-            handlerFunction = pathTemplateMatch.value()::handle;
+            routeTemplate = route.template();
+            handlerFunction = route.value()::handle;
+            telemetry = this.routeTelemetry.get(route.value());
         }
 
-        var request = new LazyRequest(publicApiRequest, templateParameters, routeTemplate);
-        var tctx = this.telemetry.get(publicApiRequest, routeTemplate);
+        var request = new LazyRequest(publicApiRequest, pathParameters, routeTemplate);
+        var tctx = telemetry.get(publicApiRequest, routeTemplate);
 
         try {
-            var future = this.requestHandler.get().apply(context, request, handlerFunction);
+            var limiter = this.limiter;
+            var future = limiter == null
+                ? this.requestHandler.get().apply(context, request, handlerFunction)
+                : this.applyLimited(limiter, context, request, routeTemplate, handlerFunction);
             return new PublicApiResponseImpl(tctx, future.toCompletableFuture());
         } catch (CompletionException error) {
             return new PublicApiResponseImpl(tctx, CompletableFuture.failedFuture(Objects.requireNonNullElse(error.getCause(), error)));
@@ -114,6 +97,38 @@ public class PublicApiHandler {
         }
     }
 
+    private CompletionStage<HttpServerResponse> applyLimited(HttpServerLimiter limiter, Context context, HttpServerRequest request, @Nullable String routeTemplate, HttpServerRequestHandler.HandlerFunction handlerFunction) {
+        return limiter.acquire(request, routeTemplate).thenCompose(permit -> {
+            final CompletionStage<HttpServerResponse> future;
+            // permit may be acquired on a thread that released previous permit
+            var oldCtx = Context.current();
+            context.inject();
+            try {
+                future = this.requestHandler.get().apply(context, request, handlerFunction);
+            } catch (CompletionException error) {
+                permit.release(false);
+                return CompletableFuture.failedFuture(Objects.requireNonNullElse(error.getCause(), error));
+            } catch (Throwable error) {
+                permit.release(false);
+                return CompletableFuture.failedFuture(error);
+            } finally {
+                oldCtx.inject();
+            }
+            return future.whenComplete((response, error) -> permit.release(isDropped(response, error)));
+        });
+    }
+
+    private static boolean isDropped(@Nullable HttpServerResponse response, @Nullable Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof HttpServerResponse errorResponse) {
+            response = errorResponse;
+        } else if (error != null) {
+            return error instanceof TimeoutException;
+        }
+        return response != null && (response.code() == 503 || response.code() == 504);
+    }
 
     private interface RequestHandler {
         CompletionStage<HttpServerResponse> apply(Context context, HttpServerRequest request, HttpServerRequestHandler.HandlerFunction lastHandlerInChain) throws Exception;
@@ -12,11 +12,31 @@ public final class DefaultHttpServerTelemetry implements HttpServerTelemetry {
     private final HttpServerLogger logger;
     @Nullable
     private final HttpServerTracer tracer;
+    @Nullable
+    private final String boundRouteTemplate;
+    @Nullable
+    private final String boundOperation;
+    @Nullable
+    private final HttpServerMetrics.RouteMetrics boundMetrics;
 
     public DefaultHttpServerTelemetry(@Nullable HttpServerMetrics metrics, @Nullable HttpServerLogger logger, @Nullable HttpServerTracer tracer) {
+        this(metrics, logger, tracer, null, null, null);
+    }
+
+    private DefaultHttpServerTelemetry(@Nullable HttpServerMetrics metrics, @Nullable HttpServerLogger logger, @Nullable HttpServerTracer tracer,
+                                       @Nullable String boundRouteTemplate, @Nullable String boundOperation, @Nullable HttpServerMetrics.RouteMetrics boundMetrics) {
         this.metrics = metrics;
         this.logger = logger;
         this.tracer = tracer;
+        this.boundRouteTemplate = boundRouteTemplate;
+        this.boundOperation = boundOperation;
+        this.boundMetrics = boundMetrics;
+    }
+
+    @Override
+    public HttpServerTelemetry route(String method, String routeTemplate) {
+        var routeMetrics = this.metrics == null ? null : this.metrics.route(method, routeTemplate);
+        return new DefaultHttpServerTelemetry(this.metrics, this.logger, this.tracer, routeTemplate, method + " " + routeTemplate, routeMetrics);
     }
 
     @Override
@@ -32,14 +52,19 @@ public final class DefaultHttpServerTelemetry implements HttpServerTelemetry {
         var method = request.method();
         var scheme = request.scheme();
         var host = request.hostName();
-        if (metrics != null) {
+        // bound route template may differ from matched one when trailing slash is ignored
+        var bound = routeTemplate != null && routeTemplate.equals(this.boundRouteTemplate);
+        var routeMetrics = bound ? this.boundMetrics : null;
+        if (routeMetrics != null) {
+            routeMetrics.requestStarted(host, scheme);
+        } else if (metrics != null) {
             metrics.requestStarted(method, routeTemplate != null ? routeTemplate : UNMATCHED_ROUTE_TEMPLATE, host, scheme);
         }
 
         final HttpServerTracer.HttpServerSpan span;
         final String operation;
         if (routeTemplate != null) {
-            operation = method + " " + routeTemplate;
+            operation = bound ? this.boundOperation : method + " " + routeTemplate;
             if (tracer != null) {
                 span = tracer.createSpan(routeTemplate, request);
             } else {
@@ -56,7 +81,9 @@ public final class DefaultHttpServerTelemetry implements HttpServerTelemetry {
         return (statusCode, resultCode, httpHeaders, exception) -> {
             var end = System.nanoTime();
             var processingTime = end - start;
-            if (metrics != null) {
+            if (routeMetrics != null) {
+                routeMetrics.requestFinished(host, scheme, statusCode, processingTime, exception);
+            } else if (metrics != null) {
                 var metricsRouteTemplate = routeTemplate != null ? routeTemplate : UNMATCHED_ROUTE_TEMPLATE;
                 metrics.requestFinished(method, metricsRouteTemplate, host, scheme, statusCode, processingTime, exception);
             }
@@ -2,6 +2,8 @@ package ru.tinkoff.kora.http.server.common.telemetry;
 
 import jakarta.annotation.Nullable;
 
+import java.util.function.IntSupplier;
+
 public interface HttpServerMetrics {
 
     void requestStarted(String method, String route, String host, String scheme);
@@ -12,4 +14,63 @@ public interface HttpServerMetrics {
         this.requestFinished(method, route, host, scheme, statusCode, processingTimeNano);
     }
 
+    /**
+     * Metrics of a single route resolved once when route is registered, so implementations can bind route level meters in advance
+     * and look up only request dependent dimensions on every request
+     */
+    default RouteMetrics route(String method, String route) {
+        return new RouteMetrics() {
+            @Override
+            public void requestStarted(String host, String scheme) {
+                HttpServerMetrics.this.requestStarted(method, route, host, scheme);
+            }
+
+            @Override
+            public void requestFinished(String host, String scheme, int statusCode, long processingTimeNano, @Nullable Throwable exception) {
+                HttpServerMetrics.this.requestFinished(method, route, host, scheme, statusCode, processingTimeNano, exception);
+            }
+        };
+    }
+
+    interface RouteMetrics {
+        void requestStarted(String host, String scheme);
+
+        void requestFinished(String host, String scheme, int statusCode, long processingTimeNano, @Nullable Throwable exception);
+    }
+
+    /**
+     * Called when HTTP/2 stream is opened on a multiplexed connection
+     */
+    default void http2StreamStarted(String scheme) {}
+
+    /**
+     * Called when HTTP/2 stream is closed, either after response was sent or after stream reset
+     */
+    default void http2StreamFinished(String scheme, long streamTimeNano) {}
+
+    /**
+     * Called once for every concurrency limiter partition, suppliers are read when metrics are collected
+     */
+    default void concurrencyLimiterRegistered(String partition, IntSupplier limit, IntSupplier inFlight, IntSupplier queued) {}
+
+    /**
+     * Called when request is rejected by concurrency limiter
+     */
+    default void concurrencyLimiterRejected(String partition, String reason) {}
+
+    /**
+     * Called when compressed response body is completely written
+     */
+    default void responseCompressed(String encoding, long originalBytes, long compressedBytes) {}
+
+    /**
+     * Called once when blocking handlers are executed on virtual threads, suppliers are read when metrics are collected
+     */
+    default void virtualThreadsRegistered(IntSupplier active, IntSupplier waiting) {}
+
+    /**
+     * Called when virtual thread running blocking handler was pinned to its carrier thread for longer than configured threshold
+     */
+    default void virtualThreadPinned(long pinnedTimeNano) {}
+
 }
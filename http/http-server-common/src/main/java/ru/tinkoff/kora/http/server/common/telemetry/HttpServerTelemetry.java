@@ -14,4 +14,11 @@ public interface HttpServerTelemetry {
     }
 
     HttpServerTelemetryContext get(PublicApiRequest request, @Nullable String routeTemplate);
+
+    /**
+     * @return telemetry bound to a single route, called once for every registered route handler
+     */
+    default HttpServerTelemetry route(String method, String routeTemplate) {
+        return this;
+    }
 }
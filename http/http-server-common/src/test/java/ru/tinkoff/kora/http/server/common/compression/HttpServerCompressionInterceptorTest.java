@@ -0,0 +1,146 @@
+package ru.tinkoff.kora.http.server.common.compression;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.common.util.FlowUtils;
+import ru.tinkoff.kora.http.common.body.HttpBody;
+import ru.tinkoff.kora.http.common.body.HttpBodyOutput;
+import ru.tinkoff.kora.http.common.header.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+import ru.tinkoff.kora.http.server.common.SimpleHttpServerResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpServerCompressionInterceptorTest {
+    private static final String TEXT = "compressible text ".repeat(200);
+
+    @Test
+    void fullBodyIsCompressedWithGzip() throws Exception {
+        var rs = intercept("gzip, deflate", HttpBody.plaintext(TEXT));
+
+        assertThat(rs.headers().getFirst("content-encoding")).isEqualTo("gzip");
+        assertThat(rs.headers().getAll("vary")).contains("accept-encoding");
+        var compressed = FlowUtils.toByteArrayFuture(rs.body()).get();
+        assertThat(compressed.length).isLessThan(TEXT.length());
+        assertThat(gunzip(compressed)).isEqualTo(TEXT);
+    }
+
+    @Test
+    void deflateIsUsedWhenGzipIsNotAccepted() throws Exception {
+        var rs = intercept("gzip;q=0, deflate", HttpBody.plaintext(TEXT));
+
+        assertThat(rs.headers().getFirst("content-encoding")).isEqualTo("deflate");
+        var compressed = FlowUtils.toByteArrayFuture(rs.body()).get();
+        try (var is = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(TEXT);
+        }
+    }
+
+    @Test
+    void streamingBodyIsCompressedChunkByChunk() throws Exception {
+        var chunks = new ArrayList<ByteBuffer>();
+        for (int i = 0; i < 10; i++) {
+            chunks.add(StandardCharsets.UTF_8.encode(TEXT));
+        }
+        var rs = intercept("gzip", HttpBodyOutput.of("application/json", new ListPublisher(chunks)));
+
+        assertThat(rs.headers().getFirst("content-encoding")).isEqualTo("gzip");
+        assertThat(rs.body().contentLength()).isEqualTo(-1);
+        var compressed = FlowUtils.toByteArrayFuture(rs.body()).get();
+        assertThat(gunzip(compressed)).isEqualTo(TEXT.repeat(10));
+    }
+
+    @Test
+    void smallBodyIsNotCompressed() throws Exception {
+        var rs = intercept("gzip", HttpBody.plaintext("small"));
+
+        assertThat(rs.headers().has("content-encoding")).isFalse();
+        assertThat(new String(FlowUtils.toByteArrayFuture(rs.body()).get(), StandardCharsets.UTF_8)).isEqualTo("small");
+    }
+
+    @Test
+    void notAllowedContentTypeIsNotCompressed() throws Exception {
+        var rs = intercept("gzip", HttpBody.octetStream(TEXT.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(rs.headers().has("content-encoding")).isFalse();
+    }
+
+    @Test
+    void notAcceptedEncodingIsNotCompressed() throws Exception {
+        var rs = intercept("br, identity", HttpBody.plaintext(TEXT));
+
+        assertThat(rs.headers().has("content-encoding")).isFalse();
+    }
+
+    @Test
+    void acceptEncodingNegotiation() {
+        assertThat(ContentEncoding.negotiate(null)).isNull();
+        assertThat(ContentEncoding.negotiate(List.of("deflate, gzip"))).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncoding.negotiate(List.of("deflate;q=0.5", "gzip;q=0.1"))).isEqualTo(ContentEncoding.DEFLATE);
+        assertThat(ContentEncoding.negotiate(List.of("*"))).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ContentEncoding.negotiate(List.of("*;q=0"))).isNull();
+        assertThat(ContentEncoding.negotiate(List.of("x-gzip"))).isEqualTo(ContentEncoding.GZIP);
+    }
+
+    private static HttpServerResponse intercept(String acceptEncoding, HttpBodyOutput body) throws Exception {
+        var interceptor = new HttpServerCompressionInterceptor(new HttpServerCompressionConfig() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+        }, null);
+        var request = Mockito.mock(HttpServerRequest.class);
+        Mockito.when(request.method()).thenReturn("GET");
+        Mockito.when(request.headers()).thenReturn(HttpHeaders.of("accept-encoding", acceptEncoding));
+        var response = new SimpleHttpServerResponse(200, HttpHeaders.of(), body);
+
+        return interceptor.intercept(Context.clear(), request, (ctx, rq) -> CompletableFuture.completedFuture(response))
+            .toCompletableFuture()
+            .get();
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (var is = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private record ListPublisher(List<ByteBuffer> items) implements Flow.Publisher<ByteBuffer> {
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private int index = 0;
+                private boolean done = false;
+
+                @Override
+                public void request(long n) {
+                    while (n-- > 0 && index < items.size()) {
+                        subscriber.onNext(items.get(index++));
+                    }
+                    if (index == items.size() && !done) {
+                        done = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    done = true;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package ru.tinkoff.kora.http.server.common.handler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.common.util.FlowUtils;
+import ru.tinkoff.kora.http.common.body.FileHttpBodyOutput;
+import ru.tinkoff.kora.http.common.header.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaticResourceHttpServerHandlerTest {
+    private static final String TEXT = "static content ".repeat(200);
+
+    @Test
+    void contentIsServedWithEtagAndCacheControl() throws Exception {
+        var handler = StaticResourceHttpServerHandler.ofContent("text/plain", TEXT.getBytes(StandardCharsets.UTF_8), "max-age=60");
+
+        var rs = handle(handler, "/", HttpHeaders.of());
+
+        assertThat(rs.code()).isEqualTo(200);
+        assertThat(rs.headers().getFirst("cache-control")).isEqualTo("max-age=60");
+        assertThat(rs.headers().getFirst("etag")).startsWith("\"");
+        assertThat(body(rs)).isEqualTo(TEXT);
+
+        var notModified = handle(handler, "/", HttpHeaders.of("if-none-match", "\"other\", " + rs.headers().getFirst("etag")));
+        assertThat(notModified.code()).isEqualTo(304);
+    }
+
+    @Test
+    void precompressedContentIsServedToGzipClients() throws Exception {
+        var handler = StaticResourceHttpServerHandler.ofContent("text/plain", TEXT.getBytes(StandardCharsets.UTF_8), "no-cache");
+
+        var identity = handle(handler, "/", HttpHeaders.of());
+        var rs = handle(handler, "/", HttpHeaders.of("accept-encoding", "gzip"));
+
+        assertThat(rs.headers().getFirst("content-encoding")).isEqualTo("gzip");
+        assertThat(rs.headers().getAll("vary")).contains("accept-encoding");
+        assertThat(rs.headers().getFirst("etag")).isNotEqualTo(identity.headers().getFirst("etag"));
+        var compressed = FlowUtils.toByteArrayFuture(rs.body()).get();
+        assertThat(compressed.length).isLessThan(TEXT.length());
+        try (var is = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(TEXT);
+        }
+    }
+
+    @Test
+    void rangeIsServedWithPartialContent() throws Exception {
+        var handler = StaticResourceHttpServerHandler.ofContent("text/plain", "0123456789".getBytes(StandardCharsets.UTF_8), "no-cache");
+
+        var rs = handle(handler, "/", HttpHeaders.of("range", "bytes=2-4"));
+        assertThat(rs.code()).isEqualTo(206);
+        assertThat(rs.headers().getFirst("content-range")).isEqualTo("bytes 2-4/10");
+        assertThat(body(rs)).isEqualTo("234");
+
+        var suffix = handle(handler, "/", HttpHeaders.of("range", "bytes=-3"));
+        assertThat(suffix.code()).isEqualTo(206);
+        assertThat(body(suffix)).isEqualTo("789");
+
+        var unsatisfiable = handle(handler, "/", HttpHeaders.of("range", "bytes=10-"));
+        assertThat(unsatisfiable.code()).isEqualTo(416);
+        assertThat(unsatisfiable.headers().getFirst("content-range")).isEqualTo("bytes */10");
+
+        var staleIfRange = handle(handler, "/", HttpHeaders.of("range", "bytes=2-4", "if-range", "\"stale\""));
+        assertThat(staleIfRange.code()).isEqualTo(200);
+        assertThat(body(staleIfRange)).isEqualTo("0123456789");
+    }
+
+    @Test
+    void filesAreServedAsFileRegions(@TempDir Path directory) throws Exception {
+        var root = Files.createDirectories(directory.resolve("public"));
+        Files.writeString(root.resolve("index.html"), "<html></html>");
+        Files.createDirectories(root.resolve("assets"));
+        Files.writeString(root.resolve("assets/app.js"), "console.log(1)");
+        Files.writeString(directory.resolve("secret.txt"), "secret");
+        var handler = StaticResourceHttpServerHandler.ofDirectory("/static", root, "max-age=3600");
+
+        var rs = handle(handler, "/static/assets/app.js", HttpHeaders.of("range", "bytes=8-"));
+        assertThat(rs.code()).isEqualTo(206);
+        assertThat(rs.body()).isInstanceOf(FileHttpBodyOutput.class);
+        assertThat(rs.body().contentType()).isEqualTo("text/javascript; charset=utf-8");
+        assertThat(body(rs)).isEqualTo("log(1)");
+
+        var index = handle(handler, "/static/", HttpHeaders.of());
+        assertThat(index.code()).isEqualTo(200);
+        assertThat(body(index)).isEqualTo("<html></html>");
+
+        assertThat(handle(handler, "/static/../secret.txt", HttpHeaders.of()).code()).isEqualTo(404);
+        assertThat(handle(handler, "/static/missing.js", HttpHeaders.of()).code()).isEqualTo(404);
+    }
+
+    @Test
+    void precompressedFileIsServedToGzipClients(@TempDir Path directory) throws Exception {
+        var file = Files.writeString(directory.resolve("app.css"), TEXT);
+        var gzip = Files.write(directory.resolve("app.css.gz"), new byte[]{1, 2, 3});
+        Files.setLastModifiedTime(gzip, Files.getLastModifiedTime(file));
+        var handler = StaticResourceHttpServerHandler.ofDirectory("/", directory, "no-cache");
+
+        var rs = handle(handler, "/app.css", HttpHeaders.of("accept-encoding", "gzip, deflate"));
+
+        assertThat(rs.headers().getFirst("content-encoding")).isEqualTo("gzip");
+        assertThat(rs.body().contentLength()).isEqualTo(3);
+        assertThat(rs.body().contentType()).isEqualTo("text/css; charset=utf-8");
+    }
+
+    @Test
+    void blockingReadsAreRunOnExecutor(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("app.js"), "console.log(1)");
+        var executions = new AtomicInteger();
+        BlockingRequestExecutor executor = new BlockingRequestExecutor() {
+            @Override
+            public <T> CompletionStage<T> execute(Context context, Callable<T> handler) {
+                executions.incrementAndGet();
+                try {
+                    return CompletableFuture.completedFuture(handler.call());
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+        };
+
+        var files = StaticResourceHttpServerHandler.ofDirectory("/", directory, "no-cache", executor);
+        assertThat(body(handle(files, "/app.js", HttpHeaders.of()))).isEqualTo("console.log(1)");
+        assertThat(executions).hasValue(1);
+
+        var classpath = StaticResourceHttpServerHandler.ofClasspath("/", "ru/tinkoff/kora/http/server/common/handler", "no-cache", executor);
+        var resource = "StaticResourceHttpServerHandlerTest.class";
+        assertThat(handle(classpath, resource, HttpHeaders.of()).code()).isEqualTo(200);
+        assertThat(handle(classpath, resource, HttpHeaders.of()).code()).isEqualTo(200);
+        assertThat(executions).hasValue(2);
+
+        var uncached = StaticResourceHttpServerHandler.ofClasspath("/", "ru/tinkoff/kora/http/server/common/handler", "no-cache", executor, 0);
+        assertThat(handle(uncached, resource, HttpHeaders.of()).code()).isEqualTo(200);
+        assertThat(handle(uncached, resource, HttpHeaders.of()).code()).isEqualTo(200);
+        assertThat(executions).hasValue(4);
+    }
+
+    @Test
+    void rangeParsing() {
+        assertThat(StaticResourceHttpServerHandler.parseRange("bytes=0-0", 5)).containsExactly(0, 0);
+        assertThat(StaticResourceHttpServerHandler.parseRange("bytes=3-100", 5)).containsExactly(3, 4);
+        assertThat(StaticResourceHttpServerHandler.parseRange("bytes=-100", 5)).containsExactly(0, 4);
+        assertThat(StaticResourceHttpServerHandler.parseRange("bytes=0-1,3-4", 5)).isNull();
+        assertThat(StaticResourceHttpServerHandler.parseRange("bytes=4-3", 5)).isNull();
+        assertThat(StaticResourceHttpServerHandler.parseRange("items=0-1", 5)).isNull();
+        assertThat(StaticResourceHttpServerHandler.parseRange("bytes=x-1", 5)).isNull();
+        assertThat(StaticResourceHttpServerHandler.parseRange("bytes=-0", 5)).isEmpty();
+    }
+
+    private static HttpServerResponse handle(StaticResourceHttpServerHandler handler, String path, HttpHeaders headers) throws Exception {
+        var request = Mockito.mock(HttpServerRequest.class);
+        Mockito.when(request.method()).thenReturn("GET");
+        Mockito.when(request.path()).thenReturn(path);
+        Mockito.when(request.headers()).thenReturn(headers);
+        return handler.apply(Context.clear(), request).toCompletableFuture().get();
+    }
+
+    private static String body(HttpServerResponse rs) throws IOException {
+        try {
+            return new String(FlowUtils.toByteArrayFuture(rs.body()).get(), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.tinkoff.kora.http.server.common.handler;
+
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.common.Context;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadBlockingRequestExecutorTest {
+    private static final Context.Key<String> KEY = new Context.Key<>() {
+        @Override
+        protected String copy(String object) {
+            return object;
+        }
+    };
+
+    @Test
+    void contextIsPropagatedToHandlerThread() throws Exception {
+        // platform threads are used so test does not depend on JDK version, executor does not depend on thread type
+        var executor = new VirtualThreadBlockingRequestExecutor(r -> new Thread(r, "test-vt-1"), "test-vt-", 0, Duration.ZERO, null);
+        var context = Context.clear().fork();
+        context.set(KEY, "value");
+
+        var result = executor.execute(context, () -> Context.current().get(KEY) + " " + Thread.currentThread().getName())
+            .toCompletableFuture()
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(result).isEqualTo("value test-vt-1");
+    }
+
+    @Test
+    void concurrencyIsLimited() throws Exception {
+        var executor = new VirtualThreadBlockingRequestExecutor(Thread::new, "test-vt-", 2, Duration.ZERO, null);
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var futures = new ArrayList<CompletableFuture<Integer>>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(executor.execute(Context.clear(), () -> {
+                var current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                release.await();
+                running.decrementAndGet();
+                return current;
+            }).toCompletableFuture());
+        }
+        Thread.sleep(100);
+        assertThat(running.get()).isEqualTo(2);
+
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void handlerExceptionCompletesFuture() {
+        var executor = new VirtualThreadBlockingRequestExecutor(Thread::new, "test-vt-", 1, Duration.ZERO, null);
+
+        var future = executor.execute(Context.clear(), () -> {
+            throw new IllegalStateException("test");
+        }).toCompletableFuture();
+
+        assertThat(future).failsWithin(Duration.ofSeconds(5));
+    }
+}
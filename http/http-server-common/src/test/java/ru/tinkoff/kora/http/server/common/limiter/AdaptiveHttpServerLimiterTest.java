@@ -0,0 +1,201 @@
+package ru.tinkoff.kora.http.server.common.limiter;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
+import ru.tinkoff.kora.http.server.common.limiter.HttpServerLimiter.Permit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveHttpServerLimiterTest {
+    private final HttpServerRequest request = Mockito.mock(HttpServerRequest.class);
+
+    @Test
+    void requestsOverLimitAreQueued() throws Exception {
+        var limiter = new AdaptiveHttpServerLimiter(config(2, 10, Duration.ofSeconds(10)), null);
+
+        var first = limiter.acquire(request, "/test").toCompletableFuture();
+        var second = limiter.acquire(request, "/test").toCompletableFuture();
+        var third = limiter.acquire(request, "/test").toCompletableFuture();
+
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        assertThat(third).isNotDone();
+
+        first.get().release(false);
+        assertThat(third).isCompleted();
+    }
+
+    @Test
+    void routesAreLimitedSeparatelyUnlessGrouped() {
+        var config = new TestConfig(1, 10, Duration.ofSeconds(10)) {
+            @Override
+            public Map<String, List<String>> groups() {
+                return Map.of("group", List.of("/grouped1", "/grouped2"));
+            }
+        };
+        var limiter = new AdaptiveHttpServerLimiter(config, null);
+
+        assertThat(limiter.acquire(request, "/route1").toCompletableFuture()).isCompleted();
+        assertThat(limiter.acquire(request, "/route2").toCompletableFuture()).isCompleted();
+        assertThat(limiter.acquire(request, "/grouped1").toCompletableFuture()).isCompleted();
+        assertThat(limiter.acquire(request, "/grouped2").toCompletableFuture()).isNotDone();
+    }
+
+    @Test
+    void fullQueueIsRejectedWithRetryAfter() {
+        var limiter = new AdaptiveHttpServerLimiter(config(1, 1, Duration.ofSeconds(10)), null);
+
+        limiter.acquire(request, "/test");
+        limiter.acquire(request, "/test");
+        var rejected = limiter.acquire(request, "/test").toCompletableFuture();
+
+        assertRejected(rejected);
+    }
+
+    @Test
+    void queuedRequestIsRejectedAfterDeadline() {
+        var limiter = new AdaptiveHttpServerLimiter(config(1, 10, Duration.ofMillis(50)), null);
+
+        limiter.acquire(request, "/test");
+        var queued = limiter.acquire(request, "/test").toCompletableFuture();
+
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(HttpServerResponseException.class);
+    }
+
+    @Test
+    void highPriorityIsDequeuedFirst() throws Exception {
+        var limiter = new AdaptiveHttpServerLimiter(priorities(Map.of("/high", HttpServerLimiterConfig.Priority.HIGH)), null);
+
+        var first = limiter.acquire(request, "/normal").toCompletableFuture();
+        var normal = limiter.acquire(request, "/normal").toCompletableFuture();
+        var high = limiter.acquire(request, "/high").toCompletableFuture();
+        first.get().release(false);
+
+        assertThat(high).isCompleted();
+        assertThat(normal).isNotDone();
+    }
+
+    @Test
+    void lowPriorityIsNotQueuedAndCriticalIsNotLimited() {
+        var limiter = new AdaptiveHttpServerLimiter(priorities(Map.of(
+            "/low", HttpServerLimiterConfig.Priority.LOW,
+            "/critical", HttpServerLimiterConfig.Priority.CRITICAL
+        )), null);
+
+        limiter.acquire(request, "/normal");
+
+        assertRejected(limiter.acquire(request, "/low").toCompletableFuture());
+        assertThat(limiter.acquire(request, "/critical").toCompletableFuture()).isCompleted();
+    }
+
+    @Test
+    void aimdLimitDecreasesOnDropAndGrowsWhenUsed() {
+        var limit = new AimdLimit(10, 1, 20, 0.5);
+
+        limit.onSample(1000, 10, true);
+        assertThat(limit.limit()).isEqualTo(5);
+
+        limit.onSample(1000, 5, false);
+        assertThat(limit.limit()).isEqualTo(6);
+
+        limit.onSample(1000, 1, false);
+        assertThat(limit.limit()).isEqualTo(6);
+    }
+
+    @Test
+    void gradientLimitDecreasesWhenLatencyGrows() {
+        var limit = new GradientLimit(20, 1, 1000, 1.5);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), limit.limit(), false);
+        }
+        var grown = limit.limit();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(100), limit.limit(), false);
+        }
+        assertThat(limit.limit()).isLessThan(grown);
+    }
+
+    private static void assertRejected(CompletableFuture<Permit> future) {
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join)
+            .cause()
+            .isInstanceOfSatisfying(HttpServerResponseException.class, e -> {
+                assertThat(e.code()).isEqualTo(503);
+                assertThat(e.headers().getFirst("retry-after")).isEqualTo("1");
+            });
+    }
+
+    private static HttpServerLimiterConfig config(int limit, int queueSize, Duration queueTimeout) {
+        return new TestConfig(limit, queueSize, queueTimeout);
+    }
+
+    private static HttpServerLimiterConfig priorities(Map<String, HttpServerLimiterConfig.Priority> priorities) {
+        return new TestConfig(1, 10, Duration.ofSeconds(10)) {
+            @Override
+            public Map<String, List<String>> groups() {
+                return Map.of("all", List.of("/normal", "/high", "/low", "/critical"));
+            }
+
+            @Override
+            public Map<String, Priority> priorities() {
+                return priorities;
+            }
+        };
+    }
+
+    private static class TestConfig implements HttpServerLimiterConfig {
+        private final int limit;
+        private final int queueSize;
+        private final Duration queueTimeout;
+
+        private TestConfig(int limit, int queueSize, Duration queueTimeout) {
+            this.limit = limit;
+            this.queueSize = queueSize;
+            this.queueTimeout = queueTimeout;
+        }
+
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public Algorithm algorithm() {
+            return Algorithm.AIMD;
+        }
+
+        @Override
+        public int initialLimit() {
+            return this.limit;
+        }
+
+        @Override
+        public int minLimit() {
+            return 1;
+        }
+
+        @Override
+        public int queueSize() {
+            return this.queueSize;
+        }
+
+        @Override
+        public Duration queueTimeout() {
+            return this.queueTimeout;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PathTrieTests {
+
+    @Test
+    void rootPathMatch() {
+        // given
+        var trie = new PathTrie<String>();
+        trie.add("/", "value");
+
+        // when
+        var params = new PathParameters(trie.maxParameters());
+        var route = trie.match("/", params);
+
+        // then
+        assertThat(route).isNotNull();
+        assertThat(route.value()).isEqualTo("value");
+        assertThat(params.size()).isZero();
+    }
+
+    @Test
+    void templatePathMatch() {
+        // given
+        var trie = new PathTrie<String>();
+        trie.add("/foo/{bar}/baz/{qux}", "value");
+
+        // when
+        var params = new PathParameters(trie.maxParameters());
+        var route = trie.match("/foo/1/baz/2", params);
+
+        // then
+        assertThat(route).isNotNull();
+        assertThat(route.template()).isEqualTo("/foo/{bar}/baz/{qux}");
+        assertThat(params.size()).isEqualTo(2);
+        assertThat(params.name(0)).isEqualTo("bar");
+        assertThat(params.value(0)).isEqualTo("1");
+        assertThat(params.toMap()).isEqualTo(Map.of("bar", "1", "qux", "2"));
+    }
+
+    @Test
+    void trailingSlashIsSeparateSegment() {
+        // given
+        var trie = new PathTrie<String>();
+        trie.add("/foo/{bar}", "value");
+
+        // then
+        var params = new PathParameters(trie.maxParameters());
+        assertThat(trie.match("/foo/bar/", params)).isNull();
+        assertThat(trie.match("/foo/", params)).isNull();
+        assertThat(trie.match("/foo", params)).isNull();
+        assertThat(params.size()).isZero();
+    }
+
+    @Test
+    void staticHasPriorityOverTemplate() {
+        // given
+        var trie = new PathTrie<String>();
+        trie.add("/foo/{bar}/baz", "template");
+        trie.add("/foo/bar/qux", "static");
+
+        // then
+        var params = new PathParameters(trie.maxParameters());
+        assertThat(trie.match("/foo/bar/qux", params).value()).isEqualTo("static");
+        assertThat(trie.match("/foo/bar/baz", params).value()).isEqualTo("template");
+        assertThat(params.toMap()).isEqualTo(Map.of("bar", "bar"));
+    }
+
+    @Test
+    void wildcardMatch() {
+        // given
+        var trie = new PathTrie<String>();
+        trie.add("/foo/*", "wildcard");
+        trie.add("/bar*", "prefix");
+
+        // then
+        var params = new PathParameters(trie.maxParameters());
+        assertThat(trie.match("/foo/bar/baz", params).value()).isEqualTo("wildcard");
+        assertThat(params.toMap()).isEqualTo(Map.of("*", "bar/baz"));
+        assertThat(trie.match("/barbaz", params).value()).isEqualTo("prefix");
+        assertThat(params.toMap()).isEqualTo(Map.of("*", "baz"));
+        assertThat(trie.match("/foo", params)).isNull();
+    }
+
+    @Test
+    void manyStaticChildrenMatch() {
+        // given
+        var trie = new PathTrie<Integer>();
+        for (int i = 0; i < 100; i++) {
+            trie.add("/segment" + i + "/{id}", i);
+        }
+
+        // then
+        var params = new PathParameters(trie.maxParameters());
+        for (int i = 0; i < 100; i++) {
+            assertThat(trie.match("/segment" + i + "/id", params).value()).isEqualTo(i);
+        }
+        assertThat(trie.match("/segment100/id", params)).isNull();
+    }
+
+    @Test
+    void equivalentTemplateReturnsPrevious() {
+        // given
+        var trie = new PathTrie<String>();
+        trie.add("/foo/{bar}", "first");
+
+        // when
+        var previous = trie.add("/foo/{baz}", "second");
+
+        // then
+        assertThat(previous).isNotNull();
+        assertThat(previous.value()).isEqualTo("first");
+    }
+
+    @Test
+    void invalidTemplateFail() {
+        var trie = new PathTrie<String>();
+        assertThatThrownBy(() -> trie.add("/foo/{bar", "value")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -166,6 +166,13 @@ class PublicApiHandlerProcessTests {
             10,
             10,
             Duration.ofMillis(100),
+            false,
+            100,
+            65535,
+            4096,
+            false,
+            0,
+            Duration.ZERO,
             new $HttpServerTelemetryConfig_ConfigValueExtractor.HttpServerTelemetryConfig_Impl(
                 new $HttpServerLoggerConfig_ConfigValueExtractor.HttpServerLoggerConfig_Defaults(),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
@@ -156,6 +156,13 @@ class PublicApiHandlerTest {
             1,
             10,
             Duration.ofMillis(1),
+            false,
+            100,
+            65535,
+            4096,
+            false,
+            0,
+            Duration.ZERO,
             new $HttpServerTelemetryConfig_ConfigValueExtractor.HttpServerTelemetryConfig_Impl(
                 new $HttpServerLoggerConfig_ConfigValueExtractor.HttpServerLoggerConfig_Impl(true, true),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
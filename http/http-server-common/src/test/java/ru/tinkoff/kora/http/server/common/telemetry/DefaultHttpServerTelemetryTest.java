@@ -0,0 +1,44 @@
+package ru.tinkoff.kora.http.server.common.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.http.common.HttpResultCode;
+import ru.tinkoff.kora.http.server.common.router.PublicApiRequest;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DefaultHttpServerTelemetryTest {
+    private final HttpServerMetrics metrics = Mockito.mock(HttpServerMetrics.class);
+    private final HttpServerMetrics.RouteMetrics routeMetrics = Mockito.mock(HttpServerMetrics.RouteMetrics.class);
+    private final PublicApiRequest request = Mockito.mock(PublicApiRequest.class);
+
+    DefaultHttpServerTelemetryTest() {
+        when(metrics.route("GET", "/test")).thenReturn(routeMetrics);
+        when(request.method()).thenReturn("GET");
+        when(request.scheme()).thenReturn("http");
+        when(request.hostName()).thenReturn("localhost");
+    }
+
+    @Test
+    void boundRouteUsesRouteMetrics() {
+        var telemetry = new DefaultHttpServerTelemetry(metrics, null, null).route("GET", "/test");
+
+        telemetry.get(request, "/test").close(200, HttpResultCode.SUCCESS, null, null);
+
+        verify(routeMetrics).requestStarted("localhost", "http");
+        verify(routeMetrics).requestFinished(eq("localhost"), eq("http"), eq(200), anyLong(), isNull());
+        verify(metrics, never()).requestStarted(any(), any(), any(), any());
+    }
+
+    @Test
+    void otherRouteTemplateFallsBackToMetrics() {
+        var telemetry = new DefaultHttpServerTelemetry(metrics, null, null).route("GET", "/test");
+
+        telemetry.get(request, "/test/").close(200, HttpResultCode.SUCCESS, null, null);
+
+        verify(metrics).requestStarted("GET", "/test/", "localhost", "http");
+        verify(metrics).requestFinished(eq("GET"), eq("/test/"), eq("localhost"), eq("http"), eq(200), anyLong(), isNull());
+        verifyNoInteractions(routeMetrics);
+    }
+}
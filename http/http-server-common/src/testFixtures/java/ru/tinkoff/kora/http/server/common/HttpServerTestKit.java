@@ -500,6 +500,29 @@ public abstract class HttpServerTestKit {
         verifyResponse("GET", "/", 200, HttpResultCode.SUCCESS, "localhost", "http", ArgumentMatchers::isNull, anyLong());
     }
 
+    @Test
+    void testHttp2PriorKnowledge() throws IOException {
+        var httpResponse = HttpServerResponse.of(200, HttpBody.plaintext("hello world"));
+        var handler = handler(GET, "/", request -> Mono.just(httpResponse));
+
+        this.startServer(false, true, List.of(), handler);
+
+        var h2Client = client.newBuilder()
+            .protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE))
+            .build();
+        for (int i = 0; i < 3; i++) {
+            var request = request("/")
+                .get()
+                .build();
+
+            try (var response = h2Client.newCall(request).execute()) {
+                assertThat(response.protocol()).isEqualTo(Protocol.H2_PRIOR_KNOWLEDGE);
+                assertThat(response.code()).isEqualTo(200);
+                assertThat(response.body().string()).isEqualTo("hello world");
+            }
+        }
+    }
+
     @Test
     void serverWithBigResponse() throws IOException {
         var data = new byte[10 * 1024 * 1024];
@@ -1092,6 +1115,10 @@ public abstract class HttpServerTestKit {
     }
 
     protected void startServer(boolean ignoreTrailingSlash, List<HttpServerInterceptor> interceptors, HttpServerRequestHandler... handlers) {
+        startServer(ignoreTrailingSlash, false, interceptors, handlers);
+    }
+
+    protected void startServer(boolean ignoreTrailingSlash, boolean http2Enabled, List<HttpServerInterceptor> interceptors, HttpServerRequestHandler... handlers) {
         var config = new HttpServerConfig_Impl(
             0,
             0,
@@ -1102,6 +1129,13 @@ public abstract class HttpServerTestKit {
             1,
             10,
             Duration.ofMillis(1),
+            http2Enabled,
+            100,
+            65535,
+            4096,
+            false,
+            0,
+            Duration.ZERO,
             new $HttpServerTelemetryConfig_ConfigValueExtractor.HttpServerTelemetryConfig_Impl(
                 new $HttpServerLoggerConfig_ConfigValueExtractor.HttpServerLoggerConfig_Impl(true, true),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
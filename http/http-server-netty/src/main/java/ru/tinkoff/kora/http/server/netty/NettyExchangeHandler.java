@@ -0,0 +1,469 @@
+package ru.tinkoff.kora.http.server.netty;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.util.ReferenceCountUtil;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.http.common.body.FileHttpBodyOutput;
+import ru.tinkoff.kora.http.server.common.HttpServer;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+import ru.tinkoff.kora.http.server.common.router.PublicApiResponse;
+import ru.tinkoff.kora.http.server.netty.request.NettyPublicApiRequest;
+import ru.tinkoff.kora.http.server.netty.request.NettyRequestHttpBody;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+
+/**
+ * Connection handler of public api server.
+ * <p>
+ * Channel is used with auto read disabled: socket is read only when there is no request in flight, or when request body subscriber has demand.
+ * Requests that were pipelined by client are queued and processed one by one after previous response is sent.
+ */
+final class NettyExchangeHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpServer.class);
+    private static final int PREFETCH_BYTES = 16 * 1024;
+
+    private final NettyPublicApiHandler handler;
+    private final String scheme;
+    private final ArrayDeque<Object> pending = new ArrayDeque<>();
+    private ChannelHandlerContext ctx;
+    @Nullable
+    private Exchange exchange;
+
+    NettyExchangeHandler(NettyPublicApiHandler handler, String scheme) {
+        this.handler = handler;
+        this.scheme = scheme;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) {
+        ctx.read();
+        ctx.fireChannelActive();
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        var exchange = this.exchange;
+        if (!this.pending.isEmpty() || (exchange != null && exchange.body.isCompleted())) {
+            this.pending.add(msg);
+            return;
+        }
+        this.handleMessage(msg);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        var exchange = this.exchange;
+        if (exchange != null) {
+            exchange.body.onError(new ClosedChannelException());
+        }
+        Object msg;
+        while ((msg = this.pending.poll()) != null) {
+            ReferenceCountUtil.release(msg);
+        }
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        log.debug("Public HTTP Server (Netty) connection error", cause);
+        ctx.close();
+    }
+
+    private void handleMessage(Object msg) {
+        if (msg instanceof HttpRequest request) {
+            if (this.exchange != null) {
+                ReferenceCountUtil.release(msg);
+                return;
+            }
+            if (request.decoderResult().isFailure()) {
+                ReferenceCountUtil.release(msg);
+                var rs = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.BAD_REQUEST, Unpooled.EMPTY_BUFFER);
+                HttpUtil.setContentLength(rs, 0);
+                this.ctx.writeAndFlush(rs).addListener(ChannelFutureListener.CLOSE);
+                return;
+            }
+            var contentLength = HttpUtil.getContentLength(request, -1L);
+            var contentType = request.headers().get(HttpHeaderNames.CONTENT_TYPE);
+            var context = Context.clear();
+            var body = new NettyRequestHttpBody(this.ctx, context, contentLength, contentType);
+            this.exchange = new Exchange(request, body, context, HttpUtil.isKeepAlive(request));
+            this.handler.requestStarted();
+            if (!(msg instanceof HttpContent)) {
+                this.ctx.read();
+                return;
+            }
+        }
+        if (msg instanceof HttpContent content) {
+            var exchange = this.exchange;
+            if (exchange == null) {
+                content.release();
+                return;
+            }
+            exchange.onContent(content);
+        } else {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    private void processPending() {
+        Object msg;
+        while ((msg = this.pending.peek()) != null) {
+            var exchange = this.exchange;
+            if (exchange != null && exchange.body.isCompleted()) {
+                return;
+            }
+            this.pending.poll();
+            this.handleMessage(msg);
+        }
+        if (this.exchange == null) {
+            this.ctx.read();
+        }
+    }
+
+    private final class Exchange {
+        private final HttpRequest request;
+        private final NettyRequestHttpBody body;
+        private final Context context;
+        private final boolean keepAlive;
+        private boolean dispatched = false;
+        private boolean discarding = false;
+        private boolean finished = false;
+
+        private Exchange(HttpRequest request, NettyRequestHttpBody body, Context context, boolean keepAlive) {
+            this.request = request;
+            this.body = body;
+            this.context = context;
+            this.keepAlive = keepAlive;
+        }
+
+        private void onContent(HttpContent content) {
+            if (this.discarding) {
+                var last = content instanceof LastHttpContent;
+                content.release();
+                if (last) {
+                    exchange = null;
+                    processPending();
+                }
+                return;
+            }
+            this.body.onContent(content);
+            if (!this.dispatched) {
+                if (this.body.isCompleted() || this.body.bufferedBytes() >= PREFETCH_BYTES) {
+                    this.dispatch();
+                } else {
+                    ctx.read();
+                }
+            }
+        }
+
+        private void dispatch() {
+            this.dispatched = true;
+            var context = this.context;
+            context.inject();
+            try {
+                var request = new NettyPublicApiRequest(this.request, scheme, this.body);
+                var response = handler.publicApiHandler().process(context, request);
+                var future = response.response();
+                if (future.isDone()) {
+                    try {
+                        var httpResponse = future.join();
+                        if (httpResponse == null) {
+                            this.sendResponse(response, HttpServerResponse.of(500), new IllegalStateException("Illegal state: response future is empty"));
+                        } else {
+                            this.sendResponse(response, httpResponse, null);
+                        }
+                    } catch (CompletionException e) {
+                        this.sendException(response, Objects.requireNonNullElse(e.getCause(), e));
+                    } catch (Throwable e) {
+                        this.sendException(response, e);
+                    }
+                    return;
+                }
+                future.whenComplete((httpResponse, throwable) -> ctx.executor().execute(() -> {
+                    if (httpResponse != null) {
+                        this.sendResponse(response, httpResponse, null);
+                    } else if (throwable instanceof CompletionException ce && ce.getCause() != null) {
+                        this.sendException(response, ce.getCause());
+                    } else if (throwable != null) {
+                        this.sendException(response, throwable);
+                    } else {
+                        this.sendResponse(response, HttpServerResponse.of(500), new IllegalStateException("Illegal state: response future is empty"));
+                    }
+                }));
+            } catch (Throwable exception) {
+                log.warn("Error dropped", exception);
+                var message = Objects.requireNonNullElse(exception.getMessage(), "no message");
+                var rs = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.INTERNAL_SERVER_ERROR, ByteBufUtil.writeUtf8(ctx.alloc(), message));
+                rs.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/plain; charset=utf-8");
+                HttpUtil.setContentLength(rs, rs.content().readableBytes());
+                ctx.writeAndFlush(rs).addListener(f -> this.finish(false));
+            }
+        }
+
+        private void sendException(PublicApiResponse response, Throwable error) {
+            if (error instanceof HttpServerResponse rs) {
+                this.sendResponse(response, rs, error);
+                return;
+            }
+            var message = Objects.requireNonNullElse(error.getMessage(), "Unknown error");
+            var rs = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.INTERNAL_SERVER_ERROR, ByteBufUtil.writeUtf8(ctx.alloc(), message));
+            rs.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/plain; charset=utf-8");
+            this.writeFull(response, rs, null, error);
+        }
+
+        private void sendResponse(PublicApiResponse response, HttpServerResponse httpResponse, @Nullable Throwable error) {
+            var status = HttpResponseStatus.valueOf(httpResponse.code());
+            var body = httpResponse.body();
+            if (body == null) {
+                var rs = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.EMPTY_BUFFER);
+                this.setHeaders(rs, httpResponse, null);
+                this.writeFull(response, rs, httpResponse.headers(), error);
+                return;
+            }
+            if (body instanceof FileHttpBodyOutput file && (this.request.method().equals(HttpMethod.HEAD) || this.canSendFile())) {
+                this.sendFile(response, httpResponse, status, file, error);
+                return;
+            }
+            var full = body.getFullContentIfAvailable();
+            if (full != null) {
+                var rs = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.wrappedBuffer(full));
+                this.setHeaders(rs, httpResponse, body.contentType());
+                this.writeFull(response, rs, httpResponse.headers(), error);
+                return;
+            }
+            var rs = new DefaultHttpResponse(HttpVersion.HTTP_1_1, status);
+            this.setHeaders(rs, httpResponse, body.contentType());
+            var contentLength = body.contentLength();
+            if (contentLength >= 0) {
+                HttpUtil.setContentLength(rs, contentLength);
+            } else {
+                HttpUtil.setTransferEncodingChunked(rs, true);
+            }
+            var subscriber = new ResponseBodySubscriber(this, response, rs, httpResponse, error);
+            if (body instanceof FileHttpBodyOutput file) {
+                file.subscribe(subscriber, handler.blockingExecutor());
+            } else {
+                body.subscribe(subscriber);
+            }
+        }
+
+        /**
+         * File region can only be written to HTTP/1.1 connection, HTTP/2 streams read file on blocking executor as any other body
+         */
+        private boolean canSendFile() {
+            return !(ctx.channel() instanceof Http2StreamChannel);
+        }
+
+        /**
+         * HEAD responses only send headers, so file is never opened for them
+         */
+        private void sendFile(PublicApiResponse response, HttpServerResponse httpResponse, HttpResponseStatus status, FileHttpBodyOutput file, @Nullable Throwable error) {
+            FileChannel channel;
+            if (this.request.method().equals(HttpMethod.HEAD)) {
+                file.close();
+                channel = null;
+            } else {
+                try {
+                    channel = file.open();
+                } catch (IOException e) {
+                    this.sendException(response, e);
+                    return;
+                }
+            }
+            var rs = new DefaultHttpResponse(HttpVersion.HTTP_1_1, status);
+            this.setHeaders(rs, httpResponse, file.contentType());
+            HttpUtil.setContentLength(rs, file.contentLength());
+            var code = status.code();
+            ctx.write(rs);
+            if (channel != null) {
+                ctx.write(new DefaultFileRegion(channel, file.position(), file.contentLength())).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+            }
+            ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(f -> {
+                if (f.isSuccess()) {
+                    response.closeSendResponseSuccess(code, httpResponse.headers(), error);
+                    this.finish(this.keepAlive());
+                } else {
+                    response.closeConnectionError(code, error == null ? f.cause() : error);
+                    this.finish(false);
+                }
+            });
+        }
+
+        private void setHeaders(HttpResponse rs, HttpServerResponse httpResponse, @Nullable String contentType) {
+            var nettyHeaders = rs.headers();
+            for (var header : httpResponse.headers()) {
+                var key = header.getKey();
+                if (key.equals("server") || key.equals("content-length") || key.equals("transfer-encoding") || key.equals("connection")) {
+                    continue;
+                }
+                if (key.equals("content-type") && contentType != null) {
+                    continue;
+                }
+                nettyHeaders.add(key, header.getValue());
+            }
+            var tracer = handler.tracer();
+            if (tracer != null) {
+                tracer.inject(this.context, nettyHeaders, (carrier, key, value) -> carrier.add(key, value));
+            }
+            nettyHeaders.set(HttpHeaderNames.SERVER, "kora/netty");
+            if (contentType != null) {
+                nettyHeaders.set(HttpHeaderNames.CONTENT_TYPE, contentType);
+            }
+            HttpUtil.setKeepAlive(rs, this.keepAlive());
+        }
+
+        private boolean keepAlive() {
+            return this.keepAlive && !handler.isShutdown();
+        }
+
+        private void writeFull(PublicApiResponse response, FullHttpResponse rs, @Nullable ru.tinkoff.kora.http.common.header.HttpHeaders headers, @Nullable Throwable error) {
+            var code = rs.status().code();
+            HttpUtil.setContentLength(rs, rs.content().readableBytes());
+            ctx.writeAndFlush(rs).addListener(f -> {
+                if (f.isSuccess()) {
+                    response.closeSendResponseSuccess(code, headers, error);
+                    this.finish(this.keepAlive());
+                } else {
+                    response.closeConnectionError(code, error == null ? f.cause() : error);
+                    this.finish(false);
+                }
+            });
+        }
+
+        private void finish(boolean keepAlive) {
+            if (this.finished) {
+                return;
+            }
+            this.finished = true;
+            handler.requestFinished();
+            this.body.release();
+            if (!keepAlive || !ctx.channel().isActive()) {
+                ctx.close();
+                return;
+            }
+            if (!this.body.isCompleted()) {
+                this.discarding = true;
+                ctx.read();
+                return;
+            }
+            exchange = null;
+            processPending();
+        }
+    }
+
+    private final class ResponseBodySubscriber implements Flow.Subscriber<ByteBuffer> {
+        private final Exchange exchange;
+        private final PublicApiResponse response;
+        private final HttpResponse head;
+        private final HttpServerResponse httpResponse;
+        @Nullable
+        private final Throwable error;
+        private volatile Flow.Subscription subscription;
+        private boolean headSent = false;
+
+        private ResponseBodySubscriber(Exchange exchange, PublicApiResponse response, HttpResponse head, HttpServerResponse httpResponse, @Nullable Throwable error) {
+            this.exchange = exchange;
+            this.response = response;
+            this.head = head;
+            this.httpResponse = httpResponse;
+            this.error = error;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            this.subscription = s;
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            this.onEventLoop(() -> {
+                this.sendHead();
+                ctx.writeAndFlush(new DefaultHttpContent(Unpooled.wrappedBuffer(byteBuffer))).addListener(f -> {
+                    if (f.isSuccess()) {
+                        this.subscription.request(1);
+                    } else {
+                        this.subscription.cancel();
+                        this.response.closeConnectionError(this.head.status().code(), this.error == null ? f.cause() : this.error);
+                        this.exchange.finish(false);
+                    }
+                });
+            });
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            this.onEventLoop(() -> {
+                if (this.headSent) {
+                    this.response.closeBodyError(this.head.status().code(), this.error == null ? t : this.error);
+                    this.exchange.finish(false);
+                    return;
+                }
+                var message = Objects.requireNonNullElse(t.getMessage(), "Unknown error");
+                var rs = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.INTERNAL_SERVER_ERROR, ByteBufUtil.writeUtf8(ctx.alloc(), message));
+                rs.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/plain");
+                HttpUtil.setContentLength(rs, rs.content().readableBytes());
+                ctx.writeAndFlush(rs).addListener(f -> {
+                    this.response.closeBodyError(500, this.error == null ? t : this.error);
+                    this.exchange.finish(false);
+                });
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            this.onEventLoop(() -> {
+                this.sendHead();
+                var code = this.head.status().code();
+                ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(f -> {
+                    if (f.isSuccess()) {
+                        this.response.closeSendResponseSuccess(code, this.httpResponse.headers(), this.error);
+                        this.exchange.finish(this.exchange.keepAlive());
+                    } else {
+                        this.response.closeConnectionError(code, this.error == null ? f.cause() : this.error);
+                        this.exchange.finish(false);
+                    }
+                });
+            });
+        }
+
+        private void sendHead() {
+            if (!this.headSent) {
+                this.headSent = true;
+                ctx.write(this.head);
+            }
+        }
+
+        private void onEventLoop(Runnable runnable) {
+            var executor = ctx.executor();
+            if (executor.inEventLoop()) {
+                runnable.run();
+            } else {
+                executor.execute(runnable);
+            }
+        }
+    }
+}
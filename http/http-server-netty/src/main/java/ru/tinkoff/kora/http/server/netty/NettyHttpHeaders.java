@@ -0,0 +1,73 @@
+package ru.tinkoff.kora.http.server.netty;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.common.header.AbstractHttpHeaders;
+import ru.tinkoff.kora.http.common.header.HttpHeaders;
+
+import java.util.*;
+
+public class NettyHttpHeaders extends AbstractHttpHeaders implements HttpHeaders {
+    private final io.netty.handler.codec.http.HttpHeaders headers;
+
+    public NettyHttpHeaders(io.netty.handler.codec.http.HttpHeaders headers) {
+        this.headers = headers;
+    }
+
+    @Nullable
+    @Override
+    public String getFirst(String headerName) {
+        return this.headers.get(headerName);
+    }
+
+    @Override
+    public List<String> getAll(String headerName) {
+        var headers = this.headers.getAll(headerName);
+        if (headers.isEmpty()) {
+            return null;
+        }
+        return headers;
+    }
+
+    @Override
+    public boolean has(String headerName) {
+        return this.headers.contains(headerName);
+    }
+
+    @Override
+    public int size() {
+        return this.headers.names().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.headers.isEmpty();
+    }
+
+    @Override
+    public Set<String> names() {
+        var names = new HashSet<String>();
+        for (var headerName : this.headers.names()) {
+            names.add(headerName.toLowerCase());
+        }
+        return names;
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<Map.Entry<String, List<String>>> iterator() {
+        var i = this.headers.names().iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return i.hasNext();
+            }
+
+            @Override
+            public Map.Entry<String, List<String>> next() {
+                var name = i.next();
+                return Map.entry(name.toLowerCase(), headers.getAll(name));
+            }
+        };
+    }
+}
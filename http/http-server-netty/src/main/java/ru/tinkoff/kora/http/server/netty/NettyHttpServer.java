@@ -0,0 +1,136 @@
+package ru.tinkoff.kora.http.server.netty;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.common.readiness.ReadinessProbe;
+import ru.tinkoff.kora.common.readiness.ReadinessProbeFailure;
+import ru.tinkoff.kora.common.util.TimeUtils;
+import ru.tinkoff.kora.http.server.common.HttpServer;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+import ru.tinkoff.kora.logging.common.arg.StructuredArgument;
+import ru.tinkoff.kora.netty.common.NettyChannelFactory;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class NettyHttpServer implements HttpServer, ReadinessProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(NettyHttpServer.class);
+
+    private final AtomicReference<HttpServerState> state = new AtomicReference<>(HttpServerState.INIT);
+    private final ValueOf<HttpServerConfig> config;
+    private final ValueOf<NettyPublicApiHandler> publicApiHandler;
+    private final EventLoopGroup bossGroup;
+    private final EventLoopGroup workerGroup;
+    private final NettyChannelFactory channelFactory;
+    private final ChannelGroup channels = new DefaultChannelGroup("kora-netty-public", GlobalEventExecutor.INSTANCE);
+
+    private volatile Channel serverChannel;
+
+    public NettyHttpServer(ValueOf<HttpServerConfig> config,
+                           ValueOf<NettyPublicApiHandler> publicApiHandler,
+                           EventLoopGroup bossGroup,
+                           EventLoopGroup workerGroup,
+                           NettyChannelFactory channelFactory) {
+        this.config = config;
+        this.publicApiHandler = publicApiHandler;
+        this.bossGroup = bossGroup;
+        this.workerGroup = workerGroup;
+        this.channelFactory = channelFactory;
+    }
+
+    @Override
+    public void release() throws InterruptedException {
+        logger.debug("Public HTTP Server (Netty) stopping...");
+        this.state.set(HttpServerState.SHUTDOWN);
+        try {
+            Thread.sleep(this.config.get().shutdownWait().toMillis());
+        } catch (InterruptedException e) {
+            // ignore
+        }
+        final long started = TimeUtils.started();
+        var handler = this.publicApiHandler.get();
+        handler.shutdown();
+        var serverChannel = this.serverChannel;
+        if (serverChannel != null) {
+            serverChannel.close().sync();
+            this.serverChannel = null;
+        }
+        logger.debug("Public HTTP Server (Netty) awaiting graceful shutdown...");
+        var deadline = System.nanoTime() + this.config.get().shutdownRequestsWait().toNanos();
+        while (handler.activeRequests() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                logger.warn("Public HTTP Server (Netty) still has {} active requests after graceful shutdown timeout, closing connections", handler.activeRequests());
+                break;
+            }
+            Thread.sleep(10);
+        }
+        this.channels.close().sync();
+        logger.info("Public HTTP Server (Netty) stopped in {}", TimeUtils.tookForLogging(started));
+    }
+
+    @Override
+    public void init() throws InterruptedException {
+        logger.debug("Public HTTP Server (Netty) starting...");
+        final long started = TimeUtils.started();
+        this.serverChannel = this.createServer()
+            .bind(this.config.get().publicApiHttpPort())
+            .sync()
+            .channel();
+        this.state.set(HttpServerState.RUN);
+        var data = StructuredArgument.marker("port", this.port());
+        logger.info(data, "Public HTTP Server (Netty) started in {}", TimeUtils.tookForLogging(started));
+    }
+
+    private ServerBootstrap createServer() {
+        var config = this.config.get();
+        var handler = this.publicApiHandler.get();
+        var channels = this.channels;
+        return new ServerBootstrap()
+            .group(this.bossGroup, this.workerGroup)
+            .channelFactory(this.channelFactory.getServerFactory())
+            .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .childOption(ChannelOption.AUTO_READ, false)
+            .childOption(ChannelOption.TCP_NODELAY, true)
+            .childHandler(new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    channels.add(ch);
+                    NettyPipelines.init(ch, config, "http", handler.metrics(), true, p -> p.addLast("kora-handler", handler.newChannelHandler("http")));
+                }
+            });
+    }
+
+    @Override
+    public int port() {
+        var serverChannel = this.serverChannel;
+        if (serverChannel == null) {
+            return -1;
+        }
+        var address = (InetSocketAddress) serverChannel.localAddress();
+        return address.getPort();
+    }
+
+    @Override
+    public ReadinessProbeFailure probe() {
+        return switch (this.state.get()) {
+            case INIT -> new ReadinessProbeFailure("Public HTTP Server (Netty) init");
+            case RUN -> null;
+            case SHUTDOWN -> new ReadinessProbeFailure("Public HTTP Server (Netty) shutdown");
+        };
+    }
+
+    private enum HttpServerState {
+        INIT, RUN, SHUTDOWN
+    }
+}
@@ -0,0 +1,75 @@
+package ru.tinkoff.kora.http.server.netty;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.application.graph.LifecycleWrapper;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.common.DefaultComponent;
+import ru.tinkoff.kora.common.Tag;
+import ru.tinkoff.kora.common.annotation.Root;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+import ru.tinkoff.kora.http.server.common.handler.BlockingRequestExecutor;
+import ru.tinkoff.kora.http.server.common.handler.VirtualThreadBlockingRequestExecutor;
+import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetricsFactory;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTracerFactory;
+import ru.tinkoff.kora.netty.common.NettyChannelFactory;
+import ru.tinkoff.kora.netty.common.NettyCommonModule;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public interface NettyHttpServerModule extends NettyModule {
+
+    default NettyPublicApiHandler nettyPublicApiHandler(PublicApiHandler publicApiHandler,
+                                                        @Nullable HttpServerTracerFactory tracerFactory,
+                                                        @Nullable HttpServerMetricsFactory metricsFactory,
+                                                        HttpServerConfig config,
+                                                        BlockingRequestExecutor blockingRequestExecutor) {
+        var tracer = tracerFactory == null ? null : tracerFactory.get(config.telemetry().tracing());
+        var metrics = metricsFactory == null || !config.http2Enabled() ? null : metricsFactory.get(config.telemetry().metrics());
+        Executor blockingExecutor = r -> blockingRequestExecutor.execute(Context.current(), () -> {
+            r.run();
+            return null;
+        });
+        return new NettyPublicApiHandler(publicApiHandler, tracer, metrics, blockingExecutor);
+    }
+
+    @Root
+    default NettyHttpServer nettyHttpServer(ValueOf<HttpServerConfig> config,
+                                            ValueOf<NettyPublicApiHandler> handler,
+                                            @Tag(NettyCommonModule.BossLoopGroup.class) EventLoopGroup bossGroup,
+                                            @Tag(NettyCommonModule.WorkerLoopGroup.class) EventLoopGroup workerGroup,
+                                            NettyChannelFactory channelFactory) {
+        return new NettyHttpServer(config, handler, bossGroup, workerGroup, channelFactory);
+    }
+
+    @Tag(NettyHttpServer.class)
+    default LifecycleWrapper<ExecutorService> nettyBlockingExecutorService(HttpServerConfig config) {
+        return new LifecycleWrapper<>(
+            Executors.newFixedThreadPool(config.blockingThreads(), new DefaultThreadFactory("kora-netty-blocking", true)),
+            e -> {},
+            e -> {
+                e.shutdown();
+                if (!e.awaitTermination(config.shutdownWait().toMillis(), TimeUnit.MILLISECONDS)) {
+                    e.shutdownNow();
+                }
+            }
+        );
+    }
+
+    @DefaultComponent
+    default BlockingRequestExecutor nettyBlockingRequestExecutor(@Tag(NettyHttpServer.class) ExecutorService executorService,
+                                                                 HttpServerConfig config,
+                                                                 @Nullable HttpServerMetricsFactory metricsFactory) {
+        if (config.blockingVirtualThreads()) {
+            var metrics = metricsFactory == null ? null : metricsFactory.get(config.telemetry().metrics());
+            return VirtualThreadBlockingRequestExecutor.of(config, metrics);
+        }
+        return new BlockingRequestExecutor.Default(executorService);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.tinkoff.kora.http.server.netty;
+
+import io.netty.channel.EventLoopGroup;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.common.Tag;
+import ru.tinkoff.kora.common.annotation.Root;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+import ru.tinkoff.kora.http.server.common.HttpServerModule;
+import ru.tinkoff.kora.http.server.common.PrivateApiHandler;
+import ru.tinkoff.kora.netty.common.NettyChannelFactory;
+import ru.tinkoff.kora.netty.common.NettyCommonModule;
+
+public interface NettyModule extends HttpServerModule, NettyCommonModule {
+
+    default NettyPrivateApiHandler nettyPrivateApiHandler(PrivateApiHandler privateApiHandler) {
+        return new NettyPrivateApiHandler(privateApiHandler);
+    }
+
+    @Root
+    default NettyPrivateHttpServer nettyPrivateHttpServer(ValueOf<HttpServerConfig> configValue,
+                                                          ValueOf<NettyPrivateApiHandler> privateApiHandler,
+                                                          @Tag(NettyCommonModule.BossLoopGroup.class) EventLoopGroup bossGroup,
+                                                          @Tag(NettyCommonModule.WorkerLoopGroup.class) EventLoopGroup workerGroup,
+                                                          NettyChannelFactory channelFactory) {
+        return new NettyPrivateHttpServer(configValue, privateApiHandler, bossGroup, workerGroup, channelFactory);
+    }
+}
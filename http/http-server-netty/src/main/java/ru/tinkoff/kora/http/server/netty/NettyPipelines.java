@@ -0,0 +1,92 @@
+package ru.tinkoff.kora.http.server.netty;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.*;
+import io.netty.util.AsciiString;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetrics;
+
+import java.util.function.Consumer;
+
+/**
+ * Builds connection pipelines: plain HTTP/1.1 or cleartext HTTP/2 (prior knowledge and HTTP/1.1 Upgrade) with fallback to HTTP/1.1.
+ * <p>
+ * HTTP/2 streams are converted to HTTP/1.1 objects, so the same exchange handlers serve both protocols, every stream gets its own handlers.
+ */
+final class NettyPipelines {
+    private static final int MAX_UPGRADE_CONTENT_LENGTH = 64 * 1024;
+
+    private NettyPipelines() {}
+
+    /**
+     * @param exchangeHandlers adds handlers consuming {@link io.netty.handler.codec.http.HttpObject} to the connection or stream pipeline
+     * @param manualRead       exchange handlers request reads themselves, so auto read is disabled for HTTP/2 streams
+     */
+    static void init(Channel channel, HttpServerConfig config, String scheme, @Nullable HttpServerMetrics metrics, boolean manualRead, Consumer<ChannelPipeline> exchangeHandlers) {
+        var pipeline = channel.pipeline();
+        if (!config.http2Enabled()) {
+            pipeline.addLast("http-codec", new HttpServerCodec());
+            exchangeHandlers.accept(pipeline);
+            return;
+        }
+        var settings = Http2Settings.defaultSettings()
+            .maxConcurrentStreams(config.http2MaxConcurrentStreams())
+            .initialWindowSize(config.http2InitialWindowSize())
+            .headerTableSize(config.http2HeaderTableSize());
+        var sourceCodec = new HttpServerCodec();
+        var upgradeHandler = new HttpServerUpgradeHandler(sourceCodec, protocol -> {
+            if (!AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)) {
+                return null;
+            }
+            return new Http2ServerUpgradeCodec(frameCodec(settings), multiplexHandler(scheme, metrics, manualRead, exchangeHandlers)) {
+                @Override
+                public void upgradeTo(ChannelHandlerContext ctx, FullHttpRequest upgradeRequest) {
+                    super.upgradeTo(ctx, upgradeRequest);
+                    // flow control is done per stream from now on
+                    ctx.channel().config().setAutoRead(true);
+                }
+            };
+        }, MAX_UPGRADE_CONTENT_LENGTH);
+        var priorKnowledge = new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ch.pipeline().addAfter(ch.pipeline().context(this).name(), "http2-multiplex", multiplexHandler(scheme, metrics, manualRead, exchangeHandlers));
+                ch.pipeline().addAfter(ch.pipeline().context(this).name(), "http2-codec", frameCodec(settings));
+                ch.config().setAutoRead(true);
+            }
+        };
+        pipeline.addLast("http-codec", new CleartextHttp2ServerUpgradeHandler(sourceCodec, upgradeHandler, priorKnowledge));
+        exchangeHandlers.accept(pipeline);
+    }
+
+    private static Http2FrameCodec frameCodec(Http2Settings settings) {
+        return Http2FrameCodecBuilder.forServer()
+            .initialSettings(settings)
+            .build();
+    }
+
+    private static Http2MultiplexHandler multiplexHandler(String scheme, @Nullable HttpServerMetrics metrics, boolean manualRead, Consumer<ChannelPipeline> exchangeHandlers) {
+        return new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+            @Override
+            protected void initChannel(Http2StreamChannel ch) {
+                if (manualRead) {
+                    ch.config().setAutoRead(false);
+                }
+                if (metrics != null) {
+                    var started = System.nanoTime();
+                    metrics.http2StreamStarted(scheme);
+                    ch.closeFuture().addListener(f -> metrics.http2StreamFinished(scheme, System.nanoTime() - started));
+                }
+                ch.pipeline().addLast("http2-stream-codec", new Http2StreamFrameToHttpObjectCodec(true));
+                exchangeHandlers.accept(ch.pipeline());
+            }
+        });
+    }
+}
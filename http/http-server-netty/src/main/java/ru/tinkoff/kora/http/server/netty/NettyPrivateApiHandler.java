@@ -0,0 +1,76 @@
+package ru.tinkoff.kora.http.server.netty;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.*;
+import ru.tinkoff.kora.common.util.FlowUtils;
+import ru.tinkoff.kora.http.server.common.PrivateApiHandler;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+@ChannelHandler.Sharable
+public class NettyPrivateApiHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+    private final PrivateApiHandler privateApiHandler;
+
+    public NettyPrivateApiHandler(PrivateApiHandler privateApiHandler) {
+        this.privateApiHandler = privateApiHandler;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+        var keepAlive = HttpUtil.isKeepAlive(request);
+        this.privateApiHandler.handle(request.uri())
+            .thenCompose(NettyPrivateApiHandler::readBody)
+            .whenComplete((response, error) -> {
+                final FullHttpResponse rs;
+                if (error != null) {
+                    var message = Objects.requireNonNullElse(error.getMessage(), "Unknown error");
+                    rs = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.INTERNAL_SERVER_ERROR, ByteBufUtil.writeUtf8(ctx.alloc(), message));
+                } else {
+                    rs = response;
+                }
+                HttpUtil.setContentLength(rs, rs.content().readableBytes());
+                HttpUtil.setKeepAlive(rs, keepAlive);
+                var future = ctx.writeAndFlush(rs);
+                if (!keepAlive) {
+                    future.addListener(ChannelFutureListener.CLOSE);
+                }
+            });
+    }
+
+    private static CompletionStage<FullHttpResponse> readBody(HttpServerResponse response) {
+        if (response == null) {
+            return CompletableFuture.completedFuture(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.INTERNAL_SERVER_ERROR, Unpooled.EMPTY_BUFFER));
+        }
+        var status = HttpResponseStatus.valueOf(response.code());
+        var body = response.body();
+        if (body == null) {
+            return CompletableFuture.completedFuture(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.EMPTY_BUFFER));
+        }
+        var full = body.getFullContentIfAvailable();
+        final CompletionStage<ByteBuffer> content = full != null
+            ? CompletableFuture.completedFuture(full)
+            : FlowUtils.toByteBufferFuture(body);
+        return content.thenApply(buffer -> {
+            try {
+                body.close();
+            } catch (Exception ignore) {
+            }
+            var rs = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.wrappedBuffer(buffer));
+            var contentType = body.contentType();
+            if (contentType != null) {
+                rs.headers().set(HttpHeaderNames.CONTENT_TYPE, contentType);
+            }
+            return rs;
+        });
+    }
+}
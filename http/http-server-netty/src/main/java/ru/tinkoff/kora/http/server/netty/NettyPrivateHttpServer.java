@@ -0,0 +1,104 @@
+package ru.tinkoff.kora.http.server.netty;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.common.util.TimeUtils;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+import ru.tinkoff.kora.http.server.common.PrivateHttpServer;
+import ru.tinkoff.kora.logging.common.arg.StructuredArgument;
+import ru.tinkoff.kora.netty.common.NettyChannelFactory;
+
+import java.net.InetSocketAddress;
+
+public class NettyPrivateHttpServer implements PrivateHttpServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(NettyPrivateHttpServer.class);
+    private static final int MAX_REQUEST_SIZE = 64 * 1024;
+
+    private final ValueOf<HttpServerConfig> config;
+    private final ValueOf<NettyPrivateApiHandler> privateApiHandler;
+    private final EventLoopGroup bossGroup;
+    private final EventLoopGroup workerGroup;
+    private final NettyChannelFactory channelFactory;
+    private final ChannelGroup channels = new DefaultChannelGroup("kora-netty-private", GlobalEventExecutor.INSTANCE);
+
+    private volatile Channel serverChannel;
+
+    public NettyPrivateHttpServer(ValueOf<HttpServerConfig> config,
+                                  ValueOf<NettyPrivateApiHandler> privateApiHandler,
+                                  EventLoopGroup bossGroup,
+                                  EventLoopGroup workerGroup,
+                                  NettyChannelFactory channelFactory) {
+        this.config = config;
+        this.privateApiHandler = privateApiHandler;
+        this.bossGroup = bossGroup;
+        this.workerGroup = workerGroup;
+        this.channelFactory = channelFactory;
+    }
+
+    @Override
+    public void release() throws InterruptedException {
+        var serverChannel = this.serverChannel;
+        if (serverChannel != null) {
+            logger.debug("Private HTTP Server (Netty) stopping...");
+            try {
+                Thread.sleep(this.config.get().shutdownWait().toMillis());
+            } catch (InterruptedException e) {
+                // ignore
+            }
+            final long started = TimeUtils.started();
+            serverChannel.close().sync();
+            this.channels.close().sync();
+            this.serverChannel = null;
+            logger.info("Private HTTP Server (Netty) stopped in {}", TimeUtils.tookForLogging(started));
+        }
+    }
+
+    @Override
+    public void init() throws InterruptedException {
+        logger.debug("Private HTTP Server (Netty) starting...");
+        final long started = TimeUtils.started();
+        var config = this.config.get();
+        var handler = this.privateApiHandler.get();
+        var channels = this.channels;
+        this.serverChannel = new ServerBootstrap()
+            .group(this.bossGroup, this.workerGroup)
+            .channelFactory(this.channelFactory.getServerFactory())
+            .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .childHandler(new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    channels.add(ch);
+                    NettyPipelines.init(ch, config, "http", null, false, p -> p
+                        .addLast("http-aggregator", new HttpObjectAggregator(MAX_REQUEST_SIZE))
+                        .addLast("kora-handler", handler));
+                }
+            })
+            .bind(config.privateApiHttpPort())
+            .sync()
+            .channel();
+        var data = StructuredArgument.marker("port", this.port());
+        logger.info(data, "Private HTTP Server (Netty) started in {}", TimeUtils.tookForLogging(started));
+    }
+
+    @Override
+    public int port() {
+        var serverChannel = this.serverChannel;
+        if (serverChannel == null) {
+            return -1;
+        }
+        var address = (InetSocketAddress) serverChannel.localAddress();
+        return address.getPort();
+    }
+}
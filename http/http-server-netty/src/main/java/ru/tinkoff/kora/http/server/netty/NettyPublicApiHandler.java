@@ -0,0 +1,87 @@
+package ru.tinkoff.kora.http.server.netty;
+
+import io.netty.channel.ChannelHandler;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetrics;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTracer;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class NettyPublicApiHandler {
+
+    private final PublicApiHandler publicApiHandler;
+    @Nullable
+    private final HttpServerTracer tracer;
+    @Nullable
+    private final HttpServerMetrics metrics;
+    @Nullable
+    private final Executor blockingExecutor;
+    private final AtomicInteger activeRequests = new AtomicInteger(0);
+    private volatile boolean shutdown = false;
+
+    public NettyPublicApiHandler(PublicApiHandler publicApiHandler, @Nullable HttpServerTracer tracer) {
+        this(publicApiHandler, tracer, null);
+    }
+
+    public NettyPublicApiHandler(PublicApiHandler publicApiHandler, @Nullable HttpServerTracer tracer, @Nullable HttpServerMetrics metrics) {
+        this(publicApiHandler, tracer, metrics, null);
+    }
+
+    /**
+     * @param blockingExecutor reads files of responses that can't be sent with sendfile, event loop is used when null
+     */
+    public NettyPublicApiHandler(PublicApiHandler publicApiHandler, @Nullable HttpServerTracer tracer, @Nullable HttpServerMetrics metrics, @Nullable Executor blockingExecutor) {
+        this.publicApiHandler = publicApiHandler;
+        this.tracer = tracer;
+        this.metrics = metrics;
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    public ChannelHandler newChannelHandler(String scheme) {
+        return new NettyExchangeHandler(this, scheme);
+    }
+
+    PublicApiHandler publicApiHandler() {
+        return this.publicApiHandler;
+    }
+
+    @Nullable
+    HttpServerTracer tracer() {
+        return this.tracer;
+    }
+
+    @Nullable
+    HttpServerMetrics metrics() {
+        return this.metrics;
+    }
+
+    @Nullable
+    Executor blockingExecutor() {
+        return this.blockingExecutor;
+    }
+
+    void requestStarted() {
+        this.activeRequests.incrementAndGet();
+    }
+
+    void requestFinished() {
+        this.activeRequests.decrementAndGet();
+    }
+
+    /**
+     * After shutdown all responses are sent with <code>Connection: close</code> so keep-alive connections are drained
+     */
+    void shutdown() {
+        this.shutdown = true;
+    }
+
+    boolean isShutdown() {
+        return this.shutdown;
+    }
+
+    int activeRequests() {
+        return this.activeRequests.get();
+    }
+}
@@ -0,0 +1,123 @@
+package ru.tinkoff.kora.http.server.netty.request;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import ru.tinkoff.kora.http.common.body.HttpBodyInput;
+import ru.tinkoff.kora.http.common.header.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.router.PublicApiRequest;
+import ru.tinkoff.kora.http.server.netty.NettyHttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Predicate;
+
+public class NettyPublicApiRequest implements PublicApiRequest {
+    private final HttpRequest request;
+    private final String scheme;
+    private final String method;
+    private final String path;
+    private final NettyHttpHeaders headers;
+    private final HttpBodyInput body;
+    private final QueryStringDecoder decoder;
+
+    public NettyPublicApiRequest(HttpRequest request, String scheme, HttpBodyInput body) {
+        this.request = request;
+        this.scheme = scheme;
+        this.method = request.method().name();
+        this.decoder = new QueryStringDecoder(request.uri());
+        this.path = decodePath(this.decoder.rawPath());
+        this.headers = new NettyHttpHeaders(request.headers());
+        this.body = body;
+    }
+
+    @Override
+    public String method() {
+        return this.method;
+    }
+
+    @Override
+    public String path() {
+        return this.path;
+    }
+
+    @Override
+    public String hostName() {
+        var host = this.request.headers().get(HttpHeaderNames.HOST);
+        if (host == null) {
+            return "";
+        }
+        var portIndex = host.lastIndexOf(':');
+        if (portIndex > 0 && host.indexOf(']') < portIndex) {
+            return host.substring(0, portIndex);
+        }
+        return host;
+    }
+
+    @Override
+    public String scheme() {
+        return this.scheme;
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return this.headers;
+    }
+
+    @Override
+    public Map<String, ? extends Collection<String>> queryParams() {
+        var decoded = this.decoder.parameters();
+        var queryParams = new HashMap<String, List<String>>(decoded.size());
+        for (var entry : decoded.entrySet()) {
+            var value = entry.getValue().stream()
+                .filter(Predicate.not(String::isEmpty))
+                .toList();
+            queryParams.put(entry.getKey(), value);
+        }
+        return Map.copyOf(queryParams);
+    }
+
+    @Override
+    public HttpBodyInput body() {
+        return this.body;
+    }
+
+    /**
+     * Decodes percent encoded path the same way other servers do: encoded slash (%2F) is kept as is to not change path segments
+     */
+    static String decodePath(String rawPath) {
+        var index = rawPath.indexOf('%');
+        if (index < 0) {
+            return rawPath;
+        }
+        var bytes = new ByteArrayOutputStream(rawPath.length());
+        var builder = new StringBuilder(rawPath.length());
+        builder.append(rawPath, 0, index);
+        for (int i = index; i < rawPath.length(); i++) {
+            var c = rawPath.charAt(i);
+            if (c == '%' && i + 2 < rawPath.length() && !isEncodedSlash(rawPath, i)) {
+                var hi = Character.digit(rawPath.charAt(i + 1), 16);
+                var lo = Character.digit(rawPath.charAt(i + 2), 16);
+                if (hi >= 0 && lo >= 0) {
+                    bytes.write((hi << 4) + lo);
+                    i += 2;
+                    continue;
+                }
+            }
+            if (bytes.size() > 0) {
+                builder.append(bytes.toString(StandardCharsets.UTF_8));
+                bytes.reset();
+            }
+            builder.append(c);
+        }
+        if (bytes.size() > 0) {
+            builder.append(bytes.toString(StandardCharsets.UTF_8));
+        }
+        return builder.toString();
+    }
+
+    private static boolean isEncodedSlash(String path, int index) {
+        return path.charAt(index + 1) == '2' && (path.charAt(index + 2) == 'F' || path.charAt(index + 2) == 'f');
+    }
+}
@@ -0,0 +1,281 @@
+package ru.tinkoff.kora.http.server.netty.request;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.LastHttpContent;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.http.common.body.HttpBodyInput;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Request body that reads {@link ByteBuf} from the socket only when subscriber has demand.
+ * <p>
+ * Emitted chunks are {@link ByteBuf#nioBuffer()} views of socket reads without copying. Each view stays valid until subscriber
+ * requests more, cancels or the exchange is finished, so subscriber should consume or copy it before calling {@link Flow.Subscription#request(long)} again.
+ * Subscribers with unbounded demand keep the whole body in netty buffers until the exchange is finished.
+ * Fully received body is copied to heap once by {@link #getFullContentIfAvailable()} and {@link #asArrayStage()}, as it is released with the exchange.
+ * All state is modified on the channel event loop only.
+ */
+public final class NettyRequestHttpBody implements HttpBodyInput {
+    private final ChannelHandlerContext ctx;
+    private final Context context;
+    private final long contentLength;
+    @Nullable
+    private final String contentType;
+
+    private final ArrayDeque<ByteBuf> queue = new ArrayDeque<>();
+    // buffers backing views passed to subscriber, released on its next request
+    private final ArrayDeque<ByteBuf> emitted = new ArrayDeque<>();
+    private int bufferedBytes = 0;
+    private volatile boolean completed = false;
+    @Nullable
+    private Throwable error;
+    @Nullable
+    private Flow.Subscriber<? super ByteBuffer> subscriber;
+    private boolean subscribed = false;
+    private long demand = 0;
+    private boolean released = false;
+
+    public NettyRequestHttpBody(ChannelHandlerContext ctx, Context context, long contentLength, @Nullable String contentType) {
+        this.ctx = ctx;
+        this.context = context;
+        this.contentLength = contentLength;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return this.contentLength;
+    }
+
+    @Nullable
+    @Override
+    public String contentType() {
+        return this.contentType;
+    }
+
+    @Nullable
+    @Override
+    public ByteBuffer getFullContentIfAvailable() {
+        if (!this.completed || this.subscribed || this.released) {
+            return null;
+        }
+        return ByteBuffer.wrap(this.copyQueue());
+    }
+
+    @Override
+    public CompletionStage<byte[]> asArrayStage() {
+        if (this.completed && !this.subscribed && !this.released) {
+            return CompletableFuture.completedFuture(this.copyQueue());
+        }
+        return HttpBodyInput.super.asArrayStage();
+    }
+
+    private byte[] copyQueue() {
+        var result = new byte[this.bufferedBytes];
+        var position = 0;
+        for (var buf : this.queue) {
+            var length = buf.readableBytes();
+            buf.getBytes(buf.readerIndex(), result, position, length);
+            position += length;
+        }
+        return result;
+    }
+
+    @Override
+    public CompletionStage<ByteBuffer> asBufferStage() {
+        var full = this.getFullContentIfAvailable();
+        if (full != null) {
+            return CompletableFuture.completedFuture(full);
+        }
+        return HttpBodyInput.super.asBufferStage();
+    }
+
+    @Nullable
+    @Override
+    public InputStream asInputStream() {
+        if (this.ctx.executor().inEventLoop()) {
+            // blocking read on event loop would never complete
+            return null;
+        }
+        return HttpBodyInput.super.asInputStream();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        var executor = this.ctx.executor();
+        if (executor.inEventLoop()) {
+            this.doSubscribe(subscriber);
+        } else {
+            executor.execute(() -> this.doSubscribe(subscriber));
+        }
+    }
+
+    @Override
+    public void close() {
+        var executor = this.ctx.executor();
+        if (executor.inEventLoop()) {
+            this.cancel();
+        } else {
+            executor.execute(this::cancel);
+        }
+    }
+
+    public boolean isCompleted() {
+        return this.completed;
+    }
+
+    public int bufferedBytes() {
+        return this.bufferedBytes;
+    }
+
+    /**
+     * Called on event loop with content that is owned by body from now on
+     */
+    public void onContent(HttpContent content) {
+        var buf = content.content();
+        if (this.released || (this.subscribed && this.subscriber == null) || !buf.isReadable()) {
+            buf.release();
+        } else {
+            this.queue.add(buf);
+            this.bufferedBytes += buf.readableBytes();
+        }
+        if (content instanceof LastHttpContent) {
+            this.completed = true;
+        }
+        this.drain();
+    }
+
+    /**
+     * Called on event loop when connection was closed before body was completely received
+     */
+    public void onError(Throwable error) {
+        if (this.completed) {
+            return;
+        }
+        this.error = error;
+        this.completed = true;
+        this.drain();
+    }
+
+    /**
+     * Called on event loop when exchange is finished, buffers emitted to subscriber become invalid after that
+     */
+    public void release() {
+        if (this.released) {
+            return;
+        }
+        this.released = true;
+        this.subscriber = null;
+        releaseAll(this.queue);
+        releaseAll(this.emitted);
+    }
+
+    private static void releaseAll(ArrayDeque<ByteBuf> buffers) {
+        ByteBuf buf;
+        while ((buf = buffers.poll()) != null) {
+            buf.release();
+        }
+    }
+
+    private void doSubscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        if (this.subscribed || this.released) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("Body was already subscribed"));
+            return;
+        }
+        this.subscribed = true;
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                var executor = ctx.executor();
+                if (executor.inEventLoop()) {
+                    NettyRequestHttpBody.this.request(n);
+                } else {
+                    executor.execute(() -> NettyRequestHttpBody.this.request(n));
+                }
+            }
+
+            @Override
+            public void cancel() {
+                NettyRequestHttpBody.this.close();
+            }
+        });
+        this.drain();
+    }
+
+    private void request(long n) {
+        // subscriber is done with previously emitted views when it asks for more
+        releaseAll(this.emitted);
+        var s = this.subscriber;
+        if (s == null) {
+            return;
+        }
+        if (n <= 0) {
+            this.cancel();
+            s.onError(new IllegalArgumentException("Subscription request must be positive, but was " + n));
+            return;
+        }
+        var demand = this.demand + n;
+        this.demand = demand < 0 ? Long.MAX_VALUE : demand;
+        this.drain();
+    }
+
+    private void cancel() {
+        this.subscribed = true;
+        this.subscriber = null;
+        releaseAll(this.queue);
+        releaseAll(this.emitted);
+    }
+
+    private void drain() {
+        var s = this.subscriber;
+        if (s == null) {
+            return;
+        }
+        var oldCtx = Context.current();
+        this.context.inject();
+        try {
+            while (this.demand > 0 && !this.queue.isEmpty()) {
+                var buf = this.queue.poll();
+                this.emitted.add(buf);
+                this.demand--;
+                s.onNext(buf.nioBuffer());
+                if (this.subscriber == null) {
+                    return;
+                }
+            }
+            if (!this.queue.isEmpty()) {
+                return;
+            }
+            if (this.completed) {
+                this.subscriber = null;
+                var error = this.error;
+                if (error != null) {
+                    s.onError(error);
+                } else {
+                    s.onComplete();
+                }
+            } else if (this.demand > 0) {
+                this.ctx.read();
+            }
+        } finally {
+            oldCtx.inject();
+        }
+    }
+}
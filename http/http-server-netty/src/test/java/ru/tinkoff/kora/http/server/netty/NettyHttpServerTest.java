@@ -0,0 +1,55 @@
+package ru.tinkoff.kora.http.server.netty;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.jupiter.api.AfterAll;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.http.server.common.*;
+import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.netty.common.NettyChannelFactory;
+
+import java.util.concurrent.TimeUnit;
+
+class NettyHttpServerTest extends HttpServerTestKit {
+
+    private static final EventLoopGroup bossGroup = new NioEventLoopGroup(1);
+    private static final EventLoopGroup workerGroup = new NioEventLoopGroup(2);
+    private static final NettyChannelFactory channelFactory = new NettyChannelFactory() {
+        @Override
+        public ChannelFactory<Channel> getClientFactory(boolean domainSocket) {
+            return NioSocketChannel::new;
+        }
+
+        @Override
+        public ChannelFactory<ServerChannel> getServerFactory(boolean domainSocket) {
+            return NioServerSocketChannel::new;
+        }
+    };
+
+    @AfterAll
+    static void shutdownEventLoops() throws Exception {
+        bossGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).get();
+        workerGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).get();
+    }
+
+    @Override
+    protected HttpServer httpServer(ValueOf<HttpServerConfig> config, PublicApiHandler publicApiHandler) {
+        return new NettyHttpServer(
+            config,
+            valueOf(new NettyPublicApiHandler(publicApiHandler, null)),
+            bossGroup,
+            workerGroup,
+            channelFactory
+        );
+    }
+
+    @Override
+    protected PrivateHttpServer privateHttpServer(ValueOf<HttpServerConfig> config, PrivateApiHandler privateApiHandler) {
+        return new NettyPrivateHttpServer(config, valueOf(new NettyPrivateApiHandler(privateApiHandler)), bossGroup, workerGroup, channelFactory);
+    }
+}
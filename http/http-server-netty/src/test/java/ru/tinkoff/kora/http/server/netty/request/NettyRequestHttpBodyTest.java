@@ -0,0 +1,99 @@
+package ru.tinkoff.kora.http.server.netty.request;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.common.Context;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NettyRequestHttpBodyTest {
+
+    @Test
+    void emittedBufferIsReleasedOnNextRequest() {
+        var body = body();
+        var first = Unpooled.copiedBuffer("first", StandardCharsets.UTF_8);
+        var second = Unpooled.copiedBuffer("second", StandardCharsets.UTF_8);
+        body.onContent(new DefaultHttpContent(first));
+        body.onContent(new DefaultLastHttpContent(second));
+        var received = new ArrayList<String>();
+        var subscription = subscribe(body, received);
+
+        subscription.request(1);
+        assertThat(received).containsExactly("first");
+        assertThat(first.refCnt()).isEqualTo(1);
+
+        subscription.request(1);
+        assertThat(received).containsExactly("first", "second");
+        assertThat(first.refCnt()).isZero();
+        assertThat(second.refCnt()).isEqualTo(1);
+
+        body.release();
+        assertThat(second.refCnt()).isZero();
+    }
+
+    @Test
+    void cancelReleasesEmittedAndQueuedBuffers() {
+        var body = body();
+        var first = Unpooled.copiedBuffer("first", StandardCharsets.UTF_8);
+        var second = Unpooled.copiedBuffer("second", StandardCharsets.UTF_8);
+        body.onContent(new DefaultHttpContent(first));
+        body.onContent(new DefaultHttpContent(second));
+        var subscription = subscribe(body, new ArrayList<>());
+
+        subscription.request(1);
+        subscription.cancel();
+
+        assertThat(first.refCnt()).isZero();
+        assertThat(second.refCnt()).isZero();
+    }
+
+    @Test
+    void fullContentOutlivesExchange() {
+        var body = body();
+        body.onContent(new DefaultHttpContent(Unpooled.copiedBuffer("full ", StandardCharsets.UTF_8)));
+        body.onContent(new DefaultLastHttpContent(Unpooled.copiedBuffer("content", StandardCharsets.UTF_8)));
+
+        var full = body.getFullContentIfAvailable();
+        body.release();
+
+        assertThat(full).isNotNull();
+        assertThat(StandardCharsets.UTF_8.decode(full).toString()).isEqualTo("full content");
+    }
+
+    private static NettyRequestHttpBody body() {
+        var channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        return new NettyRequestHttpBody(channel.pipeline().firstContext(), Context.clear(), -1, null);
+    }
+
+    private static Flow.Subscription subscribe(NettyRequestHttpBody body, List<String> received) {
+        var subscription = new Flow.Subscription[1];
+        body.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                received.add(StandardCharsets.UTF_8.decode(item).toString());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+
+            @Override
+            public void onComplete() {}
+        });
+        return subscription[0];
+    }
+}
@@ -14,6 +14,7 @@ import org.xnio.IoUtils;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.common.util.flow.LazySingleSubscription;
 import ru.tinkoff.kora.common.util.flow.SingleSubscription;
+import ru.tinkoff.kora.http.common.body.FileHttpBodyOutput;
 import ru.tinkoff.kora.http.common.body.HttpBodyOutput;
 import ru.tinkoff.kora.http.common.header.HttpHeaders;
 import ru.tinkoff.kora.http.server.common.HttpServer;
@@ -25,7 +26,9 @@ import ru.tinkoff.kora.http.server.undertow.request.UndertowPublicApiRequest;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Objects;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Flow;
@@ -149,6 +152,19 @@ public class UndertowExchangeProcessor implements Runnable {
         if (contentLength >= 0) {
             exchange.setResponseContentLength(contentLength);
         }
+        if (body instanceof FileHttpBodyOutput && this.isInIoThread()) {
+            // file size check and file reads block, so file is sent from worker thread
+            exchange.dispatch(exchange.getConnection().getWorker(), () -> this.sendBody(response, httpResponse, body, error));
+            return;
+        }
+        this.sendBody(response, httpResponse, body, error);
+    }
+
+    private void sendBody(PublicApiResponse response, HttpServerResponse httpResponse, HttpBodyOutput body, @Nullable Throwable error) {
+        var exchange = this.exchange;
+        if (body instanceof FileHttpBodyOutput file && this.sendFile(response, httpResponse, file, error)) {
+            return;
+        }
         if (this.isInBlockingThread()) {
             if (!exchange.isBlocking()) {
                 exchange.startBlocking();
@@ -174,7 +190,7 @@ public class UndertowExchangeProcessor implements Runnable {
                 response.closeSendResponseSuccess(exchange.getStatusCode(), httpResponse.headers(), error);
             }
         } else {
-            sendStreamingBody(response, headers, body, error);
+            sendStreamingBody(response, httpResponse.headers(), body, error);
         }
     }
 
@@ -252,6 +268,59 @@ public class UndertowExchangeProcessor implements Runnable {
         }
     }
 
+    /**
+     * {@link Sender#transferFrom} sends file till its end, so regions ending before it are sent as any other body
+     */
+    private boolean sendFile(PublicApiResponse response, HttpServerResponse httpResponse, FileHttpBodyOutput file, @Nullable Throwable error) {
+        try {
+            if (file.position() + file.contentLength() != Files.size(file.path())) {
+                return false;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        FileChannel channel = null;
+        try {
+            channel = file.open();
+            channel.position(file.position());
+        } catch (IOException e) {
+            IoUtils.safeClose(channel);
+            response.closeBodyError(500, e);
+            exchange.setStatusCode(500);
+            exchange.endExchange();
+            return true;
+        }
+        var headers = httpResponse.headers();
+        var fileChannel = channel;
+        exchange.getResponseSender().transferFrom(fileChannel, new IoCallback() {
+            @Override
+            public void onComplete(HttpServerExchange exchange, Sender sender) {
+                IoUtils.safeClose(fileChannel);
+                if (exchange.isComplete()) {
+                    response.closeSendResponseSuccess(exchange.getStatusCode(), headers, error);
+                } else {
+                    exchange.addExchangeCompleteListener((e, nextListener) -> {
+                        response.closeSendResponseSuccess(e.getStatusCode(), headers, error);
+                        nextListener.proceed();
+                    });
+                    exchange.endExchange();
+                }
+            }
+
+            @Override
+            public void onException(HttpServerExchange exchange, Sender sender, IOException exception) {
+                IoUtils.safeClose(fileChannel);
+                try {
+                    exchange.endExchange();
+                } finally {
+                    IoUtils.safeClose(exchange.getConnection());
+                    response.closeConnectionError(exchange.getStatusCode(), error == null ? exception : error);
+                }
+            }
+        });
+        return true;
+    }
+
     private void sendException(PublicApiResponse response, Throwable error) {
         if (!(error instanceof HttpServerResponse rs)) {
             exchange.setStatusCode(500);
@@ -0,0 +1,23 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+
+final class UndertowHttp2Options {
+    private UndertowHttp2Options() {}
+
+    /**
+     * With HTTP/2 enabled plain HTTP listener accepts both prior knowledge connections and HTTP/1.1 Upgrade to h2c
+     */
+    static Undertow.Builder apply(Undertow.Builder builder, HttpServerConfig config) {
+        if (!config.http2Enabled()) {
+            return builder;
+        }
+        return builder
+            .setServerOption(UndertowOptions.ENABLE_HTTP2, true)
+            .setServerOption(UndertowOptions.HTTP2_SETTINGS_MAX_CONCURRENT_STREAMS, config.http2MaxConcurrentStreams())
+            .setServerOption(UndertowOptions.HTTP2_SETTINGS_INITIAL_WINDOW_SIZE, config.http2InitialWindowSize())
+            .setServerOption(UndertowOptions.HTTP2_SETTINGS_HEADER_TABLE_SIZE, config.http2HeaderTableSize());
+    }
+}
@@ -78,11 +78,12 @@ public class UndertowHttpServer implements HttpServer, ReadinessProbe {
     }
 
     private Undertow createServer() {
-        return Undertow.builder()
-            .addHttpListener(this.config.get().publicApiHttpPort(), "0.0.0.0", this.gracefulShutdown)
+        var config = this.config.get();
+        var builder = Undertow.builder()
+            .addHttpListener(config.publicApiHttpPort(), "0.0.0.0", this.gracefulShutdown)
             .setWorker(this.xnioWorker)
-            .setByteBufferPool(this.byteBufferPool)
-            .build();
+            .setByteBufferPool(this.byteBufferPool);
+        return UndertowHttp2Options.apply(builder, config).build();
     }
 
     @Override
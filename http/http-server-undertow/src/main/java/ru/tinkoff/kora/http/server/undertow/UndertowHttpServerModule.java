@@ -11,16 +11,20 @@ import ru.tinkoff.kora.common.Tag;
 import ru.tinkoff.kora.common.annotation.Root;
 import ru.tinkoff.kora.http.server.common.HttpServerConfig;
 import ru.tinkoff.kora.http.server.common.handler.BlockingRequestExecutor;
+import ru.tinkoff.kora.http.server.common.handler.VirtualThreadBlockingRequestExecutor;
 import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetricsFactory;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTracerFactory;
 
 public interface UndertowHttpServerModule extends UndertowModule {
 
     default UndertowPublicApiHandler undertowPublicApiHandler(PublicApiHandler publicApiHandler,
                                                               @Nullable HttpServerTracerFactory tracerFactory,
+                                                              @Nullable HttpServerMetricsFactory metricsFactory,
                                                               HttpServerConfig config) {
         var tracer = tracerFactory == null ? null : tracerFactory.get(config.telemetry().tracing());
-        return new UndertowPublicApiHandler(publicApiHandler, tracer);
+        var metrics = metricsFactory == null || !config.http2Enabled() ? null : metricsFactory.get(config.telemetry().metrics());
+        return new UndertowPublicApiHandler(publicApiHandler, tracer, metrics);
     }
 
     @Root
@@ -32,7 +36,13 @@ public interface UndertowHttpServerModule extends UndertowModule {
     }
 
     @DefaultComponent
-    default BlockingRequestExecutor undertowBlockingRequestExecutor(@Tag(Undertow.class) XnioWorker xnioWorker) {
+    default BlockingRequestExecutor undertowBlockingRequestExecutor(@Tag(Undertow.class) XnioWorker xnioWorker,
+                                                                    HttpServerConfig config,
+                                                                    @Nullable HttpServerMetricsFactory metricsFactory) {
+        if (config.blockingVirtualThreads()) {
+            var metrics = metricsFactory == null ? null : metricsFactory.get(config.telemetry().metrics());
+            return VirtualThreadBlockingRequestExecutor.of(config, metrics);
+        }
         return new BlockingRequestExecutor.Default(xnioWorker);
     }
 
@@ -62,11 +62,12 @@ public class UndertowPrivateHttpServer implements PrivateHttpServer {
     }
 
     private Undertow createServer() {
-        return Undertow.builder()
-            .addHttpListener(this.config.get().privateApiHttpPort(), "0.0.0.0", exchange -> this.privateApiHandler.get().handleRequest(exchange))
+        var config = this.config.get();
+        var builder = Undertow.builder()
+            .addHttpListener(config.privateApiHttpPort(), "0.0.0.0", exchange -> this.privateApiHandler.get().handleRequest(exchange))
             .setWorker(this.xnioWorker)
-            .setByteBufferPool(this.byteBufferPool)
-            .build();
+            .setByteBufferPool(this.byteBufferPool);
+        return UndertowHttp2Options.apply(builder, config).build();
     }
 
     @Override
@@ -1,10 +1,12 @@
 package ru.tinkoff.kora.http.server.undertow;
 
 import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Protocols;
 import io.undertow.util.SameThreadExecutor;
 import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetrics;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTracer;
 
 public final class UndertowPublicApiHandler {
@@ -12,13 +14,31 @@ public final class UndertowPublicApiHandler {
     private final PublicApiHandler publicApiHandler;
     @Nullable
     private final HttpServerTracer tracer;
+    @Nullable
+    private final HttpServerMetrics metrics;
 
     public UndertowPublicApiHandler(PublicApiHandler publicApiHandler, @Nullable HttpServerTracer tracer) {
+        this(publicApiHandler, tracer, null);
+    }
+
+    public UndertowPublicApiHandler(PublicApiHandler publicApiHandler, @Nullable HttpServerTracer tracer, @Nullable HttpServerMetrics metrics) {
         this.publicApiHandler = publicApiHandler;
         this.tracer = tracer;
+        this.metrics = metrics;
     }
 
     public void handleRequest(HttpServerExchange exchange) {
+        var metrics = this.metrics;
+        if (metrics != null && exchange.getProtocol().equals(Protocols.HTTP_2_0)) {
+            // every HTTP/2 exchange is served on its own stream
+            var scheme = exchange.getRequestScheme();
+            var started = System.nanoTime();
+            metrics.http2StreamStarted(scheme);
+            exchange.addExchangeCompleteListener((ex, next) -> {
+                metrics.http2StreamFinished(scheme, System.nanoTime() - started);
+                next.proceed();
+            });
+        }
         var context = Context.clear();
         var exchangeProcessor = new UndertowExchangeProcessor(exchange, this.publicApiHandler, context, this.tracer);
         exchange.dispatch(SameThreadExecutor.INSTANCE, exchangeProcessor);
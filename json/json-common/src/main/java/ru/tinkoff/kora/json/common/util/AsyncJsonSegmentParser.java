@@ -0,0 +1,128 @@
+package ru.tinkoff.kora.json.common.util;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.core.io.ContentReference;
+import com.fasterxml.jackson.core.io.IOContext;
+import ru.tinkoff.kora.json.common.JsonCommonModule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Parses JSON incrementally from chunks of input: tokens are read by Jackson non-blocking parser as chunks arrive
+ * and collected into {@link JsonSegment} list. When root value (or element of root array in unwrapping mode) is complete,
+ * its segments are replayed to consumer with {@link JsonSegmentJsonParser}, so regular {@link ru.tinkoff.kora.json.common.JsonReader}
+ * can be used to read it.
+ */
+public final class AsyncJsonSegmentParser implements Closeable {
+    @FunctionalInterface
+    public interface ValueConsumer {
+        void accept(JsonParser parser) throws IOException;
+    }
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final boolean unwrapArray;
+    private ArrayList<JsonSegment> segments = new ArrayList<>();
+    private int depth = 0;
+    private boolean rootStarted = false;
+    private boolean rootFinished = false;
+
+    /**
+     * @param unwrapArray root value is expected to be an array and every element of it is passed to consumer separately
+     */
+    public AsyncJsonSegmentParser(boolean unwrapArray) throws IOException {
+        this.parser = JsonCommonModule.JSON_FACTORY.createNonBlockingByteBufferParser();
+        this.feeder = (ByteBufferFeeder) this.parser.getNonBlockingInputFeeder();
+        this.unwrapArray = unwrapArray;
+    }
+
+    /**
+     * Chunk is consumed completely before method returns
+     */
+    public void feed(ByteBuffer chunk, ValueConsumer consumer) throws IOException {
+        if (!chunk.hasRemaining()) {
+            return;
+        }
+        this.feeder.feedInput(chunk);
+        this.drain(consumer);
+    }
+
+    public void endOfInput(ValueConsumer consumer) throws IOException {
+        this.feeder.endOfInput();
+        this.drain(consumer);
+        if (this.rootStarted && !this.rootFinished) {
+            throw new JsonParseException(this.parser, "Unexpected end of input");
+        }
+    }
+
+    /**
+     * @return true if any token was read
+     */
+    public boolean hasContent() {
+        return this.rootStarted;
+    }
+
+    private void drain(ValueConsumer consumer) throws IOException {
+        JsonToken token;
+        while ((token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (this.rootFinished) {
+                throw new JsonParseException(this.parser, "Unexpected token after root value: " + token);
+            }
+            if (!this.rootStarted) {
+                this.rootStarted = true;
+                if (this.unwrapArray) {
+                    if (token != JsonToken.START_ARRAY) {
+                        throw new JsonParseException(this.parser, "Expected array, got " + token);
+                    }
+                    continue;
+                }
+            }
+            if (this.unwrapArray && this.depth == 0 && token == JsonToken.END_ARRAY) {
+                this.rootFinished = true;
+                continue;
+            }
+            this.segments.add(segment(token, this.parser));
+            if (token.isStructStart()) {
+                this.depth++;
+            } else if (token.isStructEnd()) {
+                this.depth--;
+            }
+            if (this.depth == 0) {
+                var segments = this.segments;
+                this.segments = new ArrayList<>();
+                if (!this.unwrapArray) {
+                    this.rootFinished = true;
+                }
+                var context = new IOContext(JsonCommonModule.JSON_FACTORY._getBufferRecycler(), ContentReference.rawReference(segments), false);
+                var valueParser = new JsonSegmentJsonParser(context, this.parser.getFeatureMask(), segments);
+                valueParser.nextToken();
+                consumer.accept(valueParser);
+            }
+        }
+    }
+
+    private static JsonSegment segment(JsonToken token, JsonParser parser) throws IOException {
+        if (token == JsonToken.FIELD_NAME) {
+            // non-blocking parser does not refresh name copy buffer between fields
+            return new JsonSegment(token, parser.currentName().toCharArray(), false);
+        }
+        var textCharacters = parser.getTextCharacters();
+        var textOffset = parser.getTextOffset();
+        var textLength = parser.getTextLength();
+        var data = Arrays.copyOfRange(textCharacters, textOffset, textOffset + textLength);
+        var isNegative = token.isNumeric() && data.length > 0 && data[0] == '-';
+        return new JsonSegment(token, data, isNegative);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.parser.close();
+    }
+}
@@ -0,0 +1,98 @@
+package ru.tinkoff.kora.json.common;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.json.common.util.AsyncJsonSegmentParser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AsyncJsonSegmentParserTest {
+    private static final String JSON = """
+        [
+          {"id": -12, "name": "first", "value": -3.5, "nested": {"list": [1, 2, 3]}},
+          {"id": 7, "name": "second", "value": 1e3, "nested": null}
+        ]
+        """;
+
+    @Test
+    void testValueIsReadFromChunks() throws Exception {
+        for (var chunkSize : List.of(1, 7, 1024)) {
+            var parser = new AsyncJsonSegmentParser(false);
+            var values = new ArrayList<List<String>>();
+            feed(parser, JSON, chunkSize, values);
+
+            assertThat(values).hasSize(1);
+            assertThat(values.get(0)).startsWith("START_ARRAY", "START_OBJECT", "id", "-12", "name", "first", "value", "-3.5");
+            assertThat(values.get(0)).endsWith("nested", "VALUE_NULL", "END_OBJECT", "END_ARRAY");
+        }
+    }
+
+    @Test
+    void testArrayElementsAreReadOneByOne() throws Exception {
+        for (var chunkSize : List.of(1, 7, 1024)) {
+            var parser = new AsyncJsonSegmentParser(true);
+            var values = new ArrayList<List<String>>();
+            feed(parser, JSON, chunkSize, values);
+
+            assertThat(values).hasSize(2);
+            assertThat(values.get(0)).containsExactly(
+                "START_OBJECT", "id", "-12", "name", "first", "value", "-3.5",
+                "nested", "START_OBJECT", "list", "START_ARRAY", "1", "2", "3", "END_ARRAY", "END_OBJECT", "END_OBJECT"
+            );
+            assertThat(values.get(1)).containsExactly(
+                "START_OBJECT", "id", "7", "name", "second", "value", "1000.0", "nested", "VALUE_NULL", "END_OBJECT"
+            );
+        }
+    }
+
+    @Test
+    void testIncompleteValueFails() throws Exception {
+        var parser = new AsyncJsonSegmentParser(false);
+
+        assertThatThrownBy(() -> feed(parser, "{\"id\": 1", 3, new ArrayList<>()))
+            .isInstanceOf(JsonParseException.class);
+    }
+
+    @Test
+    void testNotArrayFailsInUnwrappingMode() throws Exception {
+        var parser = new AsyncJsonSegmentParser(true);
+
+        assertThatThrownBy(() -> feed(parser, "{\"id\": 1}", 3, new ArrayList<>()))
+            .isInstanceOf(JsonParseException.class);
+    }
+
+    private static void feed(AsyncJsonSegmentParser parser, String json, int chunkSize, List<List<String>> values) throws Exception {
+        AsyncJsonSegmentParser.ValueConsumer consumer = p -> {
+            var tokens = new ArrayList<String>();
+            var depth = 0;
+            var token = p.currentToken();
+            do {
+                switch (token) {
+                    case FIELD_NAME -> tokens.add(p.currentName());
+                    case VALUE_STRING -> tokens.add(p.getText());
+                    case VALUE_NUMBER_INT -> tokens.add(String.valueOf(p.getIntValue()));
+                    case VALUE_NUMBER_FLOAT -> tokens.add(String.valueOf(p.getDoubleValue()));
+                    default -> tokens.add(token.name());
+                }
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+            } while (depth > 0 && (token = p.nextToken()) != null);
+            values.add(tokens);
+        };
+        var bytes = json.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            parser.feed(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)).slice(), consumer);
+        }
+        parser.endOfInput(consumer);
+    }
+}
@@ -20,6 +20,11 @@ public interface JsonModule extends JsonCommonModule {
         return new JsonReaderAsyncHttpServerRequestMapper<>(reader);
     }
 
+    @Json
+    default <T> JsonReaderStreamingHttpServerRequestMapper<T> jsonReaderStreamingHttpServerRequestMapper(JsonReader<T> reader) {
+        return new JsonReaderStreamingHttpServerRequestMapper<>(reader);
+    }
+
     @Json
     default <T> JsonWriterHttpServerResponseMapper<T> jsonResponseMapper(JsonWriter<T> writer) {
         return new JsonWriterHttpServerResponseMapper<>(writer);
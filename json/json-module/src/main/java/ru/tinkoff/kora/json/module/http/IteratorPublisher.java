@@ -0,0 +1,120 @@
+package ru.tinkoff.kora.json.module.http;
+
+import jakarta.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single subscriber publisher of iterator elements, elements are read on executor only when subscriber has demand
+ */
+final class IteratorPublisher<T> extends AtomicBoolean implements Flow.Publisher<T> {
+    private final Iterator<? extends T> iterator;
+    @Nullable
+    private final AutoCloseable resource;
+    private final Executor executor;
+
+    IteratorPublisher(Iterator<? extends T> iterator, @Nullable AutoCloseable resource, Executor executor) {
+        this.iterator = iterator;
+        this.resource = resource;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (!this.compareAndSet(false, true)) {
+            throw new IllegalStateException("Publisher was already subscribed");
+        }
+        subscriber.onSubscribe(new IteratorSubscription(subscriber));
+    }
+
+    private final class IteratorSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private volatile boolean done = false;
+        private boolean closed = false;
+
+        private IteratorSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.cancel();
+                this.subscriber.onError(new IllegalArgumentException("Demand must be positive, got " + n));
+                return;
+            }
+            this.add(n);
+        }
+
+        private void add(long n) {
+            var prev = this.demand.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            if (prev == 0) {
+                // only one drain loop runs at a time: it is started by the call that made counter positive
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            var missed = this.demand.get();
+            while (true) {
+                long emitted = 0;
+                while (emitted < missed) {
+                    if (this.done) {
+                        this.close();
+                        return;
+                    }
+                    final T next;
+                    try {
+                        if (!iterator.hasNext()) {
+                            this.done = true;
+                            this.close();
+                            this.subscriber.onComplete();
+                            return;
+                        }
+                        next = iterator.next();
+                    } catch (Throwable e) {
+                        this.done = true;
+                        this.close();
+                        this.subscriber.onError(e);
+                        return;
+                    }
+                    this.subscriber.onNext(next);
+                    emitted++;
+                }
+                missed = this.demand.addAndGet(-emitted);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Resource is closed by drain loop, so it is never closed concurrently with reading
+         */
+        @Override
+        public void cancel() {
+            if (!this.done) {
+                this.done = true;
+                this.add(1);
+            }
+        }
+
+        private void close() {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (Exception ignore) {}
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package ru.tinkoff.kora.json.module.http;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.json.common.JsonReader;
+import ru.tinkoff.kora.json.common.util.AsyncJsonSegmentParser;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes elements of top level JSON array one by one while body is being received.
+ * Next body chunk is requested only when all elements parsed from previous chunks are consumed by subscriber.
+ */
+public final class JsonArrayElementsPublisher<T> extends AtomicBoolean implements Flow.Publisher<T> {
+    private final Flow.Publisher<? extends ByteBuffer> body;
+    private final JsonReader<T> reader;
+
+    public JsonArrayElementsPublisher(Flow.Publisher<? extends ByteBuffer> body, JsonReader<T> reader) {
+        this.body = body;
+        this.reader = reader;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (!this.compareAndSet(false, true)) {
+            throw new IllegalStateException("Publisher was already subscribed");
+        }
+        this.body.subscribe(new ElementsSubscriber(subscriber));
+    }
+
+    private final class ElementsSubscriber implements Flow.Subscriber<ByteBuffer>, Flow.Subscription {
+        private final Flow.Subscriber<? super T> downstream;
+        private final ArrayDeque<T> elements = new ArrayDeque<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicLong requested = new AtomicLong();
+        private volatile Flow.Subscription upstream;
+        @Nullable
+        private AsyncJsonSegmentParser parser;
+        private volatile boolean upstreamDone = false;
+        @Nullable
+        private volatile Throwable error;
+        private volatile boolean cancelled = false;
+        // accessed only inside drain loop or by upstream signals, which are never concurrent with each other
+        private boolean chunkRequested = false;
+        private boolean finished = false;
+
+        private ElementsSubscriber(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.upstream = subscription;
+            try {
+                this.parser = new AsyncJsonSegmentParser(true);
+            } catch (Throwable e) {
+                subscription.cancel();
+                this.error = e;
+                this.upstreamDone = true;
+            }
+            this.downstream.onSubscribe(this);
+            this.drain();
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            if (this.upstreamDone) {
+                return;
+            }
+            try {
+                synchronized (this.elements) {
+                    this.parser.feed(item, p -> this.elements.add(reader.read(p)));
+                }
+            } catch (Throwable e) {
+                this.upstream.cancel();
+                this.error = e;
+                this.upstreamDone = true;
+            }
+            synchronized (this.elements) {
+                this.chunkRequested = false;
+            }
+            this.drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (this.upstreamDone) {
+                return;
+            }
+            this.error = throwable;
+            this.upstreamDone = true;
+            this.drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (this.upstreamDone) {
+                return;
+            }
+            try {
+                synchronized (this.elements) {
+                    this.parser.endOfInput(p -> this.elements.add(reader.read(p)));
+                }
+            } catch (Throwable e) {
+                this.error = e;
+            }
+            this.upstreamDone = true;
+            this.drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.cancel();
+                this.downstream.onError(new IllegalArgumentException("Demand must be positive, got " + n));
+                return;
+            }
+            this.requested.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            this.drain();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.upstream.cancel();
+            this.drain();
+        }
+
+        private void drain() {
+            if (this.wip.getAndIncrement() != 0) {
+                return;
+            }
+            var missed = 1;
+            while (true) {
+                if (!this.finished) {
+                    this.drainLoop();
+                }
+                missed = this.wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void drainLoop() {
+            if (this.cancelled) {
+                this.finish();
+                return;
+            }
+            var error = this.error;
+            if (error != null) {
+                this.finish();
+                this.downstream.onError(error);
+                return;
+            }
+            var requestChunk = false;
+            while (this.requested.get() > 0) {
+                final T element;
+                synchronized (this.elements) {
+                    element = this.elements.poll();
+                    if (element == null) {
+                        if (!this.upstreamDone && !this.chunkRequested) {
+                            this.chunkRequested = true;
+                            requestChunk = true;
+                        }
+                        break;
+                    }
+                }
+                if (this.requested.get() != Long.MAX_VALUE) {
+                    this.requested.decrementAndGet();
+                }
+                this.downstream.onNext(element);
+                if (this.cancelled) {
+                    this.finish();
+                    return;
+                }
+            }
+            boolean empty;
+            synchronized (this.elements) {
+                empty = this.elements.isEmpty();
+            }
+            if (empty && this.upstreamDone) {
+                this.finish();
+                this.downstream.onComplete();
+                return;
+            }
+            if (requestChunk) {
+                this.upstream.request(1);
+            }
+        }
+
+        private void finish() {
+            this.finished = true;
+            synchronized (this.elements) {
+                this.elements.clear();
+                var parser = this.parser;
+                if (parser != null) {
+                    try {
+                        parser.close();
+                    } catch (Exception ignore) {}
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package ru.tinkoff.kora.json.module.http;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.json.common.JsonCommonModule;
+import ru.tinkoff.kora.json.common.JsonWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serializes elements of source publisher into chunks of at least {@code flushSize} bytes (except the last one).
+ * Elements are requested from source in small batches and only while downstream has demand for chunks,
+ * so at most one chunk and one batch of elements is kept in memory.
+ */
+final class JsonStreamPublisher<T> extends AtomicBoolean implements Flow.Publisher<ByteBuffer> {
+    enum Format {ARRAY, NDJSON}
+
+    private static final int PREFETCH = 64;
+
+    private final Context context;
+    private final JsonWriter<T> writer;
+    private final Flow.Publisher<? extends T> elements;
+    private final Format format;
+    private final int flushSize;
+
+    JsonStreamPublisher(Context context, JsonWriter<T> writer, Flow.Publisher<? extends T> elements, Format format, int flushSize) {
+        if (flushSize <= 0) {
+            throw new IllegalArgumentException("Flush size must be positive, got " + flushSize);
+        }
+        this.context = context;
+        this.writer = writer;
+        this.elements = elements;
+        this.format = format;
+        this.flushSize = flushSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        if (!this.compareAndSet(false, true)) {
+            throw new IllegalStateException("Publisher was already subscribed");
+        }
+        this.elements.subscribe(new Serializer(subscriber));
+    }
+
+    private final class Serializer implements Flow.Subscriber<T>, Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> downstream;
+        private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicLong requested = new AtomicLong();
+        private volatile Flow.Subscription upstream;
+        private volatile boolean upstreamDone = false;
+        @Nullable
+        private volatile Throwable error;
+        private volatile boolean cancelled = false;
+
+        // state below is accessed only inside drain loop
+        private boolean finished = false;
+        private int outstanding = 0;
+        @Nullable
+        private ByteArrayBuilder out;
+        @Nullable
+        private JsonGenerator gen;
+
+        private Serializer(Flow.Subscriber<? super ByteBuffer> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.upstream = subscription;
+            this.downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            this.queue.offer(item);
+            this.drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+            this.upstreamDone = true;
+            this.drain();
+        }
+
+        @Override
+        public void onComplete() {
+            this.upstreamDone = true;
+            this.drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.onError(new IllegalArgumentException("Demand must be positive, got " + n));
+                this.cancel();
+                return;
+            }
+            this.requested.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            this.drain();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.upstream.cancel();
+            this.drain();
+        }
+
+        private void drain() {
+            if (this.wip.getAndIncrement() != 0) {
+                return;
+            }
+            var oldCtx = Context.current();
+            context.inject();
+            try {
+                var missed = 1;
+                while (true) {
+                    if (!this.finished) {
+                        this.drainLoop();
+                    }
+                    missed = this.wip.addAndGet(-missed);
+                    if (missed == 0) {
+                        return;
+                    }
+                }
+            } finally {
+                oldCtx.inject();
+            }
+        }
+
+        private void drainLoop() {
+            if (this.cancelled) {
+                this.finish();
+                return;
+            }
+            try {
+                var gen = this.gen;
+                if (gen == null) {
+                    gen = this.start();
+                }
+                while (this.requested.get() > 0) {
+                    T item;
+                    while (this.buffered(gen) < flushSize && (item = this.queue.poll()) != null) {
+                        this.outstanding--;
+                        writer.write(gen, item);
+                        if (format == Format.NDJSON) {
+                            gen.writeRaw('\n');
+                        }
+                    }
+                    if (this.buffered(gen) >= flushSize) {
+                        this.emit(this.takeChunk(gen));
+                        continue;
+                    }
+                    if (this.upstreamDone && this.queue.isEmpty()) {
+                        var error = this.error;
+                        if (error != null) {
+                            this.finish();
+                            this.downstream.onError(error);
+                            return;
+                        }
+                        if (format == Format.ARRAY) {
+                            gen.writeEndArray();
+                        }
+                        var chunk = this.takeChunk(gen);
+                        this.finish();
+                        if (chunk.hasRemaining()) {
+                            this.downstream.onNext(chunk);
+                        }
+                        this.downstream.onComplete();
+                        return;
+                    }
+                    if (this.outstanding <= 0) {
+                        this.outstanding = PREFETCH;
+                        this.upstream.request(PREFETCH);
+                    }
+                    return;
+                }
+                var error = this.error;
+                if (error != null) {
+                    // errors are not delayed until next demand
+                    this.finish();
+                    this.downstream.onError(error);
+                }
+            } catch (Throwable e) {
+                this.upstream.cancel();
+                this.finish();
+                this.downstream.onError(e);
+            }
+        }
+
+        private JsonGenerator start() throws IOException {
+            var out = new ByteArrayBuilder(JsonCommonModule.JSON_FACTORY._getBufferRecycler());
+            var gen = JsonCommonModule.JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+            gen.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+            if (format == Format.ARRAY) {
+                gen.writeStartArray();
+            } else {
+                gen.setRootValueSeparator(null);
+            }
+            this.out = out;
+            this.gen = gen;
+            return gen;
+        }
+
+        private int buffered(JsonGenerator gen) {
+            return this.out.size() + Math.max(gen.getOutputBuffered(), 0);
+        }
+
+        private ByteBuffer takeChunk(JsonGenerator gen) throws IOException {
+            gen.flush();
+            var out = this.out;
+            var bytes = out.toByteArray();
+            out.reset();
+            return ByteBuffer.wrap(bytes);
+        }
+
+        private void emit(ByteBuffer chunk) {
+            if (this.requested.get() != Long.MAX_VALUE) {
+                this.requested.decrementAndGet();
+            }
+            this.downstream.onNext(chunk);
+        }
+
+        private void finish() {
+            this.finished = true;
+            this.queue.clear();
+            var gen = this.gen;
+            var out = this.out;
+            this.gen = null;
+            this.out = null;
+            if (gen != null) {
+                try {
+                    gen.close();
+                } catch (IOException ignore) {}
+            }
+            if (out != null) {
+                out.release();
+            }
+        }
+    }
+}
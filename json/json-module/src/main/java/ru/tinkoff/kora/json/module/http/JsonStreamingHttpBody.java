@@ -0,0 +1,72 @@
+package ru.tinkoff.kora.json.module.http;
+
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.http.common.body.StreamingHttpBodyOutput;
+import ru.tinkoff.kora.json.common.JsonWriter;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+/**
+ * Streaming JSON response bodies: elements are serialized on demand of the http server and sent in chunks of about
+ * {@code flushSize} bytes, so heap usage does not depend on number of elements.
+ * <p>
+ * Bodies are produced either as JSON array (<code>application/json</code>) or as newline delimited JSON (<code>application/x-ndjson</code>).
+ * Iterator and stream sources are read on the thread that requests next chunk, which is usually an io thread of the server:
+ * blocking sources (like JDBC result sets) should be read on executor passed to the corresponding method.
+ */
+public final class JsonStreamingHttpBody {
+    public static final int DEFAULT_FLUSH_SIZE = 8 * 1024;
+
+    private JsonStreamingHttpBody() {}
+
+    public static <T> StreamingHttpBodyOutput array(Context context, JsonWriter<T> writer, Flow.Publisher<? extends T> elements) {
+        return array(context, writer, elements, DEFAULT_FLUSH_SIZE);
+    }
+
+    public static <T> StreamingHttpBodyOutput array(Context context, JsonWriter<T> writer, Flow.Publisher<? extends T> elements, int flushSize) {
+        return new StreamingHttpBodyOutput("application/json", -1, new JsonStreamPublisher<>(context, writer, elements, JsonStreamPublisher.Format.ARRAY, flushSize));
+    }
+
+    public static <T> StreamingHttpBodyOutput array(Context context, JsonWriter<T> writer, Iterator<? extends T> elements) {
+        return array(context, writer, new IteratorPublisher<>(elements, null, Runnable::run), DEFAULT_FLUSH_SIZE);
+    }
+
+    public static <T> StreamingHttpBodyOutput array(Context context, JsonWriter<T> writer, Iterator<? extends T> elements, Executor executor, int flushSize) {
+        return array(context, writer, new IteratorPublisher<>(elements, null, executor), flushSize);
+    }
+
+    public static <T> StreamingHttpBodyOutput array(Context context, JsonWriter<T> writer, Stream<? extends T> elements) {
+        return array(context, writer, new IteratorPublisher<>(elements.iterator(), elements, Runnable::run), DEFAULT_FLUSH_SIZE);
+    }
+
+    public static <T> StreamingHttpBodyOutput array(Context context, JsonWriter<T> writer, Stream<? extends T> elements, Executor executor, int flushSize) {
+        return array(context, writer, new IteratorPublisher<>(elements.iterator(), elements, executor), flushSize);
+    }
+
+    public static <T> StreamingHttpBodyOutput ndjson(Context context, JsonWriter<T> writer, Flow.Publisher<? extends T> elements) {
+        return ndjson(context, writer, elements, DEFAULT_FLUSH_SIZE);
+    }
+
+    public static <T> StreamingHttpBodyOutput ndjson(Context context, JsonWriter<T> writer, Flow.Publisher<? extends T> elements, int flushSize) {
+        return new StreamingHttpBodyOutput("application/x-ndjson", -1, new JsonStreamPublisher<>(context, writer, elements, JsonStreamPublisher.Format.NDJSON, flushSize));
+    }
+
+    public static <T> StreamingHttpBodyOutput ndjson(Context context, JsonWriter<T> writer, Iterator<? extends T> elements) {
+        return ndjson(context, writer, new IteratorPublisher<>(elements, null, Runnable::run), DEFAULT_FLUSH_SIZE);
+    }
+
+    public static <T> StreamingHttpBodyOutput ndjson(Context context, JsonWriter<T> writer, Iterator<? extends T> elements, Executor executor, int flushSize) {
+        return ndjson(context, writer, new IteratorPublisher<>(elements, null, executor), flushSize);
+    }
+
+    public static <T> StreamingHttpBodyOutput ndjson(Context context, JsonWriter<T> writer, Stream<? extends T> elements) {
+        return ndjson(context, writer, new IteratorPublisher<>(elements.iterator(), elements, Runnable::run), DEFAULT_FLUSH_SIZE);
+    }
+
+    public static <T> StreamingHttpBodyOutput ndjson(Context context, JsonWriter<T> writer, Stream<? extends T> elements, Executor executor, int flushSize) {
+        return ndjson(context, writer, new IteratorPublisher<>(elements.iterator(), elements, executor), flushSize);
+    }
+}
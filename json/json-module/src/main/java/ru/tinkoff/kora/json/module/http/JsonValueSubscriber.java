@@ -0,0 +1,76 @@
+package ru.tinkoff.kora.json.module.http;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.json.common.JsonReader;
+import ru.tinkoff.kora.json.common.util.AsyncJsonSegmentParser;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Reads single JSON value from body chunks as they arrive: parsing overlaps with network reads and full body is never copied into one array.
+ * Future is completed after body is completely received.
+ */
+public final class JsonValueSubscriber<T> extends CompletableFuture<T> implements Flow.Subscriber<ByteBuffer> {
+    private static final byte[] EMPTY = new byte[0];
+
+    private final JsonReader<T> reader;
+    private Flow.Subscription subscription;
+    private AsyncJsonSegmentParser parser;
+    @Nullable
+    private T value;
+
+    public JsonValueSubscriber(JsonReader<T> reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        try {
+            this.parser = new AsyncJsonSegmentParser(false);
+        } catch (Throwable e) {
+            subscription.cancel();
+            this.completeExceptionally(e);
+            return;
+        }
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(ByteBuffer item) {
+        if (this.isDone()) {
+            return;
+        }
+        try {
+            this.parser.feed(item, p -> this.value = this.reader.read(p));
+        } catch (Throwable e) {
+            this.subscription.cancel();
+            this.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        this.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (this.isDone()) {
+            return;
+        }
+        try {
+            this.parser.endOfInput(p -> this.value = this.reader.read(p));
+            if (!this.parser.hasContent()) {
+                // empty body is read the same way as before
+                this.complete(this.reader.read(EMPTY));
+            } else {
+                this.complete(this.value);
+            }
+        } catch (Throwable e) {
+            this.completeExceptionally(e);
+        }
+    }
+}
@@ -2,15 +2,14 @@ package ru.tinkoff.kora.json.module.http.client;
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import ru.tinkoff.kora.common.util.FlowUtils;
 import ru.tinkoff.kora.http.client.common.HttpClientDecoderException;
 import ru.tinkoff.kora.http.client.common.response.HttpClientResponse;
 import ru.tinkoff.kora.http.client.common.response.HttpClientResponseMapper;
 import ru.tinkoff.kora.http.common.HttpResponseEntity;
 import ru.tinkoff.kora.json.common.JsonReader;
+import ru.tinkoff.kora.json.module.http.JsonValueSubscriber;
 
 import java.io.IOException;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 public class JsonReaderAsyncHttpClientResponseEntityMapper<T> implements HttpClientResponseMapper<CompletionStage<HttpResponseEntity<T>>> {
@@ -23,14 +22,8 @@ public class JsonReaderAsyncHttpClientResponseEntityMapper<T> implements HttpCli
     @Nullable
     @Override
     public CompletionStage<HttpResponseEntity<T>> apply(@Nonnull HttpClientResponse response) throws IOException, HttpClientDecoderException {
-        return FlowUtils.toByteArrayFuture(response.body())
-            .thenApply(bytes -> {
-                try {
-                    var value = this.jsonReader.read(bytes);
-                    return HttpResponseEntity.of(response.code(), response.headers().toMutable(), value);
-                } catch (IOException e) {
-                    throw new CompletionException(e);
-                }
-            });
+        var subscriber = new JsonValueSubscriber<>(this.jsonReader);
+        response.body().subscribe(subscriber);
+        return subscriber.thenApply(value -> HttpResponseEntity.of(response.code(), response.headers().toMutable(), value));
     }
 }
@@ -1,14 +1,13 @@
 package ru.tinkoff.kora.json.module.http.server;
 
 import ru.tinkoff.kora.common.util.ByteBufferInputStream;
-import ru.tinkoff.kora.common.util.FlowUtils;
 import ru.tinkoff.kora.http.server.common.HttpServerRequest;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestMapper;
 import ru.tinkoff.kora.json.common.JsonReader;
+import ru.tinkoff.kora.json.module.http.JsonValueSubscriber;
 
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 public final class JsonReaderAsyncHttpServerRequestMapper<T> implements HttpServerRequestMapper<CompletionStage<T>> {
@@ -31,13 +30,8 @@ public final class JsonReaderAsyncHttpServerRequestMapper<T> implements HttpServ
                 }
             }
         }
-        return FlowUtils.toByteArrayFuture(request.body())
-            .thenApply(bytes -> {
-                try {
-                    return this.reader.read(bytes);
-                } catch (IOException e) {
-                    throw new CompletionException(e);
-                }
-            });
+        var subscriber = new JsonValueSubscriber<>(this.reader);
+        body.subscribe(subscriber);
+        return subscriber;
     }
 }
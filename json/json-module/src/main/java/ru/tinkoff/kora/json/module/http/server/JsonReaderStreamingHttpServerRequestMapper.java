@@ -0,0 +1,24 @@
+package ru.tinkoff.kora.json.module.http.server;
+
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestMapper;
+import ru.tinkoff.kora.json.common.JsonReader;
+import ru.tinkoff.kora.json.module.http.JsonArrayElementsPublisher;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Reads request body with top level JSON array as a stream of its elements, elements are read while body is being received
+ */
+public final class JsonReaderStreamingHttpServerRequestMapper<T> implements HttpServerRequestMapper<Flow.Publisher<T>> {
+    private final JsonReader<T> reader;
+
+    public JsonReaderStreamingHttpServerRequestMapper(JsonReader<T> reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public Flow.Publisher<T> apply(HttpServerRequest request) {
+        return new JsonArrayElementsPublisher<>(request.body(), this.reader);
+    }
+}
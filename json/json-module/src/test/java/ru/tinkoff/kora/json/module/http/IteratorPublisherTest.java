@@ -0,0 +1,123 @@
+package ru.tinkoff.kora.json.module.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IteratorPublisherTest {
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    @Test
+    void elementsAreReadOnlyOnDemand() {
+        var iterator = new CountingIterator(List.of(1, 2, 3, 4, 5).iterator(), -1);
+        var publisher = new IteratorPublisher<>(iterator, () -> closed.set(true), Runnable::run);
+        var subscriber = new TestSubscriber<Integer>(0);
+
+        publisher.subscribe(subscriber);
+        assertThat(iterator.read).hasValue(0);
+
+        subscriber.request(2);
+        assertThat(subscriber.items).containsExactly(1, 2);
+        assertThat(iterator.read).hasValue(2);
+        assertThat(subscriber.completed).isFalse();
+
+        subscriber.request(10);
+        assertThat(subscriber.items).containsExactly(1, 2, 3, 4, 5);
+        assertThat(subscriber.completed).isTrue();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void emptyIteratorCompletes() {
+        var publisher = new IteratorPublisher<Integer>(List.<Integer>of().iterator(), () -> closed.set(true), Runnable::run);
+        var subscriber = new TestSubscriber<Integer>(1);
+
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.items).isEmpty();
+        assertThat(subscriber.completed).isTrue();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void cancelStopsReadingAndClosesResource() {
+        var iterator = new CountingIterator(List.of(1, 2, 3, 4, 5).iterator(), -1);
+        var publisher = new IteratorPublisher<>(iterator, () -> closed.set(true), Runnable::run);
+        var subscriber = new TestSubscriber<Integer>(2);
+        publisher.subscribe(subscriber);
+
+        subscriber.cancel();
+        subscriber.request(10);
+
+        assertThat(subscriber.items).containsExactly(1, 2);
+        assertThat(iterator.read).hasValue(2);
+        assertThat(subscriber.completed).isFalse();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void iteratorErrorIsPassedToSubscriber() {
+        var iterator = new CountingIterator(List.of(1, 2, 3, 4, 5).iterator(), 2);
+        var publisher = new IteratorPublisher<>(iterator, () -> closed.set(true), Runnable::run);
+        var subscriber = new TestSubscriber<Integer>(Long.MAX_VALUE);
+
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.items).containsExactly(1, 2);
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class).hasMessage("test");
+        assertThat(subscriber.completed).isFalse();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void nonPositiveRequestFailsSubscription() {
+        var publisher = new IteratorPublisher<>(List.of(1).iterator(), () -> closed.set(true), Runnable::run);
+        var subscriber = new TestSubscriber<Integer>(0);
+        publisher.subscribe(subscriber);
+
+        subscriber.request(0);
+
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(subscriber.items).isEmpty();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void secondSubscriberIsRejected() {
+        var publisher = new IteratorPublisher<>(List.of(1).iterator(), null, Runnable::run);
+        publisher.subscribe(new TestSubscriber<>(0));
+
+        assertThatThrownBy(() -> publisher.subscribe(new TestSubscriber<>(0))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static final class CountingIterator implements Iterator<Integer> {
+        private final Iterator<Integer> delegate;
+        private final int failAfter;
+        private final AtomicInteger read = new AtomicInteger();
+
+        private CountingIterator(Iterator<Integer> delegate, int failAfter) {
+            this.delegate = delegate;
+            this.failAfter = failAfter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Integer next() {
+            if (read.get() == failAfter) {
+                throw new IllegalStateException("test");
+            }
+            read.incrementAndGet();
+            return delegate.next();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package ru.tinkoff.kora.json.module.http;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.json.common.JsonReader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonArrayElementsPublisherTest {
+    static final JsonReader<Object> READER = parser -> {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return parser.getText();
+        }
+        var result = new LinkedHashMap<String, String>();
+        while (parser.nextToken() != JsonToken.END_OBJECT) {
+            var name = parser.currentName();
+            parser.nextToken();
+            result.put(name, parser.getText());
+        }
+        return result;
+    };
+
+    private static final String JSON = "[{\"id\": 12345, \"name\": \"first \\\"quoted\\\"\"}, -3.5e2, \"second\", true, null]";
+
+    @Test
+    void elementsAreParsedFromChunksOfAnySize() {
+        for (var chunkSize : List.of(1, 2, 3, 7, 1024)) {
+            var source = new TestPublisher<ByteBuffer>();
+            var subscriber = new TestSubscriber<Object>(Long.MAX_VALUE);
+            new JsonArrayElementsPublisher<>(source, READER).subscribe(subscriber);
+
+            feed(source, chunks(JSON, chunkSize));
+            source.complete();
+
+            assertThat(subscriber.error).isNull();
+            assertThat(subscriber.completed).isTrue();
+            assertThat(subscriber.items).containsExactly(Map.of("id", "12345", "name", "first \"quoted\""), "-3.5e2", "second", "true", "null");
+        }
+    }
+
+    @Test
+    void elementsAreParsedFromChunksSplitAtElementAndTokenBoundaries() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new TestSubscriber<Object>(Long.MAX_VALUE);
+        new JsonArrayElementsPublisher<>(source, READER).subscribe(subscriber);
+
+        feed(source, List.of(buffer("[\"fir"), buffer("st\","), buffer("12"), buffer("3,"), buffer("{\"na"), buffer("me\":"), buffer("\"x\"}"), buffer("]")));
+        source.complete();
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.items).containsExactly("first", "123", Map.of("name", "x"));
+    }
+
+    @Test
+    void nextChunkIsRequestedOnlyWhenParsedElementsAreConsumed() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new TestSubscriber<Object>(1);
+        new JsonArrayElementsPublisher<>(source, READER).subscribe(subscriber);
+        assertThat(source.requested).hasValue(1);
+
+        source.emit(buffer("[1,2,3,"));
+        assertThat(subscriber.items).containsExactly("1");
+        assertThat(source.requested).hasValue(0);
+
+        subscriber.request(2);
+        assertThat(subscriber.items).containsExactly("1", "2", "3");
+        assertThat(source.requested).hasValue(0);
+
+        subscriber.request(1);
+        assertThat(source.requested).hasValue(1);
+        source.emit(buffer("4]"));
+        source.complete();
+        assertThat(subscriber.items).containsExactly("1", "2", "3", "4");
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    void emptyArrayCompletesWithoutElements() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new TestSubscriber<Object>(Long.MAX_VALUE);
+        new JsonArrayElementsPublisher<>(source, READER).subscribe(subscriber);
+
+        feed(source, List.of(buffer("[ "), buffer(" ]")));
+        source.complete();
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.items).isEmpty();
+    }
+
+    @Test
+    void emptyBodyCompletesWithoutElements() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new TestSubscriber<Object>(Long.MAX_VALUE);
+        new JsonArrayElementsPublisher<>(source, READER).subscribe(subscriber);
+
+        source.complete();
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.items).isEmpty();
+    }
+
+    @Test
+    void upstreamErrorIsPassedAfterParsedElements() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new TestSubscriber<Object>(Long.MAX_VALUE);
+        new JsonArrayElementsPublisher<>(source, READER).subscribe(subscriber);
+        source.emit(buffer("[1,2,"));
+
+        var error = new IllegalStateException("test");
+        source.error(error);
+
+        assertThat(subscriber.items).containsExactly("1", "2");
+        assertThat(subscriber.error).isSameAs(error);
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test
+    void malformedJsonFailsAndCancelsUpstream() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new TestSubscriber<Object>(Long.MAX_VALUE);
+        new JsonArrayElementsPublisher<>(source, READER).subscribe(subscriber);
+
+        source.emit(buffer("[1,}"));
+
+        assertThat(subscriber.error).isInstanceOf(JsonParseException.class);
+        assertThat(source.cancelled).isTrue();
+    }
+
+    @Test
+    void truncatedArrayFails() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new TestSubscriber<Object>(Long.MAX_VALUE);
+        new JsonArrayElementsPublisher<>(source, READER).subscribe(subscriber);
+
+        source.emit(buffer("[1,2"));
+        source.complete();
+
+        assertThat(subscriber.error).isInstanceOf(JsonParseException.class);
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test
+    void cancelStopsElementsAndCancelsUpstream() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new TestSubscriber<Object>(1);
+        new JsonArrayElementsPublisher<>(source, READER).subscribe(subscriber);
+        source.emit(buffer("[1,2,3,"));
+
+        subscriber.cancel();
+        subscriber.request(10);
+
+        assertThat(subscriber.items).containsExactly("1");
+        assertThat(source.cancelled).isTrue();
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    /**
+     * Emits chunks one by one as they are requested
+     */
+    static void feed(TestPublisher<ByteBuffer> source, List<ByteBuffer> chunks) {
+        for (var chunk : chunks) {
+            assertThat(source.requested.get()).isPositive();
+            source.emit(chunk);
+        }
+    }
+
+    static List<ByteBuffer> chunks(String json, int chunkSize) {
+        var bytes = json.getBytes(StandardCharsets.UTF_8);
+        var result = new ArrayList<ByteBuffer>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            result.add(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)).slice());
+        }
+        return result;
+    }
+
+    static ByteBuffer buffer(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
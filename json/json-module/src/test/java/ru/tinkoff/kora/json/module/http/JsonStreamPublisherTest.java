@@ -0,0 +1,164 @@
+package ru.tinkoff.kora.json.module.http;
+
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.json.common.JsonWriter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonStreamPublisherTest {
+    private static final JsonWriter<Integer> WRITER = (gen, value) -> gen.writeNumber(value);
+
+    @Test
+    void chunksAreSerializedOnlyOnDemand() {
+        var source = new TestPublisher<Integer>();
+        var publisher = new JsonStreamPublisher<>(Context.current(), WRITER, source, JsonStreamPublisher.Format.ARRAY, 4);
+        var subscriber = new TestSubscriber<ByteBuffer>(0);
+
+        publisher.subscribe(subscriber);
+        assertThat(source.requested).hasValue(0);
+
+        subscriber.request(1);
+        assertThat(source.requested.get()).isPositive();
+        source.emit(1);
+        source.emit(2);
+        source.emit(3);
+        source.emit(4);
+        assertThat(subscriber.items).hasSize(1);
+        assertThat(text(subscriber.items)).isEqualTo("[1,2");
+
+        subscriber.request(Long.MAX_VALUE);
+        source.complete();
+        assertThat(subscriber.completed).isTrue();
+        assertThat(text(subscriber.items)).isEqualTo("[1,2,3,4]");
+    }
+
+    @Test
+    void elementsAreRequestedFromSourceInBatches() {
+        var source = new TestPublisher<Integer>();
+        var publisher = new JsonStreamPublisher<>(Context.current(), WRITER, source, JsonStreamPublisher.Format.ARRAY, 1024);
+        var subscriber = new TestSubscriber<ByteBuffer>(1);
+        publisher.subscribe(subscriber);
+
+        var batch = source.requested.get();
+        for (int i = 0; i < batch - 1; i++) {
+            source.emit(i);
+        }
+        assertThat(source.requested).hasValue(1);
+
+        source.emit(-1);
+        assertThat(source.requested).hasValue(batch);
+        assertThat(subscriber.items).isEmpty();
+    }
+
+    @Test
+    void ndjsonSeparatesElementsWithNewLine() {
+        var publisher = new JsonStreamPublisher<>(Context.current(), WRITER, new IteratorPublisher<>(List.of(1, 2, 3).iterator(), null, Runnable::run), JsonStreamPublisher.Format.NDJSON, 2);
+        var subscriber = new TestSubscriber<ByteBuffer>(Long.MAX_VALUE);
+
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(text(subscriber.items)).isEqualTo("1\n2\n3\n");
+    }
+
+    @Test
+    void emptySourceProducesEmptyArray() {
+        var publisher = new JsonStreamPublisher<>(Context.current(), WRITER, new IteratorPublisher<>(List.<Integer>of().iterator(), null, Runnable::run), JsonStreamPublisher.Format.ARRAY, 4);
+        var subscriber = new TestSubscriber<ByteBuffer>(1);
+
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(text(subscriber.items)).isEqualTo("[]");
+    }
+
+    @Test
+    void emptySourceProducesNoNdjsonChunks() {
+        var publisher = new JsonStreamPublisher<>(Context.current(), WRITER, new IteratorPublisher<>(List.<Integer>of().iterator(), null, Runnable::run), JsonStreamPublisher.Format.NDJSON, 4);
+        var subscriber = new TestSubscriber<ByteBuffer>(1);
+
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.items).isEmpty();
+    }
+
+    @Test
+    void sourceErrorMidStreamIsPassedDownstream() {
+        var source = new TestPublisher<Integer>();
+        var publisher = new JsonStreamPublisher<>(Context.current(), WRITER, source, JsonStreamPublisher.Format.ARRAY, 2);
+        var subscriber = new TestSubscriber<ByteBuffer>(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        source.emit(1);
+        source.emit(2);
+        var error = new IllegalStateException("test");
+        source.error(error);
+
+        assertThat(text(subscriber.items)).isEqualTo("[1,2");
+        assertThat(subscriber.error).isSameAs(error);
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test
+    void writerErrorCancelsSource() {
+        var source = new TestPublisher<Integer>();
+        JsonWriter<Integer> writer = (gen, value) -> {
+            throw new IllegalStateException("test");
+        };
+        var publisher = new JsonStreamPublisher<>(Context.current(), writer, source, JsonStreamPublisher.Format.ARRAY, 2);
+        var subscriber = new TestSubscriber<ByteBuffer>(1);
+        publisher.subscribe(subscriber);
+
+        source.emit(1);
+
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class);
+        assertThat(source.cancelled).isTrue();
+    }
+
+    @Test
+    void cancelStopsSerialization() {
+        var source = new TestPublisher<Integer>();
+        var publisher = new JsonStreamPublisher<>(Context.current(), WRITER, source, JsonStreamPublisher.Format.ARRAY, 2);
+        var subscriber = new TestSubscriber<ByteBuffer>(1);
+        publisher.subscribe(subscriber);
+        source.emit(1);
+        source.emit(2);
+
+        subscriber.cancel();
+        source.emit(3);
+        source.emit(4);
+        subscriber.request(10);
+
+        assertThat(source.cancelled).isTrue();
+        assertThat(text(subscriber.items)).isEqualTo("[1");
+        assertThat(subscriber.completed).isFalse();
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test
+    void nonPositiveRequestFailsSubscription() {
+        var source = new TestPublisher<Integer>();
+        var publisher = new JsonStreamPublisher<>(Context.current(), WRITER, source, JsonStreamPublisher.Format.ARRAY, 2);
+        var subscriber = new TestSubscriber<ByteBuffer>(0);
+        publisher.subscribe(subscriber);
+
+        subscriber.request(-1);
+
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(source.cancelled).isTrue();
+    }
+
+    static String text(List<ByteBuffer> chunks) {
+        var sb = new StringBuilder();
+        for (var chunk : chunks) {
+            sb.append(StandardCharsets.UTF_8.decode(chunk.duplicate()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package ru.tinkoff.kora.json.module.http;
+
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.json.common.JsonWriter;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.tinkoff.kora.json.module.http.JsonStreamPublisherTest.text;
+
+class JsonStreamingHttpBodyTest {
+    private static final JsonWriter<Integer> WRITER = (gen, value) -> gen.writeNumber(value);
+
+    @Test
+    void streamIsWrittenAsArrayAndClosed() {
+        var closed = new AtomicBoolean();
+        var body = JsonStreamingHttpBody.array(Context.current(), WRITER, Stream.of(1, 2, 3).onClose(() -> closed.set(true)));
+        var subscriber = new TestSubscriber<ByteBuffer>(Long.MAX_VALUE);
+
+        body.subscribe(subscriber);
+
+        assertThat(body.contentType()).isEqualTo("application/json");
+        assertThat(body.contentLength()).isEqualTo(-1);
+        assertThat(subscriber.completed).isTrue();
+        assertThat(text(subscriber.items)).isEqualTo("[1,2,3]");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void iteratorIsWrittenAsNdjsonOnExecutor() {
+        var executed = new AtomicInteger();
+        Executor executor = command -> {
+            executed.incrementAndGet();
+            command.run();
+        };
+        var body = JsonStreamingHttpBody.ndjson(Context.current(), WRITER, List.of(1, 2, 3).iterator(), executor, 1);
+        var subscriber = new TestSubscriber<ByteBuffer>(Long.MAX_VALUE);
+
+        body.subscribe(subscriber);
+
+        assertThat(body.contentType()).isEqualTo("application/x-ndjson");
+        assertThat(subscriber.completed).isTrue();
+        assertThat(text(subscriber.items)).isEqualTo("1\n2\n3\n");
+        assertThat(executed.get()).isPositive();
+    }
+
+    @Test
+    void cancelledBodyClosesStream() {
+        var closed = new AtomicBoolean();
+        var body = JsonStreamingHttpBody.array(Context.current(), WRITER, Stream.iterate(0, i -> i + 1).onClose(() -> closed.set(true)), Runnable::run, 4);
+        var subscriber = new TestSubscriber<ByteBuffer>(1);
+        body.subscribe(subscriber);
+
+        subscriber.cancel();
+
+        assertThat(subscriber.items).hasSize(1);
+        assertThat(closed).isTrue();
+    }
+}
@@ -0,0 +1,106 @@
+package ru.tinkoff.kora.json.module.http;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.tinkoff.kora.json.module.http.JsonArrayElementsPublisherTest.READER;
+import static ru.tinkoff.kora.json.module.http.JsonArrayElementsPublisherTest.buffer;
+import static ru.tinkoff.kora.json.module.http.JsonArrayElementsPublisherTest.chunks;
+
+class JsonValueSubscriberTest {
+    private static final String JSON = "{\"id\": 12345, \"name\": \"first \\\"quoted\\\"\", \"value\": -3.5e2}";
+
+    @Test
+    void valueIsParsedFromChunksOfAnySize() {
+        for (var chunkSize : List.of(1, 2, 3, 7, 1024)) {
+            var source = new TestPublisher<ByteBuffer>();
+            var subscriber = new JsonValueSubscriber<>(READER);
+            source.subscribe(subscriber);
+
+            for (var chunk : chunks(JSON, chunkSize)) {
+                assertThat(subscriber.isDone()).isFalse();
+                source.emit(chunk);
+            }
+            source.complete();
+
+            assertThat(subscriber.join()).isEqualTo(Map.of("id", "12345", "name", "first \"quoted\"", "value", "-3.5e2"));
+        }
+    }
+
+    @Test
+    void valueIsParsedFromChunksSplitAtTokenBoundaries() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new JsonValueSubscriber<>(READER);
+        source.subscribe(subscriber);
+
+        for (var chunk : List.of("{\"i", "d\"", ":1", "2", ",\"name\":\"", "x\"", "}")) {
+            source.emit(buffer(chunk));
+        }
+        assertThat(subscriber.isDone()).isFalse();
+        source.complete();
+
+        assertThat(subscriber.join()).isEqualTo(Map.of("id", "12", "name", "x"));
+    }
+
+    @Test
+    void emptyBodyIsReadAsEmptyInput() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new JsonValueSubscriber<>(parser -> parser.currentToken() == null ? "empty" : "value");
+        source.subscribe(subscriber);
+
+        source.emit(buffer(""));
+        source.complete();
+
+        assertThat(subscriber.join()).isEqualTo("empty");
+    }
+
+    @Test
+    void upstreamErrorFailsValue() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new JsonValueSubscriber<>(READER);
+        source.subscribe(subscriber);
+        source.emit(buffer("{\"id\": 1"));
+
+        var error = new IllegalStateException("test");
+        source.error(error);
+
+        assertThatThrownBy(subscriber::join).isInstanceOf(CompletionException.class);
+        assertThat(error(subscriber)).isSameAs(error);
+    }
+
+    @Test
+    void malformedJsonFailsValueAndCancelsUpstream() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new JsonValueSubscriber<>(READER);
+        source.subscribe(subscriber);
+
+        source.emit(buffer("{\"id\": }"));
+
+        assertThat(subscriber.isCompletedExceptionally()).isTrue();
+        assertThat(error(subscriber)).isInstanceOf(JsonParseException.class);
+        assertThat(source.cancelled).isTrue();
+    }
+
+    @Test
+    void truncatedValueFails() {
+        var source = new TestPublisher<ByteBuffer>();
+        var subscriber = new JsonValueSubscriber<>(READER);
+        source.subscribe(subscriber);
+
+        source.emit(buffer("{\"id\": 1"));
+        source.complete();
+
+        assertThat(error(subscriber)).isInstanceOf(JsonParseException.class);
+    }
+
+    private static Throwable error(JsonValueSubscriber<?> subscriber) {
+        return subscriber.handle((value, error) -> error).join();
+    }
+}
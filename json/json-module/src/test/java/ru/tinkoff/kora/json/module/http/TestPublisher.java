@@ -0,0 +1,44 @@
+package ru.tinkoff.kora.json.module.http;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publisher driven by test: items are emitted only by explicit calls, requested demand is recorded
+ */
+final class TestPublisher<T> implements Flow.Publisher<T> {
+    final AtomicLong requested = new AtomicLong();
+    volatile boolean cancelled = false;
+    private volatile Flow.Subscriber<? super T> subscriber;
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                requested.addAndGet(n);
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+            }
+        });
+    }
+
+    void emit(T item) {
+        if (this.requested.getAndDecrement() <= 0) {
+            throw new IllegalStateException("Item emitted without demand");
+        }
+        this.subscriber.onNext(item);
+    }
+
+    void complete() {
+        this.subscriber.onComplete();
+    }
+
+    void error(Throwable error) {
+        this.subscriber.onError(error);
+    }
+}
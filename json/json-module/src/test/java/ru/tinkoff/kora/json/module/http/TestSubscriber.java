@@ -0,0 +1,52 @@
+package ru.tinkoff.kora.json.module.http;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+
+final class TestSubscriber<T> implements Flow.Subscriber<T> {
+    final List<T> items = new CopyOnWriteArrayList<>();
+    private final long initialRequest;
+    @Nullable
+    private volatile Flow.Subscription subscription;
+    @Nullable
+    volatile Throwable error;
+    volatile boolean completed = false;
+
+    TestSubscriber(long initialRequest) {
+        this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (this.initialRequest > 0) {
+            subscription.request(this.initialRequest);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        this.items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        this.error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+        this.completed = true;
+    }
+
+    void request(long n) {
+        this.subscription.request(n);
+    }
+
+    void cancel() {
+        this.subscription.cancel();
+    }
+}
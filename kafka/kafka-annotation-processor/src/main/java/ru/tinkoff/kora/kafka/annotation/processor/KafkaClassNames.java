@@ -37,6 +37,7 @@ public final class KafkaClassNames {
 
     public static final ClassName recordHandler = ClassName.get("ru.tinkoff.kora.kafka.common.consumer.containers.handlers", "KafkaRecordHandler");
     public static final ClassName recordsHandler = ClassName.get("ru.tinkoff.kora.kafka.common.consumer.containers.handlers", "KafkaRecordsHandler");
+    public static final ClassName transactionalRecordsHandler = ClassName.get("ru.tinkoff.kora.kafka.common.consumer.containers.handlers", "KafkaTransactionalRecordsHandler");
 
 
     public static final ClassName kafkaPublisherAnnotation = ClassName.get("ru.tinkoff.kora.kafka.common.annotation", "KafkaPublisher");
@@ -44,6 +45,7 @@ public final class KafkaClassNames {
     public static final ClassName producer = ClassName.get("org.apache.kafka.clients.producer", "Producer");
     public static final ClassName producerCallback = ClassName.get("org.apache.kafka.clients.producer", "Callback");
     public static final ClassName kafkaProducer = ClassName.get("org.apache.kafka.clients.producer", "KafkaProducer");
+    public static final ClassName kafkaBatchingProducer = ClassName.get("ru.tinkoff.kora.kafka.common.producer", "KafkaBatchingProducer");
 
     public static final ClassName transactionalPublisher = ClassName.get("ru.tinkoff.kora.kafka.common.producer", "TransactionalPublisher");
     public static final ClassName transactionalPublisherImpl = ClassName.get("ru.tinkoff.kora.kafka.common.producer", "TransactionalPublisherImpl");
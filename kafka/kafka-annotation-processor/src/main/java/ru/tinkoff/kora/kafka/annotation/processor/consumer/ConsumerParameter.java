@@ -6,6 +6,7 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,6 +29,8 @@ public sealed interface ConsumerParameter {
 
     record Headers(VariableElement element) implements ConsumerParameter {}
 
+    record Transaction(VariableElement element, TypeMirror publisher) implements ConsumerParameter {}
+
     record Unknown(VariableElement element) implements ConsumerParameter {}
 
     static List<ConsumerParameter> parseParameters(ExecutableElement executableElement) {
@@ -54,6 +57,14 @@ public sealed interface ConsumerParameter {
                 result.add(new ConsumerParameter.RecordsTelemetry(parameter, dt.getTypeArguments().get(0), dt.getTypeArguments().get(1)));
                 continue;
             }
+            if (KafkaUtils.isTransaction(type)) {
+                var publisher = ((DeclaredType) type).getTypeArguments().get(0);
+                if (publisher instanceof WildcardType w && w.getExtendsBound() != null) {
+                    publisher = w.getExtendsBound();
+                }
+                result.add(new ConsumerParameter.Transaction(parameter, publisher));
+                continue;
+            }
             if (KafkaUtils.isHeaders(type)) {
                 result.add(new Headers(parameter));
                 continue;
@@ -65,10 +65,14 @@ public class KafkaConsumerContainerGenerator {
         methodBuilder.addStatement("var telemetry = telemetryFactory.get(config.driverProperties(), config.telemetry())");
 
         var consumerParameter = parameters.stream().filter(r -> r instanceof ConsumerParameter.Consumer).map(ConsumerParameter.Consumer.class::cast).findFirst();
-        if (handlerTypeName.rawType.equals(recordHandler)) {
-            methodBuilder.addCode("var wrappedHandler = $T.wrapHandlerRecord(telemetry, $L, handler);\n", handlerWrapper, consumerParameter.isEmpty());
+        if (handlerTypeName.rawType.equals(transactionalRecordsHandler)) {
+            var publisherType = handlerTypeName.typeArguments.get(2);
+            methodBuilder.addParameter(ParameterizedTypeName.get(transactionalPublisher, publisherType), "transactionalPublisher");
+            methodBuilder.addCode("var wrappedHandler = $T.wrapHandlerRecordsTransactional(config, telemetry, transactionalPublisher, handler);\n", handlerWrapper);
+        } else if (handlerTypeName.rawType.equals(recordHandler)) {
+            methodBuilder.addCode("var wrappedHandler = $T.wrapHandlerRecord(config, telemetry, $L, handler);\n", handlerWrapper, consumerParameter.isEmpty());
         } else {
-            methodBuilder.addCode("var wrappedHandler = $T.wrapHandlerRecords(telemetry, $L, handler);\n", handlerWrapper, consumerParameter.isEmpty());
+            methodBuilder.addCode("var wrappedHandler = $T.wrapHandlerRecords(config, telemetry, $L, handler);\n", handlerWrapper, consumerParameter.isEmpty());
         }
         methodBuilder.addCode("if (config.driverProperties().getProperty($T.GROUP_ID_CONFIG) == null) {$>\n", commonClientConfigs);
         methodBuilder.beginControlFlow("if (config.topics() == null || config.topics().size() != 1)"); // todo allow list?
@@ -76,7 +80,7 @@ public class KafkaConsumerContainerGenerator {
         methodBuilder.endControlFlow();
         methodBuilder.addCode("return new $T<>(config, config.topics().get(0), keyDeserializer, valueDeserializer, telemetry, wrappedHandler);", kafkaAssignConsumerContainer);
         methodBuilder.addCode("$<\n} else {$>\n");
-        methodBuilder.addCode("return new $T<>(config, keyDeserializer, valueDeserializer, wrappedHandler, rebalanceListener);", kafkaSubscribeConsumerContainer);
+        methodBuilder.addCode("return new $T<>(config, keyDeserializer, valueDeserializer, telemetry, wrappedHandler, rebalanceListener);", kafkaSubscribeConsumerContainer);
         methodBuilder.addCode("$<\n}\n");
         return methodBuilder.build();
     }
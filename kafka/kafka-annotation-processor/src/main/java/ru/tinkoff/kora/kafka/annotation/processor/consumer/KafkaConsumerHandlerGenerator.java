@@ -262,9 +262,20 @@ public class KafkaConsumerHandlerGenerator {
         var keyType = keyTypeMirror instanceof WildcardType w && w.getSuperBound() == null && w.getExtendsBound() == null ? ArrayTypeName.of(TypeName.BYTE) : TypeName.get(keyTypeMirror);
         var valueType = TypeName.get(valueTypeMirror);
 
-        methodBuilder.returns(ParameterizedTypeName.get(recordsHandler, keyType, valueType));
+        var transactionParameter = parameters.stream().filter(r -> r instanceof ConsumerParameter.Transaction).map(ConsumerParameter.Transaction.class::cast).findFirst();
         var b = CodeBlock.builder();
-        b.add("return (consumer, tctx, records) -> {$>\n");
+        if (transactionParameter.isPresent()) {
+            var publisherTypeMirror = transactionParameter.get().publisher();
+            if (!(publisherTypeMirror instanceof DeclaredType)) {
+                var message = "Kafka listener method has invalid transaction publisher type %s".formatted(publisherTypeMirror);
+                throw new ProcessingErrorException(message, transactionParameter.get().element());
+            }
+            methodBuilder.returns(ParameterizedTypeName.get(transactionalRecordsHandler, keyType, valueType, TypeName.get(publisherTypeMirror)));
+            b.add("return (consumer, tctx, records, tx) -> {$>\n");
+        } else {
+            methodBuilder.returns(ParameterizedTypeName.get(recordsHandler, keyType, valueType));
+            b.add("return (consumer, tctx, records) -> {$>\n");
+        }
         b.add("controller.$N(", executableElement.getSimpleName());
         for (int i = 0; i < parameters.size(); i++) {
             if (i > 0) {
@@ -277,9 +288,11 @@ public class KafkaConsumerHandlerGenerator {
                 b.add("tctx");
             } else if (parameter instanceof ConsumerParameter.Records) {
                 b.add("records");
+            } else if (parameter instanceof ConsumerParameter.Transaction) {
+                b.add("($T) tx", TypeName.get(parameter.element().asType()));
             } else {
                 throw new ProcessingErrorException(
-                    "Records listener can't have parameter of type %s, only consumer, records and records telemetry are allowed".formatted(parameter.element().asType()),
+                    "Records listener can't have parameter of type %s, only consumer, records, records telemetry and transaction are allowed".formatted(parameter.element().asType()),
                     parameter.element()
                 );
             }
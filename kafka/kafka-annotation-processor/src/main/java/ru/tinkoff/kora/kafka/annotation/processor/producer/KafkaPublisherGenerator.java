@@ -104,7 +104,7 @@ final class KafkaPublisherGenerator {
         builder.addStatement("var properties = new $T()", Properties.class);
         builder.addStatement("properties.putAll(config.driverProperties())");
         builder.addStatement("properties.putAll(additionalProperties)");
-        builder.addCode("return new $T(telemetryFactory, config.telemetry(), properties, topicConfig$>", aopProxy == null ? implementationName : ClassName.get(aopProxy));
+        builder.addCode("return new $T(telemetryFactory, config, properties, topicConfig$>", aopProxy == null ? implementationName : ClassName.get(aopProxy));
 
         record TypeWithTag(TypeName typeName, Set<String> tag) {}
         var parameters = new HashMap<TypeWithTag, String>();
@@ -175,7 +175,7 @@ final class KafkaPublisherGenerator {
                 .build())
             .addOriginatingElement(publisher)
             .addSuperinterface(generatedPublisher)
-            .addField(CommonClassNames.telemetryConfig, "telemetryConfig", Modifier.PRIVATE, Modifier.FINAL)
+            .addField(KafkaClassNames.publisherConfig, "config", Modifier.PRIVATE, Modifier.FINAL)
             .addField(ClassName.get(Properties.class), "driverProperties", Modifier.PRIVATE, Modifier.FINAL)
             .addField(topicConfigTypeName, "topicConfig", Modifier.PRIVATE, Modifier.FINAL)
             .addField(KafkaClassNames.producerTelemetryFactory, "telemetryFactory", Modifier.PRIVATE, Modifier.FINAL)
@@ -184,8 +184,9 @@ final class KafkaPublisherGenerator {
             .addMethod(MethodSpec.methodBuilder("init")
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addAnnotation(Override.class)
-                .addCode("this.delegate = new $T<>(driverProperties, new $T(), new $T());\n", KafkaClassNames.kafkaProducer, byteArraySerializer, byteArraySerializer)
-                .addCode("this.telemetry = this.telemetryFactory.get(this.telemetryConfig, this.delegate, driverProperties);\n", KafkaClassNames.kafkaProducer)
+                .addCode("var producer = new $T<>(driverProperties, new $T(), new $T());\n", KafkaClassNames.kafkaProducer, byteArraySerializer, byteArraySerializer)
+                .addCode("this.telemetry = this.telemetryFactory.get(this.config.telemetry(), producer, driverProperties);\n")
+                .addCode("this.delegate = $T.wrap(producer, this.config, driverProperties, this.telemetry);\n", KafkaClassNames.kafkaBatchingProducer)
                 .build())
             .addMethod(MethodSpec.methodBuilder("release")
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
@@ -214,8 +215,8 @@ final class KafkaPublisherGenerator {
         var constructorBuilder = MethodSpec.constructorBuilder()
             .addModifiers(Modifier.PUBLIC)
             .addParameter(producerTelemetryFactory, "telemetryFactory")
-            .addParameter(CommonClassNames.telemetryConfig, "telemetryConfig")
-            .addStatement("this.telemetryConfig = telemetryConfig")
+            .addParameter(KafkaClassNames.publisherConfig, "config")
+            .addStatement("this.config = config")
             .addParameter(ClassName.get(Properties.class), "driverProperties")
             .addParameter(topicConfigTypeName, "topicConfig")
             .addStatement("this.driverProperties = driverProperties")
@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -119,6 +120,13 @@ final class KafkaPublisherTransactionalGenerator {
                 .addStatement("return this.delegate.begin()")
                 .build()
             )
+            .addMethod(MethodSpec.methodBuilder("beginAsync")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addAnnotation(Override.class)
+                .returns(ParameterizedTypeName.get(ClassName.get(CompletionStage.class), WildcardTypeName.subtypeOf(ParameterizedTypeName.get(KafkaClassNames.transaction, WildcardTypeName.subtypeOf(publisherType)))))
+                .addStatement("return this.delegate.beginAsync()")
+                .build()
+            )
             .build();
 
         JavaFile.builder(packageName, b)
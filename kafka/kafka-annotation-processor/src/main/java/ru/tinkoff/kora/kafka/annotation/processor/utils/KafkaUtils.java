@@ -103,6 +103,10 @@ public final class KafkaUtils {
         return tm instanceof DeclaredType dt && ClassName.get((TypeElement) dt.asElement()).equals(KafkaClassNames.kafkaConsumerRecordsTelemetry);
     }
 
+    public static boolean isTransaction(TypeMirror tm) {
+        return tm instanceof DeclaredType dt && ClassName.get((TypeElement) dt.asElement()).equals(KafkaClassNames.transaction);
+    }
+
     public static boolean isConsumer(TypeMirror tm) {
         return tm instanceof DeclaredType dt && ClassName.get((TypeElement) dt.asElement()).equals(KafkaClassNames.consumer);
     }
@@ -24,10 +24,12 @@ import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
 import ru.tinkoff.kora.kafka.common.consumer.containers.ConsumerRecordWrapper;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaTransactionalRecordsHandler;
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetryFactory;
 import ru.tinkoff.kora.kafka.common.exceptions.RecordKeyDeserializationException;
 import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
+import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
@@ -161,6 +163,7 @@ public abstract class AbstractKafkaListenerAnnotationProcessorTest extends Abstr
             import ru.tinkoff.kora.kafka.common.exceptions.RecordKeyDeserializationException;
             import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
             import org.apache.kafka.common.header.Headers;
+            import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher;
             """;
     }
 
@@ -210,6 +213,13 @@ public abstract class AbstractKafkaListenerAnnotationProcessorTest extends Abstr
                 .verifyRecordsHandler();
         }
 
+        protected <K, V> ListenerModuleAssertions<K, V>.TransactionalRecordsHandlerAssertions transactionalRecordsHandler(Class<K> keyType, Class<V> valueType, Class<?> publisherType) {
+            return new ListenerModuleAssertions<>(keyType, valueType)
+                .verifyConfig()
+                .verifyTransactionalRecordsContainer(publisherType)
+                .verifyTransactionalRecordsHandler();
+        }
+
         protected class ListenerModuleAssertions<K, V> {
             private final Type keyType;
             private final Type valueType;
@@ -264,6 +274,18 @@ public abstract class AbstractKafkaListenerAnnotationProcessorTest extends Abstr
                 return this;
             }
 
+            public ListenerModuleAssertions<K, V> verifyTransactionalRecordsContainer(Class<?> publisherType) {
+                var containerMethod = assertContainer();
+                assertThat(containerMethod.getParameters()[1].getParameterizedType()).isEqualTo(TypeRef.of(
+                    ValueOf.class,
+                    TypeRef.of(KafkaTransactionalRecordsHandler.class, keyType, valueType, publisherType)
+                ));
+                assertThat(containerMethod.getParameters()[1].getAnnotation(Tag.class).value()).isEqualTo(tagValue);
+                assertThat(containerMethod.getParameters()[6].getParameterizedType()).isEqualTo(TypeRef.of(TransactionalPublisher.class, publisherType));
+
+                return this;
+            }
+
             public RecordHandlerAssertions verifyRecordHandler() {
                 return new RecordHandlerAssertions(controllerClass, moduleClass);
             }
@@ -272,6 +294,10 @@ public abstract class AbstractKafkaListenerAnnotationProcessorTest extends Abstr
                 return new RecordsHandlerAssertions(controllerClass, moduleClass);
             }
 
+            public TransactionalRecordsHandlerAssertions verifyTransactionalRecordsHandler() {
+                return new TransactionalRecordsHandlerAssertions(controllerClass, moduleClass);
+            }
+
             protected class AbstractHandlerAssertions {
                 protected final Object mock;
                 protected final Method handlerMethod;
@@ -356,6 +382,29 @@ public abstract class AbstractKafkaListenerAnnotationProcessorTest extends Abstr
                 }
             }
 
+            @SuppressWarnings("unchecked")
+            protected class TransactionalRecordsHandlerAssertions extends AbstractHandlerAssertions {
+                private final KafkaTransactionalRecordsHandler<K, V, Object> moduleHandler;
+
+                @SuppressWarnings("unchecked")
+                protected TransactionalRecordsHandlerAssertions(Class<?> controllerClass, Class<?> moduleClass) {
+                    super(controllerClass, moduleClass);
+                    try {
+                        this.moduleHandler = (KafkaTransactionalRecordsHandler<K, V, Object>) handlerMethod.invoke(module, this.mock);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+
+                public void handle(ConsumerRecord<K, V> record, TransactionalPublisher.Transaction<?> transaction, ThrowingConsumer<InvocationAssertions<K, V>> verifier) {
+                    moduleHandler.handle(consumer, recordsTelemetry, new ConsumerRecords<>(Map.of(
+                        new TopicPartition("test", 1),
+                        List.of(record)
+                    )), transaction);
+                    assertThat(invocation).isNotNull().satisfies(i -> verifier.accept(new InvocationAssertions<K, V>(i)));
+                }
+            }
+
             protected static class InvocationAssertions<K, V> {
 
                 private final InvocationOnMock invocation;
@@ -436,6 +485,12 @@ public abstract class AbstractKafkaListenerAnnotationProcessorTest extends Abstr
                     return this;
                 }
 
+                public InvocationAssertions<K, V> assertTransaction(int i, TransactionalPublisher.Transaction<?> transaction) {
+                    assertThat(invocation.getArgument(i, TransactionalPublisher.Transaction.class)).isSameAs(transaction);
+
+                    return this;
+                }
+
                 public InvocationAssertions<K, V> assertTelemetry(int i) {
                     assertThat(invocation.getArgument(i, KafkaConsumerTelemetry.KafkaConsumerRecordsTelemetryContext.class)).isNotNull();
 
@@ -3,11 +3,13 @@ package ru.tinkoff.kora.kafka.annotation.processor.consumer;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import ru.tinkoff.kora.application.graph.ValueOf;
 import ru.tinkoff.kora.common.Tag;
 import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
 import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetryFactory;
+import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -164,4 +166,53 @@ public class KafkaListenerRecordsTest extends AbstractKafkaListenerAnnotationPro
             )
         );
     }
+
+    @Test
+    public void testProcessRecordsInTransaction() {
+        var transaction = Mockito.mock(TransactionalPublisher.Transaction.class);
+        var handler = compile("""
+            public class KafkaListenerClass {
+                @KafkaListener("test.config.path")
+                public void process(ConsumerRecords<String, String> event, TransactionalPublisher.Transaction<TestPublisher> transaction) {
+                }
+            }
+            """, """
+            public interface TestPublisher {
+            }
+            """)
+            .transactionalRecordsHandler(String.class, String.class, compileResult.loadClass("TestPublisher"));
+
+        handler.handle(record("test", "test-value"), transaction, i -> i
+            .assertTransaction(1, transaction)
+            .assertRecords(0)
+            .hasSize(1)
+            .hasRecord(0, v -> v
+                .hasKey("test")
+                .hasValue("test-value")
+            )
+        );
+    }
+
+    @Test
+    public void testProcessRecordsInCovariantTransaction() {
+        var transaction = Mockito.mock(TransactionalPublisher.Transaction.class);
+        var handler = compile("""
+            public class KafkaListenerClass {
+                @KafkaListener("test.config.path")
+                public void process(Consumer<?, ?> consumer, TransactionalPublisher.Transaction<? extends TestPublisher> transaction, ConsumerRecords<String, String> event) {
+                }
+            }
+            """, """
+            public interface TestPublisher {
+            }
+            """)
+            .transactionalRecordsHandler(String.class, String.class, compileResult.loadClass("TestPublisher"));
+
+        handler.handle(record("test", "test-value"), transaction, i -> i
+            .assertConsumer(0)
+            .assertTransaction(1, transaction)
+            .assertRecords(2)
+            .hasSize(1)
+        );
+    }
 }
@@ -8,7 +8,6 @@ import ru.tinkoff.kora.common.Tag;
 import ru.tinkoff.kora.kafka.annotation.processor.producer.KafkaPublisherAnnotationProcessor;
 import ru.tinkoff.kora.kafka.common.producer.KafkaPublisherConfig;
 import ru.tinkoff.kora.kafka.common.producer.telemetry.KafkaProducerTelemetryFactory;
-import ru.tinkoff.kora.telemetry.common.TelemetryConfig;
 
 import java.util.List;
 import java.util.Properties;
@@ -42,7 +41,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -58,7 +57,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -72,7 +71,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -123,7 +122,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -138,7 +137,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -153,7 +152,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -185,7 +184,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class, Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class, Serializer.class);
     }
 
     @Test
@@ -200,7 +199,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class, Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class, Serializer.class);
     }
 
     @Test
@@ -233,7 +232,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -266,7 +265,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -281,7 +280,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -296,7 +295,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
     @Test
     public void testReturnCompletableFuture() throws NoSuchMethodException {
@@ -310,7 +309,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -325,7 +324,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -340,7 +339,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -355,7 +354,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
@@ -370,7 +369,7 @@ public class KafkaPublisherTest extends AbstractAnnotationProcessorTest {
         this.compileResult.assertSuccess();
         var clazz = this.compileResult.loadClass("$TestProducer_Impl");
         assertThat(clazz).isNotNull();
-        clazz.getConstructor(KafkaProducerTelemetryFactory.class, TelemetryConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
+        clazz.getConstructor(KafkaProducerTelemetryFactory.class, KafkaPublisherConfig.class, Properties.class, compileResult.loadClass("$TestProducer_TopicConfig"), Serializer.class);
     }
 
     @Test
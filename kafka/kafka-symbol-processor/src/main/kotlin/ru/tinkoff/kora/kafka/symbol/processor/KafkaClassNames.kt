@@ -35,12 +35,14 @@ object KafkaClassNames {
 
     val recordHandler = ClassName("ru.tinkoff.kora.kafka.common.consumer.containers.handlers", "KafkaRecordHandler")
     val recordsHandler = ClassName("ru.tinkoff.kora.kafka.common.consumer.containers.handlers", "KafkaRecordsHandler")
+    val transactionalRecordsHandler = ClassName("ru.tinkoff.kora.kafka.common.consumer.containers.handlers", "KafkaTransactionalRecordsHandler")
 
     val kafkaPublisherAnnotation = ClassName("ru.tinkoff.kora.kafka.common.annotation", "KafkaPublisher");
     val kafkaTopicAnnotation = ClassName("ru.tinkoff.kora.kafka.common.annotation", "KafkaPublisher", "Topic");
     val producer = ClassName("org.apache.kafka.clients.producer", "Producer");
     val producerCallback = ClassName("org.apache.kafka.clients.producer", "Callback");
     val kafkaProducer = ClassName("org.apache.kafka.clients.producer", "KafkaProducer");
+    val kafkaBatchingProducer = ClassName("ru.tinkoff.kora.kafka.common.producer", "KafkaBatchingProducer");
 
     val transactionalPublisher = ClassName("ru.tinkoff.kora.kafka.common.producer", "TransactionalPublisher");
     val transactionalPublisherImpl = ClassName("ru.tinkoff.kora.kafka.common.producer", "TransactionalPublisherImpl");
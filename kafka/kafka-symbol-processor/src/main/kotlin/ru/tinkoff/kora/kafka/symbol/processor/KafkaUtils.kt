@@ -14,6 +14,7 @@ import ru.tinkoff.kora.kafka.symbol.processor.KafkaClassNames.consumerRecords
 import ru.tinkoff.kora.kafka.symbol.processor.KafkaClassNames.kafkaConsumerRecordsTelemetry
 import ru.tinkoff.kora.kafka.symbol.processor.KafkaClassNames.recordKeyDeserializationException
 import ru.tinkoff.kora.kafka.symbol.processor.KafkaClassNames.recordValueDeserializationException
+import ru.tinkoff.kora.kafka.symbol.processor.KafkaClassNames.transaction
 import ru.tinkoff.kora.ksp.common.AnnotationUtils.findAnnotation
 import ru.tinkoff.kora.ksp.common.AnnotationUtils.findValueNoDefault
 
@@ -62,6 +63,8 @@ object KafkaUtils {
     fun KSType.isRecordsTelemetry() = declaration.let { it is KSClassDeclaration && it.toClassName() == kafkaConsumerRecordsTelemetry }
 
     fun KSType.isConsumer() = declaration.let { it is KSClassDeclaration && it.toClassName() == consumer }
+
+    fun KSType.isTransaction() = declaration.let { it is KSClassDeclaration && it.toClassName() == transaction }
 }
 
 
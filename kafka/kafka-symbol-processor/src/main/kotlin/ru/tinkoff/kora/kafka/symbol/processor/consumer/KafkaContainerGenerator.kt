@@ -38,10 +38,13 @@ class KafkaContainerGenerator {
             .addAnnotation(tagAnnotation)
             .returns(CommonClassNames.lifecycle)
         funBuilder.addStatement("val telemetry = telemetryFactory.get(config.driverProperties(), config.telemetry())")
-        if (handlerType.rawType == KafkaClassNames.recordHandler) {
-            funBuilder.addStatement("val wrappedHandler = %T.wrapHandlerRecord(telemetry, %L, handler)", KafkaClassNames.handlerWrapper, consumerParameter == null)
+        if (handlerType.rawType == KafkaClassNames.transactionalRecordsHandler) {
+            funBuilder.addParameter("transactionalPublisher", KafkaClassNames.transactionalPublisher.parameterizedBy(handlerType.typeArguments[2]))
+            funBuilder.addStatement("val wrappedHandler = %T.wrapHandlerRecordsTransactional(config, telemetry, transactionalPublisher, handler)", KafkaClassNames.handlerWrapper)
+        } else if (handlerType.rawType == KafkaClassNames.recordHandler) {
+            funBuilder.addStatement("val wrappedHandler = %T.wrapHandlerRecord(config, telemetry, %L, handler)", KafkaClassNames.handlerWrapper, consumerParameter == null)
         } else {
-            funBuilder.addStatement("val wrappedHandler = %T.wrapHandlerRecords(telemetry, %L, handler)", KafkaClassNames.handlerWrapper, consumerParameter == null)
+            funBuilder.addStatement("val wrappedHandler = %T.wrapHandlerRecords(config, telemetry, %L, handler)", KafkaClassNames.handlerWrapper, consumerParameter == null)
         }
         funBuilder.controlFlow("if (config.driverProperties().getProperty(%T.GROUP_ID_CONFIG) == null)", KafkaClassNames.commonClientConfigs) {
             addStatement("val topics = config.topics()")
@@ -49,7 +52,7 @@ class KafkaContainerGenerator {
             addStatement("require(topics.size == 1)")
             addStatement("return %T(config, topics[0], keyDeserializer, valueDeserializer, telemetry, wrappedHandler)", KafkaClassNames.kafkaAssignConsumerContainer)
             nextControlFlow("else")
-            addStatement("return %T(config, keyDeserializer, valueDeserializer, wrappedHandler, rebalanceListener)", KafkaClassNames.kafkaSubscribeConsumerContainer)
+            addStatement("return %T(config, keyDeserializer, valueDeserializer, telemetry, wrappedHandler, rebalanceListener)", KafkaClassNames.kafkaSubscribeConsumerContainer)
         }
         return funBuilder.build()
     }
@@ -4,6 +4,7 @@ import com.google.devtools.ksp.processing.KSPLogger
 import com.google.devtools.ksp.symbol.KSClassDeclaration
 import com.google.devtools.ksp.symbol.KSFunctionDeclaration
 import com.google.devtools.ksp.symbol.Modifier
+import com.google.devtools.ksp.symbol.Variance
 import com.squareup.kotlinpoet.*
 import com.squareup.kotlinpoet.ParameterizedTypeName.Companion.parameterizedBy
 import com.squareup.kotlinpoet.ksp.toClassName
@@ -13,6 +14,7 @@ import ru.tinkoff.kora.kafka.symbol.processor.KafkaClassNames.recordHandler
 import ru.tinkoff.kora.kafka.symbol.processor.KafkaClassNames.recordKeyDeserializationException
 import ru.tinkoff.kora.kafka.symbol.processor.KafkaClassNames.recordValueDeserializationException
 import ru.tinkoff.kora.kafka.symbol.processor.KafkaClassNames.recordsHandler
+import ru.tinkoff.kora.kafka.symbol.processor.KafkaClassNames.transactionalRecordsHandler
 import ru.tinkoff.kora.kafka.symbol.processor.KafkaUtils.getConsumerTags
 import ru.tinkoff.kora.kafka.symbol.processor.KafkaUtils.handlerFunName
 import ru.tinkoff.kora.ksp.common.KotlinPoetUtils.controlFlow
@@ -132,26 +134,40 @@ class KafkaHandlerGenerator(private val kspLogger: KSPLogger) {
             val message = "Kafka listener method has invalid value type $valueTypeName"
             throw ProcessingErrorException(message, function)
         }
-        val handlerType = recordsHandler.parameterizedBy(keyTypeName, valueTypeName)
+        val transactionParameter = parameters.firstOrNull { it is ConsumerParameter.Transaction } as ConsumerParameter.Transaction?
+        val handlerType = if (transactionParameter != null) {
+            val publisherTypeName = transactionParameter.publisher.toTypeName().copy(false)
+            if (publisherTypeName !is ParameterizedTypeName && publisherTypeName !is ClassName) {
+                val message = "Kafka listener method has invalid transaction publisher type $publisherTypeName"
+                throw ProcessingErrorException(message, transactionParameter.parameter)
+            }
+            transactionalRecordsHandler.parameterizedBy(keyTypeName, valueTypeName, publisherTypeName)
+        } else {
+            recordsHandler.parameterizedBy(keyTypeName, valueTypeName)
+        }
         b.returns(handlerType)
-        b.controlFlow("return %T { consumer, tctx, records ->", handlerType) {
+        val lambdaParameters = if (transactionParameter != null) "consumer, tctx, records, tx" else "consumer, tctx, records"
+        b.controlFlow("return %T { $lambdaParameters ->", handlerType) {
             if (function.modifiers.contains(Modifier.SUSPEND)) {
                 b.beginControlFlow("kotlinx.coroutines.runBlocking(%T.Unconfined + %T.Kotlin.asCoroutineContext(%T.current()))", dispatchers, context, context)
             }
             addCode("controller.%N(", function.simpleName.asString())
             for ((i, it) in parameters.withIndex()) {
                 if (i > 0) addCode(", ")
-                addCode(
-                    when (it) {
-                        is ConsumerParameter.Consumer -> "consumer"
-                        is ConsumerParameter.RecordsTelemetry -> "tctx"
-                        is ConsumerParameter.Records -> "records"
-                        else -> throw ProcessingErrorException(
-                            "Records listener can't have parameter of type ${it.parameter.type}, only consumer, records and records telemetry are allowed",
-                            it.parameter
-                        )
+                when (it) {
+                    is ConsumerParameter.Consumer -> addCode("consumer")
+                    is ConsumerParameter.RecordsTelemetry -> addCode("tctx")
+                    is ConsumerParameter.Records -> addCode("records")
+                    is ConsumerParameter.Transaction -> if (it.parameter.type.resolve().arguments[0].variance == Variance.COVARIANT) {
+                        addCode("tx")
+                    } else {
+                        addCode("tx as %T", it.parameter.type.toTypeName())
                     }
-                )
+                    else -> throw ProcessingErrorException(
+                        "Records listener can't have parameter of type ${it.parameter.type}, only consumer, records, records telemetry and transaction are allowed",
+                        it.parameter
+                    )
+                }
             }
             addCode(")\n")
             if (function.modifiers.contains(Modifier.SUSPEND)) {
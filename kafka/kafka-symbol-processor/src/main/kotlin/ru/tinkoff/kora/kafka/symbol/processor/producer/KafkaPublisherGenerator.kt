@@ -139,7 +139,7 @@ class KafkaPublisherGenerator(val env: SymbolProcessorEnvironment, val resolver:
             addStatement("var properties = %T()", Properties::class.asClassName())
             addStatement("properties.putAll(config.driverProperties())")
             addStatement("properties.putAll(additionalProperties)")
-            add("%T(telemetryFactory, config.telemetry(), properties", aopProxy?.toClassName() ?: implementationTypeName).indent()
+            add("%T(telemetryFactory, config, properties", aopProxy?.toClassName() ?: implementationTypeName).indent()
             topicConfig?.let { add(", topicConfig") }
             val parameters = HashMap<TypeWithTag, String>()
             val counter = AtomicInteger(0)
@@ -203,7 +203,7 @@ class KafkaPublisherGenerator(val env: SymbolProcessorEnvironment, val resolver:
             .addOriginatingKSFile(classDeclaration.containingFile!!)
             .addSuperinterface(KafkaClassNames.generatedPublisher)
             .addProperty(PropertySpec.builder("telemetryFactory", producerTelemetryFactory, KModifier.PRIVATE, KModifier.FINAL).initializer("telemetryFactory").build())
-            .addProperty(PropertySpec.builder("telemetryConfig", CommonClassNames.telemetryConfig, KModifier.PRIVATE, KModifier.FINAL).initializer("telemetryConfig").build())
+            .addProperty(PropertySpec.builder("config", KafkaClassNames.publisherConfig, KModifier.PRIVATE, KModifier.FINAL).initializer("config").build())
             .addProperty(PropertySpec.builder("driverProperties", Properties::class, KModifier.PRIVATE, KModifier.FINAL).initializer("driverProperties").build())
             .apply { topicConfig?.let { addProperty(PropertySpec.builder("topicConfig", it, KModifier.PRIVATE, KModifier.FINAL).initializer("topicConfig").build()) } }
             .addProperty(
@@ -223,8 +223,10 @@ class KafkaPublisherGenerator(val env: SymbolProcessorEnvironment, val resolver:
             .addFunction(
                 FunSpec.builder("init")
                     .addModifiers(KModifier.OVERRIDE)
-                    .addStatement("this.delegate = %T(driverProperties, %T(), %T())", KafkaClassNames.kafkaProducer, KafkaClassNames.byteArraySerializer, KafkaClassNames.byteArraySerializer)
-                    .addStatement("this.telemetry = this.telemetryFactory.get(this.telemetryConfig, this.delegate, driverProperties)")
+                    .addStatement("val producer = %T(driverProperties, %T(), %T())", KafkaClassNames.kafkaProducer, KafkaClassNames.byteArraySerializer, KafkaClassNames.byteArraySerializer)
+                    .addStatement("val telemetry = this.telemetryFactory.get(this.config.telemetry(), producer, driverProperties)")
+                    .addStatement("this.telemetry = telemetry")
+                    .addStatement("this.delegate = %T.wrap(producer, this.config, driverProperties, telemetry)", KafkaClassNames.kafkaBatchingProducer)
                     .build()
             )
             .addFunction(
@@ -255,7 +257,7 @@ class KafkaPublisherGenerator(val env: SymbolProcessorEnvironment, val resolver:
 
         val constructorBuilder = FunSpec.constructorBuilder()
             .addParameter("telemetryFactory", producerTelemetryFactory)
-            .addParameter("telemetryConfig", CommonClassNames.telemetryConfig)
+            .addParameter("config", KafkaClassNames.publisherConfig)
             .addParameter("driverProperties", Properties::class)
             .apply { topicConfig?.let { addParameter("topicConfig", it) } }
 
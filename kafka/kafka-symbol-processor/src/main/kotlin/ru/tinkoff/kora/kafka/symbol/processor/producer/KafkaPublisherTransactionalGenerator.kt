@@ -16,6 +16,7 @@ import ru.tinkoff.kora.ksp.common.CommonClassNames
 import ru.tinkoff.kora.ksp.common.KspCommonUtils.generated
 import ru.tinkoff.kora.ksp.common.generatedClassName
 import java.util.*
+import java.util.concurrent.CompletionStage
 import java.util.function.Function
 import java.util.function.Supplier
 
@@ -98,6 +99,12 @@ class KafkaPublisherTransactionalGenerator(
                 .addStatement("return this.delegate.begin()")
                 .build()
             )
+            .addFunction(FunSpec.builder("beginAsync")
+                .addModifiers(KModifier.OVERRIDE)
+                .returns(CompletionStage::class.asClassName().parameterizedBy(WildcardTypeName.producerOf(KafkaClassNames.transaction.parameterizedBy(WildcardTypeName.producerOf(publisherType)))))
+                .addStatement("return this.delegate.beginAsync()")
+                .build()
+            )
             .build()
         FileSpec.builder(packageName, b.name!!).addType(b)
             .build()
@@ -14,6 +14,7 @@ abstract class AbstractKafkaListenerAnnotationProcessorTest : AbstractSymbolProc
             import ru.tinkoff.kora.kafka.common.exceptions.RecordKeyDeserializationException;
             import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
             import org.apache.kafka.common.header.Headers;
+            import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher;
             """.trimIndent()
     }
 
@@ -2,13 +2,18 @@ package ru.tinkoff.kora.kafka.symbol.processor.consumer
 
 import org.apache.kafka.common.serialization.Deserializer
 import org.assertj.core.api.Assertions
+import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Disabled
 import org.junit.jupiter.api.Test
+import ru.tinkoff.kora.application.graph.TypeRef
+import ru.tinkoff.kora.application.graph.ValueOf
 import ru.tinkoff.kora.common.Tag
 import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener
 import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordsHandler
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaTransactionalRecordsHandler
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetryFactory
+import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher
 
 class KafkaListenerRecordsTest : AbstractKafkaListenerAnnotationProcessorTest() {
     @Test
@@ -129,4 +134,63 @@ class KafkaListenerRecordsTest : AbstractKafkaListenerAnnotationProcessorTest()
             """.trimIndent()
         )
     }
+
+    @Test
+    fun testProcessRecordsInTransaction() {
+        compile(
+            """
+            class KafkaListenerClass {
+                @KafkaListener("test.config.path")
+                fun process(event: ConsumerRecords<String, String>, transaction: TransactionalPublisher.Transaction<TestPublisher>) {
+                }
+            }
+            
+            """.trimIndent(),
+            """
+            interface TestPublisher
+            
+            """.trimIndent()
+        )
+
+        assertTransactionalContainer()
+    }
+
+    @Test
+    fun testProcessRecordsInCovariantTransaction() {
+        compile(
+            """
+            class KafkaListenerClass {
+                @KafkaListener("test.config.path")
+                fun process(consumer: Consumer<*, *>, transaction: TransactionalPublisher.Transaction<out TestPublisher>, event: ConsumerRecords<String, String>) {
+                }
+            }
+            
+            """.trimIndent(),
+            """
+            interface TestPublisher
+            
+            """.trimIndent()
+        )
+
+        assertTransactionalContainer()
+    }
+
+    private fun assertTransactionalContainer() {
+        val publisher = compileResult.loadClass("TestPublisher")
+        val module = compileResult.loadClass("KafkaListenerClassModule")
+        val container = module.getMethod(
+            "kafkaListenerClassProcessContainer",
+            KafkaListenerConfig::class.java,
+            ValueOf::class.java,
+            Deserializer::class.java,
+            Deserializer::class.java,
+            KafkaConsumerTelemetryFactory::class.java,
+            ConsumerAwareRebalanceListener::class.java,
+            TransactionalPublisher::class.java
+        )
+        assertThat(container.parameters[1].parameterizedType).isEqualTo(
+            TypeRef.of(ValueOf::class.java, TypeRef.of(KafkaTransactionalRecordsHandler::class.java, String::class.java, String::class.java, publisher))
+        )
+        assertThat(container.parameters[6].parameterizedType).isEqualTo(TypeRef.of(TransactionalPublisher::class.java, publisher))
+    }
 }
@@ -7,7 +7,6 @@ import ru.tinkoff.kora.common.Tag
 import ru.tinkoff.kora.kafka.common.producer.KafkaPublisherConfig
 import ru.tinkoff.kora.kafka.common.producer.telemetry.KafkaProducerTelemetryFactory
 import ru.tinkoff.kora.ksp.common.AbstractSymbolProcessorTest
-import ru.tinkoff.kora.telemetry.common.TelemetryConfig
 import java.util.*
 
 class KafkaPublisherTest : AbstractSymbolProcessorTest() {
@@ -38,7 +37,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, Serializer::class.java)
     }
 
     @Test
@@ -54,7 +53,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, Serializer::class.java)
     }
 
     @Test
@@ -111,7 +110,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = compileResult.loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
     }
 
     @Test
@@ -128,7 +127,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = compileResult.loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
     }
 
     @Test
@@ -145,7 +144,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = compileResult.loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
     }
 
     @Test
@@ -181,7 +180,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = compileResult.loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java, Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java, Serializer::class.java)
     }
 
     @Test
@@ -198,7 +197,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = compileResult.loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java, Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java, Serializer::class.java)
     }
 
     @Test
@@ -235,7 +234,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = compileResult.loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
     }
 
     @Test
@@ -271,7 +270,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = compileResult.loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
     }
 
     @Test
@@ -288,7 +287,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = compileResult.loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
     }
 
     @Test
@@ -305,7 +304,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = compileResult.loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
     }
 
     @Test
@@ -322,7 +321,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = compileResult.loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
     }
 
     @Test
@@ -339,7 +338,7 @@ class KafkaPublisherTest : AbstractSymbolProcessorTest() {
         compileResult.assertSuccess()
         val clazz = compileResult.loadClass("\$TestProducer_Impl")
         assertThat(clazz).isNotNull()
-        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, TelemetryConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
+        clazz.getConstructor(KafkaProducerTelemetryFactory::class.java, KafkaPublisherConfig::class.java, Properties::class.java, compileResult.loadClass("\$TestProducer_TopicConfig"), Serializer::class.java)
     }
 
     @Test
@@ -1,9 +1,10 @@
 package ru.tinkoff.kora.kafka.common;
 
 import jakarta.annotation.Nonnull;
+import ru.tinkoff.kora.application.graph.internal.loom.VirtualThreadExecutorHolder;
 import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
 
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public final class KafkaUtils {
@@ -22,6 +23,33 @@ public final class KafkaUtils {
         }
     }
 
+    /**
+     * @return executor starting every poll loop on its own virtual thread when {@link KafkaListenerConfig#virtualThreads()} is enabled, fixed pool of platform threads otherwise
+     */
+    public static ExecutorService newPollLoopExecutor(KafkaListenerConfig config, String prefix, int threads) {
+        if (!config.virtualThreads()) {
+            return Executors.newFixedThreadPool(threads, new NamedThreadFactory(prefix));
+        }
+        return new ThreadPoolExecutor(0, threads, 0, TimeUnit.SECONDS, new SynchronousQueue<>(), virtualThreadFactory(prefix));
+    }
+
+    /**
+     * @return fixed pool of {@link KafkaListenerConfig.DeserializationConfig#parallelism()} threads, which are virtual when {@link KafkaListenerConfig#virtualThreads()} is enabled
+     */
+    public static ExecutorService newDeserializationExecutor(KafkaListenerConfig config, String prefix, int parallelism) {
+        var threadPrefix = prefix + "-deserializer-";
+        var threadFactory = config.virtualThreads() ? virtualThreadFactory(threadPrefix) : new NamedThreadFactory(threadPrefix);
+        return Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+
+    private static ThreadFactory virtualThreadFactory(String prefix) {
+        var threadFactory = VirtualThreadExecutorHolder.threadFactory(NamedThreadFactory.CONSUMER_PREFIX + prefix);
+        if (threadFactory == null) {
+            throw new IllegalStateException("Kafka Consumer '" + prefix + "' is configured to run on virtual threads, but virtual threads are " + VirtualThreadExecutorHolder.status());
+        }
+        return threadFactory;
+    }
+
     public static class NamedThreadFactory implements ThreadFactory {
         private static final String CONSUMER_PREFIX = "kafka-consumer-";
 
@@ -41,12 +41,57 @@ public interface KafkaListenerConfig {
         return 1;
     }
 
+    /**
+     * Poll loops, {@link #parallel()} handler workers and {@link #deserialization()} threads run on virtual threads sharing JVM carrier pool instead of dedicated platform threads when enabled
+     */
+    default boolean virtualThreads() {
+        return false;
+    }
+
     default Duration partitionRefreshInterval() {
         return Duration.ofMinutes(1);
     }
 
     TelemetryConfig telemetry();
 
+    /**
+     * Records of a poll are handled concurrently on a worker pool when configured, only for listeners handling one record at a time and subscribed to topics
+     */
+    @Nullable
+    ParallelConfig parallel();
+
+    /**
+     * Offsets are committed after each record for listeners handling one record at a time and after each poll for other listeners when not configured
+     */
+    @Nullable
+    CommitConfig commit();
+
+    /**
+     * Records of a poll are deserialized in parallel before handler is invoked when configured, otherwise key and value of a record are deserialized on first access
+     */
+    @Nullable
+    DeserializationConfig deserialization();
+
+    /**
+     * Records of several polls are handled in one transaction for listeners bound to transactional publisher when configured, otherwise transaction is committed after each poll
+     */
+    @Nullable
+    TransactionConfig transaction();
+
+    /**
+     * Records are handled off poll thread when configured, so consumer keeps polling while handler is slow and pauses partitions with too many records in flight instead,
+     * only for listeners handling one record at a time and subscribed to topics
+     */
+    @Nullable
+    BackpressureConfig backpressure();
+
+    /**
+     * Failed records are sent to retry topics and handled again after delay, then to dead letter topic, when configured,
+     * only for listeners handling one record at a time. Otherwise failure restarts consumer from last committed offset
+     */
+    @Nullable
+    RetryConfig retry();
+
     default KafkaListenerConfig withDriverPropertiesOverrides(Map<String, Object> overrides) {
         var props = new Properties();
         props.putAll(driverProperties());
@@ -60,8 +105,152 @@ public interface KafkaListenerConfig {
             pollTimeout(),
             backoffTimeout(),
             threads(),
+            virtualThreads(),
             partitionRefreshInterval(),
-            telemetry()
+            telemetry(),
+            parallel(),
+            commit(),
+            deserialization(),
+            transaction(),
+            backpressure(),
+            retry()
         );
     }
+
+    @ConfigValueExtractor
+    interface ParallelConfig {
+
+        enum Ordering {
+            /**
+             * Records with the same key from the same partition are handled one after another, records without key are ordered by partition
+             */
+            KEY,
+            /**
+             * Records from the same partition are handled one after another, different partitions are handled concurrently
+             */
+            PARTITION
+        }
+
+        /**
+         * @return maximum number of records handled concurrently by one consumer
+         */
+        default int concurrency() {
+            return 64;
+        }
+
+        default Ordering ordering() {
+            return Ordering.KEY;
+        }
+
+        /**
+         * @return number of received but not yet committed records after which partition is paused until workers catch up
+         */
+        default int maxInFlightPerPartition() {
+            return 1024;
+        }
+    }
+
+    @ConfigValueExtractor
+    interface CommitConfig {
+
+        enum Mode {
+            /**
+             * Offset of every handled record is committed synchronously
+             */
+            RECORD,
+            /**
+             * Offsets of handled records are committed synchronously once all records of poll are handled
+             */
+            POLL,
+            /**
+             * Offsets of handled records are committed asynchronously once {@link #interval()} passed or {@link #records()} were handled since last commit
+             */
+            ASYNC
+        }
+
+        Mode mode();
+
+        default Duration interval() {
+            return Duration.ofSeconds(1);
+        }
+
+        default int records() {
+            return 500;
+        }
+    }
+
+    @ConfigValueExtractor
+    interface DeserializationConfig {
+
+        /**
+         * @return number of threads deserializing records, shared by all consumers of the listener
+         */
+        default int parallelism() {
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        /**
+         * @return minimum number of records deserialized by one task, smaller polls are deserialized on first access
+         */
+        default int batchSize() {
+            return 64;
+        }
+    }
+
+    @ConfigValueExtractor
+    interface TransactionConfig {
+
+        /**
+         * @return time after which transaction is committed even if fewer than {@link #records()} records were handled in it
+         */
+        default Duration interval() {
+            return Duration.ofMillis(100);
+        }
+
+        /**
+         * @return number of handled records after which transaction is committed
+         */
+        default int records() {
+            return 500;
+        }
+    }
+
+    @ConfigValueExtractor
+    interface BackpressureConfig {
+
+        /**
+         * @return number of received but not yet handled records after which partition is paused until half of them are handled,
+         * overrides {@link ParallelConfig#maxInFlightPerPartition()} when both are configured
+         */
+        default int maxInFlightRecords() {
+            return 1024;
+        }
+    }
+
+    @ConfigValueExtractor
+    interface RetryConfig {
+
+        /**
+         * @return delay before each retry attempt, record is sent to retry topic of attempt {@code N} named {@code <topic><retryTopicSuffix>N}
+         * and to dead letter topic once all attempts failed
+         */
+        default List<Duration> delays() {
+            return List.of(Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofMinutes(1));
+        }
+
+        default String retryTopicSuffix() {
+            return "-retry-";
+        }
+
+        default String deadLetterTopicSuffix() {
+            return "-dlt";
+        }
+
+        /**
+         * @return properties of producer sending records to retry and dead letter topics, overriding connection properties taken from {@link #driverProperties()}
+         */
+        default Properties producerProperties() {
+            return new Properties();
+        }
+    }
 }
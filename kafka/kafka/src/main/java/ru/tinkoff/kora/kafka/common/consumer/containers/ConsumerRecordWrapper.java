@@ -1,28 +1,40 @@
 package ru.tinkoff.kora.kafka.common.consumer.containers;
 
+import jakarta.annotation.Nullable;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.record.TimestampType;
 import org.apache.kafka.common.serialization.Deserializer;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 import ru.tinkoff.kora.kafka.common.exceptions.RecordKeyDeserializationException;
 import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
 
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 
 public final class ConsumerRecordWrapper<K, V> extends ConsumerRecord<K, V> {
     private final ConsumerRecord<byte[], byte[]> realRecord;
     private final Deserializer<K> keyDeserializer;
     private final Deserializer<V> valueDeserializer;
 
-    private final AtomicReference<K> deserializedKey = new AtomicReference<>(null);
-    private final AtomicReference<V> deserializedValue = new AtomicReference<>(null);
+    @Nullable
+    private final KafkaConsumerTelemetry<?, ?> telemetry;
+
+    // deserialized object, deserialization exception if it failed or NOT_DESERIALIZED before first access
+    private volatile Object deserializedKey = NOT_DESERIALIZED;
+    private volatile Object deserializedValue = NOT_DESERIALIZED;
+
+    private static final Object NOT_DESERIALIZED = new Object();
 
     public ConsumerRecordWrapper(ConsumerRecord<byte[], byte[]> realRecord, Deserializer<K> keyDeserializer, Deserializer<V> valueDeserializer) {
+        this(realRecord, keyDeserializer, valueDeserializer, null);
+    }
+
+    public ConsumerRecordWrapper(ConsumerRecord<byte[], byte[]> realRecord, Deserializer<K> keyDeserializer, Deserializer<V> valueDeserializer, @Nullable KafkaConsumerTelemetry<?, ?> telemetry) {
         super(realRecord.topic(), realRecord.partition(), realRecord.offset(), null, null);
         this.realRecord = realRecord;
         this.keyDeserializer = keyDeserializer;
         this.valueDeserializer = valueDeserializer;
+        this.telemetry = telemetry;
     }
 
     @Override
@@ -41,31 +53,87 @@ public final class ConsumerRecordWrapper<K, V> extends ConsumerRecord<K, V> {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public K key() {
-        var value = deserializedKey.get();
-        if (value == null) {
-            try {
-                value = keyDeserializer.deserialize(realRecord.topic(), realRecord.headers(), realRecord.key());
-            } catch (Exception e) {
-                throw new RecordKeyDeserializationException(e, realRecord);
-            }
-            deserializedKey.set(value);
+        var key = this.deserializedKey;
+        if (key == NOT_DESERIALIZED) {
+            this.deserialize();
+            key = this.deserializedKey;
+        }
+        if (key instanceof RecordKeyDeserializationException e) {
+            throw e;
         }
-        return value;
+        return (K) key;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public V value() {
-        var value = deserializedValue.get();
-        if (value == null) {
+        var value = this.deserializedValue;
+        if (value == NOT_DESERIALIZED) {
+            this.deserialize();
+            value = this.deserializedValue;
+        }
+        if (value instanceof RecordValueDeserializationException e) {
+            throw e;
+        }
+        return (V) value;
+    }
+
+    /**
+     * Deserializes key and value together on first access or ahead of it, so record deserialization is reported once with its whole duration.
+     * Failures are thrown when key or value is accessed
+     */
+    synchronized void deserialize() {
+        if (this.deserializedKey != NOT_DESERIALIZED && this.deserializedValue != NOT_DESERIALIZED) {
+            return;
+        }
+        var start = System.nanoTime();
+        var key = this.deserializePart(true);
+        var value = this.deserializePart(false);
+        if (this.telemetry != null) {
+            var error = key instanceof RecordKeyDeserializationException e ? e : value instanceof RecordValueDeserializationException e ? e : null;
+            this.telemetry.reportDeserialization(this.realRecord, System.nanoTime() - start, error);
+        }
+    }
+
+    private Object deserializePart(boolean key) {
+        var result = key ? this.deserializedKey : this.deserializedValue;
+        if (result != NOT_DESERIALIZED) {
+            return result;
+        }
+        if (key) {
+            try {
+                result = keyDeserializer.deserialize(realRecord.topic(), realRecord.headers(), realRecord.key());
+            } catch (Exception e) {
+                result = new RecordKeyDeserializationException(e, realRecord);
+            }
+            this.deserializedKey = result;
+        } else {
             try {
-                value = valueDeserializer.deserialize(realRecord.topic(), realRecord.headers(), realRecord.value());
+                result = valueDeserializer.deserialize(realRecord.topic(), realRecord.headers(), realRecord.value());
             } catch (Exception e) {
-                throw new RecordValueDeserializationException(e, realRecord);
+                result = new RecordValueDeserializationException(e, realRecord);
             }
-            deserializedValue.set(value);
+            this.deserializedValue = result;
         }
-        return value;
+        return result;
+    }
+
+    /**
+     * @return key bytes as received from broker, before deserialization
+     */
+    @Nullable
+    public byte[] rawKey() {
+        return realRecord.key();
+    }
+
+    /**
+     * @return value bytes as received from broker, before deserialization
+     */
+    @Nullable
+    public byte[] rawValue() {
+        return realRecord.value();
     }
 
     @Override
@@ -1,31 +1,100 @@
 package ru.tinkoff.kora.kafka.common.consumer.containers;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.Deserializer;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 final class ConsumerRecordsWrapper<K, V> extends ConsumerRecords<K, V> {
 
     private final ConsumerRecords<byte[], byte[]> realRecords;
     private final Deserializer<K> keyDeserializer;
     private final Deserializer<V> valueDeserializer;
+    @Nullable
+    private final KafkaConsumerTelemetry<?, ?> telemetry;
 
     private final Map<ConsumerRecord<byte[], byte[]>, ConsumerRecordWrapper<K, V>> records = new IdentityHashMap<>();
 
     public ConsumerRecordsWrapper(ConsumerRecords<byte[], byte[]> realRecords, Deserializer<K> keyDeserializer, Deserializer<V> valueDeserializer) {
+        this(realRecords, keyDeserializer, valueDeserializer, null);
+    }
+
+    public ConsumerRecordsWrapper(ConsumerRecords<byte[], byte[]> realRecords, Deserializer<K> keyDeserializer, Deserializer<V> valueDeserializer, @Nullable KafkaConsumerTelemetry<?, ?> telemetry) {
         super(Map.of());
         this.realRecords = realRecords;
         this.keyDeserializer = keyDeserializer;
         this.valueDeserializer = valueDeserializer;
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * Deserializes all records split into batches of at least {@code batchSize} records.
+     * Calling thread deserializes first batch and then every batch executor has not started yet, so poll loop never waits for queued tasks.
+     */
+    void deserialize(Executor executor, int batchSize) {
+        var count = this.realRecords.count();
+        if (count < batchSize * 2) {
+            return;
+        }
+        var wrappers = new ArrayList<ConsumerRecordWrapper<K, V>>(count);
+        for (var record : this.realRecords) {
+            wrappers.add(this.wrapRecord(record));
+        }
+        var batchCount = count / batchSize;
+        var batches = new ArrayList<DeserializationBatch>(batchCount);
+        for (int i = 0; i < batchCount; i++) {
+            batches.add(new DeserializationBatch(wrappers.subList(i * count / batchCount, (i + 1) * count / batchCount)));
+        }
+        for (int i = 1; i < batchCount; i++) {
+            try {
+                executor.execute(batches.get(i));
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        for (var batch : batches) {
+            batch.run();
+        }
+        for (var batch : batches) {
+            batch.done.join();
+        }
+    }
+
+    private static final class DeserializationBatch implements Runnable {
+        private final List<? extends ConsumerRecordWrapper<?, ?>> records;
+        private final AtomicBoolean started = new AtomicBoolean(false);
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private DeserializationBatch(List<? extends ConsumerRecordWrapper<?, ?>> records) {
+            this.records = records;
+        }
+
+        @Override
+        public void run() {
+            if (this.started.compareAndSet(false, true)) {
+                try {
+                    for (var record : this.records) {
+                        record.deserialize();
+                    }
+                } finally {
+                    this.done.complete(null);
+                }
+            }
+        }
     }
 
     @Override
     public List<ConsumerRecord<K, V>> records(TopicPartition partition) {
-        return realRecords.records(partition).stream().map(this::wrapRecord).toList();
+        return realRecords.records(partition).stream().<ConsumerRecord<K, V>>map(this::wrapRecord).toList();
     }
 
     @Override
@@ -60,8 +129,8 @@ final class ConsumerRecordsWrapper<K, V> extends ConsumerRecords<K, V> {
         return realRecords.isEmpty();
     }
 
-    private ConsumerRecord<K, V> wrapRecord(ConsumerRecord<byte[], byte[]> record) {
-        return records.computeIfAbsent(record, (r) -> new ConsumerRecordWrapper<>(r, keyDeserializer, valueDeserializer));
+    private ConsumerRecordWrapper<K, V> wrapRecord(ConsumerRecord<byte[], byte[]> record) {
+        return records.computeIfAbsent(record, (r) -> new ConsumerRecordWrapper<>(r, keyDeserializer, valueDeserializer, telemetry));
     }
 
 
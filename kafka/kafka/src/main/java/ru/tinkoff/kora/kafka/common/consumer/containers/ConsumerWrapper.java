@@ -1,11 +1,15 @@
 package ru.tinkoff.kora.kafka.common.consumer.containers;
 
+import jakarta.annotation.Nullable;
 import org.apache.kafka.clients.consumer.*;
 import org.apache.kafka.common.*;
 import org.apache.kafka.common.serialization.Deserializer;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 
 public final class ConsumerWrapper<K, V> implements Consumer<K, V> {
@@ -13,11 +17,40 @@ public final class ConsumerWrapper<K, V> implements Consumer<K, V> {
     private final Consumer<byte[], byte[]> realConsumer;
     private final Deserializer<K> keyDeserializer;
     private final Deserializer<V> valueDeserializer;
+    @Nullable
+    private final KafkaConsumerTelemetry<?, ?> telemetry;
+    @Nullable
+    private final Executor deserializationExecutor;
+    private final int deserializationBatchSize;
+
+    // next offset after last polled record and last offset committed through this consumer or first polled one, by partition
+    private final Map<TopicPartition, Long> polledOffsets = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, Long> committedOffsets = new ConcurrentHashMap<>();
 
     public ConsumerWrapper(Consumer<byte[], byte[]> realConsumer, Deserializer<K> keyDeserializer, Deserializer<V> valueDeserializer) {
+        this(realConsumer, keyDeserializer, valueDeserializer, null, null, 0);
+    }
+
+    /**
+     * @param deserializationExecutor records of a poll are deserialized in parallel on executor before poll returns when not null
+     */
+    public ConsumerWrapper(
+        Consumer<byte[], byte[]> realConsumer,
+        Deserializer<K> keyDeserializer,
+        Deserializer<V> valueDeserializer,
+        @Nullable KafkaConsumerTelemetry<?, ?> telemetry,
+        @Nullable Executor deserializationExecutor,
+        int deserializationBatchSize
+    ) {
+        if (deserializationExecutor != null && deserializationBatchSize < 1) {
+            throw new IllegalArgumentException("Deserialization batch size must be positive, but received: " + deserializationBatchSize);
+        }
         this.realConsumer = realConsumer;
         this.keyDeserializer = keyDeserializer;
         this.valueDeserializer = valueDeserializer;
+        this.telemetry = telemetry;
+        this.deserializationExecutor = deserializationExecutor;
+        this.deserializationBatchSize = deserializationBatchSize;
     }
 
     @Override
@@ -68,47 +101,106 @@ public final class ConsumerWrapper<K, V> implements Consumer<K, V> {
     @Override
     @Deprecated
     public ConsumerRecords<K, V> poll(long timeout) {
-        return new ConsumerRecordsWrapper<>(realConsumer.poll(timeout), keyDeserializer, valueDeserializer);
+        return wrap(realConsumer.poll(timeout));
     }
 
     @Override
     public ConsumerRecords<K, V> poll(Duration timeout) {
-        return new ConsumerRecordsWrapper<>(realConsumer.poll(timeout), keyDeserializer, valueDeserializer);
+        return wrap(realConsumer.poll(timeout));
+    }
+
+    private ConsumerRecords<K, V> wrap(ConsumerRecords<byte[], byte[]> records) {
+        for (var partition : records.partitions()) {
+            var partitionRecords = records.records(partition);
+            this.committedOffsets.putIfAbsent(partition, partitionRecords.get(0).offset());
+            this.polledOffsets.put(partition, partitionRecords.get(partitionRecords.size() - 1).offset() + 1);
+        }
+        var wrapper = new ConsumerRecordsWrapper<>(records, keyDeserializer, valueDeserializer, telemetry);
+        if (deserializationExecutor != null) {
+            wrapper.deserialize(deserializationExecutor, deserializationBatchSize);
+        }
+        return wrapper;
     }
 
     @Override
     public void commitSync() {
         realConsumer.commitSync();
+        this.committedPolled();
     }
 
     @Override
     public void commitSync(Duration timeout) {
         realConsumer.commitSync(timeout);
+        this.committedPolled();
     }
 
     @Override
     public void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
         realConsumer.commitSync(offsets);
+        this.committed(offsets);
     }
 
     @Override
     public void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets, Duration timeout) {
         realConsumer.commitSync(offsets, timeout);
+        this.committed(offsets);
     }
 
     @Override
     public void commitAsync() {
-        realConsumer.commitAsync();
-    }
-
-    @Override
-    public void commitAsync(OffsetCommitCallback callback) {
-        realConsumer.commitAsync(callback);
-    }
-
-    @Override
-    public void commitAsync(Map<TopicPartition, OffsetAndMetadata> offsets, OffsetCommitCallback callback) {
-        realConsumer.commitAsync(offsets, callback);
+        this.commitAsync(null);
+    }
+
+    @Override
+    public void commitAsync(@Nullable OffsetCommitCallback callback) {
+        realConsumer.commitAsync((offsets, exception) -> {
+            if (exception == null) {
+                this.committed(offsets);
+            }
+            if (callback != null) {
+                callback.onComplete(offsets, exception);
+            }
+        });
+    }
+
+    @Override
+    public void commitAsync(Map<TopicPartition, OffsetAndMetadata> offsets, @Nullable OffsetCommitCallback callback) {
+        realConsumer.commitAsync(offsets, (committed, exception) -> {
+            if (exception == null) {
+                this.committed(committed);
+            }
+            if (callback != null) {
+                callback.onComplete(committed, exception);
+            }
+        });
+    }
+
+    private void committed(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        for (var entry : offsets.entrySet()) {
+            this.committedOffsets.put(entry.getKey(), entry.getValue().offset());
+        }
+    }
+
+    private void committedPolled() {
+        this.committedOffsets.putAll(this.polledOffsets);
+    }
+
+    /**
+     * Counts records polled after offsets committed through this consumer without broker round trip and stops tracking partitions.
+     * Offsets committed elsewhere, e.g. with transaction, are not seen, so records of such partitions are counted since first poll
+     *
+     * @return number of polled records of partitions after their committed offsets
+     */
+    long untrack(Collection<TopicPartition> partitions) {
+        var uncommitted = 0L;
+        for (var partition : partitions) {
+            var polled = this.polledOffsets.remove(partition);
+            var committed = this.committedOffsets.remove(partition);
+            if (polled != null && committed != null) {
+                uncommitted += Math.max(polled - committed, 0);
+            }
+        }
+        return uncommitted;
     }
 
     @Override
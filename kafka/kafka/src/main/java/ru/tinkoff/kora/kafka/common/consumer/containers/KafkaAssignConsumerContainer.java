@@ -2,6 +2,7 @@ package ru.tinkoff.kora.kafka.common.consumer.containers;
 
 import jakarta.annotation.Nullable;
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
@@ -13,16 +14,17 @@ import ru.tinkoff.kora.application.graph.Lifecycle;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.common.util.TimeUtils;
 import ru.tinkoff.kora.kafka.common.KafkaUtils;
-import ru.tinkoff.kora.kafka.common.KafkaUtils.NamedThreadFactory;
+import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
 import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.TransactionalRecordsHandler;
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -31,6 +33,7 @@ public final class KafkaAssignConsumerContainer<K, V> implements Lifecycle {
     private final static Logger logger = LoggerFactory.getLogger(KafkaAssignConsumerContainer.class);
 
     private final AtomicBoolean isActive = new AtomicBoolean(true);
+    private final AtomicInteger activeThreads = new AtomicInteger(0);
     private final AtomicLong backoffTimeout;
     private final Deserializer<K> keyDeserializer;
     private final Deserializer<V> valueDeserializer;
@@ -39,6 +42,8 @@ public final class KafkaAssignConsumerContainer<K, V> implements Lifecycle {
     private final long refreshInterval;
     private final String consumerPrefix;
     private volatile ExecutorService executorService;
+    @Nullable
+    private volatile ExecutorService deserializationExecutorService;
 
     private final BaseKafkaRecordsHandler<K, V> handler;
     private final Set<Consumer<K, V>> consumers = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
@@ -55,13 +60,26 @@ public final class KafkaAssignConsumerContainer<K, V> implements Lifecycle {
         Deserializer<V> valueDeserializer,
         KafkaConsumerTelemetry<K, V> telemetry,
         BaseKafkaRecordsHandler<K, V> handler) {
+        if (config.retry() != null) {
+            throw new IllegalArgumentException("Kafka Consumer '" + KafkaUtils.getConsumerPrefix(config) + "' assigns partitions of topic '" + topic + "', retry topics are consumed only by listeners subscribed to topics");
+        }
+        if (config.parallel() != null || config.backpressure() != null) {
+            // position is tracked by polled offsets, records dispatched but not handled before failure would be skipped on restart
+            throw new IllegalArgumentException("Kafka Consumer '" + KafkaUtils.getConsumerPrefix(config) + "' assigns partitions of topic '" + topic + "', records are handled off poll thread only by listeners subscribed to topics");
+        }
+        var deserialization = config.deserialization();
+        if (deserialization != null && (deserialization.parallelism() < 1 || deserialization.batchSize() < 1)) {
+            throw new IllegalArgumentException("Deserialization parallelism and batch size must be positive, but received: " + deserialization.parallelism() + ", " + deserialization.batchSize());
+        }
         this.handler = Objects.requireNonNull(handler);
         this.backoffTimeout = new AtomicLong(config.backoffTimeout().toMillis());
         this.keyDeserializer = Objects.requireNonNull(keyDeserializer);
         this.valueDeserializer = Objects.requireNonNull(valueDeserializer);
         this.topic = Objects.requireNonNull(topic);
         this.threads = config.threads();
-        this.config = config;
+        this.config = handler instanceof TransactionalRecordsHandler<?, ?, ?> && config.driverProperties().get(ConsumerConfig.ISOLATION_LEVEL_CONFIG) == null
+            ? config.withDriverPropertiesOverrides(Map.of(ConsumerConfig.ISOLATION_LEVEL_CONFIG, TransactionalRecordsHandler.ISOLATION_LEVEL))
+            : config;
         this.refreshInterval = config.partitionRefreshInterval().toMillis();
         this.telemetry = Objects.requireNonNull(telemetry);
         this.consumerPrefix = KafkaUtils.getConsumerPrefix(this.config);
@@ -229,7 +247,10 @@ public final class KafkaAssignConsumerContainer<K, V> implements Lifecycle {
     private Consumer<K, V> initializeConsumer() {
         try {
             var realConsumer = new KafkaConsumer<>(this.config.driverProperties(), new ByteArrayDeserializer(), new ByteArrayDeserializer());
-            return new ConsumerWrapper<>(realConsumer, keyDeserializer, valueDeserializer);
+            var deserialization = this.config.deserialization();
+            return deserialization == null
+                ? new ConsumerWrapper<>(realConsumer, keyDeserializer, valueDeserializer, telemetry, null, 0)
+                : new ConsumerWrapper<>(realConsumer, keyDeserializer, valueDeserializer, telemetry, deserializationExecutorService, deserialization.batchSize());
         } catch (Exception e) {
             logger.error("Kafka Consumer '{}' initialization failed", consumerPrefix, e);
             try {
@@ -248,24 +269,44 @@ public final class KafkaAssignConsumerContainer<K, V> implements Lifecycle {
             if (this.topic != null) {
                 logger.debug("Kafka Consumer '{}' starting...", consumerPrefix);
                 final long started = TimeUtils.started();
+                if (handler instanceof Lifecycle lifecycle) {
+                    lifecycle.init();
+                }
+                if (config.deserialization() != null) {
+                    deserializationExecutorService = KafkaUtils.newDeserializationExecutor(config, this.topic, config.deserialization().parallelism());
+                }
 
-                executorService = Executors.newFixedThreadPool(threads, new NamedThreadFactory(this.topic));
+                executorService = KafkaUtils.newPollLoopExecutor(config, this.topic, threads);
                 for (int i = 0; i < threads; i++) {
                     var number = i;
                     executorService.execute(() -> {
-                        while (isActive.get()) {
-                            try (var consumer = initializeConsumer()) {
-                                if (consumer != null) {
-                                    consumers.add(consumer);
-                                    try {
-                                        launchPollLoop(consumer, number, started);
-                                    } catch (Exception e) {
-                                        logger.error("Kafka poll loop '{}' got unhandled exception", consumerPrefix, e);
-                                    } finally {
-                                        consumers.remove(consumer);
+                        this.telemetry.reportThreads(activeThreads.incrementAndGet(), config.virtualThreads());
+                        try {
+                            while (isActive.get()) {
+                                try (var consumer = initializeConsumer()) {
+                                    if (consumer != null) {
+                                        consumers.add(consumer);
+                                        try {
+                                            launchPollLoop(consumer, number, started);
+                                        } catch (Exception e) {
+                                            logger.error("Kafka poll loop '{}' got unhandled exception", consumerPrefix, e);
+                                        } finally {
+                                            consumers.remove(consumer);
+                                            if (handler instanceof ConsumerAwareRebalanceListener listener) {
+                                                // handler flushes pending offsets while consumer is still open, interrupt of release would fail commit
+                                                Thread.interrupted();
+                                                try {
+                                                    listener.onPartitionsRevoked(consumer, consumer.assignment());
+                                                } catch (Exception e) {
+                                                    logger.warn("Kafka Consumer '{}' failed to commit pending offsets before close", consumerPrefix, e);
+                                                }
+                                            }
+                                        }
                                     }
                                 }
                             }
+                        } finally {
+                            this.telemetry.reportThreads(activeThreads.decrementAndGet(), config.virtualThreads());
                         }
                     });
                 }
@@ -286,6 +327,12 @@ public final class KafkaAssignConsumerContainer<K, V> implements Lifecycle {
             if (executorService != null) {
                 executorService.shutdownNow();
             }
+            if (deserializationExecutorService != null) {
+                deserializationExecutorService.shutdownNow();
+            }
+            if (handler instanceof Lifecycle lifecycle) {
+                lifecycle.release();
+            }
 
             logger.info("Kafka Consumer '{}' stopped in {}", consumerPrefix, TimeUtils.tookForLogging(started));
         }
@@ -5,6 +5,7 @@ import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
@@ -15,28 +16,39 @@ import org.slf4j.LoggerFactory;
 import ru.tinkoff.kora.application.graph.Lifecycle;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.common.util.TimeUtils;
-import ru.tinkoff.kora.kafka.common.KafkaUtils.NamedThreadFactory;
 import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
 import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.RetryRecordHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.TransactionalRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 
 import java.util.*;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static ru.tinkoff.kora.kafka.common.KafkaUtils.getConsumerPrefix;
+import static ru.tinkoff.kora.kafka.common.KafkaUtils.newDeserializationExecutor;
+import static ru.tinkoff.kora.kafka.common.KafkaUtils.newPollLoopExecutor;
 
+/**
+ * Consumer group member, uses {@link CooperativeStickyAssignor} unless other assignment strategy is configured,
+ * so on rebalance only revoked partitions are finished and committed while other partitions keep being handled.
+ */
 public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
 
     private final static Logger logger = LoggerFactory.getLogger(KafkaSubscribeConsumerContainer.class);
 
     private final AtomicBoolean isActive = new AtomicBoolean(false);
+    private final AtomicInteger activeThreads = new AtomicInteger(0);
     private final AtomicLong backoffTimeout;
     private final Deserializer<K> keyDeserializer;
     private final Deserializer<V> valueDeserializer;
     private volatile ExecutorService executorService;
+    @Nullable
+    private volatile ExecutorService deserializationExecutorService;
 
     private final BaseKafkaRecordsHandler<K, V> handler;
     private final Set<Consumer<K, V>> consumers = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
@@ -45,6 +57,8 @@ public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
     private final KafkaListenerConfig config;
     private final String consumerPrefix;
     private final boolean commitAllowed;
+    @Nullable
+    private final KafkaConsumerTelemetry<K, V> telemetry;
 
     public KafkaSubscribeConsumerContainer(
         KafkaListenerConfig config,
@@ -61,22 +75,46 @@ public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
         Deserializer<V> valueDeserializer,
         BaseKafkaRecordsHandler<K, V> handler,
         @Nullable ConsumerAwareRebalanceListener rebalanceListener
+    ) {
+        this(config, keyDeserializer, valueDeserializer, null, handler, rebalanceListener);
+    }
+
+    public KafkaSubscribeConsumerContainer(
+        KafkaListenerConfig config,
+        Deserializer<K> keyDeserializer,
+        Deserializer<V> valueDeserializer,
+        @Nullable KafkaConsumerTelemetry<K, V> telemetry,
+        BaseKafkaRecordsHandler<K, V> handler,
+        @Nullable ConsumerAwareRebalanceListener rebalanceListener
     ) {
         if (config.driverProperties().get(CommonClientConfigs.GROUP_ID_CONFIG) == null) {
             throw new IllegalArgumentException("Group id is required for subscribe container");
         }
+        var deserialization = config.deserialization();
+        if (deserialization != null && (deserialization.parallelism() < 1 || deserialization.batchSize() < 1)) {
+            throw new IllegalArgumentException("Deserialization parallelism and batch size must be positive, but received: " + deserialization.parallelism() + ", " + deserialization.batchSize());
+        }
         this.handler = handler;
         this.rebalanceListener = rebalanceListener;
+        this.telemetry = telemetry;
         this.backoffTimeout = new AtomicLong(config.backoffTimeout().toMillis());
         this.consumerPrefix = getConsumerPrefix(config);
+        var overrides = new HashMap<String, Object>();
         var autoCommit = config.driverProperties().get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG);
         if (autoCommit == null) {
-            config = config.withDriverPropertiesOverrides(Map.of(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false));
+            overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
             this.commitAllowed = true;
         } else {
             this.commitAllowed = !Boolean.parseBoolean(String.valueOf(autoCommit));
         }
-        this.config = config;
+        if (config.driverProperties().get(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG) == null) {
+            // default strategy list of client also contains cooperative assignor, so group can be upgraded with single rolling restart
+            overrides.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+        }
+        if (handler instanceof TransactionalRecordsHandler<?, ?, ?> && config.driverProperties().get(ConsumerConfig.ISOLATION_LEVEL_CONFIG) == null) {
+            overrides.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, TransactionalRecordsHandler.ISOLATION_LEVEL);
+        }
+        this.config = overrides.isEmpty() ? config : config.withDriverPropertiesOverrides(overrides);
         this.keyDeserializer = keyDeserializer;
         this.valueDeserializer = valueDeserializer;
     }
@@ -133,6 +171,14 @@ public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
                 }
             }
             Thread.interrupted();
+            if (handler instanceof ConsumerAwareRebalanceListener listener) {
+                // handler commits pending offsets while consumer still owns partitions
+                try {
+                    listener.onPartitionsRevoked(consumer, consumer.assignment());
+                } catch (Exception e) {
+                    logger.warn("Kafka Consumer '{}' failed to commit pending offsets before close", consumerPrefix, e);
+                }
+            }
         } finally {
             consumers.remove(consumer);
         }
@@ -143,15 +189,26 @@ public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
         if (config.threads() > 0 && this.isActive.compareAndSet(false, true)) {
             logger.debug("Kafka Consumer '{}' starting...", consumerPrefix);
             final long started = TimeUtils.started();
+            if (handler instanceof Lifecycle lifecycle) {
+                lifecycle.init();
+            }
+            if (config.deserialization() != null) {
+                deserializationExecutorService = newDeserializationExecutor(config, consumerPrefix, config.deserialization().parallelism());
+            }
 
-            executorService = Executors.newFixedThreadPool(config.threads(), new NamedThreadFactory(consumerPrefix));
+            executorService = newPollLoopExecutor(config, consumerPrefix, config.threads());
             for (int i = 0; i < config.threads(); i++) {
                 executorService.execute(() -> {
-                    while (isActive.get()) {
-                        var consumer = initializeConsumer();
-                        if (consumer != null) {
-                            launchPollLoop(consumer, started);
+                    this.reportThreads(activeThreads.incrementAndGet());
+                    try {
+                        while (isActive.get()) {
+                            var consumer = initializeConsumer();
+                            if (consumer != null) {
+                                launchPollLoop(consumer, started);
+                            }
                         }
+                    } finally {
+                        this.reportThreads(activeThreads.decrementAndGet());
                     }
                 });
             }
@@ -171,11 +228,23 @@ public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
             if (executorService != null) {
                 executorService.shutdownNow();
             }
+            if (deserializationExecutorService != null) {
+                deserializationExecutorService.shutdownNow();
+            }
+            if (handler instanceof Lifecycle lifecycle) {
+                lifecycle.release();
+            }
 
             logger.info("Kafka Consumer '{}' stopped in {}", consumerPrefix, TimeUtils.tookForLogging(started));
         }
     }
 
+    private void reportThreads(int threads) {
+        if (this.telemetry != null) {
+            this.telemetry.reportThreads(threads, this.config.virtualThreads());
+        }
+    }
+
     @Nullable
     private Consumer<K, V> initializeConsumer() {
         try {
@@ -192,49 +261,25 @@ public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
     }
 
     private Consumer<K, V> buildConsumer() {
-        var consumer = new KafkaConsumer<>(this.config.driverProperties(), new ByteArrayDeserializer(), new ByteArrayDeserializer());
+        var realConsumer = new KafkaConsumer<>(this.config.driverProperties(), new ByteArrayDeserializer(), new ByteArrayDeserializer());
+        var deserialization = this.config.deserialization();
+        var consumer = deserialization == null
+            ? new ConsumerWrapper<>(realConsumer, keyDeserializer, valueDeserializer, telemetry, null, 0)
+            : new ConsumerWrapper<>(realConsumer, keyDeserializer, valueDeserializer, telemetry, deserializationExecutorService, deserialization.batchSize());
         try {
+            var listener = this.buildRebalanceListener(realConsumer, consumer);
             if (config.topicsPattern() != null) {
-                if (rebalanceListener != null) {
-                    consumer.subscribe(config.topicsPattern(), new ConsumerRebalanceListener() {
-                        @Override
-                        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsRevoked(consumer, partitions);
-                        }
-
-                        @Override
-                        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsAssigned(consumer, partitions);
-                        }
-
-                        @Override
-                        public void onPartitionsLost(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsLost(consumer, partitions);
-                        }
-                    });
+                if (listener != null) {
+                    consumer.subscribe(config.topicsPattern(), listener);
                 } else {
                     consumer.subscribe(config.topicsPattern());
                 }
             } else if (config.topics() != null) {
-                if (rebalanceListener != null) {
-                    consumer.subscribe(config.topicsPattern(), new ConsumerRebalanceListener() {
-                        @Override
-                        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsRevoked(consumer, partitions);
-                        }
-
-                        @Override
-                        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsAssigned(consumer, partitions);
-                        }
-
-                        @Override
-                        public void onPartitionsLost(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsLost(consumer, partitions);
-                        }
-                    });
+                var topics = this.subscriptionTopics(config.topics());
+                if (listener != null) {
+                    consumer.subscribe(topics, listener);
                 } else {
-                    consumer.subscribe(config.topics());
+                    consumer.subscribe(topics);
                 }
             }
         } catch (Exception e) {
@@ -246,6 +291,100 @@ public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
             throw e;
         }
 
-        return new ConsumerWrapper<>(consumer, keyDeserializer, valueDeserializer);
+        return consumer;
+    }
+
+    /**
+     * Listener with retry configured consumes its retry topics too, topics pattern should match them itself
+     */
+    private List<String> subscriptionTopics(List<String> topics) {
+        var retry = this.config.retry();
+        if (retry == null) {
+            return topics;
+        }
+        var result = new ArrayList<>(topics);
+        for (var topic : topics) {
+            result.addAll(RetryRecordHandler.retryTopics(retry, topic));
+        }
+        return result;
+    }
+
+    @Nullable
+    private ConsumerRebalanceListener buildRebalanceListener(Consumer<byte[], byte[]> realConsumer, ConsumerWrapper<K, V> consumer) {
+        var handlerListener = this.handler instanceof ConsumerAwareRebalanceListener l ? l : null;
+        if (handlerListener == null && this.rebalanceListener == null && this.telemetry == null) {
+            return null;
+        }
+        return new RebalanceListener(realConsumer, consumer, handlerListener);
+    }
+
+    /**
+     * Callbacks of one rebalance are invoked on poll thread within single poll: revoked or lost partitions first, then assigned ones
+     */
+    private final class RebalanceListener implements ConsumerRebalanceListener {
+        private final Consumer<byte[], byte[]> realConsumer;
+        private final ConsumerWrapper<K, V> consumer;
+        @Nullable
+        private final ConsumerAwareRebalanceListener handlerListener;
+        private final Set<TopicPartition> revoked = new HashSet<>();
+        private long rebalanceStarted = 0;
+        private long reprocessed = 0;
+
+        private RebalanceListener(Consumer<byte[], byte[]> realConsumer, ConsumerWrapper<K, V> consumer, @Nullable ConsumerAwareRebalanceListener handlerListener) {
+            this.realConsumer = realConsumer;
+            this.consumer = consumer;
+            this.handlerListener = handlerListener;
+        }
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            this.started();
+            // handler finishes and commits revoked partitions before they are given to other consumer
+            if (this.handlerListener != null) {
+                this.handlerListener.onPartitionsRevoked(this.consumer, partitions);
+            }
+            if (rebalanceListener != null) {
+                rebalanceListener.onPartitionsRevoked(this.realConsumer, partitions);
+            }
+            this.revoked.addAll(partitions);
+            this.reprocessed += this.consumer.untrack(partitions);
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            this.started();
+            if (this.handlerListener != null) {
+                this.handlerListener.onPartitionsAssigned(this.consumer, partitions);
+            }
+            if (rebalanceListener != null) {
+                rebalanceListener.onPartitionsAssigned(this.realConsumer, partitions);
+            }
+            if (telemetry != null && (!this.revoked.isEmpty() || !partitions.isEmpty())) {
+                telemetry.reportRebalance(Set.copyOf(this.revoked), partitions, System.nanoTime() - this.rebalanceStarted, this.reprocessed);
+            }
+            this.revoked.clear();
+            this.rebalanceStarted = 0;
+            this.reprocessed = 0;
+        }
+
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> partitions) {
+            this.started();
+            if (this.handlerListener != null) {
+                this.handlerListener.onPartitionsLost(this.consumer, partitions);
+            }
+            if (rebalanceListener != null) {
+                rebalanceListener.onPartitionsLost(this.realConsumer, partitions);
+            }
+            // lost partitions may have been committed by their new owner already, so their records are not counted as reprocessed
+            this.consumer.untrack(partitions);
+            this.revoked.addAll(partitions);
+        }
+
+        private void started() {
+            if (this.rebalanceStarted == 0) {
+                this.rebalanceStarted = System.nanoTime();
+            }
+        }
     }
 }
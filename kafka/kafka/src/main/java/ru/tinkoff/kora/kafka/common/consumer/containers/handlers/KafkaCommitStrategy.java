@@ -0,0 +1,53 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.BatchCommitStrategy;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.RecordCommitStrategy;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+
+import java.util.Collection;
+
+/**
+ * Decides when offsets of handled records are committed, all methods are called from consumer poll thread
+ * <br>
+ * Offsets not yet committed are committed synchronously when partitions are revoked and before consumer is closed
+ */
+public interface KafkaCommitStrategy extends ConsumerAwareRebalanceListener {
+
+    /**
+     * @param record successfully handled record
+     */
+    void onRecordHandled(Consumer<?, ?> consumer, ConsumerRecord<?, ?> record);
+
+    /**
+     * @param records successfully handled records of poll, empty if poll returned nothing
+     */
+    void onRecordsHandled(Consumer<?, ?> consumer, ConsumerRecords<?, ?> records);
+
+    @Override
+    default void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {}
+
+    /**
+     * @param recordHandler true if listener handles one record at a time
+     */
+    static KafkaCommitStrategy of(KafkaListenerConfig config, KafkaConsumerTelemetry<?, ?> telemetry, boolean recordHandler) {
+        var commit = config.commit();
+        if (commit == null) {
+            return recordHandler
+                ? new RecordCommitStrategy(telemetry)
+                : new BatchCommitStrategy(telemetry);
+        }
+        return switch (commit.mode()) {
+            case RECORD -> recordHandler
+                ? new RecordCommitStrategy(telemetry)
+                : new BatchCommitStrategy(telemetry);
+            case POLL -> new BatchCommitStrategy(telemetry);
+            case ASYNC -> new BatchCommitStrategy(telemetry, commit.interval(), commit.records());
+        };
+    }
+}
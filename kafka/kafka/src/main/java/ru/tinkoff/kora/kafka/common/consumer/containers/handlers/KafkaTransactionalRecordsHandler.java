@@ -0,0 +1,16 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry.KafkaConsumerRecordsTelemetryContext;
+import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher;
+
+@FunctionalInterface
+public interface KafkaTransactionalRecordsHandler<K, V, P> {
+
+    /**
+     * @param records     consumed records to handle by kafka consumer
+     * @param transaction transaction records are produced in, offsets of handled records are committed with it
+     */
+    void handle(Consumer<K, V> consumer, KafkaConsumerRecordsTelemetryContext<K, V> telemetry, ConsumerRecords<K, V> records, TransactionalPublisher.Transaction<? extends P> transaction);
+}
@@ -0,0 +1,209 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.requests.OffsetFetchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaCommitStrategy;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Collects offsets of handled records and commits them synchronously after each poll
+ * or asynchronously once interval passed or enough records were handled since last commit
+ */
+public final class BatchCommitStrategy implements KafkaCommitStrategy {
+    private static final Logger logger = LoggerFactory.getLogger(BatchCommitStrategy.class);
+
+    private final KafkaConsumerTelemetry<?, ?> telemetry;
+    private final boolean async;
+    private final long intervalNanos;
+    private final int records;
+    private final Map<Consumer<?, ?>, PendingOffsets> pending = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Commits synchronously after each poll
+     */
+    public BatchCommitStrategy(KafkaConsumerTelemetry<?, ?> telemetry) {
+        this.telemetry = telemetry;
+        this.async = false;
+        this.intervalNanos = 0;
+        this.records = 0;
+    }
+
+    /**
+     * Commits asynchronously once interval passed or records were handled since last commit
+     */
+    public BatchCommitStrategy(KafkaConsumerTelemetry<?, ?> telemetry, Duration interval, int records) {
+        if (interval.isNegative() || records < 1) {
+            throw new IllegalArgumentException("Commit interval must not be negative and records must be positive, but received: " + interval + ", " + records);
+        }
+        this.telemetry = telemetry;
+        this.async = true;
+        this.intervalNanos = interval.toNanos();
+        this.records = records;
+    }
+
+    private static final class PendingOffsets {
+        // offsets to commit with the next commit
+        private final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        // next offset after the last handled record, kept after commit
+        private final Map<TopicPartition, Long> handled = new HashMap<>();
+        private int records = 0;
+        private long lastCommit = System.nanoTime();
+
+        private void add(TopicPartition partition, ConsumerRecord<?, ?> record, int count) {
+            /*
+             * The committed offset should be the next message your application will consume, i.e. lastProcessedMessageOffset + 1
+             * @see org.apache.kafka.clients.consumer.KafkaConsumer#commitSync(Map)
+             */
+            this.offsets.put(partition, new OffsetAndMetadata(record.offset() + 1, record.leaderEpoch(), OffsetFetchResponse.NO_METADATA));
+            this.handled.put(partition, record.offset() + 1);
+            this.records += count;
+        }
+
+        private void remove(Collection<TopicPartition> partitions) {
+            this.offsets.keySet().removeAll(partitions);
+            this.handled.keySet().removeAll(partitions);
+        }
+
+        private Map<TopicPartition, OffsetAndMetadata> drain() {
+            var offsets = new HashMap<>(this.offsets);
+            this.offsets.clear();
+            this.records = 0;
+            this.lastCommit = System.nanoTime();
+            return offsets;
+        }
+    }
+
+    @Override
+    public void onRecordHandled(Consumer<?, ?> consumer, ConsumerRecord<?, ?> record) {
+        var pending = this.pending.computeIfAbsent(consumer, c -> new PendingOffsets());
+        pending.add(new TopicPartition(record.topic(), record.partition()), record, 1);
+        if (this.async && pending.records >= this.records) {
+            this.commitAsync(consumer, pending);
+        }
+    }
+
+    @Override
+    public void onRecordsHandled(Consumer<?, ?> consumer, ConsumerRecords<?, ?> records) {
+        var pending = this.pending.computeIfAbsent(consumer, c -> new PendingOffsets());
+        for (var partition : records.partitions()) {
+            var partitionRecords = records.records(partition);
+            if (partitionRecords.isEmpty()) {
+                continue;
+            }
+            var last = partitionRecords.get(partitionRecords.size() - 1);
+            // records of record listeners are already added one by one
+            var handled = pending.handled.get(partition);
+            if (handled == null || handled <= last.offset()) {
+                pending.add(partition, last, partitionRecords.size());
+            }
+        }
+        if (pending.offsets.isEmpty()) {
+            return;
+        }
+        if (!this.async) {
+            commitSync(consumer, pending.drain(), this.telemetry);
+        } else if (pending.records >= this.records || System.nanoTime() - pending.lastCommit >= this.intervalNanos) {
+            this.commitAsync(consumer, pending);
+        }
+    }
+
+    @Override
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        var pending = this.pending.get(consumer);
+        if (pending == null) {
+            return;
+        }
+        var offsets = new HashMap<TopicPartition, OffsetAndMetadata>(partitions.size());
+        for (var partition : partitions) {
+            var offset = pending.offsets.get(partition);
+            if (offset != null) {
+                offsets.put(partition, offset);
+            }
+        }
+        pending.remove(partitions);
+        if (pending.handled.isEmpty()) {
+            this.pending.remove(consumer, pending);
+        }
+        if (!offsets.isEmpty()) {
+            commitSync(consumer, offsets, this.telemetry);
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        var pending = this.pending.get(consumer);
+        if (pending != null) {
+            // partitions are already owned by other consumer, commit would fail
+            pending.remove(partitions);
+            if (pending.handled.isEmpty()) {
+                this.pending.remove(consumer, pending);
+            }
+        }
+    }
+
+    private void commitAsync(Consumer<?, ?> consumer, PendingOffsets pending) {
+        var offsets = pending.drain();
+        reportLag(consumer, offsets, this.telemetry);
+        var started = System.nanoTime();
+        consumer.commitAsync(offsets, (committed, exception) -> {
+            this.telemetry.reportCommit(offsets, System.nanoTime() - started, exception);
+            if (exception != null) {
+                logger.warn("Kafka Consumer async commit of offsets {} failed", offsets, exception);
+                // callback is invoked on poll thread, offsets will be committed with the next commit unless newer ones are pending
+                if (this.pending.get(consumer) == pending) {
+                    for (var entry : offsets.entrySet()) {
+                        if (!pending.handled.containsKey(entry.getKey())) {
+                            continue; // revoked meanwhile
+                        }
+                        pending.offsets.merge(entry.getKey(), entry.getValue(), (current, failed) -> current.offset() >= failed.offset() ? current : failed);
+                    }
+                }
+            }
+        });
+    }
+
+    static void commitSync(Consumer<?, ?> consumer, Map<TopicPartition, OffsetAndMetadata> offsets, KafkaConsumerTelemetry<?, ?> telemetry) {
+        var started = System.nanoTime();
+        try {
+            consumer.commitSync(offsets);
+        } catch (WakeupException e) {
+            // retry commit if thrown on consumer release
+            try {
+                consumer.commitSync(offsets);
+            } catch (Exception ex) {
+                telemetry.reportCommit(offsets, System.nanoTime() - started, ex);
+                throw ex;
+            }
+            telemetry.reportCommit(offsets, System.nanoTime() - started, null);
+            throw e;
+        } catch (Exception e) {
+            telemetry.reportCommit(offsets, System.nanoTime() - started, e);
+            throw e;
+        }
+        telemetry.reportCommit(offsets, System.nanoTime() - started, null);
+        reportLag(consumer, offsets, telemetry);
+    }
+
+    /**
+     * Lag of committed offset: records between end of partition and committed offset
+     */
+    private static void reportLag(Consumer<?, ?> consumer, Map<TopicPartition, OffsetAndMetadata> offsets, KafkaConsumerTelemetry<?, ?> telemetry) {
+        for (var entry : offsets.entrySet()) {
+            var partition = entry.getKey();
+            var lag = consumer.currentLag(partition);
+            if (lag.isPresent()) {
+                telemetry.reportLag(partition, lag.getAsLong() + consumer.position(partition) - entry.getValue().offset());
+            }
+        }
+    }
+}
@@ -0,0 +1,507 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.application.graph.Lifecycle;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.application.graph.internal.loom.VirtualThreadExecutorHolder;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.kafka.common.KafkaUtils;
+import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
+import ru.tinkoff.kora.kafka.common.consumer.containers.ConsumerRecordWrapper;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaCommitStrategy;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Handles records of a poll concurrently on a bounded worker pool while keeping order of records with the same key (or from the same partition).
+ * <br>
+ * Poll thread only dispatches records, passes the contiguous handled prefix of each partition to commit strategy on the following polls
+ * and pauses partitions which have more than {@link KafkaListenerConfig.ParallelConfig#maxInFlightPerPartition()} records not yet committed,
+ * so consumer keeps polling and stays in group while handler is slow.
+ * Offsets are committed per {@link KafkaListenerConfig#commit()} with {@code RECORD} mode committing once per poll like {@code POLL}.
+ * <br>
+ * With only {@link KafkaListenerConfig#backpressure()} configured records are handled by single worker in partition order.
+ * <br>
+ * When a record fails all not yet started records of the consumer are skipped and the error is thrown from the next poll,
+ * so the container recreates consumer and records after the last contiguous handled offset are received again.
+ */
+public final class ParallelRecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V>, ConsumerAwareRebalanceListener, Lifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelRecordHandler.class);
+
+    private static final int PENDING = 0;
+    private static final int SUCCESS = 1;
+    private static final int FAILED = 2;
+
+    // time revocation and release wait for records in flight before proceeding without them
+    private static final long AWAIT_TIMEOUT_SECONDS = 30;
+
+    private final KafkaConsumerTelemetry<K, V> telemetry;
+    private final ValueOf<KafkaRecordHandler<K, V>> handler;
+    private final KafkaCommitStrategy commitStrategy;
+    private final int concurrency;
+    private final KafkaListenerConfig.ParallelConfig.Ordering ordering;
+    private final int maxInFlightPerPartition;
+    private final boolean virtualThreads;
+    private final String consumerPrefix;
+    private final PartitionPauses pauses;
+    private final Map<Consumer<?, ?>, ConsumerState> states = Collections.synchronizedMap(new IdentityHashMap<>());
+    @Nullable
+    private volatile Semaphore permits;
+    private volatile ExecutorService executor;
+
+    public ParallelRecordHandler(KafkaListenerConfig config, KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler) {
+        this(config, telemetry, shouldCommit, handler, new PartitionPauses());
+    }
+
+    /**
+     * @param pauses pauses shared with other handler of the same consumer
+     */
+    ParallelRecordHandler(KafkaListenerConfig config, KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler, PartitionPauses pauses) {
+        if (!shouldCommit) {
+            throw new IllegalArgumentException("Kafka Consumer '" + KafkaUtils.getConsumerPrefix(config) + "' can't handle records off poll thread when listener accepts Consumer, consumer is not thread safe");
+        }
+        var parallel = config.parallel();
+        var backpressure = config.backpressure();
+        if (parallel == null && backpressure == null) {
+            throw new IllegalArgumentException("Kafka Consumer '" + KafkaUtils.getConsumerPrefix(config) + "' has neither parallel nor backpressure configured");
+        }
+        this.concurrency = parallel != null ? parallel.concurrency() : 1;
+        this.ordering = parallel != null ? parallel.ordering() : KafkaListenerConfig.ParallelConfig.Ordering.PARTITION;
+        this.maxInFlightPerPartition = backpressure != null ? backpressure.maxInFlightRecords() : parallel.maxInFlightPerPartition();
+        this.virtualThreads = config.virtualThreads();
+        if (this.concurrency < 1 || this.maxInFlightPerPartition < 1) {
+            throw new IllegalArgumentException("Parallel concurrency and max in flight records must be positive, but received: " + this.concurrency + ", " + this.maxInFlightPerPartition);
+        }
+        this.telemetry = telemetry;
+        this.handler = handler;
+        // handled records are collected on poll, not committed one by one
+        this.commitStrategy = KafkaCommitStrategy.of(config, telemetry, false);
+        this.consumerPrefix = KafkaUtils.getConsumerPrefix(config);
+        this.pauses = pauses;
+    }
+
+    @Override
+    public void init() {
+        if (this.virtualThreads) {
+            var threadFactory = VirtualThreadExecutorHolder.threadFactory("kafka-worker-" + this.consumerPrefix + "-");
+            if (threadFactory == null) {
+                throw new IllegalStateException("Kafka Consumer '" + this.consumerPrefix + "' is configured to handle records on virtual threads, but virtual threads are " + VirtualThreadExecutorHolder.status());
+            }
+            // virtual threads are not pooled, concurrency is limited by permits
+            this.permits = new Semaphore(this.concurrency);
+            this.executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory);
+        } else {
+            this.executor = Executors.newFixedThreadPool(this.concurrency, new KafkaUtils.NamedThreadFactory(this.consumerPrefix + "-worker-"));
+        }
+    }
+
+    @Override
+    public void release() {
+        var executor = this.executor;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(AWAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    logger.warn("Kafka Consumer '{}' workers didn't finish in {} seconds, interrupting", this.consumerPrefix, AWAIT_TIMEOUT_SECONDS);
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
+        var state = this.states.computeIfAbsent(consumer, c -> new ConsumerState());
+        state.commitAllowed = commitAllowed;
+        state.advance(consumer);
+
+        var error = state.error.get();
+        if (error != null) {
+            if (error instanceof RuntimeException re) {
+                throw re;
+            } else if (error instanceof Error e) {
+                throw e;
+            } else {
+                throw new IllegalStateException(error);
+            }
+        }
+
+        if (!records.isEmpty()) {
+            var batch = new Batch(this.telemetry.get(records), Context.current().fork(), records.count());
+            for (var partition : records.partitions()) {
+                var partitionState = state.partitions.computeIfAbsent(partition, PartitionState::new);
+                for (var record : records.records(partition)) {
+                    partitionState.dispatch(state, new Task(batch, partitionState, record));
+                }
+            }
+            state.pause(consumer);
+        }
+    }
+
+    @Override
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        var state = this.states.get(consumer);
+        if (state == null) {
+            return;
+        }
+        var revoked = new ArrayList<PartitionState>(partitions.size());
+        for (var partition : partitions) {
+            var partitionState = state.partitions.get(partition);
+            if (partitionState != null) {
+                partitionState.revoked = true;
+                revoked.add(partitionState);
+            }
+        }
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(AWAIT_TIMEOUT_SECONDS);
+        for (var partitionState : revoked) {
+            if (!partitionState.awaitIdle(deadline)) {
+                // records still running are not committed and will be received again by the next owner
+                logger.warn("Kafka Consumer '{}' records of partition {} didn't finish in {} seconds, revoking it without them", this.consumerPrefix, partitionState.partition, AWAIT_TIMEOUT_SECONDS);
+            }
+        }
+        if (state.commitAllowed) {
+            try {
+                for (var partitionState : revoked) {
+                    partitionState.completed(consumer, this.commitStrategy);
+                }
+                this.commitStrategy.onPartitionsRevoked(consumer, partitions);
+            } catch (Exception e) {
+                logger.warn("Kafka Consumer '{}' failed to commit revoked partitions {}", this.consumerPrefix, partitions, e);
+            }
+        }
+        for (var partitionState : revoked) {
+            state.partitions.remove(partitionState.partition);
+            state.forgetPause(partitionState);
+        }
+        this.pauses.forget(partitions);
+        this.cleanup(consumer, state);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {}
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        this.commitStrategy.onPartitionsLost(consumer, partitions);
+        var state = this.states.get(consumer);
+        if (state == null) {
+            return;
+        }
+        for (var partition : partitions) {
+            var partitionState = state.partitions.remove(partition);
+            if (partitionState != null) {
+                partitionState.revoked = true;
+                state.forgetPause(partitionState);
+            }
+        }
+        this.pauses.forget(partitions);
+        this.cleanup(consumer, state);
+    }
+
+    private void cleanup(Consumer<?, ?> consumer, ConsumerState state) {
+        if (state.partitions.isEmpty()) {
+            this.states.remove(consumer, state);
+        }
+    }
+
+    private final class ConsumerState {
+        // poll thread only
+        private final Map<TopicPartition, PartitionState> partitions = new HashMap<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private boolean commitAllowed;
+
+        private void advance(Consumer<?, ?> consumer) {
+            if (this.partitions.isEmpty()) {
+                return;
+            }
+            var commitStrategy = this.commitAllowed ? ParallelRecordHandler.this.commitStrategy : null;
+            for (var partitionState : this.partitions.values()) {
+                partitionState.completed(consumer, commitStrategy);
+            }
+            if (commitStrategy != null) {
+                // offsets of all partitions are committed at once, or later when committing asynchronously
+                commitStrategy.onRecordsHandled(consumer, ConsumerRecords.empty());
+            }
+            this.resume(consumer);
+        }
+
+        private void pause(Consumer<?, ?> consumer) {
+            List<TopicPartition> toPause = null;
+            for (var partitionState : this.partitions.values()) {
+                if (!partitionState.paused && partitionState.pending.size() >= maxInFlightPerPartition) {
+                    partitionState.paused = true;
+                    partitionState.pausedAt = System.nanoTime();
+                    telemetry.reportPartitionPaused(partitionState.partition);
+                    if (toPause == null) {
+                        toPause = new ArrayList<>();
+                    }
+                    toPause.add(partitionState.partition);
+                }
+            }
+            if (toPause != null) {
+                logger.debug("Kafka Consumer '{}' pausing partitions {} until workers catch up", consumerPrefix, toPause);
+                pauses.pause(consumer, ParallelRecordHandler.this, toPause);
+            }
+        }
+
+        private void resume(Consumer<?, ?> consumer) {
+            List<TopicPartition> toResume = null;
+            for (var partitionState : this.partitions.values()) {
+                if (partitionState.paused && partitionState.pending.size() <= maxInFlightPerPartition / 2) {
+                    partitionState.paused = false;
+                    telemetry.reportPartitionResumed(partitionState.partition, System.nanoTime() - partitionState.pausedAt);
+                    if (toResume == null) {
+                        toResume = new ArrayList<>();
+                    }
+                    toResume.add(partitionState.partition);
+                }
+            }
+            if (toResume != null) {
+                var resumed = pauses.resume(consumer, ParallelRecordHandler.this, toResume);
+                logger.debug("Kafka Consumer '{}' resuming partitions {}", consumerPrefix, resumed);
+            }
+        }
+
+        /**
+         * Partition is no longer owned by consumer and its pause is dropped with assignment
+         */
+        private void forgetPause(PartitionState partitionState) {
+            if (partitionState.paused) {
+                partitionState.paused = false;
+                telemetry.reportPartitionResumed(partitionState.partition, System.nanoTime() - partitionState.pausedAt);
+            }
+        }
+    }
+
+    private final class PartitionState {
+        private final TopicPartition partition;
+        // received records in offset order, poll thread only
+        private final ArrayDeque<Task> pending = new ArrayDeque<>();
+        // guarded by this
+        private final Map<Object, Lane> lanes = new HashMap<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private volatile boolean revoked;
+        private boolean paused;
+        private long pausedAt;
+
+        private PartitionState(TopicPartition partition) {
+            this.partition = partition;
+        }
+
+        private void dispatch(ConsumerState state, Task task) {
+            this.pending.addLast(task);
+            this.running.incrementAndGet();
+            var key = this.laneKey(task.record);
+            synchronized (this) {
+                var lane = this.lanes.get(key);
+                if (lane == null) {
+                    lane = new Lane(state, this, key);
+                    this.lanes.put(key, lane);
+                }
+                lane.queue.addLast(task);
+                if (!lane.scheduled) {
+                    lane.scheduled = true;
+                    try {
+                        executor.execute(lane);
+                    } catch (RejectedExecutionException e) {
+                        lane.scheduled = false;
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        private Object laneKey(ConsumerRecord<K, V> record) {
+            if (ordering == KafkaListenerConfig.ParallelConfig.Ordering.PARTITION) {
+                return this.partition;
+            }
+            var key = record instanceof ConsumerRecordWrapper<K, V> wrapper
+                ? wrapper.rawKey()
+                : record.key();
+            if (key == null) {
+                return this.partition;
+            }
+            if (key instanceof byte[] bytes) {
+                return ByteBuffer.wrap(bytes);
+            }
+            return key;
+        }
+
+        /**
+         * Removes handled prefix of received records
+         *
+         * @param commitStrategy strategy removed records are passed to, null if they are not committed
+         */
+        private void completed(Consumer<?, ?> consumer, @Nullable KafkaCommitStrategy commitStrategy) {
+            while (!this.pending.isEmpty() && this.pending.peekFirst().status == SUCCESS) {
+                var record = this.pending.pollFirst().record;
+                if (commitStrategy != null) {
+                    commitStrategy.onRecordHandled(consumer, record);
+                }
+            }
+        }
+
+        /**
+         * @param deadline {@link System#nanoTime()} to wait until
+         * @return true if no records of partition are running
+         */
+        private boolean awaitIdle(long deadline) {
+            try {
+                synchronized (this) {
+                    while (this.running.get() > 0) {
+                        var remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            return false;
+                        }
+                        this.wait(Math.min(100, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private void finished() {
+            if (this.running.decrementAndGet() == 0 && this.revoked) {
+                synchronized (this) {
+                    this.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Serial queue of records that must be handled in order
+     */
+    private final class Lane implements Runnable {
+        private final ConsumerState state;
+        private final PartitionState partition;
+        private final Object key;
+        // guarded by partition
+        private final ArrayDeque<Task> queue = new ArrayDeque<>();
+        private boolean scheduled;
+
+        private Lane(ConsumerState state, PartitionState partition, Object key) {
+            this.state = state;
+            this.partition = partition;
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Task task;
+                synchronized (this.partition) {
+                    task = this.queue.pollFirst();
+                    if (task == null) {
+                        this.scheduled = false;
+                        this.partition.lanes.remove(this.key);
+                        return;
+                    }
+                }
+                try {
+                    task.run(this.state);
+                } finally {
+                    this.partition.finished();
+                }
+            }
+        }
+    }
+
+    private final class Batch {
+        private final KafkaConsumerTelemetry.KafkaConsumerRecordsTelemetryContext<K, V> telemetry;
+        private final Context context;
+        private final AtomicInteger remaining;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private Batch(KafkaConsumerTelemetry.KafkaConsumerRecordsTelemetryContext<K, V> telemetry, Context context, int count) {
+            this.telemetry = telemetry;
+            this.context = context;
+            this.remaining = new AtomicInteger(count);
+        }
+
+        private void recordFinished(@Nullable Throwable error) {
+            if (error != null) {
+                this.error.compareAndSet(null, error);
+            }
+            if (this.remaining.decrementAndGet() == 0) {
+                this.telemetry.close(this.error.get());
+            }
+        }
+    }
+
+    private final class Task {
+        private final Batch batch;
+        private final PartitionState partition;
+        private final ConsumerRecord<K, V> record;
+        private volatile int status = PENDING;
+
+        private Task(Batch batch, PartitionState partition, ConsumerRecord<K, V> record) {
+            this.batch = batch;
+            this.partition = partition;
+            this.record = record;
+        }
+
+        private void run(ConsumerState state) {
+            var skipReason = state.error.get();
+            if (skipReason != null || this.partition.revoked) {
+                this.status = FAILED;
+                this.batch.recordFinished(skipReason != null ? skipReason : new CancellationException("Partition " + this.partition.partition + " was revoked"));
+                return;
+            }
+            var permits = ParallelRecordHandler.this.permits;
+            try {
+                if (permits != null) {
+                    permits.acquire();
+                }
+            } catch (InterruptedException e) {
+                this.status = FAILED;
+                this.batch.recordFinished(e);
+                return;
+            }
+            this.batch.context.fork().inject();
+            try {
+                var recordCtx = this.batch.telemetry.get(this.record);
+                try {
+                    handler.get().handle(null, recordCtx, this.record);
+                    recordCtx.close(null);
+                } catch (Throwable e) {
+                    recordCtx.close(e);
+                    throw e;
+                }
+                this.status = SUCCESS;
+                this.batch.recordFinished(null);
+            } catch (Throwable e) {
+                this.status = FAILED;
+                if (state.error.compareAndSet(null, e)) {
+                    logger.warn("Kafka Consumer '{}' failed to handle record {}-{}, skipping records not yet started", consumerPrefix, this.partition.partition, this.record.offset(), e);
+                }
+                this.batch.recordFinished(e);
+            } finally {
+                Context.clear();
+                if (permits != null) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.*;
+
+/**
+ * Pauses of partitions held by handlers sharing consumer: partition is resumed only when no handler holds its pause anymore,
+ * so retry delays and parallel backpressure don't resume partitions paused by each other.
+ */
+final class PartitionPauses {
+    private final Map<TopicPartition, Set<Object>> owners = new HashMap<>();
+
+    synchronized void pause(Consumer<?, ?> consumer, Object owner, Collection<TopicPartition> partitions) {
+        var paused = consumer.paused();
+        for (var partition : partitions) {
+            var partitionOwners = this.owners.computeIfAbsent(partition, p -> new HashSet<>(2));
+            if (!paused.contains(partition)) {
+                // pauses taken on previous consumer or before partition was reassigned are gone with it
+                partitionOwners.clear();
+            }
+            partitionOwners.add(owner);
+        }
+        consumer.pause(partitions);
+    }
+
+    /**
+     * @return partitions resumed because no other owner holds their pause
+     */
+    synchronized List<TopicPartition> resume(Consumer<?, ?> consumer, Object owner, Collection<TopicPartition> partitions) {
+        var toResume = new ArrayList<TopicPartition>(partitions.size());
+        for (var partition : partitions) {
+            var partitionOwners = this.owners.get(partition);
+            if (partitionOwners != null) {
+                partitionOwners.remove(owner);
+                if (!partitionOwners.isEmpty()) {
+                    continue;
+                }
+                this.owners.remove(partition);
+            }
+            toResume.add(partition);
+        }
+        if (!toResume.isEmpty()) {
+            consumer.resume(toResume);
+        }
+        return toResume;
+    }
+
+    /**
+     * Drops pauses of partitions no longer owned by consumer, their pause is dropped with assignment
+     */
+    synchronized void forget(Collection<TopicPartition> partitions) {
+        for (var partition : partitions) {
+            this.owners.remove(partition);
+        }
+    }
+}
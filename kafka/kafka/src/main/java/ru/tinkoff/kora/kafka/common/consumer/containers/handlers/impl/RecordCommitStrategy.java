@@ -0,0 +1,41 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.requests.OffsetFetchResponse;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaCommitStrategy;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Commits offset of every handled record synchronously, nothing is left to commit on revocation
+ */
+public final class RecordCommitStrategy implements KafkaCommitStrategy {
+    private final KafkaConsumerTelemetry<?, ?> telemetry;
+
+    public RecordCommitStrategy(KafkaConsumerTelemetry<?, ?> telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    @Override
+    public void onRecordHandled(Consumer<?, ?> consumer, ConsumerRecord<?, ?> record) {
+        /*
+         * The committed offset should be the next message your application will consume, i.e. lastProcessedMessageOffset + 1
+         * @see org.apache.kafka.clients.consumer.KafkaConsumer#commitSync(Map)
+         */
+        var offsets = Map.of(new TopicPartition(record.topic(), record.partition()),
+            new OffsetAndMetadata(record.offset() + 1, record.leaderEpoch(), OffsetFetchResponse.NO_METADATA));
+        BatchCommitStrategy.commitSync(consumer, offsets, this.telemetry);
+    }
+
+    @Override
+    public void onRecordsHandled(Consumer<?, ?> consumer, ConsumerRecords<?, ?> records) {}
+
+    @Override
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {}
+}
@@ -2,31 +2,42 @@ package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
 
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
-import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
-import org.apache.kafka.common.requests.OffsetFetchResponse;
 import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaCommitStrategy;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 
-import java.util.Map;
+import java.util.Collection;
 
-public class RecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
+public class RecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V>, ConsumerAwareRebalanceListener {
     private final KafkaConsumerTelemetry<K, V> telemetry;
     private final ValueOf<KafkaRecordHandler<K, V>> handler;
     private final boolean shouldCommit;
+    private final KafkaCommitStrategy commitStrategy;
 
     public RecordHandler(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler) {
+        this(telemetry, shouldCommit, handler, new RecordCommitStrategy(telemetry));
+    }
+
+    public RecordHandler(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler, KafkaCommitStrategy commitStrategy) {
         this.telemetry = telemetry;
         this.handler = handler;
         this.shouldCommit = shouldCommit;
+        this.commitStrategy = commitStrategy;
     }
 
     @Override
     public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
+        var commit = this.shouldCommit && commitAllowed;
         if (records.isEmpty()) {
+            if (commit) {
+                // time based strategies may commit on empty poll
+                this.commitStrategy.onRecordsHandled(consumer, records);
+            }
             return;
         }
 
@@ -37,20 +48,12 @@ public class RecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
                 var recordCtx = ctx.get(record);
                 try {
                     handler.handle(consumer, recordCtx, record);
-                    if (this.shouldCommit && commitAllowed) {
-                        /**
-                         * The committed offset should be the next message your application will consume, i.e. lastProcessedMessageOffset + 1
-                         * @see org.apache.kafka.clients.consumer.KafkaConsumer#commitSync(Map)
-                         */
-                        var topicAndOffsetAndMeta = Map.of(new TopicPartition(record.topic(), record.partition()),
-                            new OffsetAndMetadata(record.offset() + 1, record.leaderEpoch(), OffsetFetchResponse.NO_METADATA));
-
+                    if (commit) {
                         try {
-                            consumer.commitSync(topicAndOffsetAndMeta);
+                            this.commitStrategy.onRecordHandled(consumer, record);
                             recordCtx.close(null);
                         } catch (WakeupException e) {
-                            // retry commit if thrown on consumer release
-                            consumer.commitSync(topicAndOffsetAndMeta);
+                            // commit is retried by strategy if thrown on consumer release
                             recordCtx.close(null);
                             throw e;
                         }
@@ -64,10 +67,34 @@ public class RecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
                     throw e;
                 }
             }
+            if (commit) {
+                this.commitStrategy.onRecordsHandled(consumer, records);
+            }
             ctx.close(null);
         } catch (Exception e) {
             ctx.close(e);
             throw e;
         }
     }
+
+    @Override
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (this.shouldCommit) {
+            this.commitStrategy.onPartitionsRevoked(consumer, partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (this.shouldCommit) {
+            this.commitStrategy.onPartitionsAssigned(consumer, partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (this.shouldCommit) {
+            this.commitStrategy.onPartitionsLost(consumer, partitions);
+        }
+    }
 }
@@ -2,31 +2,42 @@ package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
 
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
-import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
-import org.apache.kafka.common.requests.OffsetFetchResponse;
 import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaCommitStrategy;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordsHandler;
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 
-import java.util.Map;
+import java.util.Collection;
 
-public class RecordsHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
+public class RecordsHandler<K, V> implements BaseKafkaRecordsHandler<K, V>, ConsumerAwareRebalanceListener {
     private final KafkaConsumerTelemetry<K, V> telemetry;
     private final ValueOf<KafkaRecordsHandler<K, V>> handler;
     private final boolean shouldCommit;
+    private final KafkaCommitStrategy commitStrategy;
 
     public RecordsHandler(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordsHandler<K, V>> handler) {
+        this(telemetry, shouldCommit, handler, new BatchCommitStrategy(telemetry));
+    }
+
+    public RecordsHandler(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordsHandler<K, V>> handler, KafkaCommitStrategy commitStrategy) {
         this.telemetry = telemetry;
         this.handler = handler;
         this.shouldCommit = shouldCommit;
+        this.commitStrategy = commitStrategy;
     }
 
     @Override
     public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
+        var commit = this.shouldCommit && commitAllowed;
         if (records.isEmpty()) {
+            if (commit) {
+                // time based strategies may commit on empty poll
+                this.commitStrategy.onRecordsHandled(consumer, records);
+            }
             return;
         }
 
@@ -34,12 +45,11 @@ public class RecordsHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
         try {
             var handler = this.handler.get();
             handler.handle(consumer, ctx, records);
-            if (this.shouldCommit && commitAllowed) {
+            if (commit) {
                 try {
-                    consumer.commitSync();
-                } catch (WakeupException e) {
-                    // retry commit if thrown on consumer release
-                    consumer.commitSync();
+                    this.commitStrategy.onRecordsHandled(consumer, records);
+                } catch (WakeupException ignore) {
+                    // commit is retried by strategy if thrown on consumer release
                 }
             }
             ctx.close(null);
@@ -48,4 +58,25 @@ public class RecordsHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
             throw e;
         }
     }
+
+    @Override
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (this.shouldCommit) {
+            this.commitStrategy.onPartitionsRevoked(consumer, partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (this.shouldCommit) {
+            this.commitStrategy.onPartitionsAssigned(consumer, partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (this.shouldCommit) {
+            this.commitStrategy.onPartitionsLost(consumer, partitions);
+        }
+    }
 }
@@ -0,0 +1,318 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.application.graph.Lifecycle;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.kafka.common.KafkaUtils;
+import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
+import ru.tinkoff.kora.kafka.common.consumer.containers.ConsumerRecordWrapper;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaCommitStrategy;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+import ru.tinkoff.kora.kafka.common.exceptions.RecordKeyDeserializationException;
+import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Sends record failed by handler to retry topic of the next attempt and commits it as handled, so one bad record neither blocks its partition nor restarts consumer.
+ * Record which failed all {@link KafkaListenerConfig.RetryConfig#delays()} attempts or can't be deserialized is sent to dead letter topic.
+ * <br>
+ * Retry topics are consumed by the same listener: record of retry topic is handled once its timestamp is older than delay of its attempt,
+ * until then its partition is paused on poll thread and consumer is rewound to it, so other partitions are polled as usual.
+ * <br>
+ * Attempt number and original topic are carried in {@link #ATTEMPT_HEADER} and {@link #TOPIC_HEADER} headers.
+ */
+public final class RetryRecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V>, ConsumerAwareRebalanceListener, Lifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(RetryRecordHandler.class);
+
+    public static final String ATTEMPT_HEADER = "kora-retry-attempt";
+    public static final String TOPIC_HEADER = "kora-retry-topic";
+    public static final String EXCEPTION_HEADER = "kora-retry-exception";
+    public static final String EXCEPTION_MESSAGE_HEADER = "kora-retry-exception-message";
+
+    private final KafkaConsumerTelemetry<K, V> telemetry;
+    private final BaseKafkaRecordsHandler<K, V> delegate;
+    private final List<Duration> delays;
+    private final String retryTopicSuffix;
+    private final String deadLetterTopicSuffix;
+    private final Properties producerProperties;
+    private final String consumerPrefix;
+    private final Map<TopicPartition, Long> delayedUntil = new ConcurrentHashMap<>();
+    private final PartitionPauses pauses = new PartitionPauses();
+    private final boolean ownsProducer;
+    private volatile Producer<byte[], byte[]> producer;
+
+    public RetryRecordHandler(KafkaListenerConfig config, KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler) {
+        this(config, telemetry, shouldCommit, handler, null);
+    }
+
+    /**
+     * @param producer producer sending records to retry and dead letter topics, created from config on init when null
+     */
+    public RetryRecordHandler(KafkaListenerConfig config, KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler, @Nullable Producer<byte[], byte[]> producer) {
+        var retry = Objects.requireNonNull(config.retry());
+        for (var delay : retry.delays()) {
+            if (delay.isNegative()) {
+                throw new IllegalArgumentException("Retry delays must not be negative, but received: " + retry.delays());
+            }
+        }
+        this.telemetry = telemetry;
+        this.delays = List.copyOf(retry.delays());
+        this.retryTopicSuffix = retry.retryTopicSuffix();
+        this.deadLetterTopicSuffix = retry.deadLetterTopicSuffix();
+        this.producerProperties = producerProperties(config);
+        this.consumerPrefix = KafkaUtils.getConsumerPrefix(config);
+        this.producer = producer;
+        this.ownsProducer = producer == null;
+
+        var retryingHandler = new ValueOf<KafkaRecordHandler<K, V>>() {
+            @Override
+            public KafkaRecordHandler<K, V> get() {
+                var realHandler = handler.get();
+                return (consumer, ctx, record) -> handleOrRetry(realHandler, consumer, ctx, record);
+            }
+
+            @Override
+            public void refresh() {
+                handler.refresh();
+            }
+        };
+        this.delegate = config.parallel() != null || config.backpressure() != null
+            ? new ParallelRecordHandler<>(config, telemetry, shouldCommit, retryingHandler, this.pauses)
+            : new RecordHandler<>(telemetry, shouldCommit, retryingHandler, KafkaCommitStrategy.of(config, telemetry, true));
+    }
+
+    /**
+     * @return retry topics of all attempts of the topic, dead letter topic is not consumed by listener
+     */
+    public static List<String> retryTopics(KafkaListenerConfig.RetryConfig config, String topic) {
+        var topics = new ArrayList<String>(config.delays().size());
+        for (int i = 1; i <= config.delays().size(); i++) {
+            topics.add(topic + config.retryTopicSuffix() + i);
+        }
+        return topics;
+    }
+
+    private static Properties producerProperties(KafkaListenerConfig config) {
+        var props = new Properties();
+        var producerConfigs = ProducerConfig.configNames();
+        for (var entry : config.driverProperties().entrySet()) {
+            var name = entry.getKey().toString();
+            if (producerConfigs.contains(name) && !name.equals(ConsumerConfig.CLIENT_ID_CONFIG)) {
+                props.put(name, entry.getValue());
+            }
+        }
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.putAll(Objects.requireNonNull(config.retry()).producerProperties());
+        return props;
+    }
+
+    @Override
+    public void init() {
+        if (this.ownsProducer) {
+            this.producer = new KafkaProducer<>(this.producerProperties, new ByteArraySerializer(), new ByteArraySerializer());
+        }
+        if (this.delegate instanceof Lifecycle lifecycle) {
+            lifecycle.init();
+        }
+    }
+
+    @Override
+    public void release() {
+        if (this.delegate instanceof Lifecycle lifecycle) {
+            lifecycle.release();
+        }
+        var producer = this.producer;
+        if (this.ownsProducer && producer != null) {
+            this.producer = null;
+            producer.close();
+        }
+    }
+
+    @Override
+    public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
+        this.resumeDue(consumer);
+        this.delegate.handle(this.delayRetries(records, consumer), consumer, commitAllowed);
+    }
+
+    private void resumeDue(Consumer<K, V> consumer) {
+        if (this.delayedUntil.isEmpty()) {
+            return;
+        }
+        var now = System.currentTimeMillis();
+        List<TopicPartition> toResume = null;
+        for (var partition : consumer.paused()) {
+            var until = this.delayedUntil.get(partition);
+            if (until != null && until <= now) {
+                this.delayedUntil.remove(partition);
+                if (toResume == null) {
+                    toResume = new ArrayList<>();
+                }
+                toResume.add(partition);
+            }
+        }
+        if (toResume != null) {
+            var resumed = this.pauses.resume(consumer, this, toResume);
+            logger.debug("Kafka Consumer '{}' resuming retry partitions {}", consumerPrefix, resumed);
+        }
+    }
+
+    /**
+     * Cuts off records of retry partitions starting from the first record which is not due yet
+     */
+    private ConsumerRecords<K, V> delayRetries(ConsumerRecords<K, V> records, Consumer<K, V> consumer) {
+        if (records.isEmpty()) {
+            return records;
+        }
+        var now = System.currentTimeMillis();
+        Map<TopicPartition, List<ConsumerRecord<K, V>>> result = null;
+        for (var partition : records.partitions()) {
+            var partitionRecords = records.records(partition);
+            for (int i = 0; i < partitionRecords.size(); i++) {
+                var record = partitionRecords.get(i);
+                var attempt = attempt(record.headers());
+                if (attempt < 1 || attempt > this.delays.size()) {
+                    continue;
+                }
+                var due = record.timestamp() + this.delays.get(attempt - 1).toMillis();
+                if (due <= now) {
+                    continue;
+                }
+                if (result == null) {
+                    result = new HashMap<>();
+                    for (var p : records.partitions()) {
+                        result.put(p, records.records(p));
+                    }
+                }
+                if (i == 0) {
+                    result.remove(partition);
+                } else {
+                    result.put(partition, partitionRecords.subList(0, i));
+                }
+                this.delayedUntil.put(partition, due);
+                consumer.seek(partition, record.offset());
+                this.pauses.pause(consumer, this, List.of(partition));
+                logger.debug("Kafka Consumer '{}' delaying retry partition {} for {} ms", consumerPrefix, partition, due - now);
+                break;
+            }
+        }
+        return result == null ? records : new ConsumerRecords<>(result);
+    }
+
+    private void handleOrRetry(KafkaRecordHandler<K, V> handler, Consumer<K, V> consumer, KafkaConsumerTelemetry.KafkaConsumerRecordTelemetryContext<K, V> ctx, ConsumerRecord<K, V> record) {
+        try {
+            handler.handle(consumer, ctx, record);
+        } catch (WakeupException e) {
+            throw e;
+        } catch (Exception e) {
+            if (!(record instanceof ConsumerRecordWrapper<K, V> wrapper)) {
+                throw e;
+            }
+            var attempt = Math.max(attempt(record.headers()), 0) + 1;
+            var originalTopic = originalTopic(record);
+            var deadLetter = attempt > this.delays.size() || e instanceof RecordKeyDeserializationException || e instanceof RecordValueDeserializationException;
+            var destination = deadLetter
+                ? originalTopic + this.deadLetterTopicSuffix
+                : originalTopic + this.retryTopicSuffix + attempt;
+
+            var headers = new RecordHeaders();
+            for (var header : record.headers()) {
+                var key = header.key();
+                if (!key.equals(ATTEMPT_HEADER) && !key.equals(TOPIC_HEADER) && !key.equals(EXCEPTION_HEADER) && !key.equals(EXCEPTION_MESSAGE_HEADER)) {
+                    headers.add(header);
+                }
+            }
+            headers.add(ATTEMPT_HEADER, Integer.toString(attempt).getBytes(StandardCharsets.UTF_8));
+            headers.add(TOPIC_HEADER, originalTopic.getBytes(StandardCharsets.UTF_8));
+            headers.add(EXCEPTION_HEADER, e.getClass().getName().getBytes(StandardCharsets.UTF_8));
+            if (e.getMessage() != null) {
+                headers.add(EXCEPTION_MESSAGE_HEADER, e.getMessage().getBytes(StandardCharsets.UTF_8));
+            }
+            try {
+                // key is kept, so records of the same key stay in the same retry partition
+                this.producer.send(new ProducerRecord<>(destination, null, wrapper.rawKey(), wrapper.rawValue(), headers)).get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                e.addSuppressed(ie);
+                throw e;
+            } catch (ExecutionException ee) {
+                e.addSuppressed(ee.getCause());
+                throw e;
+            }
+            if (deadLetter) {
+                logger.warn("Kafka Consumer '{}' sent record {} to dead letter topic '{}'", consumerPrefix, record, destination, e);
+            } else {
+                logger.warn("Kafka Consumer '{}' sent record {} to retry topic '{}' for attempt {}", consumerPrefix, record, destination, attempt, e);
+            }
+            this.telemetry.reportRetry(record, destination, attempt, deadLetter);
+        }
+    }
+
+    private static int attempt(Headers headers) {
+        var header = headers.lastHeader(ATTEMPT_HEADER);
+        if (header == null || header.value() == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(new String(header.value(), StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String originalTopic(ConsumerRecord<?, ?> record) {
+        var header = record.headers().lastHeader(TOPIC_HEADER);
+        if (header == null || header.value() == null) {
+            return record.topic();
+        }
+        return new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        partitions.forEach(this.delayedUntil::remove);
+        this.pauses.forget(partitions);
+        if (this.delegate instanceof ConsumerAwareRebalanceListener listener) {
+            listener.onPartitionsRevoked(consumer, partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (this.delegate instanceof ConsumerAwareRebalanceListener listener) {
+            listener.onPartitionsAssigned(consumer, partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        partitions.forEach(this.delayedUntil::remove);
+        this.pauses.forget(partitions);
+        if (this.delegate instanceof ConsumerAwareRebalanceListener listener) {
+            listener.onPartitionsLost(consumer, partitions);
+        }
+    }
+}
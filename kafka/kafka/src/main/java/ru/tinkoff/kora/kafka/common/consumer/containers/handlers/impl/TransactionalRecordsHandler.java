@@ -0,0 +1,173 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.requests.OffsetFetchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
+import ru.tinkoff.kora.kafka.common.KafkaUtils;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaTransactionalRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher;
+
+import java.util.*;
+
+/**
+ * Consume-transform-produce handler: records are handled inside transaction of {@link TransactionalPublisher}
+ * and offsets of handled records are sent to the same transaction with consumer group metadata, so produced records and consumed offsets are committed atomically.
+ * <p>
+ * Transaction is kept open across polls until {@link KafkaListenerConfig.TransactionConfig#records()} records are handled
+ * or {@link KafkaListenerConfig.TransactionConfig#interval()} passed, without config it is committed after each poll.
+ * When handler fails transaction is aborted and exception is rethrown, so consumer is restarted from last committed offsets.
+ * <p>
+ * Consumer must read only committed records, so records of aborted transactions are not handled again,
+ * containers set <code>isolation.level=read_committed</code> unless it is configured and other isolation level is rejected.
+ */
+public final class TransactionalRecordsHandler<K, V, P> implements BaseKafkaRecordsHandler<K, V>, ConsumerAwareRebalanceListener {
+    public static final String ISOLATION_LEVEL = "read_committed";
+    private static final Logger logger = LoggerFactory.getLogger(TransactionalRecordsHandler.class);
+
+    private final KafkaConsumerTelemetry<K, V> telemetry;
+    private final TransactionalPublisher<P> publisher;
+    private final ValueOf<KafkaTransactionalRecordsHandler<K, V, P>> handler;
+    private final long intervalNanos;
+    private final int records;
+    private final Map<Consumer<?, ?>, OpenTransaction<P>> transactions = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    public TransactionalRecordsHandler(KafkaListenerConfig config, KafkaConsumerTelemetry<K, V> telemetry, TransactionalPublisher<P> publisher, ValueOf<KafkaTransactionalRecordsHandler<K, V, P>> handler) {
+        var transaction = config.transaction();
+        if (transaction != null && (transaction.interval().isNegative() || transaction.records() < 1)) {
+            throw new IllegalArgumentException("Transaction interval must not be negative and records must be positive, but received: " + transaction.interval() + ", " + transaction.records());
+        }
+        var isolationLevel = config.driverProperties().get(ConsumerConfig.ISOLATION_LEVEL_CONFIG);
+        if (isolationLevel != null && !ISOLATION_LEVEL.equalsIgnoreCase(String.valueOf(isolationLevel))) {
+            throw new IllegalArgumentException("Kafka Consumer '" + KafkaUtils.getConsumerPrefix(config) + "' handles records in transactions and requires '" + ConsumerConfig.ISOLATION_LEVEL_CONFIG + "' to be '" + ISOLATION_LEVEL + "', but received: " + isolationLevel);
+        }
+        this.telemetry = telemetry;
+        this.publisher = publisher;
+        this.handler = handler;
+        this.intervalNanos = transaction == null ? 0 : transaction.interval().toNanos();
+        this.records = transaction == null ? 1 : transaction.records();
+    }
+
+    private static final class OpenTransaction<P> {
+        private final TransactionalPublisher.Transaction<? extends P> transaction;
+        private final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        private final long started = System.nanoTime();
+        private int records = 0;
+        private boolean commitAllowed = true;
+
+        private OpenTransaction(TransactionalPublisher.Transaction<? extends P> transaction) {
+            this.transaction = transaction;
+        }
+    }
+
+    @Override
+    public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
+        if (records.isEmpty()) {
+            var open = this.transactions.get(consumer);
+            if (open != null && System.nanoTime() - open.started >= this.intervalNanos) {
+                this.commit(consumer, open);
+            }
+            return;
+        }
+
+        var open = this.transactions.get(consumer);
+        if (open == null) {
+            open = new OpenTransaction<>(this.publisher.begin());
+            this.transactions.put(consumer, open);
+        }
+        var ctx = this.telemetry.get(records);
+        try {
+            this.handler.get().handle(consumer, ctx, records, open.transaction);
+            open.commitAllowed = commitAllowed;
+            for (var partition : records.partitions()) {
+                var partitionRecords = records.records(partition);
+                if (partitionRecords.isEmpty()) {
+                    continue;
+                }
+                var last = partitionRecords.get(partitionRecords.size() - 1);
+                open.offsets.put(partition, new OffsetAndMetadata(last.offset() + 1, last.leaderEpoch(), OffsetFetchResponse.NO_METADATA));
+            }
+            open.records += records.count();
+            if (open.records >= this.records || System.nanoTime() - open.started >= this.intervalNanos) {
+                this.commit(consumer, open);
+            }
+            ctx.close(null);
+        } catch (Exception e) {
+            if (this.transactions.remove(consumer, open)) {
+                abort(open, e);
+            }
+            ctx.close(e);
+            throw e;
+        }
+    }
+
+    private void commit(Consumer<?, ?> consumer, OpenTransaction<P> open) {
+        this.transactions.remove(consumer, open);
+        var started = System.nanoTime();
+        var offsets = open.commitAllowed ? open.offsets : Map.<TopicPartition, OffsetAndMetadata>of();
+        try {
+            if (!offsets.isEmpty()) {
+                open.transaction.sendOffsetsToTransaction(offsets, consumer.groupMetadata());
+            }
+        } catch (Exception e) {
+            abort(open, e);
+            this.telemetry.reportCommit(offsets, System.nanoTime() - started, e);
+            throw e;
+        }
+        try {
+            // commits transaction and returns publisher to pool
+            open.transaction.close();
+        } catch (Exception e) {
+            this.telemetry.reportCommit(offsets, System.nanoTime() - started, e);
+            throw e;
+        }
+        if (!offsets.isEmpty()) {
+            this.telemetry.reportCommit(offsets, System.nanoTime() - started, null);
+        }
+    }
+
+    private static void abort(OpenTransaction<?> open, @Nullable Throwable cause) {
+        try {
+            open.transaction.abort(cause);
+        } catch (Exception e) {
+            if (cause != null) {
+                cause.addSuppressed(e);
+            } else {
+                logger.warn("Kafka Consumer transaction abort failed", e);
+            }
+        } finally {
+            open.transaction.close();
+        }
+    }
+
+    @Override
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        var open = this.transactions.get(consumer);
+        if (open != null) {
+            // offsets of all partitions are in one transaction, consumer still owns them until callback returns
+            this.commit(consumer, open);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {}
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        var open = this.transactions.remove(consumer);
+        if (open != null) {
+            // partitions are already owned by other consumer, their records will be handled again there
+            abort(open, null);
+        }
+    }
+}
@@ -1,22 +1,50 @@
 package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.wrapper;
 
 import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.kafka.common.KafkaUtils;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaCommitStrategy;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaTransactionalRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.ParallelRecordHandler;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.RecordHandler;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.RecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.RetryRecordHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.TransactionalRecordsHandler;
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher;
 
 public class HandlerWrapper {
     public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandlerRecord(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler) {
         return new RecordHandler<>(telemetry, shouldCommit, handler);
     }
 
+    public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandlerRecord(KafkaListenerConfig config, KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler) {
+        if (config.retry() != null) {
+            return new RetryRecordHandler<>(config, telemetry, shouldCommit, handler);
+        }
+        if (config.parallel() != null || config.backpressure() != null) {
+            return new ParallelRecordHandler<>(config, telemetry, shouldCommit, handler);
+        }
+        return new RecordHandler<>(telemetry, shouldCommit, handler, KafkaCommitStrategy.of(config, telemetry, true));
+    }
+
     public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandlerRecords(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordsHandler<K, V>> handler) {
         return new RecordsHandler<>(telemetry, shouldCommit, handler);
     }
 
+    public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandlerRecords(KafkaListenerConfig config, KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordsHandler<K, V>> handler) {
+        requireRecordOnlyFeaturesDisabled(config);
+        return new RecordsHandler<>(telemetry, shouldCommit, handler, KafkaCommitStrategy.of(config, telemetry, false));
+    }
+
+    public static <K, V, P> BaseKafkaRecordsHandler<K, V> wrapHandlerRecordsTransactional(KafkaListenerConfig config, KafkaConsumerTelemetry<K, V> telemetry, TransactionalPublisher<P> publisher, ValueOf<KafkaTransactionalRecordsHandler<K, V, P>> handler) {
+        requireRecordOnlyFeaturesDisabled(config);
+        return new TransactionalRecordsHandler<>(config, telemetry, publisher, handler);
+    }
+
     public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandler(KafkaConsumerTelemetry<K, V> telemetry, ValueOf<BaseKafkaRecordsHandler<K, V>> realHandler) {
         return (records, consumer, commitAllowed) -> {
             if (records.isEmpty()) {
@@ -33,4 +61,10 @@ public class HandlerWrapper {
             }
         };
     }
+
+    private static void requireRecordOnlyFeaturesDisabled(KafkaListenerConfig config) {
+        if (config.retry() != null || config.parallel() != null || config.backpressure() != null) {
+            throw new IllegalArgumentException("Kafka Consumer '" + KafkaUtils.getConsumerPrefix(config) + "' handles records in batches, retry, parallel and backpressure are supported only by listeners that accept single record");
+        }
+    }
 }
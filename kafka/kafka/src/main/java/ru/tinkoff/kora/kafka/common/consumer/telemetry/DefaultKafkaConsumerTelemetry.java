@@ -3,8 +3,12 @@ package ru.tinkoff.kora.kafka.common.consumer.telemetry;
 import jakarta.annotation.Nullable;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 
+import java.util.Collection;
+import java.util.Map;
+
 public class DefaultKafkaConsumerTelemetry<K, V> implements KafkaConsumerTelemetry<K, V> {
     @Nullable
     private final KafkaConsumerLogger<K, V> logger;
@@ -42,6 +46,55 @@ public class DefaultKafkaConsumerTelemetry<K, V> implements KafkaConsumerTelemet
         }
     }
 
+    @Override
+    public void reportCommit(Map<TopicPartition, OffsetAndMetadata> offsets, long duration, @Nullable Throwable ex) {
+        if (this.metrics != null) {
+            this.metrics.onOffsetsCommitted(offsets, duration, ex);
+        }
+    }
+
+    @Override
+    public void reportDeserialization(ConsumerRecord<byte[], byte[]> record, long duration, @Nullable Throwable ex) {
+        if (this.metrics != null) {
+            this.metrics.onRecordDeserialized(record, duration, ex);
+        }
+    }
+
+    @Override
+    public void reportPartitionPaused(TopicPartition partition) {
+        if (this.metrics != null) {
+            this.metrics.onPartitionPaused(partition);
+        }
+    }
+
+    @Override
+    public void reportPartitionResumed(TopicPartition partition, long duration) {
+        if (this.metrics != null) {
+            this.metrics.onPartitionResumed(partition, duration);
+        }
+    }
+
+    @Override
+    public void reportRebalance(Collection<TopicPartition> revoked, Collection<TopicPartition> assigned, long duration, long reprocessed) {
+        if (this.metrics != null) {
+            this.metrics.onRebalance(revoked, assigned, duration, reprocessed);
+        }
+    }
+
+    @Override
+    public void reportThreads(int threads, boolean virtual) {
+        if (this.metrics != null) {
+            this.metrics.onThreadsChanged(threads, virtual);
+        }
+    }
+
+    @Override
+    public void reportRetry(ConsumerRecord<?, ?> record, String destination, int attempt, boolean deadLetter) {
+        if (this.metrics != null) {
+            this.metrics.onRecordRetried(record, destination, attempt, deadLetter);
+        }
+    }
+
     private static final class DefaultKafkaConsumerRecordsTelemetryContext<K, V> implements KafkaConsumerRecordsTelemetryContext<K, V> {
         private final ConsumerRecords<K, V> records;
         @Nullable
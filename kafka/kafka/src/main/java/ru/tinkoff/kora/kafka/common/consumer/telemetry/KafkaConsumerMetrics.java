@@ -3,8 +3,12 @@ package ru.tinkoff.kora.kafka.common.consumer.telemetry;
 import jakarta.annotation.Nullable;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface KafkaConsumerMetrics {
 
     void onRecordsReceived(ConsumerRecords<?, ?> records);
@@ -14,4 +18,32 @@ public interface KafkaConsumerMetrics {
     void onRecordProcessed(ConsumerRecord<?, ?> record, long duration, @Nullable Throwable ex);
 
     void reportLag(TopicPartition partition, long lag);
+
+    /**
+     * @param offsets  committed offsets
+     * @param duration commit duration in nanoseconds, for asynchronous commits measured until callback is invoked
+     */
+    default void onOffsetsCommitted(Map<TopicPartition, OffsetAndMetadata> offsets, long duration, @Nullable Throwable ex) {}
+
+    /**
+     * @param duration deserialization duration in nanoseconds
+     */
+    default void onRecordDeserialized(ConsumerRecord<byte[], byte[]> record, long duration, @Nullable Throwable ex) {}
+
+    default void onPartitionPaused(TopicPartition partition) {}
+
+    /**
+     * @param duration time partition was paused for in nanoseconds
+     */
+    default void onPartitionResumed(TopicPartition partition, long duration) {}
+
+    /**
+     * @param duration    time consumer spent in rebalance callbacks in nanoseconds
+     * @param reprocessed number of received but not committed records of revoked partitions
+     */
+    default void onRebalance(Collection<TopicPartition> revoked, Collection<TopicPartition> assigned, long duration, long reprocessed) {}
+
+    default void onThreadsChanged(int threads, boolean virtual) {}
+
+    default void onRecordRetried(ConsumerRecord<?, ?> record, String destination, int attempt, boolean deadLetter) {}
 }
@@ -2,10 +2,14 @@ package ru.tinkoff.kora.kafka.common.consumer.telemetry;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 
 import jakarta.annotation.Nullable;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface KafkaConsumerTelemetry<K, V> {
     interface KafkaConsumerRecordsTelemetryContext<K, V> {
         KafkaConsumerRecordTelemetryContext<K, V> get(ConsumerRecord<K, V> record);
@@ -20,4 +24,44 @@ public interface KafkaConsumerTelemetry<K, V> {
     KafkaConsumerRecordsTelemetryContext<K, V> get(ConsumerRecords<K, V> records);
 
     void reportLag(TopicPartition partition, long lag);
+
+    default void reportCommit(Map<TopicPartition, OffsetAndMetadata> offsets, long duration, @Nullable Throwable ex) {}
+
+    /**
+     * @param record   record as received from broker
+     * @param duration time spent deserializing key and value of record in nanoseconds, reported separately for key and value when they are deserialized on first access
+     */
+    default void reportDeserialization(ConsumerRecord<byte[], byte[]> record, long duration, @Nullable Throwable ex) {}
+
+    /**
+     * @param partition partition paused because handler has too many of its records in flight
+     */
+    default void reportPartitionPaused(TopicPartition partition) {}
+
+    /**
+     * @param duration time partition was paused for in nanoseconds
+     */
+    default void reportPartitionResumed(TopicPartition partition, long duration) {}
+
+    /**
+     * @param revoked     partitions revoked from or lost by consumer
+     * @param assigned    partitions newly assigned to consumer
+     * @param duration    time consumer spent in rebalance callbacks finishing work of revoked partitions in nanoseconds
+     * @param reprocessed number of records received from revoked partitions after their committed offsets, they will be received again by new owner
+     */
+    default void reportRebalance(Collection<TopicPartition> revoked, Collection<TopicPartition> assigned, long duration, long reprocessed) {}
+
+    /**
+     * @param threads number of threads currently running poll loops of container
+     * @param virtual whether poll loops run on virtual threads
+     */
+    default void reportThreads(int threads, boolean virtual) {}
+
+    /**
+     * @param record      record failed by handler
+     * @param destination retry or dead letter topic record was sent to
+     * @param attempt     number of retry attempt record was sent for
+     * @param deadLetter  whether record was sent to dead letter topic
+     */
+    default void reportRetry(ConsumerRecord<?, ?> record, String destination, int attempt, boolean deadLetter) {}
 }
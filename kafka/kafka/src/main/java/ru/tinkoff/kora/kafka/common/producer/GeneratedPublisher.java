@@ -8,4 +8,11 @@ public interface GeneratedPublisher extends Lifecycle {
     Producer<byte[], byte[]> producer();
 
     KafkaProducerTelemetry telemetry();
+
+    /**
+     * Sends records accumulated by publisher with configured {@link KafkaPublisherConfig#batch()} and waits until all sent records are acknowledged
+     */
+    default void flush() {
+        this.producer().flush();
+    }
 }
@@ -0,0 +1,301 @@
+package ru.tinkoff.kora.kafka.common.producer;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.Uuid;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.kafka.common.producer.telemetry.KafkaProducerTelemetry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.*;
+
+/**
+ * Accumulates records per topic and partition and hands them to delegate producer in bursts,
+ * so that bursts of small records end up in the same producer batch and are compressed together.
+ * <p>
+ * Batch is sent once it reaches {@link KafkaPublisherConfig.BatchConfig#maxRecords()} records or {@link KafkaPublisherConfig.BatchConfig#maxBytes()} bytes,
+ * once {@link KafkaPublisherConfig.BatchConfig#linger()} passed since its first record was added or when {@link #flush()} is called.
+ * Every record gets its own future and callback, records of the same topic and partition are sent in order they were added.
+ * <p>
+ * Producer's own {@code linger.ms} and {@code batch.size} only group records that already reached its accumulator:
+ * with many threads publishing each of them contends for partition deque lock and sticky partitioner may switch partition between their records.
+ * This layer hands whole burst to producer from one thread, so records without explicit partition land in the same producer batch,
+ * limits batch by number of records and reports every sent batch to telemetry. When producer settings are enough, leave batching unconfigured.
+ */
+public final class KafkaBatchingProducer implements Producer<byte[], byte[]> {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaBatchingProducer.class);
+
+    private final Producer<byte[], byte[]> delegate;
+    private final KafkaPublisherConfig.BatchConfig config;
+    @Nullable
+    private final KafkaProducerTelemetry telemetry;
+    private final ConcurrentHashMap<BatchKey, Batch> batches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final long lingerNanos;
+    private volatile boolean closed = false;
+
+    public KafkaBatchingProducer(Producer<byte[], byte[]> delegate, KafkaPublisherConfig.BatchConfig config, @Nullable KafkaProducerTelemetry telemetry) {
+        this.delegate = delegate;
+        this.config = config;
+        this.telemetry = telemetry;
+        this.lingerNanos = config.linger().toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "kafka-publisher-batch-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return batching producer when batching is configured and publisher is not transactional, delegate otherwise
+     */
+    public static Producer<byte[], byte[]> wrap(Producer<byte[], byte[]> delegate, KafkaPublisherConfig config, Properties driverProperties, @Nullable KafkaProducerTelemetry telemetry) {
+        var batch = config.batch();
+        if (batch == null || driverProperties.get(ProducerConfig.TRANSACTIONAL_ID_CONFIG) != null) {
+            return delegate;
+        }
+        return new KafkaBatchingProducer(delegate, batch, telemetry);
+    }
+
+    private record BatchKey(String topic, @Nullable Integer partition) {}
+
+    private record PendingRecord(ProducerRecord<byte[], byte[]> record, @Nullable Callback callback, CompletableFuture<RecordMetadata> future) {}
+
+    private final class Batch {
+        private final BatchKey key;
+        private final Object sendLock = new Object();
+        private List<PendingRecord> records = new ArrayList<>();
+        private long bytes = 0;
+        private long firstRecordAdded = 0;
+        @Nullable
+        private ScheduledFuture<?> lingerTask;
+
+        private Batch(BatchKey key) {
+            this.key = key;
+        }
+
+        private void add(PendingRecord record) {
+            boolean full;
+            synchronized (this) {
+                if (this.records.isEmpty()) {
+                    this.firstRecordAdded = System.nanoTime();
+                    this.lingerTask = scheduleLinger(this);
+                }
+                this.records.add(record);
+                this.bytes += estimateSize(record.record());
+                full = this.records.size() >= config.maxRecords() || this.bytes >= config.maxBytes();
+            }
+            if (full) {
+                this.send();
+            }
+        }
+
+        /**
+         * Records are drained under batch lock and sent under send lock only, so delegate blocking for {@code max.block.ms} doesn't block threads adding records,
+         * while draining under send lock keeps records of the same partition ordered when linger task and size limit race
+         */
+        private void send() {
+            synchronized (this.sendLock) {
+                List<PendingRecord> records;
+                long bytes;
+                long linger;
+                synchronized (this) {
+                    if (this.records.isEmpty()) {
+                        return;
+                    }
+                    records = this.records;
+                    bytes = this.bytes;
+                    linger = System.nanoTime() - this.firstRecordAdded;
+                    this.records = new ArrayList<>();
+                    this.bytes = 0;
+                    if (this.lingerTask != null) {
+                        this.lingerTask.cancel(false);
+                        this.lingerTask = null;
+                    }
+                }
+                if (telemetry != null) {
+                    telemetry.batchSent(this.key.topic(), this.key.partition(), records.size(), bytes, linger);
+                }
+                for (var pending : records) {
+                    try {
+                        delegate.send(pending.record(), (metadata, exception) -> complete(pending, metadata, exception));
+                    } catch (Exception e) {
+                        complete(pending, null, e);
+                    }
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private ScheduledFuture<?> scheduleLinger(Batch batch) {
+        try {
+            return this.scheduler.schedule(() -> {
+                try {
+                    batch.send();
+                } catch (Exception e) {
+                    logger.warn("Error sending batch of records to topic '{}'", batch.key.topic(), e);
+                }
+            }, this.lingerNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // producer is closing and will send batch itself
+            return null;
+        }
+    }
+
+    private static void complete(PendingRecord pending, @Nullable RecordMetadata metadata, @Nullable Exception exception) {
+        if (pending.callback() != null) {
+            try {
+                pending.callback().onCompletion(metadata, exception);
+            } catch (Exception e) {
+                logger.warn("Error in producer callback", e);
+            }
+        }
+        if (exception != null) {
+            pending.future().completeExceptionally(exception);
+        } else {
+            pending.future().complete(metadata);
+        }
+    }
+
+    private static long estimateSize(ProducerRecord<byte[], byte[]> record) {
+        long size = 0;
+        if (record.key() != null) {
+            size += record.key().length;
+        }
+        if (record.value() != null) {
+            size += record.value().length;
+        }
+        for (Header header : record.headers()) {
+            size += header.key().length();
+            if (header.value() != null) {
+                size += header.value().length;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public CompletableFuture<RecordMetadata> send(ProducerRecord<byte[], byte[]> record) {
+        return this.send(record, null);
+    }
+
+    /**
+     * @return future completed when record is acknowledged by broker, completes after batch of record is sent
+     */
+    @Override
+    public CompletableFuture<RecordMetadata> send(ProducerRecord<byte[], byte[]> record, @Nullable Callback callback) {
+        var pending = new PendingRecord(record, callback, new CompletableFuture<>());
+        if (this.closed) {
+            complete(pending, null, new IllegalStateException("Cannot send after the producer is closed."));
+            return pending.future();
+        }
+        var batch = this.batches.computeIfAbsent(new BatchKey(record.topic(), record.partition()), Batch::new);
+        batch.add(pending);
+        if (this.closed) {
+            // producer was closed concurrently and could miss the record
+            batch.send();
+        }
+        return pending.future();
+    }
+
+    /**
+     * Sends all accumulated records and waits until they are acknowledged
+     */
+    @Override
+    public void flush() {
+        this.sendAll();
+        this.delegate.flush();
+    }
+
+    private void sendAll() {
+        for (var batch : this.batches.values()) {
+            batch.send();
+        }
+    }
+
+    @Override
+    public void initTransactions() {
+        throw new UnsupportedOperationException("Batching producer can't be transactional");
+    }
+
+    @Override
+    public void beginTransaction() {
+        throw new UnsupportedOperationException("Batching producer can't be transactional");
+    }
+
+    @Override
+    @Deprecated
+    public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, String consumerGroupId) {
+        throw new UnsupportedOperationException("Batching producer can't be transactional");
+    }
+
+    @Override
+    public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, ConsumerGroupMetadata groupMetadata) {
+        throw new UnsupportedOperationException("Batching producer can't be transactional");
+    }
+
+    @Override
+    public void commitTransaction() {
+        throw new UnsupportedOperationException("Batching producer can't be transactional");
+    }
+
+    @Override
+    public void abortTransaction() {
+        throw new UnsupportedOperationException("Batching producer can't be transactional");
+    }
+
+    @Override
+    public List<PartitionInfo> partitionsFor(String topic) {
+        return this.delegate.partitionsFor(topic);
+    }
+
+    @Override
+    public Map<MetricName, ? extends Metric> metrics() {
+        return this.delegate.metrics();
+    }
+
+    @Override
+    public Uuid clientInstanceId(Duration timeout) {
+        return this.delegate.clientInstanceId(timeout);
+    }
+
+    @Override
+    public void close() {
+        this.closeBatches();
+        this.delegate.close();
+    }
+
+    @Override
+    public void close(Duration timeout) {
+        this.closeBatches();
+        this.delegate.close(timeout);
+    }
+
+    private void closeBatches() {
+        this.closed = true;
+        this.scheduler.shutdownNow();
+        this.sendAll();
+    }
+
+    public Producer<byte[], byte[]> unwrap() {
+        return this.delegate;
+    }
+}
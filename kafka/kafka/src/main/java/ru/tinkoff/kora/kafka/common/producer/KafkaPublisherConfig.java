@@ -14,6 +14,12 @@ public interface KafkaPublisherConfig {
 
     TelemetryConfig telemetry();
 
+    /**
+     * Records are accumulated per topic and partition and handed to producer in bursts when configured, not applied to transactional publishers
+     */
+    @Nullable
+    BatchConfig batch();
+
     @ConfigValueExtractor
     interface TransactionConfig {
 
@@ -28,6 +34,45 @@ public interface KafkaPublisherConfig {
         default Duration maxWaitTime() {
             return Duration.ofSeconds(10);
         }
+
+        /**
+         * @return number of publishers created on start and kept in pool regardless of idle time
+         */
+        default int minPoolSize() {
+            return 0;
+        }
+
+        /**
+         * @return time after which publisher not used by any transaction is closed, zero disables eviction
+         */
+        default Duration maxIdleTime() {
+            return Duration.ofMinutes(5);
+        }
+    }
+
+    @ConfigValueExtractor
+    interface BatchConfig {
+
+        /**
+         * @return number of accumulated records after which batch is sent
+         */
+        default int maxRecords() {
+            return 500;
+        }
+
+        /**
+         * @return size of accumulated keys, values and headers in bytes after which batch is sent
+         */
+        default int maxBytes() {
+            return 1024 * 1024;
+        }
+
+        /**
+         * @return maximum time first record of batch waits for other records before batch is sent
+         */
+        default Duration linger() {
+            return Duration.ofMillis(5);
+        }
     }
 
     @ConfigValueExtractor
@@ -9,6 +9,8 @@ import ru.tinkoff.kora.kafka.common.annotation.KafkaPublisher;
 
 import jakarta.annotation.Nullable;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * @param <P> publisher type that must be annotated with {@link KafkaPublisher}
@@ -55,6 +57,19 @@ public interface TransactionalPublisher<P> {
      */
     Transaction<? extends P> begin();
 
+    /**
+     * Same as {@link #begin()}, but publisher is acquired without blocking calling thread when implementation supports it
+     *
+     * @return stage completed with transaction in begun state
+     */
+    default CompletionStage<? extends Transaction<? extends P>> beginAsync() {
+        try {
+            return CompletableFuture.completedFuture(begin());
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     default <E extends Throwable> void inTx(TransactionalConsumer<P, E> callback) throws E {
         try (var p = begin()) {
             try {
@@ -2,79 +2,215 @@ package ru.tinkoff.kora.kafka.common.producer;
 
 import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.errors.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import ru.tinkoff.kora.application.graph.Lifecycle;
+import ru.tinkoff.kora.kafka.common.producer.telemetry.KafkaProducerTelemetry;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Objects;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
+/**
+ * Pool of transactional publishers.
+ * <p>
+ * Publishers are created on demand up to {@link KafkaPublisherConfig.TransactionConfig#maxPoolSize()},
+ * when pool is exhausted callers wait for returned publisher up to {@link KafkaPublisherConfig.TransactionConfig#maxWaitTime()}.
+ * {@link #beginAsync()} never blocks calling thread: publishers are created and {@link org.apache.kafka.clients.producer.Producer#initTransactions()} is called on pool threads.
+ * Pool is filled up to {@link KafkaPublisherConfig.TransactionConfig#minPoolSize()} on {@link #init()} and publishers idle for longer than
+ * {@link KafkaPublisherConfig.TransactionConfig#maxIdleTime()} are closed while pool is larger than minimum.
+ */
 public final class TransactionalPublisherImpl<P extends GeneratedPublisher> implements TransactionalPublisher<P>, Lifecycle {
-    private final BlockingDeque<P> pool = new LinkedBlockingDeque<>();
-    private final AtomicBoolean isClosed = new AtomicBoolean(false);
-    private final AtomicInteger size = new AtomicInteger(0);
-    private final Supplier<? extends P> factory;
 
+    private static final Logger logger = LoggerFactory.getLogger(TransactionalPublisherImpl.class);
+    private static final AtomicInteger poolNumber = new AtomicInteger(1);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // most recently returned publisher is first, so idle publishers gather at the tail
+    private final ArrayDeque<IdlePublisher<P>> idle = new ArrayDeque<>();
+    private final ArrayDeque<CompletableFuture<P>> waiters = new ArrayDeque<>();
+    private int size = 0;
+    private int inUse = 0;
+    private volatile boolean isClosed = false;
+    // telemetry of last acquired publisher, reports acquisitions that failed without publisher
+    @Nullable
+    private volatile KafkaProducerTelemetry telemetry;
+
+    private final Supplier<? extends P> factory;
     private final KafkaPublisherConfig.TransactionConfig transactionConfig;
+    private final ExecutorService creationExecutor;
+    private final ScheduledExecutorService scheduler;
 
     public TransactionalPublisherImpl(KafkaPublisherConfig.TransactionConfig config, Supplier<? extends P> factory) {
         this.transactionConfig = Objects.requireNonNull(config);
         this.factory = factory;
+        var pool = poolNumber.getAndIncrement();
+        this.creationExecutor = Executors.newCachedThreadPool(daemonThreadFactory("kafka-transactional-publisher-" + pool + "-"));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("kafka-transactional-publisher-" + pool + "-scheduler-"));
     }
 
+    private record IdlePublisher<P>(P publisher, long returnedAt) {}
+
     @Nonnull
     @Override
     public final Transaction<P> begin() {
-        if (this.isClosed.get()) {
-            throw new IllegalStateException("Pool has already closed!");
+        var start = System.nanoTime();
+        P publisher;
+        try {
+            var acquired = this.acquire(false);
+            try {
+                publisher = acquired.get();
+            } catch (InterruptedException e) {
+                if (!acquired.cancel(false)) {
+                    acquired.thenAccept(this::returnToPool);
+                }
+                throw new KafkaException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                if (e.getCause() instanceof Error re) throw re;
+                throw new KafkaException(e.getCause());
+            }
+        } catch (Throwable e) {
+            this.reportAcquired(start, null, e);
+            throw e;
+        }
+        return this.beginTransaction(publisher, start);
+    }
+
+    /**
+     * Same as {@link #begin()}, but never blocks calling thread while waiting for pooled publisher or creating new one
+     */
+    @Override
+    public CompletionStage<Transaction<P>> beginAsync() {
+        var start = System.nanoTime();
+        return this.acquire(true)
+            .whenComplete((publisher, error) -> {
+                if (error != null) {
+                    this.reportAcquired(start, null, error instanceof CompletionException ce && ce.getCause() != null ? ce.getCause() : error);
+                }
+            })
+            .thenApply(publisher -> this.beginTransaction(publisher, start));
+    }
+
+    private Transaction<P> beginTransaction(P publisher, long start) {
+        try {
+            publisher.producer().beginTransaction();
+        } catch (Throwable e) {
+            this.reportAcquired(start, publisher, e);
+            this.deleteFromPool(publisher);
+            throw e;
         }
+        this.telemetry = publisher.telemetry();
+        this.reportAcquired(start, publisher, null);
+        return new TransactionImpl<>(publisher, this);
+    }
 
-        var pooledWrapper = this.pool.pollFirst();
-        if (pooledWrapper != null) {
-            var producer = pooledWrapper.producer();
+    private void reportAcquired(long start, @Nullable P publisher, @Nullable Throwable error) {
+        var telemetry = publisher != null ? publisher.telemetry() : this.telemetry;
+        if (telemetry == null) {
+            return;
+        }
+        int inUse, size;
+        this.lock.lock();
+        try {
+            inUse = this.inUse;
+            size = this.size;
+        } finally {
+            this.lock.unlock();
+        }
+        telemetry.transactionAcquired(System.nanoTime() - start, inUse, size, this.transactionConfig.maxPoolSize(), error);
+    }
+
+    private CompletableFuture<P> acquire(boolean async) {
+        CompletableFuture<P> waiter;
+        this.lock.lock();
+        try {
+            if (this.isClosed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Pool has already closed!"));
+            }
+            var pooled = this.idle.pollFirst();
+            if (pooled != null) {
+                this.inUse++;
+                return CompletableFuture.completedFuture(pooled.publisher());
+            }
+            if (this.size < this.transactionConfig.maxPoolSize()) {
+                this.size++;
+                this.inUse++;
+                waiter = null;
+            } else {
+                waiter = new CompletableFuture<>();
+                this.waiters.addLast(waiter);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        if (waiter == null) {
+            if (async) {
+                return this.createAsync();
+            }
             try {
-                producer.beginTransaction();
+                return CompletableFuture.completedFuture(this.createNewProducer());
             } catch (Throwable e) {
-                this.size.decrementAndGet();
-                producer.close();
+                this.onCreateFailed();
                 throw e;
             }
-            return new TransactionImpl<>(pooledWrapper, this);
         }
+        this.scheduleTimeout(waiter);
+        return waiter;
+    }
 
-        if (this.size.incrementAndGet() > this.transactionConfig.maxPoolSize()) {
-            this.size.decrementAndGet();
-            try {
-                var waitedWrapper = this.pool.pollFirst(this.transactionConfig.maxWaitTime().toMillis(), TimeUnit.MILLISECONDS);
-                if (waitedWrapper != null) {
-                    var producer = waitedWrapper.producer();
-                    try {
-                        producer.beginTransaction();
-                    } catch (Throwable e) {
-                        this.size.decrementAndGet();
-                        producer.close();
-                        throw e;
-                    }
-                    return new TransactionImpl<>(waitedWrapper, this);
+    private void scheduleTimeout(CompletableFuture<P> waiter) {
+        var maxWaitTime = this.transactionConfig.maxWaitTime();
+        try {
+            this.scheduler.schedule(() -> {
+                boolean removed;
+                this.lock.lock();
+                try {
+                    removed = this.waiters.remove(waiter);
+                } finally {
+                    this.lock.unlock();
                 }
-                throw new TimeoutException("Pooled producer was not available after " + this.transactionConfig.maxWaitTime());
-            } catch (InterruptedException e) {
-                throw new KafkaException(e);
-            }
+                if (removed) {
+                    waiter.completeExceptionally(new TimeoutException("Pooled producer was not available after " + maxWaitTime));
+                }
+            }, maxWaitTime.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // pool is closing and fails all waiters itself
         }
+    }
 
-        var p = this.createNewProducer();
+    private CompletableFuture<P> createAsync() {
+        var future = new CompletableFuture<P>();
         try {
-            p.producer().beginTransaction();
-        } catch (Throwable e) {
-            this.size.decrementAndGet();
-            throw e;
+            this.creationExecutor.execute(() -> {
+                try {
+                    future.complete(this.createNewProducer());
+                } catch (Throwable e) {
+                    this.onCreateFailed();
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.onCreateFailed();
+            future.completeExceptionally(new IllegalStateException("Pool has already closed!", e));
+        }
+        return future;
+    }
+
+    private void onCreateFailed() {
+        this.lock.lock();
+        try {
+            this.size--;
+            this.inUse--;
+        } finally {
+            this.lock.unlock();
         }
-        return new TransactionImpl<>(p, this);
     }
 
     private P createNewProducer() {
@@ -96,28 +232,163 @@ public final class TransactionalPublisherImpl<P extends GeneratedPublisher> impl
     }
 
     public final void returnToPool(P p) {
-        if (this.isClosed.get()) {
-            p.producer().close();
-        } else {
-            this.pool.addFirst(p);
+        CompletableFuture<P> waiter;
+        this.lock.lock();
+        try {
+            if (this.isClosed) {
+                this.size--;
+                this.inUse--;
+                waiter = null;
+            } else {
+                waiter = this.waiters.pollFirst();
+                if (waiter == null) {
+                    this.inUse--;
+                    this.idle.addFirst(new IdlePublisher<>(p, System.nanoTime()));
+                    return;
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        if (waiter == null) {
+            this.close(p);
+        } else if (!waiter.complete(p)) {
+            // waiter of synchronous begin was interrupted
+            this.returnToPool(p);
         }
     }
 
     public final void deleteFromPool(P p) {
-        this.size.decrementAndGet();
-        p.producer().close();
+        CompletableFuture<P> waiter;
+        this.lock.lock();
+        try {
+            this.inUse--;
+            waiter = this.isClosed ? null : this.waiters.pollFirst();
+            if (waiter == null) {
+                this.size--;
+            } else {
+                // slot of deleted publisher goes to the first waiter
+                this.inUse++;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        this.close(p);
+        if (waiter != null) {
+            this.createAsync().whenComplete((created, error) -> {
+                if (error != null) {
+                    waiter.completeExceptionally(error);
+                } else if (!waiter.complete(created)) {
+                    this.returnToPool(created);
+                }
+            });
+        }
     }
 
     @Override
     public void init() {
+        var minPoolSize = Math.min(this.transactionConfig.minPoolSize(), this.transactionConfig.maxPoolSize());
+        int missing;
+        this.lock.lock();
+        try {
+            missing = Math.max(minPoolSize - this.size, 0);
+            this.size += missing;
+            this.inUse += missing;
+        } finally {
+            this.lock.unlock();
+        }
+        var created = new ArrayList<CompletableFuture<P>>(missing);
+        for (int i = 0; i < missing; i++) {
+            created.add(this.createAsync());
+        }
+        for (var f : created) {
+            try {
+                this.returnToPool(f.join());
+            } catch (CompletionException e) {
+                for (var other : created) {
+                    other.thenAccept(this::returnToPool);
+                }
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                if (e.getCause() instanceof Error re) throw re;
+                throw e;
+            }
+        }
+        var maxIdleTime = this.transactionConfig.maxIdleTime();
+        if (!maxIdleTime.isZero() && !maxIdleTime.isNegative()) {
+            var period = Math.max(maxIdleTime.toMillis() / 2, 1);
+            this.scheduler.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void evictIdle() {
+        var evicted = new ArrayList<P>();
+        var idleBefore = System.nanoTime() - this.transactionConfig.maxIdleTime().toNanos();
+        this.lock.lock();
+        try {
+            while (this.size > this.transactionConfig.minPoolSize()) {
+                var oldest = this.idle.peekLast();
+                if (oldest == null || oldest.returnedAt() - idleBefore > 0) {
+                    break;
+                }
+                this.idle.pollLast();
+                this.size--;
+                evicted.add(oldest.publisher());
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        for (var p : evicted) {
+            this.close(p);
+        }
+    }
+
+    private void close(P p) {
+        if (this.telemetry == p.telemetry()) {
+            this.telemetry = null;
+        }
+        try {
+            p.release();
+        } catch (Exception e) {
+            logger.warn("Error closing transactional publisher", e);
+        }
     }
 
     @Override
     public void release() throws Exception {
-        if (this.isClosed.compareAndSet(false, true)) {
-            for (var p : this.pool) {
-                p.release();
+        var idle = new ArrayList<P>();
+        var waiters = new ArrayList<CompletableFuture<P>>();
+        this.lock.lock();
+        try {
+            if (this.isClosed) {
+                return;
             }
+            this.isClosed = true;
+            for (var p : this.idle) {
+                idle.add(p.publisher());
+            }
+            this.size -= this.idle.size();
+            this.idle.clear();
+            waiters.addAll(this.waiters);
+            this.waiters.clear();
+        } finally {
+            this.lock.unlock();
+        }
+        this.scheduler.shutdownNow();
+        this.creationExecutor.shutdown();
+        for (var waiter : waiters) {
+            waiter.completeExceptionally(new IllegalStateException("Pool has already closed!"));
+        }
+        for (var p : idle) {
+            this.close(p);
         }
     }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        var threadNumber = new AtomicInteger(1);
+        return r -> {
+            var thread = new Thread(r, prefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 }
@@ -91,6 +91,20 @@ public class DefaultKafkaProducerTelemetryFactory implements KafkaProducerTeleme
 
             return new DefaultKafkaProducerRecordTelemetryContext(record, span, this.logger, this.metrics);
         }
+
+        @Override
+        public void batchSent(String topic, @Nullable Integer partition, int records, long bytes, long lingerNanos) {
+            if (this.metrics != null) {
+                this.metrics.batchSent(topic, partition, records, bytes, lingerNanos);
+            }
+        }
+
+        @Override
+        public void transactionAcquired(long waitNanos, int inUse, int poolSize, int maxPoolSize, @Nullable Throwable error) {
+            if (this.metrics != null) {
+                this.metrics.transactionAcquired(waitNanos, inUse, poolSize, maxPoolSize, error);
+            }
+        }
     }
 
     private static final class DefaultKafkaProducerTransactionTelemetryContext implements KafkaProducerTelemetry.KafkaProducerTransactionTelemetryContext {
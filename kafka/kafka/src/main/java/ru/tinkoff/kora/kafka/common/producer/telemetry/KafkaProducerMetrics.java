@@ -11,6 +11,10 @@ public interface KafkaProducerMetrics {
 
     void sendEnd(ProducerRecord<?, ?> record, long durationNanos, RecordMetadata metadata);
 
+    default void batchSent(String topic, @Nullable Integer partition, int records, long bytes, long lingerNanos) {}
+
+    default void transactionAcquired(long waitNanos, int inUse, int poolSize, int maxPoolSize, @Nullable Throwable error) {}
+
     interface KafkaProducerTxMetrics {
         void commit();
 
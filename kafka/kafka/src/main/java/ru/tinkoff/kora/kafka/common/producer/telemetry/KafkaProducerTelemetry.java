@@ -18,6 +18,28 @@ public interface KafkaProducerTelemetry extends AutoCloseable {
 
     KafkaProducerRecordTelemetryContext record(ProducerRecord<?, ?> record);
 
+    /**
+     * Reported by {@link ru.tinkoff.kora.kafka.common.producer.KafkaBatchingProducer} when accumulated records are handed to producer
+     *
+     * @param partition   partition of records or null when partition is chosen by producer
+     * @param records     number of records in batch
+     * @param bytes       size of keys, values and headers of records in bytes
+     * @param lingerNanos time since first record of batch was accumulated
+     */
+    default void batchSent(String topic, @Nullable Integer partition, int records, long bytes, long lingerNanos) {}
+
+    /**
+     * Reported by {@link ru.tinkoff.kora.kafka.common.producer.TransactionalPublisherImpl} when publisher is acquired from pool and transaction is begun
+     * or when acquisition failed, e.g. pool was exhausted for longer than max wait time
+     *
+     * @param waitNanos   time spent waiting for pooled publisher or creating new one
+     * @param inUse       number of publishers used by transactions
+     * @param poolSize    number of publishers created by pool
+     * @param maxPoolSize maximum number of publishers in pool
+     * @param error       acquisition error or null when transaction is begun
+     */
+    default void transactionAcquired(long waitNanos, int inUse, int poolSize, int maxPoolSize, @Nullable Throwable error) {}
+
     interface KafkaProducerTransactionTelemetryContext {
         void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, ConsumerGroupMetadata groupMetadata);
 
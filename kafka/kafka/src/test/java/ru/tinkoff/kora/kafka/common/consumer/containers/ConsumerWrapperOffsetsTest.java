@@ -0,0 +1,56 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsumerWrapperOffsetsTest {
+    private final TopicPartition partition = new TopicPartition("test", 0);
+    private final MockConsumer<byte[], byte[]> realConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final ConsumerWrapper<byte[], byte[]> consumer = new ConsumerWrapper<>(realConsumer, new ByteArrayDeserializer(), new ByteArrayDeserializer());
+
+    @Test
+    void uncommittedRecordsAreCountedFromLocalOffsets() {
+        addRecords(0, 10);
+        consumer.poll(Duration.ZERO);
+        consumer.commitSync(Map.of(partition, new OffsetAndMetadata(4)));
+
+        assertThat(consumer.untrack(List.of(partition))).isEqualTo(6);
+        assertThat(consumer.untrack(List.of(partition))).isZero();
+    }
+
+    @Test
+    void asyncCommitIsCountedOnSuccess() {
+        addRecords(0, 10);
+        consumer.poll(Duration.ZERO);
+        consumer.commitAsync(Map.of(partition, new OffsetAndMetadata(10)), null);
+
+        assertThat(consumer.untrack(List.of(partition))).isZero();
+    }
+
+    @Test
+    void recordsWithoutCommitAreCountedSinceFirstPoll() {
+        addRecords(5, 10);
+        consumer.poll(Duration.ZERO);
+
+        assertThat(consumer.untrack(List.of(partition))).isEqualTo(5);
+    }
+
+    private void addRecords(long from, long to) {
+        realConsumer.assign(List.of(partition));
+        realConsumer.updateBeginningOffsets(Map.of(partition, from));
+        for (var i = from; i < to; i++) {
+            realConsumer.addRecord(new ConsumerRecord<>(partition.topic(), partition.partition(), i, new byte[0], new byte[0]));
+        }
+    }
+}
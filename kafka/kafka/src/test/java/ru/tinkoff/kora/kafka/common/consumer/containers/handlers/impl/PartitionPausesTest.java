@@ -0,0 +1,55 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
+
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionPausesTest {
+    private final TopicPartition partition = new TopicPartition("test", 0);
+    private final MockConsumer<byte[], byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final PartitionPauses pauses = new PartitionPauses();
+    private final Object retry = new Object();
+    private final Object backpressure = new Object();
+
+    @BeforeEach
+    void setUp() {
+        consumer.assign(List.of(partition));
+    }
+
+    @Test
+    void partitionIsResumedWhenLastOwnerReleasesPause() {
+        pauses.pause(consumer, retry, List.of(partition));
+        pauses.pause(consumer, backpressure, List.of(partition));
+
+        assertThat(pauses.resume(consumer, retry, List.of(partition))).isEmpty();
+        assertThat(consumer.paused()).containsExactly(partition);
+
+        assertThat(pauses.resume(consumer, backpressure, List.of(partition))).containsExactly(partition);
+        assertThat(consumer.paused()).isEmpty();
+    }
+
+    @Test
+    void pausesOfPreviousConsumerAreDropped() {
+        pauses.pause(consumer, backpressure, List.of(partition));
+        consumer.resume(List.of(partition));
+
+        pauses.pause(consumer, retry, List.of(partition));
+        assertThat(pauses.resume(consumer, retry, List.of(partition))).containsExactly(partition);
+        assertThat(consumer.paused()).isEmpty();
+    }
+
+    @Test
+    void revokedPartitionPausesAreForgotten() {
+        pauses.pause(consumer, retry, List.of(partition));
+        pauses.pause(consumer, backpressure, List.of(partition));
+        pauses.forget(List.of(partition));
+
+        assertThat(pauses.resume(consumer, retry, List.of(partition))).containsExactly(partition);
+    }
+}
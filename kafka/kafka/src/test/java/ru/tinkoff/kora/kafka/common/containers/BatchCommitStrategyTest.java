@@ -0,0 +1,155 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.*;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.BatchCommitStrategy;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchCommitStrategyTest {
+    private final TopicPartition partition0 = new TopicPartition("test", 0);
+    private final TopicPartition partition1 = new TopicPartition("test", 1);
+    private final TestConsumer consumer = new TestConsumer();
+    private final TestConsumerTelemetry<String, String> telemetry = new TestConsumerTelemetry<>();
+
+    @Test
+    void pollStrategyCommitsLastOffsetOfEachPartitionSynchronously() {
+        var strategy = new BatchCommitStrategy(telemetry);
+        consumer.assign(List.of(partition0, partition1));
+
+        strategy.onRecordsHandled(consumer, records(record(partition0, 0), record(partition0, 1), record(partition1, 5)));
+
+        assertThat(consumer.committed(Set.of(partition0, partition1))).containsOnly(
+            Map.entry(partition0, new OffsetAndMetadata(2, Optional.empty(), "")),
+            Map.entry(partition1, new OffsetAndMetadata(6, Optional.empty(), ""))
+        );
+        assertThat(consumer.asyncCommits).isZero();
+        assertThat(telemetry.commits).hasValue(1);
+    }
+
+    @Test
+    void asyncStrategyCommitsOnceEnoughRecordsAreHandled() {
+        var strategy = new BatchCommitStrategy(telemetry, Duration.ofHours(1), 3);
+        consumer.assign(List.of(partition0));
+
+        strategy.onRecordHandled(consumer, record(partition0, 0));
+        strategy.onRecordHandled(consumer, record(partition0, 1));
+        strategy.onRecordsHandled(consumer, records(record(partition0, 0), record(partition0, 1)));
+        assertThat(consumer.committed(Set.of(partition0))).isEmpty();
+
+        strategy.onRecordHandled(consumer, record(partition0, 2));
+        assertThat(consumer.asyncCommits).isEqualTo(1);
+        assertThat(consumer.committed(Set.of(partition0)).get(partition0).offset()).isEqualTo(3);
+
+        strategy.onRecordsHandled(consumer, records(record(partition0, 2)));
+        assertThat(consumer.asyncCommits).isEqualTo(1);
+        assertThat(telemetry.commits).hasValue(1);
+    }
+
+    @Test
+    void asyncStrategyCommitsOnEmptyPollOnceIntervalPassed() {
+        var strategy = new BatchCommitStrategy(telemetry, Duration.ZERO, 100);
+        consumer.assign(List.of(partition0));
+
+        strategy.onRecordHandled(consumer, record(partition0, 0));
+        assertThat(consumer.asyncCommits).isZero();
+
+        strategy.onRecordsHandled(consumer, ConsumerRecords.empty());
+        assertThat(consumer.asyncCommits).isEqualTo(1);
+        assertThat(consumer.committed(Set.of(partition0)).get(partition0).offset()).isEqualTo(1);
+    }
+
+    @Test
+    void pendingOffsetsOfRevokedPartitionsAreCommittedSynchronously() {
+        var strategy = new BatchCommitStrategy(telemetry, Duration.ofHours(1), 100);
+        consumer.assign(List.of(partition0, partition1));
+
+        strategy.onRecordsHandled(consumer, records(record(partition0, 0), record(partition1, 0)));
+        assertThat(consumer.committed(Set.of(partition0, partition1))).isEmpty();
+
+        strategy.onPartitionsRevoked(consumer, List.of(partition0));
+        assertThat(consumer.asyncCommits).isZero();
+        assertThat(consumer.committed(Set.of(partition0, partition1))).containsOnlyKeys(partition0);
+
+        strategy.onPartitionsLost(consumer, List.of(partition1));
+        strategy.onPartitionsRevoked(consumer, List.of(partition1));
+        assertThat(consumer.committed(Set.of(partition0, partition1))).containsOnlyKeys(partition0);
+    }
+
+    @Test
+    void failedAsyncCommitIsRetriedWithNextCommit() {
+        var strategy = new BatchCommitStrategy(telemetry, Duration.ofHours(1), 1);
+        consumer.assign(List.of(partition0));
+        consumer.asyncError = new RuntimeException("test");
+
+        strategy.onRecordHandled(consumer, record(partition0, 0));
+        assertThat(consumer.committed(Set.of(partition0))).isEmpty();
+        assertThat(telemetry.commitErrors).hasValue(1);
+
+        consumer.asyncError = null;
+        strategy.onPartitionsRevoked(consumer, List.of(partition0));
+        assertThat(consumer.committed(Set.of(partition0)).get(partition0).offset()).isEqualTo(1);
+    }
+
+    private static ConsumerRecord<String, String> record(TopicPartition partition, long offset) {
+        return new ConsumerRecord<>(partition.topic(), partition.partition(), offset, "key", "value");
+    }
+
+    @SafeVarargs
+    private static ConsumerRecords<String, String> records(ConsumerRecord<String, String>... records) {
+        var map = new LinkedHashMap<TopicPartition, List<ConsumerRecord<String, String>>>();
+        for (var record : records) {
+            map.computeIfAbsent(new TopicPartition(record.topic(), record.partition()), p -> new ArrayList<>()).add(record);
+        }
+        return new ConsumerRecords<>(map);
+    }
+
+    private static final class TestConsumer extends MockConsumer<String, String> {
+        private final Map<TopicPartition, OffsetAndMetadata> committed = new HashMap<>();
+        private int asyncCommits = 0;
+        @Nullable
+        private RuntimeException asyncError;
+
+        private TestConsumer() {
+            super(OffsetResetStrategy.EARLIEST);
+        }
+
+        @Override
+        public synchronized void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+            committed.putAll(offsets);
+        }
+
+        @Override
+        public synchronized void commitAsync(Map<TopicPartition, OffsetAndMetadata> offsets, OffsetCommitCallback callback) {
+            asyncCommits++;
+            if (asyncError != null) {
+                callback.onComplete(offsets, asyncError);
+            } else {
+                committed.putAll(offsets);
+                callback.onComplete(offsets, null);
+            }
+        }
+
+        @Override
+        public synchronized Map<TopicPartition, OffsetAndMetadata> committed(Set<TopicPartition> partitions) {
+            var result = new HashMap<TopicPartition, OffsetAndMetadata>();
+            for (var partition : partitions) {
+                var offset = committed.get(partition);
+                if (offset != null) {
+                    result.put(partition, offset);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized OptionalLong currentLag(TopicPartition topicPartition) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.kafka.common.consumer.containers.ConsumerWrapper;
+import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsumerWrapperDeserializationTest {
+    private final TopicPartition partition = new TopicPartition("test", 0);
+    private final MockConsumer<byte[], byte[]> realConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final TestConsumerTelemetry<String, String> telemetry = new TestConsumerTelemetry<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void recordsAreDeserializedLazilyOnce() {
+        var valueDeserializer = new CountingDeserializer();
+        var consumer = new ConsumerWrapper<>(realConsumer, new StringDeserializer(), valueDeserializer, telemetry, null, 0);
+        addRecords(10, -1);
+
+        var records = consumer.poll(Duration.ZERO);
+        assertThat(valueDeserializer.calls).hasValue(0);
+
+        var record = records.iterator().next();
+        assertThat(record.value()).isEqualTo("value-0");
+        assertThat(record.value()).isEqualTo("value-0");
+        assertThat(record.key()).isEqualTo("key-0");
+        assertThat(valueDeserializer.calls).hasValue(1);
+        // key and value are reported together as one record
+        assertThat(telemetry.deserialized).hasValue(1);
+    }
+
+    @Test
+    void recordsAreDeserializedInParallelBeforePollReturns() {
+        var valueDeserializer = new CountingDeserializer();
+        var consumer = new ConsumerWrapper<>(realConsumer, new StringDeserializer(), valueDeserializer, telemetry, executor, 16);
+        addRecords(200, 42);
+
+        var records = consumer.poll(Duration.ZERO);
+        assertThat(valueDeserializer.calls).hasValue(200);
+        assertThat(telemetry.deserialized).hasValue(200);
+        assertThat(telemetry.deserializationErrors).hasValue(1);
+
+        for (var record : records) {
+            if (record.offset() == 42) {
+                assertThatThrownBy(record::value).isInstanceOf(RecordValueDeserializationException.class);
+            } else {
+                assertThat(record.value()).isEqualTo("value-" + record.offset());
+            }
+        }
+        assertThat(valueDeserializer.calls).hasValue(200);
+    }
+
+    @Test
+    void smallPollsAreNotDeserializedAhead() {
+        var valueDeserializer = new CountingDeserializer();
+        var consumer = new ConsumerWrapper<>(realConsumer, new StringDeserializer(), valueDeserializer, telemetry, executor, 16);
+        addRecords(20, -1);
+
+        consumer.poll(Duration.ZERO);
+        assertThat(valueDeserializer.calls).hasValue(0);
+    }
+
+    @Test
+    void zeroBatchSizeIsRejected() {
+        assertThatThrownBy(() -> new ConsumerWrapper<>(realConsumer, new StringDeserializer(), new CountingDeserializer(), telemetry, executor, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void addRecords(int count, long failingOffset) {
+        realConsumer.assign(List.of(partition));
+        realConsumer.updateBeginningOffsets(Map.of(partition, 0L));
+        for (int i = 0; i < count; i++) {
+            var value = i == failingOffset ? "fail" : "value-" + i;
+            realConsumer.addRecord(new ConsumerRecord<>(partition.topic(), partition.partition(), i, ("key-" + i).getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static final class CountingDeserializer implements Deserializer<String> {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String deserialize(String topic, byte[] data) {
+            calls.incrementAndGet();
+            var value = new String(data, StandardCharsets.UTF_8);
+            if (value.equals("fail")) {
+                throw new IllegalArgumentException("test");
+            }
+            return value;
+        }
+    }
+}
@@ -57,12 +57,19 @@ class KafkaAssignConsumerContainerTest {
             Duration.ofMillis(100),
             Duration.ofMillis(100),
             Integer.valueOf(2),
+            false,
             Duration.ofSeconds(1),
             new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
                 new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(true),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
                 new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(null, null)
-            )
+            ),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
         );
         var deque = new ConcurrentLinkedDeque<>();
         @SuppressWarnings("unchecked")
@@ -8,10 +8,12 @@ import org.apache.kafka.common.serialization.IntegerDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
 import org.slf4j.LoggerFactory;
 import ru.tinkoff.kora.common.util.Either;
 import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.kafka.common.consumer.containers.KafkaSubscribeConsumerContainer;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_LogConfig_ConfigValueExtractor;
@@ -21,6 +23,7 @@ import ru.tinkoff.kora.test.kafka.KafkaParams;
 import ru.tinkoff.kora.test.kafka.KafkaTestContainer;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
 import java.util.UUID;
@@ -28,6 +31,9 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(KafkaTestContainer.class)
 class KafkaSubscribeConsumerContainerTest {
@@ -56,12 +62,19 @@ class KafkaSubscribeConsumerContainerTest {
             Duration.ofMillis(100),
             Duration.ofMillis(100),
             Integer.valueOf(1),
+            false,
             Duration.ofMillis(10000),
             new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
                 new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(true),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
                 new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(null, null)
-            )
+            ),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
         );
         var queue = new ArrayBlockingQueue<>(3);
         var container = new KafkaSubscribeConsumerContainer<>(config, new StringDeserializer(), new IntegerDeserializer(), (records, consumer, commitAllowed) -> {
@@ -87,4 +100,53 @@ class KafkaSubscribeConsumerContainerTest {
             container.release();
         }
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cooperativeRebalanceRevokesOnlyMovedPartitions() {
+        var driverProps = new Properties();
+        driverProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, params.bootstrapServers());
+        driverProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        driverProps.put(CommonClientConfigs.GROUP_ID_CONFIG, UUID.randomUUID().toString());
+        var testTopic = params.createTopic("rebalance-topic", 4);
+        var config = new $KafkaListenerConfig_ConfigValueExtractor.KafkaListenerConfig_Impl(
+            driverProps,
+            List.of(testTopic),
+            null,
+            null,
+            Either.right("earliest"),
+            Duration.ofMillis(100),
+            Duration.ofMillis(100),
+            Integer.valueOf(1),
+            false,
+            Duration.ofMillis(10000),
+            new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
+                new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(false),
+                new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(false),
+                new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(null, null)
+            ),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+        var firstTelemetry = (KafkaConsumerTelemetry<String, Integer>) Mockito.mock(KafkaConsumerTelemetry.class);
+        var secondTelemetry = (KafkaConsumerTelemetry<String, Integer>) Mockito.mock(KafkaConsumerTelemetry.class);
+        var first = new KafkaSubscribeConsumerContainer<>(config, new StringDeserializer(), new IntegerDeserializer(), firstTelemetry, (records, consumer, commitAllowed) -> {}, null);
+        var second = new KafkaSubscribeConsumerContainer<>(config, new StringDeserializer(), new IntegerDeserializer(), secondTelemetry, (records, consumer, commitAllowed) -> {}, null);
+        try {
+            first.init();
+            verify(firstTelemetry, timeout(30_000)).reportRebalance(argThat(Collection::isEmpty), argThat(assigned -> assigned.size() == 4), anyLong(), eq(0L));
+
+            second.init();
+            verify(secondTelemetry, timeout(30_000)).reportRebalance(argThat(Collection::isEmpty), argThat(assigned -> assigned.size() == 2), anyLong(), eq(0L));
+            // first consumer keeps its other two partitions
+            verify(firstTelemetry, timeout(30_000)).reportRebalance(argThat(revoked -> revoked.size() == 2), argThat(Collection::isEmpty), anyLong(), eq(0L));
+        } finally {
+            second.release();
+            first.release();
+        }
+    }
 }
@@ -0,0 +1,244 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.common.util.Either;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_BackpressureConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_CommitConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_ParallelConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.ParallelRecordHandler;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_LogConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_MetricsConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_TracingConfig_ConfigValueExtractor;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelRecordHandlerTest {
+    private final TopicPartition partition = new TopicPartition("test", 0);
+    private final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    @Nullable
+    private ParallelRecordHandler<String, String> handler;
+    private final TestConsumerTelemetry<String, String> telemetry = new TestConsumerTelemetry<>();
+    private long nextOffset = 0;
+
+    @AfterEach
+    void tearDown() {
+        if (handler != null) {
+            handler.release();
+        }
+    }
+
+    @Test
+    void recordsWithSameKeyAreHandledInOrderAndOffsetsCommittedContiguously() throws Exception {
+        var firstRecordLatch = new CountDownLatch(1);
+        var handled = new ConcurrentHashMap<String, List<Long>>();
+        var handledCount = new CountDownLatch(6);
+        handler = handler(KafkaListenerConfig.ParallelConfig.Ordering.KEY, 16, (c, telemetry, record) -> {
+            if (record.offset() == 0) {
+                await(firstRecordLatch);
+            }
+            handled.computeIfAbsent(record.key(), k -> new CopyOnWriteArrayList<>()).add(record.offset());
+            handledCount.countDown();
+        });
+        consumer.assign(List.of(partition));
+
+        handler.handle(records("a", "b", "a", "b", "c", "a"), consumer, true);
+        awaitUntil(() -> handled.containsKey("b") && handled.get("b").size() == 2 && handled.containsKey("c"));
+        assertThat(handled.get("a")).isNull();
+
+        handler.handle(ConsumerRecords.empty(), consumer, true);
+        assertThat(consumer.committed(Set.of(partition))).isEmpty();
+
+        firstRecordLatch.countDown();
+        assertThat(handledCount.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(handled.get("a")).containsExactly(0L, 2L, 5L);
+        assertThat(handled.get("b")).containsExactly(1L, 3L);
+
+        awaitCommitted(6);
+    }
+
+    @Test
+    void partitionIsPausedUntilWorkersCatchUp() throws Exception {
+        var latch = new CountDownLatch(1);
+        handler = handler(KafkaListenerConfig.ParallelConfig.Ordering.PARTITION, 4, (c, telemetry, record) -> await(latch));
+        consumer.assign(List.of(partition));
+
+        handler.handle(records("a", "b", "c", "d", "e"), consumer, true);
+        assertThat(consumer.paused()).containsExactly(partition);
+
+        latch.countDown();
+        awaitCommitted(5);
+        assertThat(consumer.paused()).isEmpty();
+    }
+
+    @Test
+    void backpressureHandlesRecordsOffPollThreadAndReportsPause() throws Exception {
+        var latch = new CountDownLatch(1);
+        var pollThread = Thread.currentThread();
+        var handled = new CopyOnWriteArrayList<Long>();
+        handler = handler(null, new $KafkaListenerConfig_BackpressureConfig_ConfigValueExtractor.BackpressureConfig_Impl(4), (c, telemetry, record) -> {
+            assertThat(Thread.currentThread()).isNotSameAs(pollThread);
+            await(latch);
+            handled.add(record.offset());
+        });
+        consumer.assign(List.of(partition));
+
+        handler.handle(records("a", "b", "c", "d", "e"), consumer, true);
+        assertThat(consumer.paused()).containsExactly(partition);
+        assertThat(telemetry.paused).containsExactly(partition);
+
+        latch.countDown();
+        awaitCommitted(5);
+        assertThat(consumer.paused()).isEmpty();
+        assertThat(telemetry.resumed).containsExactly(partition);
+        assertThat(handled).containsExactly(0L, 1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void failedRecordStopsOffsetsAndIsThrownFromNextPoll() throws Exception {
+        var error = new IllegalStateException("test");
+        handler = handler(KafkaListenerConfig.ParallelConfig.Ordering.PARTITION, 16, (c, telemetry, record) -> {
+            if (record.offset() == 2) {
+                throw error;
+            }
+        });
+        consumer.assign(List.of(partition));
+
+        handler.handle(records("a", "b", "c", "d"), consumer, true);
+
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            try {
+                handler.handle(ConsumerRecords.empty(), consumer, true);
+            } catch (IllegalStateException e) {
+                assertThat(e).isSameAs(error);
+                break;
+            }
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        assertThatThrownBy(() -> handler.handle(ConsumerRecords.empty(), consumer, true)).isSameAs(error);
+        assertThat(consumer.committed(Set.of(partition)).get(partition).offset()).isEqualTo(2);
+
+        handler.onPartitionsRevoked(consumer, List.of(partition));
+        assertThat(consumer.committed(Set.of(partition)).get(partition).offset()).isEqualTo(2);
+    }
+
+    @Test
+    void asyncCommitModeDefersCommitUntilRevoke() throws Exception {
+        var handled = new CountDownLatch(3);
+        var commit = new $KafkaListenerConfig_CommitConfig_ConfigValueExtractor.CommitConfig_Impl(KafkaListenerConfig.CommitConfig.Mode.ASYNC, Duration.ofHours(1), 1000);
+        handler = handler(new $KafkaListenerConfig_ParallelConfig_ConfigValueExtractor.ParallelConfig_Impl(8, KafkaListenerConfig.ParallelConfig.Ordering.KEY, 16), null, commit,
+            (c, telemetry, record) -> handled.countDown());
+        consumer.assign(List.of(partition));
+
+        handler.handle(records("a", "b", "c"), consumer, true);
+        assertThat(handled.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        handler.handle(ConsumerRecords.empty(), consumer, true);
+        assertThat(consumer.committed(Set.of(partition))).isEmpty();
+
+        handler.onPartitionsRevoked(consumer, List.of(partition));
+        assertThat(consumer.committed(Set.of(partition)).get(partition).offset()).isEqualTo(3);
+    }
+
+    private ParallelRecordHandler<String, String> handler(KafkaListenerConfig.ParallelConfig.Ordering ordering, int maxInFlight, KafkaRecordHandler<String, String> recordHandler) {
+        return handler(new $KafkaListenerConfig_ParallelConfig_ConfigValueExtractor.ParallelConfig_Impl(8, ordering, maxInFlight), null, recordHandler);
+    }
+
+    private ParallelRecordHandler<String, String> handler(@Nullable KafkaListenerConfig.ParallelConfig parallel, @Nullable KafkaListenerConfig.BackpressureConfig backpressure, KafkaRecordHandler<String, String> recordHandler) {
+        return handler(parallel, backpressure, null, recordHandler);
+    }
+
+    private ParallelRecordHandler<String, String> handler(@Nullable KafkaListenerConfig.ParallelConfig parallel,
+                                                          @Nullable KafkaListenerConfig.BackpressureConfig backpressure,
+                                                          @Nullable KafkaListenerConfig.CommitConfig commit,
+                                                          KafkaRecordHandler<String, String> recordHandler) {
+        var config = new $KafkaListenerConfig_ConfigValueExtractor.KafkaListenerConfig_Impl(
+            new Properties(),
+            List.of(partition.topic()),
+            null,
+            null,
+            Either.right("earliest"),
+            Duration.ofMillis(100),
+            Duration.ofMillis(100),
+            Integer.valueOf(1),
+            false,
+            Duration.ofMillis(10000),
+            new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
+                new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(false),
+                new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(false),
+                new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(null, null)
+            ),
+            parallel,
+            commit,
+            null,
+            null,
+            backpressure,
+            null
+        );
+        var handler = new ParallelRecordHandler<>(config, telemetry, true, new ValueOf<>() {
+            @Override
+            public KafkaRecordHandler<String, String> get() {
+                return recordHandler;
+            }
+
+            @Override
+            public void refresh() {}
+        });
+        handler.init();
+        return handler;
+    }
+
+    private ConsumerRecords<String, String> records(String... keys) {
+        var records = new ArrayList<ConsumerRecord<String, String>>(keys.length);
+        for (var key : keys) {
+            records.add(new ConsumerRecord<>(partition.topic(), partition.partition(), nextOffset++, key, "value"));
+        }
+        return new ConsumerRecords<>(Map.of(partition, records));
+    }
+
+    private void awaitCommitted(long offset) throws InterruptedException {
+        awaitUntil(() -> {
+            handler.handle(ConsumerRecords.empty(), consumer, true);
+            var committed = consumer.committed(Set.of(partition)).get(partition);
+            return committed != null && committed.offset() == offset;
+        });
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
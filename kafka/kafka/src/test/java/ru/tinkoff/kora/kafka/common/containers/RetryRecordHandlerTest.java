@@ -0,0 +1,167 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.common.util.Either;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_RetryConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.containers.ConsumerRecordWrapper;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.RetryRecordHandler;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_LogConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_MetricsConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_TracingConfig_ConfigValueExtractor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryRecordHandlerTest {
+    private final TopicPartition partition = new TopicPartition("test", 0);
+    private final TopicPartition retryPartition = new TopicPartition("test-retry-1", 0);
+    private final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final MockProducer<byte[], byte[]> producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+    private final TestConsumerTelemetry<String, String> telemetry = new TestConsumerTelemetry<>();
+    @Nullable
+    private RetryRecordHandler<String, String> handler;
+
+    @AfterEach
+    void tearDown() {
+        if (handler != null) {
+            handler.release();
+        }
+    }
+
+    @Test
+    void failedRecordIsSentToRetryTopicAndCommitted() {
+        var handled = new ArrayList<String>();
+        handler = handler(List.of(Duration.ofSeconds(1), Duration.ofSeconds(10)), (c, telemetry, record) -> {
+            if (record.value().equals("bad")) {
+                throw new IllegalStateException("test");
+            }
+            handled.add(record.value());
+        });
+        consumer.assign(List.of(partition));
+
+        handler.handle(records(partition, 0, 0, System.currentTimeMillis(), "good", "bad", "good"), consumer, true);
+
+        assertThat(handled).containsExactly("good", "good");
+        assertThat(consumer.committed(Set.of(partition)).get(partition).offset()).isEqualTo(3);
+        assertThat(producer.history()).hasSize(1);
+        var sent = producer.history().get(0);
+        assertThat(sent.topic()).isEqualTo("test-retry-1");
+        assertThat(new String(sent.value(), StandardCharsets.UTF_8)).isEqualTo("bad");
+        assertThat(header(sent.headers().lastHeader(RetryRecordHandler.ATTEMPT_HEADER).value())).isEqualTo("1");
+        assertThat(header(sent.headers().lastHeader(RetryRecordHandler.TOPIC_HEADER).value())).isEqualTo("test");
+        assertThat(telemetry.retries).containsExactly("test-retry-1");
+    }
+
+    @Test
+    void recordFailedAllAttemptsIsSentToDeadLetterTopic() {
+        handler = handler(List.of(Duration.ZERO), (c, telemetry, record) -> {
+            throw new IllegalStateException("test");
+        });
+        consumer.assign(List.of(retryPartition));
+
+        handler.handle(records(retryPartition, 0, 1, System.currentTimeMillis(), "bad"), consumer, true);
+
+        assertThat(producer.history()).hasSize(1);
+        var sent = producer.history().get(0);
+        assertThat(sent.topic()).isEqualTo("test-dlt");
+        assertThat(header(sent.headers().lastHeader(RetryRecordHandler.ATTEMPT_HEADER).value())).isEqualTo("2");
+        assertThat(telemetry.retries).containsExactly("test-dlt");
+        assertThat(consumer.committed(Set.of(retryPartition)).get(retryPartition).offset()).isEqualTo(1);
+    }
+
+    @Test
+    void retryRecordIsDelayedByPausingItsPartition() {
+        var handled = new ArrayList<String>();
+        handler = handler(List.of(Duration.ofHours(1)), (c, telemetry, record) -> handled.add(record.value()));
+        consumer.assign(List.of(partition, retryPartition));
+
+        var now = System.currentTimeMillis();
+        var due = records(retryPartition, 0, 1, now - Duration.ofHours(2).toMillis(), "due");
+        var delayed = records(retryPartition, 1, 1, now, "delayed");
+        var all = new ArrayList<ConsumerRecord<String, String>>();
+        all.addAll(due.records(retryPartition));
+        all.addAll(delayed.records(retryPartition));
+        handler.handle(new ConsumerRecords<>(Map.of(retryPartition, all, partition, records(partition, 0, 0, now, "fresh").records(partition))), consumer, true);
+
+        assertThat(handled).containsExactlyInAnyOrder("due", "fresh");
+        assertThat(consumer.paused()).containsExactly(retryPartition);
+        assertThat(consumer.position(retryPartition)).isEqualTo(1);
+        assertThat(consumer.committed(Set.of(retryPartition)).get(retryPartition).offset()).isEqualTo(1);
+        assertThat(producer.history()).isEmpty();
+    }
+
+    private RetryRecordHandler<String, String> handler(List<Duration> delays, KafkaRecordHandler<String, String> recordHandler) {
+        var config = new $KafkaListenerConfig_ConfigValueExtractor.KafkaListenerConfig_Impl(
+            new Properties(),
+            List.of(partition.topic()),
+            null,
+            null,
+            Either.right("earliest"),
+            Duration.ofMillis(100),
+            Duration.ofMillis(100),
+            Integer.valueOf(1),
+            false,
+            Duration.ofMillis(10000),
+            new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
+                new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(false),
+                new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(false),
+                new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(null, null)
+            ),
+            null,
+            null,
+            null,
+            null,
+            null,
+            new $KafkaListenerConfig_RetryConfig_ConfigValueExtractor.RetryConfig_Impl(delays, "-retry-", "-dlt", new Properties())
+        );
+        var handler = new RetryRecordHandler<>(config, telemetry, true, new ValueOf<>() {
+            @Override
+            public KafkaRecordHandler<String, String> get() {
+                return recordHandler;
+            }
+
+            @Override
+            public void refresh() {}
+        }, producer);
+        handler.init();
+        return handler;
+    }
+
+    private ConsumerRecords<String, String> records(TopicPartition partition, long offset, int attempt, long timestamp, String... values) {
+        var records = new ArrayList<ConsumerRecord<String, String>>(values.length);
+        for (var value : values) {
+            var headers = new RecordHeaders();
+            if (attempt > 0) {
+                headers.add(RetryRecordHandler.ATTEMPT_HEADER, Integer.toString(attempt).getBytes(StandardCharsets.UTF_8));
+                headers.add(RetryRecordHandler.TOPIC_HEADER, this.partition.topic().getBytes(StandardCharsets.UTF_8));
+            }
+            var raw = new ConsumerRecord<>(partition.topic(), partition.partition(), offset++, timestamp, TimestampType.CREATE_TIME,
+                -1, -1, "key".getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8), headers, Optional.<Integer>empty());
+            records.add(new ConsumerRecordWrapper<>(raw, new StringDeserializer(), new StringDeserializer()));
+        }
+        return new ConsumerRecords<>(Map.of(partition, records));
+    }
+
+    private static String header(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
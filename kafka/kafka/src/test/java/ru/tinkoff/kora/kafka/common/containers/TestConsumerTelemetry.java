@@ -0,0 +1,70 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Telemetry without tracing and metrics which records reported events for assertions
+ */
+final class TestConsumerTelemetry<K, V> implements KafkaConsumerTelemetry<K, V> {
+    final AtomicInteger commits = new AtomicInteger();
+    final AtomicInteger commitErrors = new AtomicInteger();
+    final AtomicInteger deserialized = new AtomicInteger();
+    final AtomicInteger deserializationErrors = new AtomicInteger();
+    final List<TopicPartition> paused = new CopyOnWriteArrayList<>();
+    final List<TopicPartition> resumed = new CopyOnWriteArrayList<>();
+    final List<String> retries = new CopyOnWriteArrayList<>();
+
+    @Override
+    public KafkaConsumerRecordsTelemetryContext<K, V> get(ConsumerRecords<K, V> records) {
+        return new KafkaConsumerRecordsTelemetryContext<>() {
+            @Override
+            public KafkaConsumerRecordTelemetryContext<K, V> get(ConsumerRecord<K, V> record) {
+                return ex -> {};
+            }
+
+            @Override
+            public void close(@Nullable Throwable ex) {}
+        };
+    }
+
+    @Override
+    public void reportLag(TopicPartition partition, long lag) {}
+
+    @Override
+    public void reportCommit(Map<TopicPartition, OffsetAndMetadata> offsets, long duration, @Nullable Throwable ex) {
+        (ex == null ? this.commits : this.commitErrors).incrementAndGet();
+    }
+
+    @Override
+    public void reportDeserialization(ConsumerRecord<byte[], byte[]> record, long duration, @Nullable Throwable ex) {
+        this.deserialized.incrementAndGet();
+        if (ex != null) {
+            this.deserializationErrors.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void reportPartitionPaused(TopicPartition partition) {
+        this.paused.add(partition);
+    }
+
+    @Override
+    public void reportPartitionResumed(TopicPartition partition, long duration) {
+        this.resumed.add(partition);
+    }
+
+    @Override
+    public void reportRetry(ConsumerRecord<?, ?> record, String destination, int attempt, boolean deadLetter) {
+        this.retries.add(destination);
+    }
+}
@@ -0,0 +1,192 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.*;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.common.util.Either;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_TransactionConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaTransactionalRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.TransactionalRecordsHandler;
+import ru.tinkoff.kora.kafka.common.producer.$KafkaPublisherConfig_TransactionConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.producer.GeneratedPublisher;
+import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisherImpl;
+import ru.tinkoff.kora.kafka.common.producer.telemetry.KafkaProducerTelemetry;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_LogConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_MetricsConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_TracingConfig_ConfigValueExtractor;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionalRecordsHandlerTest {
+    private final TopicPartition partition = new TopicPartition("test", 0);
+    private final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final TestPublisher publisher = new TestPublisher();
+    private final TransactionalPublisherImpl<TestPublisher> pool = new TransactionalPublisherImpl<>(
+        new $KafkaPublisherConfig_TransactionConfig_ConfigValueExtractor.TransactionConfig_Impl("test-", 1, Duration.ofSeconds(1), 0, Duration.ZERO),
+        () -> publisher
+    );
+    private long nextOffset = 0;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pool.release();
+    }
+
+    @Test
+    void offsetsAreCommittedWithProducedRecordsAfterRecordsLimit() {
+        var handler = handler(3, (c, telemetry, records, tx) -> {
+            for (var record : records) {
+                tx.producer().send(new ProducerRecord<>("out", record.value().getBytes()));
+            }
+        });
+
+        handler.handle(records("a", "b"), consumer, true);
+        assertThat(publisher.producer.transactionInFlight()).isTrue();
+        assertThat(publisher.producer.history()).isEmpty();
+
+        handler.handle(records("c", "d"), consumer, true);
+        assertThat(publisher.producer.transactionCommitted()).isTrue();
+        assertThat(publisher.producer.history()).hasSize(4);
+        assertThat(publisher.producer.consumerGroupOffsetsHistory())
+            .containsExactly(Map.of(consumer.groupMetadata().groupId(), Map.of(partition, new OffsetAndMetadata(4, Optional.empty(), ""))));
+    }
+
+    @Test
+    void transactionIsAbortedWhenHandlerFails() {
+        var handler = handler(1, (c, telemetry, records, tx) -> {
+            tx.producer().send(new ProducerRecord<>("out", "value".getBytes()));
+            throw new IllegalStateException("test");
+        });
+
+        assertThatThrownBy(() -> handler.handle(records("a"), consumer, true)).isInstanceOf(IllegalStateException.class);
+        assertThat(publisher.producer.transactionAborted()).isTrue();
+        assertThat(publisher.producer.history()).isEmpty();
+        assertThat(publisher.producer.consumerGroupOffsetsHistory()).isEmpty();
+    }
+
+    @Test
+    void openTransactionIsCommittedOnRevoke() {
+        var handler = handler(100, (c, telemetry, records, tx) -> {});
+
+        handler.handle(records("a"), consumer, true);
+        assertThat(publisher.producer.transactionInFlight()).isTrue();
+
+        handler.onPartitionsRevoked(consumer, List.of(partition));
+        assertThat(publisher.producer.transactionCommitted()).isTrue();
+        assertThat(publisher.producer.consumerGroupOffsetsHistory()).hasSize(1);
+    }
+
+    @Test
+    void otherIsolationLevelIsRejected() {
+        var properties = new Properties();
+        properties.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_uncommitted");
+
+        assertThatThrownBy(() -> handler(properties, 1, (c, telemetry, records, tx) -> {}))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining(ConsumerConfig.ISOLATION_LEVEL_CONFIG);
+    }
+
+    private TransactionalRecordsHandler<String, String, TestPublisher> handler(int records, KafkaTransactionalRecordsHandler<String, String, TestPublisher> recordsHandler) {
+        return handler(new Properties(), records, recordsHandler);
+    }
+
+    private TransactionalRecordsHandler<String, String, TestPublisher> handler(Properties driverProperties, int records, KafkaTransactionalRecordsHandler<String, String, TestPublisher> recordsHandler) {
+        var config = new $KafkaListenerConfig_ConfigValueExtractor.KafkaListenerConfig_Impl(
+            driverProperties,
+            List.of(partition.topic()),
+            null,
+            null,
+            Either.right("earliest"),
+            Duration.ofMillis(100),
+            Duration.ofMillis(100),
+            Integer.valueOf(1),
+            false,
+            Duration.ofMillis(10000),
+            new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
+                new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(false),
+                new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(false),
+                new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(null, null)
+            ),
+            null,
+            null,
+            null,
+            new $KafkaListenerConfig_TransactionConfig_ConfigValueExtractor.TransactionConfig_Impl(Duration.ofHours(1), records),
+            null,
+            null
+        );
+        return new TransactionalRecordsHandler<>(config, new TestConsumerTelemetry<>(), pool, new ValueOf<>() {
+            @Override
+            public KafkaTransactionalRecordsHandler<String, String, TestPublisher> get() {
+                return recordsHandler;
+            }
+
+            @Override
+            public void refresh() {}
+        });
+    }
+
+    private ConsumerRecords<String, String> records(String... values) {
+        var records = new ArrayList<ConsumerRecord<String, String>>(values.length);
+        for (var value : values) {
+            records.add(new ConsumerRecord<>(partition.topic(), partition.partition(), nextOffset++, "key", value));
+        }
+        return new ConsumerRecords<>(Map.of(partition, records));
+    }
+
+    private static final class TestPublisher implements GeneratedPublisher {
+        private final MockProducer<byte[], byte[]> producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+
+        @Override
+        public void init() {}
+
+        @Override
+        public void release() {
+            this.producer.close();
+        }
+
+        @Override
+        public Producer<byte[], byte[]> producer() {
+            return this.producer;
+        }
+
+        @Override
+        public KafkaProducerTelemetry telemetry() {
+            return new KafkaProducerTelemetry() {
+                @Override
+                public void close() {}
+
+                @Override
+                public KafkaProducerTransactionTelemetryContext tx() {
+                    return new KafkaProducerTransactionTelemetryContext() {
+                        @Override
+                        public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, ConsumerGroupMetadata groupMetadata) {}
+
+                        @Override
+                        public void commit() {}
+
+                        @Override
+                        public void rollback(@Nullable Throwable e) {}
+                    };
+                }
+
+                @Override
+                public KafkaProducerRecordTelemetryContext record(ProducerRecord<?, ?> record) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+}
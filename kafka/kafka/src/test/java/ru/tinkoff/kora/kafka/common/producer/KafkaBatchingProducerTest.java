@@ -0,0 +1,178 @@
+package ru.tinkoff.kora.kafka.common.producer;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.kafka.common.producer.telemetry.KafkaProducerTelemetry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KafkaBatchingProducerTest {
+    private final MockProducer<byte[], byte[]> delegate = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+    private final TestTelemetry telemetry = new TestTelemetry();
+    @Nullable
+    private KafkaBatchingProducer producer;
+
+    @AfterEach
+    void tearDown() {
+        if (producer != null) {
+            producer.close();
+        }
+    }
+
+    @Test
+    void batchIsSentOnceMaxRecordsAccumulated() throws Exception {
+        producer = new KafkaBatchingProducer(delegate, config(3, 1024 * 1024, Duration.ofHours(1)), telemetry);
+
+        var first = producer.send(record("test", "1"));
+        producer.send(record("other", "2"));
+        producer.send(record("test", "3"));
+        assertThat(delegate.history()).isEmpty();
+        assertThat(first).isNotDone();
+
+        producer.send(record("test", "4"));
+        assertThat(delegate.history()).extracting(r -> new String(r.value(), StandardCharsets.UTF_8)).containsExactly("1", "3", "4");
+        assertThat(first.get(1, TimeUnit.SECONDS).topic()).isEqualTo("test");
+        assertThat(telemetry.batches).containsExactly(3);
+    }
+
+    @Test
+    void batchIsSentOnceMaxBytesAccumulated() {
+        producer = new KafkaBatchingProducer(delegate, config(100, 10, Duration.ofHours(1)), telemetry);
+
+        producer.send(record("test", "12345"));
+        assertThat(delegate.history()).isEmpty();
+
+        producer.send(record("test", "67890"));
+        assertThat(delegate.history()).hasSize(2);
+    }
+
+    @Test
+    void batchIsSentAfterLinger() throws Exception {
+        producer = new KafkaBatchingProducer(delegate, config(100, 1024 * 1024, Duration.ofMillis(50)), telemetry);
+
+        var future = producer.send(record("test", "1"), (metadata, exception) -> telemetry.callbacks.add(metadata.topic()));
+
+        assertThat(future.get(5, TimeUnit.SECONDS).topic()).isEqualTo("test");
+        assertThat(telemetry.callbacks).containsExactly("test");
+        assertThat(telemetry.batches).containsExactly(1);
+    }
+
+    @Test
+    void flushSendsAccumulatedRecords() {
+        producer = new KafkaBatchingProducer(delegate, config(100, 1024 * 1024, Duration.ofHours(1)), telemetry);
+
+        var first = producer.send(record("test", "1"));
+        var second = producer.send(record("other", "2"));
+        producer.flush();
+
+        assertThat(delegate.history()).hasSize(2);
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+    }
+
+    @Test
+    void sendErrorCompletesRecordFuture() {
+        producer = new KafkaBatchingProducer(delegate, config(1, 1024 * 1024, Duration.ofHours(1)), telemetry);
+        delegate.sendException = new IllegalStateException("test");
+
+        var future = producer.send(record("test", "1"));
+
+        assertThat(future).isCompletedExceptionally();
+    }
+
+    @Test
+    void blockedDelegateDoesNotBlockAddingRecords() throws Exception {
+        var sending = new CountDownLatch(1);
+        var unblock = new CountDownLatch(1);
+        var blocking = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer()) {
+            @Override
+            public synchronized Future<RecordMetadata> send(ProducerRecord<byte[], byte[]> record, Callback callback) {
+                sending.countDown();
+                try {
+                    unblock.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.send(record, callback);
+            }
+        };
+        var batching = new KafkaBatchingProducer(blocking, config(2, 1024 * 1024, Duration.ofHours(1)), telemetry);
+        producer = batching;
+
+        var full = CompletableFuture.runAsync(() -> {
+            batching.send(record("test", "1"));
+            batching.send(record("test", "2"));
+        });
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var added = batching.send(record("test", "3"));
+        assertThat(added).isNotDone();
+        assertThat(full).isNotDone();
+
+        unblock.countDown();
+        full.get(5, TimeUnit.SECONDS);
+        batching.flush();
+        assertThat(blocking.history()).extracting(r -> new String(r.value(), StandardCharsets.UTF_8)).containsExactly("1", "2", "3");
+        assertThat(added).isCompleted();
+    }
+
+    @Test
+    void transactionalPublisherIsNotBatched() {
+        var publisherConfig = mock(KafkaPublisherConfig.class);
+        when(publisherConfig.batch()).thenReturn(config(1, 1, Duration.ZERO));
+        var properties = new Properties();
+        properties.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, "test");
+
+        assertThat(KafkaBatchingProducer.wrap(delegate, publisherConfig, properties, telemetry)).isSameAs(delegate);
+        assertThat(KafkaBatchingProducer.wrap(delegate, publisherConfig, new Properties(), telemetry)).isInstanceOf(KafkaBatchingProducer.class);
+    }
+
+    private static ProducerRecord<byte[], byte[]> record(String topic, String value) {
+        return new ProducerRecord<>(topic, null, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KafkaPublisherConfig.BatchConfig config(int maxRecords, int maxBytes, Duration linger) {
+        return new $KafkaPublisherConfig_BatchConfig_ConfigValueExtractor.BatchConfig_Impl(maxRecords, maxBytes, linger);
+    }
+
+    private static final class TestTelemetry implements KafkaProducerTelemetry {
+        private final CopyOnWriteArrayList<Integer> batches = new CopyOnWriteArrayList<>();
+        private final CopyOnWriteArrayList<String> callbacks = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void close() {}
+
+        @Override
+        public KafkaProducerTransactionTelemetryContext tx() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public KafkaProducerRecordTelemetryContext record(ProducerRecord<?, ?> record) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void batchSent(String topic, @Nullable Integer partition, int records, long bytes, long lingerNanos) {
+            batches.add(records);
+        }
+    }
+}
@@ -79,9 +79,9 @@ class TransactionalPublisherImplTest {
             new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(true),
             new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
             new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(null, null)
-        ));
+        ), null);
         var transactionalConfig = new $KafkaPublisherConfig_TransactionConfig_ConfigValueExtractor.TransactionConfig_Impl(
-            "test-", 5, Duration.ofSeconds(5)
+            "test-", 5, Duration.ofSeconds(5), 0, Duration.ofMinutes(5)
         );
 
         producerConfig.driverProperties().put(TRANSACTIONAL_ID_CONFIG, transactionalConfig.idPrefix() + "-" + UUID.randomUUID());
@@ -138,9 +138,9 @@ class TransactionalPublisherImplTest {
             new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(true),
             new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
             new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(null, null)
-        ));
+        ), null);
         var transactionalConfig = new $KafkaPublisherConfig_TransactionConfig_ConfigValueExtractor.TransactionConfig_Impl(
-            "test-", 5, Duration.ofSeconds(5)
+            "test-", 5, Duration.ofSeconds(5), 0, Duration.ofMinutes(5)
         );
 
         producerConfig.driverProperties().put(TRANSACTIONAL_ID_CONFIG, transactionalConfig.idPrefix() + "-" + UUID.randomUUID());
@@ -0,0 +1,174 @@
+package ru.tinkoff.kora.kafka.common.producer;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.kafka.common.producer.telemetry.KafkaProducerTelemetry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionalPublisherPoolTest {
+    private final AtomicInteger created = new AtomicInteger();
+    private final CopyOnWriteArrayList<TestPublisher> publishers = new CopyOnWriteArrayList<>();
+    @Nullable
+    private TransactionalPublisherImpl<TestPublisher> pool;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (pool != null) {
+            pool.release();
+        }
+    }
+
+    @Test
+    void poolIsPreWarmedOnInit() throws Exception {
+        pool = pool(2, 2, Duration.ofSeconds(1), Duration.ZERO);
+        pool.init();
+        assertThat(created).hasValue(2);
+
+        var first = pool.begin();
+        var second = pool.beginAsync().toCompletableFuture().get(1, TimeUnit.SECONDS);
+        first.close();
+        second.close();
+        assertThat(created).hasValue(2);
+    }
+
+    @Test
+    void asyncBeginWaitsForReturnedPublisher() throws Exception {
+        pool = pool(0, 1, Duration.ofSeconds(10), Duration.ZERO);
+        pool.init();
+
+        var first = pool.beginAsync().toCompletableFuture().get(1, TimeUnit.SECONDS);
+        var second = pool.beginAsync().toCompletableFuture();
+        Thread.sleep(50);
+        assertThat(second).isNotDone();
+
+        first.close();
+        var tx = second.get(1, TimeUnit.SECONDS);
+        assertThat(tx.publisher()).isSameAs(first.publisher());
+        tx.close();
+        assertThat(created).hasValue(1);
+        assertThat(publishers.get(0).telemetry.acquired).hasValue(2);
+    }
+
+    @Test
+    void asyncBeginFailsAfterMaxWaitTime() throws Exception {
+        pool = pool(0, 1, Duration.ofMillis(50), Duration.ZERO);
+        pool.init();
+
+        var first = pool.begin();
+        var second = pool.beginAsync().toCompletableFuture();
+        assertThatThrownBy(() -> second.get(1, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThatThrownBy(pool::begin).isInstanceOf(TimeoutException.class);
+        first.close();
+        // failed acquisitions are reported along with successful one
+        assertThat(publishers.get(0).telemetry.acquired).hasValue(3);
+        assertThat(publishers.get(0).telemetry.failed).hasValue(2);
+    }
+
+    @Test
+    void idlePublishersAreEvictedDownToMinPoolSize() throws Exception {
+        pool = pool(1, 2, Duration.ofSeconds(1), Duration.ofMillis(50));
+        pool.init();
+
+        var first = pool.begin();
+        var second = pool.begin();
+        first.close();
+        second.close();
+        assertThat(created).hasValue(2);
+
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (publishers.stream().filter(p -> p.producer.closed()).count() < 1) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+        assertThat(publishers.stream().filter(p -> p.producer.closed()).count()).isEqualTo(1);
+    }
+
+    private TransactionalPublisherImpl<TestPublisher> pool(int minPoolSize, int maxPoolSize, Duration maxWaitTime, Duration maxIdleTime) {
+        var config = new $KafkaPublisherConfig_TransactionConfig_ConfigValueExtractor.TransactionConfig_Impl("test-", maxPoolSize, maxWaitTime, minPoolSize, maxIdleTime);
+        return new TransactionalPublisherImpl<>(config, () -> {
+            created.incrementAndGet();
+            var publisher = new TestPublisher();
+            publishers.add(publisher);
+            return publisher;
+        });
+    }
+
+    private static final class TestPublisher implements GeneratedPublisher {
+        private final MockProducer<byte[], byte[]> producer = new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+        private final TestTelemetry telemetry = new TestTelemetry();
+
+        @Override
+        public void init() {}
+
+        @Override
+        public void release() {
+            this.producer.close();
+        }
+
+        @Override
+        public Producer<byte[], byte[]> producer() {
+            return this.producer;
+        }
+
+        @Override
+        public KafkaProducerTelemetry telemetry() {
+            return this.telemetry;
+        }
+    }
+
+    private static final class TestTelemetry implements KafkaProducerTelemetry {
+        private final AtomicInteger acquired = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        @Override
+        public void close() {}
+
+        @Override
+        public KafkaProducerTransactionTelemetryContext tx() {
+            return new KafkaProducerTransactionTelemetryContext() {
+                @Override
+                public void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, ConsumerGroupMetadata groupMetadata) {}
+
+                @Override
+                public void commit() {}
+
+                @Override
+                public void rollback(@Nullable Throwable e) {}
+            };
+        }
+
+        @Override
+        public KafkaProducerRecordTelemetryContext record(ProducerRecord<?, ?> record) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void transactionAcquired(long waitNanos, int inUse, int poolSize, int maxPoolSize, @Nullable Throwable error) {
+            acquired.incrementAndGet();
+            if (error != null) {
+                failed.incrementAndGet();
+            }
+        }
+    }
+}
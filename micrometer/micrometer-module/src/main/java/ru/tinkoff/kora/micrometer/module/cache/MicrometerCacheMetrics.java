@@ -17,15 +17,20 @@ public final class MicrometerCacheMetrics implements CacheMetrics {
     private static final String METRIC_CACHE_DURATION = "cache.duration";
     private static final String METRIC_CACHE_HIT = "cache.hit";
     private static final String METRIC_CACHE_MISS = "cache.miss";
+    private static final String METRIC_CACHE_COALESCED = "cache.coalesced";
 
     private static final String TAG_OPERATION = "operation";
     private static final String TAG_CACHE_NAME = "cache";
     private static final String TAG_ORIGIN = "origin";
     private static final String TAG_STATUS = "status";
+    private static final String TAG_SCOPE = "scope";
 
     private static final String STATUS_SUCCESS = "success";
     private static final String STATUS_FAILED = "failed";
 
+    private static final String SCOPE_LOCAL = "local";
+    private static final String SCOPE_DISTRIBUTED = "distributed";
+
     private final MeterRegistry meterRegistry;
 
     public MicrometerCacheMetrics(MeterRegistry meterRegistry) {
@@ -65,4 +70,15 @@ public final class MicrometerCacheMetrics implements CacheMetrics {
         ));
         timer.record(durationInNanos, TimeUnit.NANOSECONDS);
     }
+
+    @Override
+    public void recordCoalesced(@Nonnull CacheTelemetryOperation operation, int keys, boolean distributed) {
+        final Counter counter = meterRegistry.counter(METRIC_CACHE_COALESCED, Tags.of(
+            TAG_CACHE_NAME, operation.cacheName(),
+            TAG_OPERATION, operation.name(),
+            TAG_ORIGIN, operation.origin(),
+            TAG_SCOPE, distributed ? SCOPE_DISTRIBUTED : SCOPE_LOCAL
+        ));
+        counter.increment(keys);
+    }
 }
@@ -0,0 +1,125 @@
+package ru.tinkoff.kora.micrometer.module.http.server;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetrics;
+import ru.tinkoff.kora.micrometer.module.http.server.tag.ActiveRequestsKey;
+import ru.tinkoff.kora.micrometer.module.http.server.tag.DurationKey;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Route metrics with meters resolved in advance: a server sees few distinct hosts and schemes,
+ * so meters are kept per host and scheme and durations are looked up by status code in arrays allocated per status class on first use.
+ * Only requests completed with exception or seen with a host beyond {@link #MAX_HOSTS} fall back to meter lookup by key.
+ */
+final class MicrometerHttpServerRouteMetrics implements HttpServerMetrics.RouteMetrics {
+    private static final int MIN_STATUS_CODE = 100;
+    private static final int MAX_STATUS_CODE = 599;
+    private static final int STATUS_CLASS_SIZE = 100;
+    // Host header is set by client, so number of cached hosts is bounded
+    private static final int MAX_HOSTS = 16;
+
+    private final String method;
+    private final String route;
+    private final Function<ActiveRequestsKey, AtomicInteger> activeRequests;
+    private final Function<DurationKey, DistributionSummary> duration;
+    private final double durationDivisor;
+    private final ConcurrentHashMap<HostKey, HostMeters> hosts = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile HostMeters last;
+
+    MicrometerHttpServerRouteMetrics(String method, String route, Function<ActiveRequestsKey, AtomicInteger> activeRequests, Function<DurationKey, DistributionSummary> duration, double durationDivisor) {
+        this.method = method;
+        this.route = route;
+        this.activeRequests = activeRequests;
+        this.duration = duration;
+        this.durationDivisor = durationDivisor;
+    }
+
+    @Override
+    public void requestStarted(String host, String scheme) {
+        var meters = this.meters(host, scheme);
+        var activeRequests = meters != null
+            ? meters.activeRequests
+            : this.activeRequests.apply(new ActiveRequestsKey(this.method, this.route, host, scheme));
+        activeRequests.incrementAndGet();
+    }
+
+    @Override
+    public void requestFinished(String host, String scheme, int statusCode, long processingTimeNano, @Nullable Throwable exception) {
+        var meters = this.meters(host, scheme);
+        if (meters == null) {
+            this.activeRequests.apply(new ActiveRequestsKey(this.method, this.route, host, scheme)).decrementAndGet();
+            var errorType = exception != null ? exception.getClass() : null;
+            this.duration.apply(new DurationKey(statusCode, this.method, this.route, host, scheme, errorType)).record(((double) processingTimeNano) / this.durationDivisor);
+            return;
+        }
+        meters.activeRequests.decrementAndGet();
+        final DistributionSummary summary;
+        if (exception == null && statusCode >= MIN_STATUS_CODE && statusCode <= MAX_STATUS_CODE) {
+            var durations = meters.durations(statusCode);
+            var index = statusCode % STATUS_CLASS_SIZE;
+            var cached = durations.get(index);
+            if (cached == null) {
+                cached = this.duration.apply(new DurationKey(statusCode, this.method, this.route, host, scheme, null));
+                durations.set(index, cached);
+            }
+            summary = cached;
+        } else {
+            var errorType = exception != null ? exception.getClass() : null;
+            summary = this.duration.apply(new DurationKey(statusCode, this.method, this.route, host, scheme, errorType));
+        }
+        summary.record(((double) processingTimeNano) / this.durationDivisor);
+    }
+
+    /**
+     * @return meters of host and scheme, null if too many hosts are already cached
+     */
+    @Nullable
+    private HostMeters meters(String host, String scheme) {
+        var last = this.last;
+        if (last != null && last.host.equals(host) && last.scheme.equals(scheme)) {
+            return last;
+        }
+        var key = new HostKey(host, scheme);
+        var meters = this.hosts.get(key);
+        if (meters == null) {
+            if (this.hosts.size() >= MAX_HOSTS) {
+                return null;
+            }
+            meters = this.hosts.computeIfAbsent(key, k -> new HostMeters(host, scheme, this.activeRequests.apply(new ActiveRequestsKey(this.method, this.route, host, scheme))));
+        }
+        this.last = meters;
+        return meters;
+    }
+
+    private record HostKey(String host, String scheme) {}
+
+    private static final class HostMeters {
+        private final String host;
+        private final String scheme;
+        private final AtomicInteger activeRequests;
+        // route usually responds with few status classes, so meters of status class are allocated on its first response
+        private final AtomicReferenceArray<AtomicReferenceArray<DistributionSummary>> durations = new AtomicReferenceArray<>((MAX_STATUS_CODE + 1 - MIN_STATUS_CODE) / STATUS_CLASS_SIZE);
+
+        private HostMeters(String host, String scheme, AtomicInteger activeRequests) {
+            this.host = host;
+            this.scheme = scheme;
+            this.activeRequests = activeRequests;
+        }
+
+        private AtomicReferenceArray<DistributionSummary> durations(int statusCode) {
+            var index = (statusCode - MIN_STATUS_CODE) / STATUS_CLASS_SIZE;
+            var durations = this.durations.get(index);
+            if (durations == null) {
+                this.durations.compareAndSet(index, null, new AtomicReferenceArray<>(STATUS_CLASS_SIZE));
+                durations = this.durations.get(index);
+            }
+            return durations;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package ru.tinkoff.kora.micrometer.module.http.server;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.opentelemetry.semconv.SemanticAttributes;
 import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetrics;
 import ru.tinkoff.kora.micrometer.module.http.server.tag.ActiveRequestsKey;
@@ -10,14 +13,22 @@ import ru.tinkoff.kora.micrometer.module.http.server.tag.DurationKey;
 import ru.tinkoff.kora.micrometer.module.http.server.tag.MicrometerHttpServerTagsProvider;
 import ru.tinkoff.kora.telemetry.common.TelemetryConfig;
 
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
 
 public final class Opentelemetry120HttpServerMetrics implements HttpServerMetrics {
     private final MeterRegistry meterRegistry;
     private final MicrometerHttpServerTagsProvider httpServerTagsProvider;
     private final ConcurrentHashMap<ActiveRequestsKey, AtomicInteger> requestCounters = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<DurationKey, DistributionSummary> duration = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> streamCounters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DistributionSummary> streamDuration = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LimiterRejectedKey, Counter> limiterRejected = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> compressionSaved = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile DistributionSummary virtualThreadPinnedDuration;
     private final TelemetryConfig.MetricsConfig config;
 
     public Opentelemetry120HttpServerMetrics(MeterRegistry meterRegistry, MicrometerHttpServerTagsProvider httpServerTagsProvider, @Nullable TelemetryConfig.MetricsConfig config) {
@@ -28,12 +39,7 @@ public final class Opentelemetry120HttpServerMetrics implements HttpServerMetric
 
     @Override
     public void requestStarted(String method, String target, String host, String scheme) {
-        var counter = requestCounters.computeIfAbsent(new ActiveRequestsKey(method, target, host, scheme), activeRequestsKey -> {
-            var c = new AtomicInteger(0);
-            this.registerActiveRequestsGauge(activeRequestsKey, c);
-            return c;
-        });
-        counter.incrementAndGet();
+        this.activeRequests(new ActiveRequestsKey(method, target, host, scheme)).incrementAndGet();
     }
 
     @Override
@@ -43,16 +49,82 @@ public final class Opentelemetry120HttpServerMetrics implements HttpServerMetric
 
     @Override
     public void requestFinished(String method, String route, String host, String scheme, int statusCode, long processingTimeNano, Throwable exception) {
-        var counter = requestCounters.computeIfAbsent(new ActiveRequestsKey(method, route, host, scheme), activeRequestsKey -> {
+        this.activeRequests(new ActiveRequestsKey(method, route, host, scheme)).decrementAndGet();
+        var errorType = exception != null ? exception.getClass() : null;
+        var key = new DurationKey(statusCode, method, route, host, scheme, errorType);
+        this.duration(key).record(((double) processingTimeNano) / 1_000_000);
+    }
+
+    @Override
+    public RouteMetrics route(String method, String route) {
+        return new MicrometerHttpServerRouteMetrics(method, route, this::activeRequests, this::duration, 1_000_000);
+    }
+
+    @Override
+    public void http2StreamStarted(String scheme) {
+        this.streamCounters.computeIfAbsent(scheme, this::registerActiveStreamsGauge).incrementAndGet();
+    }
+
+    @Override
+    public void http2StreamFinished(String scheme, long streamTimeNano) {
+        this.streamCounters.computeIfAbsent(scheme, this::registerActiveStreamsGauge).decrementAndGet();
+        this.streamDuration.computeIfAbsent(scheme, this::streamDuration)
+            .record(((double) streamTimeNano) / 1_000_000);
+    }
+
+    @Override
+    public void concurrencyLimiterRegistered(String partition, IntSupplier limit, IntSupplier inFlight, IntSupplier queued) {
+        var tags = List.of(Tag.of("partition", partition));
+        Gauge.builder("http.server.limiter.limit", limit, IntSupplier::getAsInt).tags(tags).strongReference(true).register(this.meterRegistry);
+        Gauge.builder("http.server.limiter.in_flight", inFlight, IntSupplier::getAsInt).tags(tags).strongReference(true).register(this.meterRegistry);
+        Gauge.builder("http.server.limiter.queued", queued, IntSupplier::getAsInt).tags(tags).strongReference(true).register(this.meterRegistry);
+    }
+
+    @Override
+    public void concurrencyLimiterRejected(String partition, String reason) {
+        this.limiterRejected.computeIfAbsent(new LimiterRejectedKey(partition, reason), key -> Counter.builder("http.server.limiter.rejected")
+                .tags(List.of(Tag.of("partition", key.partition()), Tag.of("reason", key.reason())))
+                .register(this.meterRegistry))
+            .increment();
+    }
+
+    @Override
+    public void responseCompressed(String encoding, long originalBytes, long compressedBytes) {
+        this.compressionSaved.computeIfAbsent(encoding, e -> Counter.builder("http.server.response.compression.saved")
+                .baseUnit("bytes")
+                .tags(List.of(Tag.of("encoding", e)))
+                .register(this.meterRegistry))
+            .increment(Math.max(0, originalBytes - compressedBytes));
+    }
+
+    @Override
+    public void virtualThreadsRegistered(IntSupplier active, IntSupplier waiting) {
+        Gauge.builder("http.server.blocking.virtual.active", active, IntSupplier::getAsInt).strongReference(true).register(this.meterRegistry);
+        Gauge.builder("http.server.blocking.virtual.waiting", waiting, IntSupplier::getAsInt).strongReference(true).register(this.meterRegistry);
+        this.virtualThreadPinnedDuration = DistributionSummary.builder("http.server.blocking.virtual.pinned.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .register(this.meterRegistry);
+    }
+
+    @Override
+    public void virtualThreadPinned(long pinnedTimeNano) {
+        var summary = this.virtualThreadPinnedDuration;
+        if (summary != null) {
+            summary.record(((double) pinnedTimeNano) / 1_000_000);
+        }
+    }
+
+    private AtomicInteger activeRequests(ActiveRequestsKey key) {
+        return this.requestCounters.computeIfAbsent(key, activeRequestsKey -> {
             var c = new AtomicInteger(0);
             this.registerActiveRequestsGauge(activeRequestsKey, c);
             return c;
         });
-        counter.decrementAndGet();
-        var errorType = exception != null ? exception.getClass() : null;
-        var key = new DurationKey(statusCode, method, route, host, scheme, errorType);
-        this.duration.computeIfAbsent(key, this::requestDuration)
-            .record(((double) processingTimeNano) / 1_000_000);
+    }
+
+    private DistributionSummary duration(DurationKey key) {
+        return this.duration.computeIfAbsent(key, this::requestDuration);
     }
 
     private void registerActiveRequestsGauge(ActiveRequestsKey key, AtomicInteger counter) {
@@ -69,4 +141,29 @@ public final class Opentelemetry120HttpServerMetrics implements HttpServerMetric
 
         return builder.register(this.meterRegistry);
     }
+
+    private AtomicInteger registerActiveStreamsGauge(String scheme) {
+        var counter = new AtomicInteger(0);
+        Gauge.builder("http.server.active_streams", counter, AtomicInteger::get)
+            .tags(streamTags(scheme))
+            .register(this.meterRegistry);
+        return counter;
+    }
+
+    private DistributionSummary streamDuration(String scheme) {
+        return DistributionSummary.builder("http.server.stream.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .tags(streamTags(scheme))
+            .register(this.meterRegistry);
+    }
+
+    private static List<Tag> streamTags(String scheme) {
+        return List.of(
+            Tag.of(SemanticAttributes.URL_SCHEME.getKey(), scheme),
+            Tag.of(SemanticAttributes.NETWORK_PROTOCOL_VERSION.getKey(), "2")
+        );
+    }
+
+    private record LimiterRejectedKey(String partition, String reason) {}
 }
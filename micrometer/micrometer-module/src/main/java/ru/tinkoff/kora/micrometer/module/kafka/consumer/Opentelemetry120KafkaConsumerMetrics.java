@@ -1,12 +1,15 @@
 package ru.tinkoff.kora.micrometer.module.kafka.consumer;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.semconv.SemanticAttributes;
+import jakarta.annotation.Nullable;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.TopicPartition;
 import ru.tinkoff.kora.application.graph.Lifecycle;
@@ -14,6 +17,8 @@ import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerMetrics;
 import ru.tinkoff.kora.telemetry.common.TelemetryConfig;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
@@ -26,6 +31,15 @@ public class Opentelemetry120KafkaConsumerMetrics implements KafkaConsumerMetric
     private final MeterRegistry meterRegistry;
     private final ConcurrentHashMap<DurationKey, DistributionSummary> metrics = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<TopicPartition, LagGauge> lagMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CommitKey, DistributionSummary> commitMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<DeserializationKey, DistributionSummary> deserializationMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<TopicPartition, PauseGauge> pauseGauges = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DistributionSummary> pauseMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<RetryKey, Counter> retryMetrics = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile RebalanceMetrics rebalanceMetrics;
+    @Nullable
+    private volatile ThreadsGauge threadsGauge;
     private final TelemetryConfig.MetricsConfig config;
     private final Properties driverProperties;
 
@@ -78,6 +92,167 @@ public class Opentelemetry120KafkaConsumerMetrics implements KafkaConsumerMetric
 
     }
 
+    @Override
+    public void onOffsetsCommitted(Map<TopicPartition, OffsetAndMetadata> offsets, long duration, @Nullable Throwable ex) {
+        double durationDouble = ((double) duration) / 1_000_000;
+        var key = new CommitKey(ex != null ? ex.getClass() : null);
+
+        this.commitMetrics.computeIfAbsent(key, this::commitMetrics).record(durationDouble);
+    }
+
+    private record CommitKey(@Nullable Class<? extends Throwable> errorType) {}
+
+    private DistributionSummary commitMetrics(CommitKey key) {
+        var builder = DistributionSummary.builder("messaging.kafka.consumer.commit.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka");
+
+        var clientId = driverProperties.get(ProducerConfig.CLIENT_ID_CONFIG);
+        if (clientId != null) {
+            builder.tag(SemanticAttributes.MESSAGING_CLIENT_ID.getKey(), clientId.toString());
+        }
+        var groupId = driverProperties.get(ConsumerConfig.GROUP_ID_CONFIG);
+        if (groupId != null) {
+            builder.tag(SemanticAttributes.MESSAGING_KAFKA_CONSUMER_GROUP.getKey(), groupId.toString());
+        }
+        if (key.errorType() != null) {
+            builder.tag(SemanticAttributes.ERROR_TYPE.getKey(), key.errorType().getCanonicalName());
+        }
+        return builder.register(this.meterRegistry);
+    }
+
+    @Override
+    public void onRecordDeserialized(ConsumerRecord<byte[], byte[]> record, long duration, @Nullable Throwable ex) {
+        double durationDouble = ((double) duration) / 1_000_000;
+        var key = new DeserializationKey(record.topic(), ex != null ? ex.getClass() : null);
+
+        this.deserializationMetrics.computeIfAbsent(key, this::deserializationMetrics).record(durationDouble);
+    }
+
+    private record DeserializationKey(String topic, @Nullable Class<? extends Throwable> errorType) {}
+
+    private DistributionSummary deserializationMetrics(DeserializationKey key) {
+        var builder = DistributionSummary.builder("messaging.kafka.consumer.deserialization.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+            .tag(SemanticAttributes.MESSAGING_DESTINATION_NAME.getKey(), key.topic());
+
+        var groupId = driverProperties.get(ConsumerConfig.GROUP_ID_CONFIG);
+        if (groupId != null) {
+            builder.tag(SemanticAttributes.MESSAGING_KAFKA_CONSUMER_GROUP.getKey(), groupId.toString());
+        }
+        if (key.errorType() != null) {
+            builder.tag(SemanticAttributes.ERROR_TYPE.getKey(), key.errorType().getCanonicalName());
+        }
+        return builder.register(this.meterRegistry);
+    }
+
+    @Override
+    public void onPartitionPaused(TopicPartition partition) {
+        this.pauseGauges.computeIfAbsent(partition, p -> new PauseGauge(p, this.meterRegistry, this.driverProperties)).paused = 1;
+    }
+
+    @Override
+    public void onPartitionResumed(TopicPartition partition, long duration) {
+        var gauge = this.pauseGauges.get(partition);
+        if (gauge != null) {
+            gauge.paused = 0;
+        }
+        double durationDouble = ((double) duration) / 1_000_000;
+        this.pauseMetrics.computeIfAbsent(partition.topic(), this::pauseMetrics).record(durationDouble);
+    }
+
+    private DistributionSummary pauseMetrics(String topic) {
+        var builder = DistributionSummary.builder("messaging.kafka.consumer.pause.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+            .tag(SemanticAttributes.MESSAGING_DESTINATION_NAME.getKey(), topic);
+
+        var groupId = driverProperties.get(ConsumerConfig.GROUP_ID_CONFIG);
+        if (groupId != null) {
+            builder.tag(SemanticAttributes.MESSAGING_KAFKA_CONSUMER_GROUP.getKey(), groupId.toString());
+        }
+        return builder.register(this.meterRegistry);
+    }
+
+    private record RebalanceMetrics(DistributionSummary duration, DistributionSummary reprocessed) {}
+
+    @Override
+    public void onRebalance(Collection<TopicPartition> revoked, Collection<TopicPartition> assigned, long duration, long reprocessed) {
+        var metrics = this.rebalanceMetrics;
+        if (metrics == null) {
+            synchronized (this) {
+                metrics = this.rebalanceMetrics;
+                if (metrics == null) {
+                    this.rebalanceMetrics = metrics = this.rebalanceMetrics();
+                }
+            }
+        }
+        double durationDouble = ((double) duration) / 1_000_000;
+        metrics.duration().record(durationDouble);
+        metrics.reprocessed().record(reprocessed);
+    }
+
+    private RebalanceMetrics rebalanceMetrics() {
+        var duration = DistributionSummary.builder("messaging.kafka.consumer.rebalance.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka");
+        var reprocessed = DistributionSummary.builder("messaging.kafka.consumer.rebalance.reprocessed")
+            .baseUnit("records")
+            .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka");
+
+        var clientId = driverProperties.get(ProducerConfig.CLIENT_ID_CONFIG);
+        if (clientId != null) {
+            duration.tag(SemanticAttributes.MESSAGING_CLIENT_ID.getKey(), clientId.toString());
+            reprocessed.tag(SemanticAttributes.MESSAGING_CLIENT_ID.getKey(), clientId.toString());
+        }
+        var groupId = driverProperties.get(ConsumerConfig.GROUP_ID_CONFIG);
+        if (groupId != null) {
+            duration.tag(SemanticAttributes.MESSAGING_KAFKA_CONSUMER_GROUP.getKey(), groupId.toString());
+            reprocessed.tag(SemanticAttributes.MESSAGING_KAFKA_CONSUMER_GROUP.getKey(), groupId.toString());
+        }
+        return new RebalanceMetrics(duration.register(this.meterRegistry), reprocessed.register(this.meterRegistry));
+    }
+
+    @Override
+    public void onThreadsChanged(int threads, boolean virtual) {
+        var gauge = this.threadsGauge;
+        if (gauge == null) {
+            synchronized (this) {
+                gauge = this.threadsGauge;
+                if (gauge == null) {
+                    this.threadsGauge = gauge = new ThreadsGauge(virtual, this.meterRegistry, this.driverProperties);
+                }
+            }
+        }
+        gauge.threads = threads;
+    }
+
+    private record RetryKey(String topic, String destination, boolean deadLetter) {}
+
+    @Override
+    public void onRecordRetried(ConsumerRecord<?, ?> record, String destination, int attempt, boolean deadLetter) {
+        this.retryMetrics.computeIfAbsent(new RetryKey(record.topic(), destination, deadLetter), this::retryMetrics).increment();
+    }
+
+    private Counter retryMetrics(RetryKey key) {
+        var builder = Counter.builder("messaging.kafka.consumer.retry")
+            .baseUnit("records")
+            .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+            .tag(SemanticAttributes.MESSAGING_DESTINATION_NAME.getKey(), key.topic())
+            .tag("messaging.kafka.retry.destination", key.destination())
+            .tag("messaging.kafka.retry.dead_letter", Boolean.toString(key.deadLetter()));
+        var groupId = driverProperties.get(ConsumerConfig.GROUP_ID_CONFIG);
+        if (groupId != null) {
+            builder.tag(SemanticAttributes.MESSAGING_KAFKA_CONSUMER_GROUP.getKey(), groupId.toString());
+        }
+        return builder.register(this.meterRegistry);
+    }
+
     @Override
     public void init() {
 
@@ -90,11 +265,47 @@ public class Opentelemetry120KafkaConsumerMetrics implements KafkaConsumerMetric
         for (var metric : metrics) {
             metric.close();
         }
+        var commitMetrics = new ArrayList<>(this.commitMetrics.values());
+        this.commitMetrics.clear();
+        for (var metric : commitMetrics) {
+            metric.close();
+        }
+        var deserializationMetrics = new ArrayList<>(this.deserializationMetrics.values());
+        this.deserializationMetrics.clear();
+        for (var metric : deserializationMetrics) {
+            metric.close();
+        }
         var lagMetrics = new ArrayList<>(this.lagMetrics.values());
         this.lagMetrics.clear();
         for (var lagMetric : lagMetrics) {
             lagMetric.gauge.close();
         }
+        var pauseMetrics = new ArrayList<>(this.pauseMetrics.values());
+        this.pauseMetrics.clear();
+        for (var metric : pauseMetrics) {
+            metric.close();
+        }
+        var retryMetrics = new ArrayList<>(this.retryMetrics.values());
+        this.retryMetrics.clear();
+        for (var metric : retryMetrics) {
+            metric.close();
+        }
+        var pauseGauges = new ArrayList<>(this.pauseGauges.values());
+        this.pauseGauges.clear();
+        for (var pauseGauge : pauseGauges) {
+            pauseGauge.gauge.close();
+        }
+        var rebalanceMetrics = this.rebalanceMetrics;
+        this.rebalanceMetrics = null;
+        if (rebalanceMetrics != null) {
+            rebalanceMetrics.duration().close();
+            rebalanceMetrics.reprocessed().close();
+        }
+        var threadsGauge = this.threadsGauge;
+        this.threadsGauge = null;
+        if (threadsGauge != null) {
+            threadsGauge.gauge.close();
+        }
     }
 
     private static class LagGauge {
@@ -109,4 +320,41 @@ public class Opentelemetry120KafkaConsumerMetrics implements KafkaConsumerMetric
                 .register(meterRegistry);
         }
     }
+
+    private static class PauseGauge {
+        private final Gauge gauge;
+        private volatile int paused;
+
+        private PauseGauge(TopicPartition partition, MeterRegistry meterRegistry, Properties driverProperties) {
+            var builder = Gauge.builder("messaging.kafka.consumer.paused", () -> paused)
+                .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+                .tag(SemanticAttributes.MESSAGING_DESTINATION_NAME.getKey(), partition.topic())
+                .tag(SemanticAttributes.MESSAGING_KAFKA_DESTINATION_PARTITION.getKey(), Objects.toString(partition.partition()));
+            var groupId = driverProperties.get(ConsumerConfig.GROUP_ID_CONFIG);
+            if (groupId != null) {
+                builder.tag(SemanticAttributes.MESSAGING_KAFKA_CONSUMER_GROUP.getKey(), groupId.toString());
+            }
+            this.gauge = builder.register(meterRegistry);
+        }
+    }
+
+    private static class ThreadsGauge {
+        private final Gauge gauge;
+        private volatile int threads;
+
+        private ThreadsGauge(boolean virtual, MeterRegistry meterRegistry, Properties driverProperties) {
+            var builder = Gauge.builder("messaging.kafka.consumer.threads", () -> threads)
+                .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+                .tag("thread.type", virtual ? "virtual" : "platform");
+            var clientId = driverProperties.get(ConsumerConfig.CLIENT_ID_CONFIG);
+            if (clientId != null) {
+                builder.tag(SemanticAttributes.MESSAGING_CLIENT_ID.getKey(), clientId.toString());
+            }
+            var groupId = driverProperties.get(ConsumerConfig.GROUP_ID_CONFIG);
+            if (groupId != null) {
+                builder.tag(SemanticAttributes.MESSAGING_KAFKA_CONSUMER_GROUP.getKey(), groupId.toString());
+            }
+            this.gauge = builder.register(meterRegistry);
+        }
+    }
 }
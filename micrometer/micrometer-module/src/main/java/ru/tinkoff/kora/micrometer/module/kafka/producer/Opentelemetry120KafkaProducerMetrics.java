@@ -26,6 +26,9 @@ public class Opentelemetry120KafkaProducerMetrics implements KafkaProducerMetric
     private final TelemetryConfig.MetricsConfig config;
     private final MeterRegistry meterRegistry;
     private final ConcurrentHashMap<TopicPartition, DistributionSummary> metrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, BatchMetrics> batchMetrics = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile PoolMetrics poolMetrics;
 
     public Opentelemetry120KafkaProducerMetrics(MeterRegistry meterRegistry, TelemetryConfig.MetricsConfig config, Producer<?, ?> producer, Properties properties) {
         this.micrometerMetrics = new KafkaClientMetrics(producer);
@@ -62,9 +65,51 @@ public class Opentelemetry120KafkaProducerMetrics implements KafkaProducerMetric
         m.record((double) durationNanos / 1_000_000);
     }
 
+    @Override
+    public void batchSent(String topic, @Nullable Integer partition, int records, long bytes, long lingerNanos) {
+        var m = this.batchMetrics.computeIfAbsent(topic, this::batchMetrics);
+        m.records().record(records);
+        m.bytes().record(bytes);
+        m.linger().record((double) lingerNanos / 1_000_000);
+    }
+
+    @Override
+    public void transactionAcquired(long waitNanos, int inUse, int poolSize, int maxPoolSize, @Nullable Throwable error) {
+        var m = this.poolMetrics;
+        if (m == null) {
+            synchronized (this) {
+                m = this.poolMetrics;
+                if (m == null) {
+                    m = this.poolMetrics = this.poolMetrics();
+                }
+            }
+        }
+        m.waitTime().record((double) waitNanos / 1_000_000);
+        m.utilization().record(maxPoolSize > 0 ? (double) inUse / maxPoolSize : 0);
+    }
+
     @Override
     public void close() throws Exception {
         this.micrometerMetrics.close();
+        var poolMetrics = this.poolMetrics;
+        if (poolMetrics != null) {
+            this.poolMetrics = null;
+            try {
+                poolMetrics.waitTime().close();
+                poolMetrics.utilization().close();
+            } catch (Throwable ignore) {
+            }
+        }
+        for (var i = this.batchMetrics.entrySet().iterator(); i.hasNext(); ) {
+            var entry = i.next();
+            i.remove();
+            try {
+                entry.getValue().records().close();
+                entry.getValue().bytes().close();
+                entry.getValue().linger().close();
+            } catch (Throwable ignore) {
+            }
+        }
         for (var i = this.metrics.entrySet().iterator(); i.hasNext(); ) {
             var entry = i.next();
             i.remove();
@@ -89,4 +134,44 @@ public class Opentelemetry120KafkaProducerMetrics implements KafkaProducerMetric
         return builder.register(this.meterRegistry);
     }
 
+    private record BatchMetrics(DistributionSummary records, DistributionSummary bytes, DistributionSummary linger) {}
+
+    private BatchMetrics batchMetrics(String topic) {
+        var clientId = this.properties.get(ProducerConfig.CLIENT_ID_CONFIG);
+        var records = DistributionSummary.builder("messaging.kafka.producer.batch.records")
+            .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+            .tag(SemanticAttributes.MESSAGING_DESTINATION_NAME.getKey(), topic);
+        var bytes = DistributionSummary.builder("messaging.kafka.producer.batch.size")
+            .baseUnit("bytes")
+            .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+            .tag(SemanticAttributes.MESSAGING_DESTINATION_NAME.getKey(), topic);
+        var linger = DistributionSummary.builder("messaging.kafka.producer.batch.linger")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+            .tag(SemanticAttributes.MESSAGING_DESTINATION_NAME.getKey(), topic);
+        if (clientId != null) {
+            records.tag(SemanticAttributes.MESSAGING_CLIENT_ID.getKey(), clientId.toString());
+            bytes.tag(SemanticAttributes.MESSAGING_CLIENT_ID.getKey(), clientId.toString());
+            linger.tag(SemanticAttributes.MESSAGING_CLIENT_ID.getKey(), clientId.toString());
+        }
+        return new BatchMetrics(records.register(this.meterRegistry), bytes.register(this.meterRegistry), linger.register(this.meterRegistry));
+    }
+
+    private record PoolMetrics(DistributionSummary waitTime, DistributionSummary utilization) {}
+
+    private PoolMetrics poolMetrics() {
+        var clientId = this.properties.get(ProducerConfig.CLIENT_ID_CONFIG);
+        var waitTime = DistributionSummary.builder("messaging.kafka.producer.transaction.pool.wait")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka");
+        var utilization = DistributionSummary.builder("messaging.kafka.producer.transaction.pool.utilization")
+            .tag(SemanticAttributes.MESSAGING_SYSTEM.getKey(), "kafka");
+        if (clientId != null) {
+            waitTime.tag(SemanticAttributes.MESSAGING_CLIENT_ID.getKey(), clientId.toString());
+            utilization.tag(SemanticAttributes.MESSAGING_CLIENT_ID.getKey(), clientId.toString());
+        }
+        return new PoolMetrics(waitTime.register(this.meterRegistry), utilization.register(this.meterRegistry));
+    }
 }
@@ -1,24 +1,22 @@
 package ru.tinkoff.kora.openapi.management;
 
+import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.http.common.body.HttpBody;
 import ru.tinkoff.kora.http.server.common.HttpServerRequest;
 import ru.tinkoff.kora.http.server.common.HttpServerResponse;
-import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.handler.StaticResourceHttpServerHandler;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicReference;
 
 final class OpenApiHttpServerHandler implements HttpServerRequestHandler.HandlerFunction {
 
-    record OpenapiFile(String fileName, String filePath, String contentType, AtomicReference<byte[]> content) {}
-
-    private final Map<String, OpenapiFile> openapiFiles = new ConcurrentHashMap<>();
+    private final Map<String, HttpServerRequestHandler.HandlerFunction> openapiFiles = new HashMap<>();
 
     OpenApiHttpServerHandler(OpenApiManagementConfig config) {
         for (String filePath : config.file()) {
@@ -26,7 +24,13 @@ final class OpenApiHttpServerHandler implements HttpServerRequestHandler.Handler
                 ? "text/json; charset=utf-8"
                 : "text/x-yaml; charset=utf-8";
             final String fileName = ResourceUtils.getFileName(filePath);
-            this.openapiFiles.put(fileName, new OpenapiFile(fileName, filePath, contentType, new AtomicReference<>()));
+            final byte[] content = loadOpenapi(filePath);
+            if (content == null) {
+                this.openapiFiles.put(fileName, (context, request) -> CompletableFuture.completedFuture(
+                    HttpServerResponse.of(404, HttpBody.plaintext("OpenAPI file not found while reading: " + filePath))));
+            } else {
+                this.openapiFiles.put(fileName, StaticResourceHttpServerHandler.ofContent(contentType, content, ResourceUtils.CACHE_CONTROL));
+            }
         }
     }
 
@@ -37,33 +41,25 @@ final class OpenApiHttpServerHandler implements HttpServerRequestHandler.Handler
             return CompletableFuture.completedFuture(HttpServerResponse.of(400, HttpBody.plaintext("OpenAPI file not specified")));
         }
 
-        final OpenapiFile openapiFile = openapiFiles.get(fileName);
+        final var openapiFile = openapiFiles.get(fileName);
         if (openapiFile == null) {
             return CompletableFuture.completedFuture(HttpServerResponse.of(404, HttpBody.plaintext("OpenAPI file not registered: " + fileName)));
         }
 
-        byte[] bytes = openapiFile.content().get();
-        if (bytes != null) {
-            return CompletableFuture.completedFuture(HttpServerResponse.of(200, HttpBody.of(openapiFile.contentType(), bytes)));
-        }
-
-        return CompletableFuture.supplyAsync(() -> {
-            byte[] fileContent = loadOpenapi(openapiFile.filePath());
-            openapiFile.content().set(fileContent);
-            return HttpServerResponse.of(200, HttpBody.of(openapiFile.contentType(), fileContent));
-        });
+        return openapiFile.apply(context, request);
     }
 
+    @Nullable
     private static byte[] loadOpenapi(String filePath) {
-        try {
-            var openapiAsStream = ResourceUtils.getFileAsStream(filePath);
-            if (openapiAsStream == null) {
-                throw HttpServerResponseException.of(404, "OpenAPI file not found while reading: " + filePath);
-            }
+        var openapiAsStream = ResourceUtils.getFileAsStream(filePath);
+        if (openapiAsStream == null) {
+            return null;
+        }
 
-            return openapiAsStream.readAllBytes();
+        try (var stream = openapiAsStream) {
+            return stream.readAllBytes();
         } catch (IOException e) {
-            throw HttpServerResponseException.of(500, "Can't read OpenAPI file: " + filePath);
+            throw new IllegalArgumentException("Can't read OpenAPI file: " + filePath, e);
         }
     }
 }
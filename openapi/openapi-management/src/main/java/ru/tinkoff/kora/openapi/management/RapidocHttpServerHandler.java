@@ -4,41 +4,33 @@ import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.http.common.body.HttpBody;
 import ru.tinkoff.kora.http.server.common.HttpServerRequest;
 import ru.tinkoff.kora.http.server.common.HttpServerResponse;
-import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.handler.StaticResourceHttpServerHandler;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.atomic.AtomicReference;
 
 final class RapidocHttpServerHandler implements HttpServerRequestHandler.HandlerFunction {
 
     private static final String FILE_PATH = "kora/openapi/management/rapidoc/index.html";
     private static final String HTML_CONTENT_TYPE = "text/html; charset=utf-8";
 
-    private final AtomicReference<byte[]> content = new AtomicReference<>();
-    private final OpenApiManagementConfig config;
+    private final HttpServerRequestHandler.HandlerFunction delegate;
 
     RapidocHttpServerHandler(OpenApiManagementConfig config) {
-        this.config = config;
+        this.delegate = loadRapidoc(config)
+            .<HttpServerRequestHandler.HandlerFunction>map(bytes -> StaticResourceHttpServerHandler.ofContent(HTML_CONTENT_TYPE, bytes, ResourceUtils.CACHE_CONTROL))
+            .orElse((context, request) -> CompletableFuture.completedFuture(HttpServerResponse.of(404, HttpBody.plaintext("Rapidoc file not found"))));
     }
 
     @Override
     public CompletionStage<HttpServerResponse> apply(Context context, HttpServerRequest request) throws Exception {
-        byte[] bytes = content.get();
-        if (bytes != null) {
-            return CompletableFuture.completedFuture(HttpServerResponse.of(200, HttpBody.of(HTML_CONTENT_TYPE, bytes)));
-        }
-
-        return CompletableFuture.supplyAsync(() -> {
-            byte[] loadedBytes = loadRapidoc(config);
-            content.set(loadedBytes);
-            return HttpServerResponse.of(200, HttpBody.of(HTML_CONTENT_TYPE, loadedBytes));
-        });
+        return this.delegate.apply(context, request);
     }
 
-    private static byte[] loadRapidoc(OpenApiManagementConfig config) {
+    private static Optional<byte[]> loadRapidoc(OpenApiManagementConfig config) {
         return ResourceUtils.getFileAsString(FILE_PATH)
             .map(file -> {
                 var tagRapidoc = "${rapidocPath}";
@@ -53,7 +45,6 @@ final class RapidocHttpServerHandler implements HttpServerRequestHandler.Handler
 
                 return result;
             })
-            .map(file -> file.getBytes(StandardCharsets.UTF_8))
-            .orElseThrow(() -> HttpServerResponseException.of(404, "Rapidoc file not found"));
+            .map(file -> file.getBytes(StandardCharsets.UTF_8));
     }
 }
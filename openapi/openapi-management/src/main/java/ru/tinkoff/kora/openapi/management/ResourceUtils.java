@@ -11,6 +11,11 @@ import java.util.*;
 
 final class ResourceUtils {
 
+    /**
+     * Content changes only on redeploy, so clients revalidate it with ETag on every request
+     */
+    static final String CACHE_CONTROL = "no-cache";
+
     private ResourceUtils() {
     }
 
@@ -4,41 +4,33 @@ import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.http.common.body.HttpBody;
 import ru.tinkoff.kora.http.server.common.HttpServerRequest;
 import ru.tinkoff.kora.http.server.common.HttpServerResponse;
-import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.handler.StaticResourceHttpServerHandler;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.atomic.AtomicReference;
 
 final class SwaggerUIHttpServerHandler implements HttpServerRequestHandler.HandlerFunction {
 
     private static final String FILE_PATH = "kora/openapi/management/swagger-ui/index.html";
     private static final String HTML_CONTENT_TYPE = "text/html; charset=utf-8";
 
-    private final AtomicReference<byte[]> content = new AtomicReference<>();
-    private final OpenApiManagementConfig config;
+    private final HttpServerRequestHandler.HandlerFunction delegate;
 
     SwaggerUIHttpServerHandler(OpenApiManagementConfig config) {
-        this.config = config;
+        this.delegate = loadSwagger(config)
+            .<HttpServerRequestHandler.HandlerFunction>map(bytes -> StaticResourceHttpServerHandler.ofContent(HTML_CONTENT_TYPE, bytes, ResourceUtils.CACHE_CONTROL))
+            .orElse((context, request) -> CompletableFuture.completedFuture(HttpServerResponse.of(404, HttpBody.plaintext("Swagger UI file not found"))));
     }
 
     @Override
     public CompletionStage<HttpServerResponse> apply(Context context, HttpServerRequest request) throws Exception {
-        byte[] bytes = content.get();
-        if (bytes != null) {
-            return CompletableFuture.completedFuture(HttpServerResponse.of(200, HttpBody.of(HTML_CONTENT_TYPE, bytes)));
-        }
-
-        return CompletableFuture.supplyAsync(() -> {
-            byte[] loadedBytes = loadSwagger(config);
-            content.set(loadedBytes);
-            return HttpServerResponse.of(200, HttpBody.of(HTML_CONTENT_TYPE, loadedBytes));
-        });
+        return this.delegate.apply(context, request);
     }
 
-    private static byte[] loadSwagger(OpenApiManagementConfig config) {
+    private static Optional<byte[]> loadSwagger(OpenApiManagementConfig config) {
         return ResourceUtils.getFileAsString(FILE_PATH)
             .map(file -> {
                 if (config.file().size() == 1) {
@@ -65,7 +57,6 @@ final class SwaggerUIHttpServerHandler implements HttpServerRequestHandler.Handl
                     return file.substring(0, ri) + replacement + file.substring(ri + tagSwagger.length());
                 }
             })
-            .map(file -> file.getBytes(StandardCharsets.UTF_8))
-            .orElseThrow(() -> HttpServerResponseException.of(404, "Swagger UI file not found"));
+            .map(file -> file.getBytes(StandardCharsets.UTF_8));
     }
 }